@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Launches leshan JMH benchmarks with the {@link GCProfiler} always enabled, so allocation rate by operation is
+ * reported next to throughput or latency.
+ * <p>
+ * It accepts usual JMH command line options, e.g. to run only SenML decoding benchmarks :
+ *
+ * <pre>
+ * mvn package -pl leshan-benchmarks -am -DskipTests
+ * java -jar leshan-benchmarks/target/leshan-benchmarks-*-jar-with-dependencies.jar SenMLDecoderBenchmark
+ * </pre>
+ *
+ * Benchmarks of Redis stores need a running Redis server, its URI is read from the <code>REDIS_URI</code> environment
+ * variable (default is <code>redis://localhost:6379</code>).
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options options = new OptionsBuilder() //
+                .parent(new CommandLineOptions(args)) //
+                .addProfiler(GCProfiler.class) //
+                .build();
+        new Runner(options).run();
+    }
+}
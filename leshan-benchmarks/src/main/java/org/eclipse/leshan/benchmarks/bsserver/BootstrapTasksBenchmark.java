@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.benchmarks.bsserver;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.bsserver.BootstrapConfig;
+import org.eclipse.leshan.bsserver.BootstrapConfig.ACLConfig;
+import org.eclipse.leshan.bsserver.BootstrapConfig.ServerConfig;
+import org.eclipse.leshan.bsserver.BootstrapConfig.ServerSecurity;
+import org.eclipse.leshan.bsserver.BootstrapConfigStoreTaskProvider;
+import org.eclipse.leshan.bsserver.BootstrapSession;
+import org.eclipse.leshan.bsserver.BootstrapTaskProvider;
+import org.eclipse.leshan.bsserver.BootstrapTaskProvider.Tasks;
+import org.eclipse.leshan.bsserver.CachingBootstrapEncoder;
+import org.eclipse.leshan.bsserver.DefaultBootstrapSession;
+import org.eclipse.leshan.bsserver.EditableBootstrapConfigStore;
+import org.eclipse.leshan.bsserver.InMemoryBootstrapConfigStore;
+import org.eclipse.leshan.bsserver.InvalidConfigurationException;
+import org.eclipse.leshan.bsserver.model.LwM2mBootstrapModelProvider;
+import org.eclipse.leshan.bsserver.model.StandardBootstrapModelProvider;
+import org.eclipse.leshan.core.SecurityMode;
+import org.eclipse.leshan.core.endpoint.DefaultEndPointUriHandler;
+import org.eclipse.leshan.core.model.LwM2mModel;
+import org.eclipse.leshan.core.node.codec.DefaultLwM2mEncoder;
+import org.eclipse.leshan.core.node.codec.LwM2mEncoder;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.BootstrapRequest;
+import org.eclipse.leshan.core.request.BootstrapWriteRequest;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.request.DownlinkBootstrapRequest;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the CPU work done for each bootstrap session before sending anything : getting tasks from a
+ * {@link BootstrapConfigStoreTaskProvider}, then encoding payload of each write request, with caching (default
+ * {@link BootstrapConfigStoreTaskProvider} and {@link CachingBootstrapEncoder}) and without.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BootstrapTasksBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean cached;
+
+    private final LwM2mBootstrapModelProvider modelProvider = new StandardBootstrapModelProvider();
+
+    private BootstrapSession session;
+    private BootstrapTaskProvider taskProvider;
+    private LwM2mEncoder encoder;
+
+    @Setup
+    public void setup() throws InvalidConfigurationException {
+        EditableBootstrapConfigStore store = new InMemoryBootstrapConfigStore();
+        store.add("endpoint", createConfig());
+        session = new DefaultBootstrapSession("endpoint", new BootstrapRequest("endpoint"),
+                new IpPeer(new InetSocketAddress(4242)), true, ContentFormat.TLV, null,
+                new DefaultEndPointUriHandler().createUri("coap://localhost:5683"));
+
+        if (cached) {
+            taskProvider = new BootstrapConfigStoreTaskProvider(store);
+            encoder = new CachingBootstrapEncoder();
+        } else {
+            taskProvider = new BootstrapConfigStoreTaskProvider(store, 0);
+            encoder = new DefaultLwM2mEncoder();
+        }
+    }
+
+    @Benchmark
+    public int getTasksAndEncode() {
+        Tasks tasks = taskProvider.getTasks(session, null);
+        LwM2mModel model = modelProvider.getObjectModel(session, tasks.supportedObjects);
+        int length = 0;
+        for (DownlinkBootstrapRequest<? extends LwM2mResponse> request : tasks.requestsToSend) {
+            if (request instanceof BootstrapWriteRequest) {
+                BootstrapWriteRequest write = (BootstrapWriteRequest) request;
+                length += encoder.encode(write.getNode(), write.getContentFormat(), null, write.getPath(),
+                        model).length;
+            }
+        }
+        return length;
+    }
+
+    private BootstrapConfig createConfig() {
+        BootstrapConfig config = new BootstrapConfig();
+        config.toDelete = Arrays.asList("/0", "/1", "/2");
+
+        ServerSecurity bsSecurity = new ServerSecurity();
+        bsSecurity.uri = "coaps://bootstrap.example.com:5684";
+        bsSecurity.bootstrapServer = true;
+        bsSecurity.securityMode = SecurityMode.PSK;
+        bsSecurity.publicKeyOrId = "device-identity".getBytes(StandardCharsets.UTF_8);
+        bsSecurity.secretKey = new byte[16];
+        config.security.put(0, bsSecurity);
+
+        ServerSecurity dmSecurity = new ServerSecurity();
+        dmSecurity.uri = "coaps://dm.example.com:5684";
+        dmSecurity.securityMode = SecurityMode.PSK;
+        dmSecurity.publicKeyOrId = "device-identity".getBytes(StandardCharsets.UTF_8);
+        dmSecurity.secretKey = new byte[16];
+        dmSecurity.serverId = 123;
+        config.security.put(1, dmSecurity);
+
+        ServerConfig server = new ServerConfig();
+        server.shortId = 123;
+        config.servers.put(0, server);
+
+        ACLConfig acl = new ACLConfig();
+        acl.objectId = 3;
+        acl.objectInstanceId = 0;
+        acl.AccessControlOwner = 123;
+        config.acls.put(0, acl);
+        return config;
+    }
+}
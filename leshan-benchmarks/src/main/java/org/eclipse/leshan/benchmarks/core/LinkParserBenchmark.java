@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.benchmarks.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.link.DefaultLinkParser;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.link.LinkParseException;
+import org.eclipse.leshan.core.link.LinkParser;
+import org.eclipse.leshan.core.link.Utf8LinkParser;
+import org.eclipse.leshan.core.link.attributes.AttributeModel;
+import org.eclipse.leshan.core.link.attributes.Attributes;
+import org.eclipse.leshan.core.link.attributes.DefaultAttributeParser;
+import org.eclipse.leshan.core.link.lwm2m.DefaultLwM2mLinkParser;
+import org.eclipse.leshan.core.link.lwm2m.attributes.LwM2mAttributes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link DefaultLinkParser} and {@link Utf8LinkParser}, used alone or by {@link DefaultLwM2mLinkParser}, on
+ * registration payloads of 2 to 8 KB, like the ones sent by devices supporting many objects and instances.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkParserBenchmark {
+
+    @Param({ "2048", "4096", "8192" })
+    private int size;
+
+    @Param({ "default", "utf8" })
+    private String parser;
+
+    private byte[] payload;
+    private LinkParser linkParser;
+    private LinkParser lwM2mLinkParser;
+
+    @Setup
+    public void setup() {
+        payload = createRegistrationPayload(size);
+
+        Collection<AttributeModel<?>> suppportedAttributes = new ArrayList<AttributeModel<?>>();
+        suppportedAttributes.addAll(Attributes.ALL);
+        suppportedAttributes.addAll(LwM2mAttributes.ALL);
+        DefaultAttributeParser attributeParser = new DefaultAttributeParser(suppportedAttributes);
+        linkParser = parser.equals("utf8") ? new Utf8LinkParser(attributeParser)
+                : new DefaultLinkParser(attributeParser);
+        lwM2mLinkParser = new DefaultLwM2mLinkParser(linkParser);
+    }
+
+    @Benchmark
+    public Link[] parseCoreLinkFormat() throws LinkParseException {
+        return linkParser.parseCoreLinkFormat(payload);
+    }
+
+    @Benchmark
+    public Link[] parseLwM2mCoreLinkFormat() throws LinkParseException {
+        return lwM2mLinkParser.parseCoreLinkFormat(payload);
+    }
+
+    /**
+     * Creates a registration payload of about <code>size</code> bytes : core objects followed by as many IPSO object
+     * instances as needed.
+     */
+    private byte[] createRegistrationPayload(int size) {
+        StringBuilder b = new StringBuilder();
+        b.append("</>;rt=\"oma.lwm2m\";ct=\"60 110 112 11542 11543\",");
+        b.append("</1>;ver=1.1,</1/0>,</3>;ver=1.1,</3/0>,</4>;ver=1.2,</4/0>,</5>,</6>,</7>,</9>;ver=1.1,");
+        b.append("</10>,</19>,</19/0>,</19/1>,</3303>;ver=1.1");
+
+        int[] ipsoObjects = { 3303, 3304, 3311, 3315, 3316, 3323, 3328, 3336, 3341, 3342 };
+        int instance = 0;
+        while (b.length() < size - 32) {
+            for (int i = 0; i < ipsoObjects.length && b.length() < size - 32; i++) {
+                b.append(",</").append(ipsoObjects[i]).append('/').append(instance).append('>');
+                if (instance % 4 == 0) {
+                    b.append(";title=\"sensor").append(instance).append("\"");
+                }
+            }
+            instance++;
+        }
+        return b.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.benchmarks.core;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.model.LwM2mModel;
+import org.eclipse.leshan.core.model.ObjectLoader;
+import org.eclipse.leshan.core.model.StaticModel;
+import org.eclipse.leshan.core.node.LwM2mMultipleResource;
+import org.eclipse.leshan.core.node.LwM2mNode;
+import org.eclipse.leshan.core.node.LwM2mObjectInstance;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.node.LwM2mResource;
+import org.eclipse.leshan.core.node.LwM2mSingleResource;
+import org.eclipse.leshan.core.node.codec.DefaultLwM2mDecoder;
+import org.eclipse.leshan.core.node.codec.DefaultLwM2mEncoder;
+import org.eclipse.leshan.core.node.codec.LwM2mDecoder;
+import org.eclipse.leshan.core.node.codec.LwM2mEncoder;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DefaultLwM2mEncoder} and {@link DefaultLwM2mDecoder} for each content format, over realistic node
+ * shapes :
+ * <ul>
+ * <li><code>single</code> : a single resource,</li>
+ * <li><code>instance</code> : a Device object instance,</li>
+ * <li><code>multiple</code> : a multi-instance resource with 1000 instances.</li>
+ * </ul>
+ *
+ * @see TimestampedNodesCodecBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LwM2mNodeCodecBenchmark {
+
+    /**
+     * Content format name and node shape. Only shapes supported by the content format are listed.
+     */
+    @Param({ "TEXT:single", "OPAQUE:single", "CBOR:single", //
+            "TLV:single", "TLV:instance", "TLV:multiple", //
+            "JSON:single", "JSON:instance", "JSON:multiple", //
+            "SENML_JSON:single", "SENML_JSON:instance", "SENML_JSON:multiple", //
+            "SENML_CBOR:single", "SENML_CBOR:instance", "SENML_CBOR:multiple" })
+    private String formatAndShape;
+
+    private final LwM2mModel model = new StaticModel(ObjectLoader.loadAllDefault());
+    private final LwM2mEncoder encoder = new DefaultLwM2mEncoder();
+    private final LwM2mDecoder decoder = new DefaultLwM2mDecoder();
+
+    private ContentFormat format;
+    private LwM2mPath path;
+    private LwM2mNode node;
+    private Class<? extends LwM2mNode> nodeClass;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        String[] param = formatAndShape.split(":");
+        format = ContentFormat.fromName(param[0]);
+        switch (param[1]) {
+        case "single":
+            if (format == ContentFormat.OPAQUE) {
+                path = new LwM2mPath(0, 0, 3);
+                node = LwM2mSingleResource.newBinaryResource(3, new byte[64]);
+            } else {
+                path = new LwM2mPath(3, 0, 9);
+                node = LwM2mSingleResource.newIntegerResource(9, 95);
+            }
+            break;
+        case "instance":
+            path = new LwM2mPath(3, 0);
+            node = givenDeviceInstance();
+            break;
+        case "multiple":
+            path = new LwM2mPath(3, 0, 7);
+            node = givenMultiInstanceResource(1000);
+            break;
+        default:
+            throw new IllegalArgumentException(String.format("Unknown node shape %s", param[1]));
+        }
+        nodeClass = DefaultLwM2mDecoder.nodeClassFromPath(path);
+        encoded = encoder.encode(node, format, null, path, model);
+        if (!node.equals(decoder.decode(encoded, format, null, path, model, nodeClass))) {
+            throw new IllegalStateException(String.format("%s is not decoded as encoded", formatAndShape));
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return encoder.encode(node, format, null, path, model);
+    }
+
+    @Benchmark
+    public LwM2mNode decode() {
+        return decoder.decode(encoded, format, null, path, model, nodeClass);
+    }
+
+    private LwM2mObjectInstance givenDeviceInstance() {
+        List<LwM2mResource> resources = new ArrayList<>();
+        resources.add(LwM2mSingleResource.newStringResource(0, "Open Mobile Alliance"));
+        resources.add(LwM2mSingleResource.newStringResource(1, "Lightweight M2M Client"));
+        resources.add(LwM2mSingleResource.newStringResource(2, "345000123"));
+        resources.add(LwM2mSingleResource.newStringResource(3, "1.0"));
+        resources.add(givenMultiInstanceResource(6, 1, 5));
+        resources.add(givenMultiInstanceResource(7, 3800, 5000));
+        resources.add(givenMultiInstanceResource(8, 125, 900));
+        resources.add(LwM2mSingleResource.newIntegerResource(9, 100));
+        resources.add(LwM2mSingleResource.newIntegerResource(10, 15));
+        resources.add(givenMultiInstanceResource(11, 0));
+        resources.add(LwM2mSingleResource.newDateResource(13, new Date(1367491215000L)));
+        resources.add(LwM2mSingleResource.newStringResource(14, "+02:00"));
+        resources.add(LwM2mSingleResource.newStringResource(15, "Europe/Paris"));
+        resources.add(LwM2mSingleResource.newStringResource(16, "U"));
+        return new LwM2mObjectInstance(0, resources);
+    }
+
+    private LwM2mMultipleResource givenMultiInstanceResource(int id, long... values) {
+        Map<Integer, Long> instances = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            instances.put(i, values[i]);
+        }
+        return LwM2mMultipleResource.newIntegerResource(id, instances);
+    }
+
+    private LwM2mMultipleResource givenMultiInstanceResource(int size) {
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = 3000 + i;
+        }
+        return givenMultiInstanceResource(7, values);
+    }
+}
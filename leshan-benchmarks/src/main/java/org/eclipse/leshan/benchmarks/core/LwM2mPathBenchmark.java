@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.benchmarks.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.node.LwM2mPathCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures common {@link LwM2mPath} operations : parsing (with and without {@link LwM2mPathCache}), hashing (as map
+ * key), comparison and {@link LwM2mPath#startWith(LwM2mPath)}.
+ * <p>
+ * Each operation is done on all paths of {@link #PATHS}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LwM2mPathBenchmark {
+
+    private static final String[] PATHS = { "/3/0/9", "/3/0/7/1", "/1/0/1", "/3303/0/5700", "/3/0", "/6" };
+
+    private LwM2mPath[] paths;
+    private LwM2mPath[] copies;
+    private Map<LwM2mPath, String> map;
+    private LwM2mPath prefix;
+    private LwM2mPathCache cache;
+
+    @Setup
+    public void setup() {
+        paths = new LwM2mPath[PATHS.length];
+        copies = new LwM2mPath[PATHS.length];
+        map = new HashMap<>();
+        for (int i = 0; i < PATHS.length; i++) {
+            paths[i] = new LwM2mPath(PATHS[i]);
+            copies[i] = new LwM2mPath(PATHS[i]);
+            map.put(paths[i], PATHS[i]);
+        }
+        prefix = new LwM2mPath(3, 0);
+        cache = new LwM2mPathCache();
+    }
+
+    @Benchmark
+    public void parse(Blackhole bh) {
+        for (String path : PATHS) {
+            bh.consume(new LwM2mPath(path));
+        }
+    }
+
+    @Benchmark
+    public void parseWithCache(Blackhole bh) {
+        for (String path : PATHS) {
+            bh.consume(cache.get(path));
+        }
+    }
+
+    @Benchmark
+    public void hashMapLookup(Blackhole bh) {
+        for (LwM2mPath path : copies) {
+            bh.consume(map.get(path));
+        }
+    }
+
+    @Benchmark
+    public void compareTo(Blackhole bh) {
+        for (int i = 0; i < paths.length; i++) {
+            bh.consume(paths[i].compareTo(copies[(i + 1) % copies.length]));
+        }
+    }
+
+    @Benchmark
+    public void startWith(Blackhole bh) {
+        for (LwM2mPath path : paths) {
+            bh.consume(path.startWith(prefix));
+        }
+    }
+}
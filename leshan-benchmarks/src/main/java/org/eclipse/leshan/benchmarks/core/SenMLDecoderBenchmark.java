@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.benchmarks.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.model.LwM2mModel;
+import org.eclipse.leshan.core.model.ObjectLoader;
+import org.eclipse.leshan.core.model.StaticModel;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.node.TimestampedLwM2mNodes;
+import org.eclipse.leshan.core.node.codec.senml.LwM2mNodeSenMLDecoder;
+import org.eclipse.leshan.senml.SenMLException;
+import org.eclipse.leshan.senml.cbor.upokecenter.SenMLCborUpokecenterEncoderDecoder;
+import org.eclipse.leshan.senml.json.jackson.SenMLJsonJacksonEncoderDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link LwM2mNodeSenMLDecoder} decoding a Send-like payload of 100 time-stamped device object instances, with
+ * and without stream decoding.
+ * <p>
+ * CBOR records are still read as one CBOR object by record, so stream decoding is mainly expected to reduce allocation
+ * for JSON.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SenMLDecoderBenchmark {
+
+    private static final int TIMESTAMPS = 100;
+
+    @Param({ "json", "cbor" })
+    private String encoding;
+
+    @Param({ "false", "true" })
+    private boolean streamDecoding;
+
+    private final LwM2mModel model = new StaticModel(ObjectLoader.loadAllDefault());
+    private final List<LwM2mPath> paths = Arrays.asList(new LwM2mPath("/3/0"));
+
+    private LwM2mNodeSenMLDecoder decoder;
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws SenMLException {
+        SenMLJsonJacksonEncoderDecoder json = new SenMLJsonJacksonEncoderDecoder();
+        byte[] jsonPayload = givenPayload();
+        if (encoding.equals("cbor")) {
+            SenMLCborUpokecenterEncoderDecoder cbor = new SenMLCborUpokecenterEncoderDecoder();
+            decoder = new LwM2mNodeSenMLDecoder(cbor, false, streamDecoding);
+            payload = cbor.toSenML(json.fromSenML(jsonPayload));
+        } else {
+            decoder = new LwM2mNodeSenMLDecoder(json, true, streamDecoding);
+            payload = jsonPayload;
+        }
+    }
+
+    @Benchmark
+    public TimestampedLwM2mNodes decodeTimestampedNodes() {
+        return decoder.decodeTimestampedNodes(payload, null, paths, model);
+    }
+
+    private byte[] givenPayload() {
+        StringBuilder b = new StringBuilder("[");
+        for (int i = 0; i < TIMESTAMPS; i++) {
+            if (i > 0)
+                b.append(",");
+            b.append("{\"bn\":\"/3/0/\",\"bt\":").append(1_700_000_000 + i).append(",\"n\":\"9\",\"v\":")
+                    .append(i % 100).append("},");
+            b.append("{\"n\":\"10\",\"v\":").append(1000 + i).append("},");
+            b.append("{\"n\":\"7/0\",\"v\":").append(3800 + i).append("},");
+            b.append("{\"n\":\"7/1\",\"v\":").append(5000 + i).append("},");
+            b.append("{\"n\":\"14\",\"vs\":\"+02:00\"}");
+        }
+        return b.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
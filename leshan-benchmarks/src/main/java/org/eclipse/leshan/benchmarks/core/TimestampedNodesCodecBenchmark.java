@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.benchmarks.core;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.model.LwM2mModel;
+import org.eclipse.leshan.core.model.ObjectLoader;
+import org.eclipse.leshan.core.model.StaticModel;
+import org.eclipse.leshan.core.node.LwM2mMultipleResource;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.node.LwM2mSingleResource;
+import org.eclipse.leshan.core.node.TimestampedLwM2mNodes;
+import org.eclipse.leshan.core.node.codec.DefaultLwM2mDecoder;
+import org.eclipse.leshan.core.node.codec.DefaultLwM2mEncoder;
+import org.eclipse.leshan.core.node.codec.LwM2mDecoder;
+import org.eclipse.leshan.core.node.codec.LwM2mEncoder;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DefaultLwM2mEncoder} and {@link DefaultLwM2mDecoder} on a time-stamped Send payload : 100 timestamps
+ * of 4 Device object resources.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimestampedNodesCodecBenchmark {
+
+    private static final int TIMESTAMPS = 100;
+
+    @Param({ "SENML_JSON", "SENML_CBOR" })
+    private String formatName;
+
+    private final LwM2mModel model = new StaticModel(ObjectLoader.loadAllDefault());
+    private final LwM2mEncoder encoder = new DefaultLwM2mEncoder();
+    private final LwM2mDecoder decoder = new DefaultLwM2mDecoder();
+    private final List<LwM2mPath> paths = Arrays.asList(new LwM2mPath(3, 0, 9), new LwM2mPath(3, 0, 10),
+            new LwM2mPath(3, 0, 7), new LwM2mPath(3, 0, 14));
+
+    private ContentFormat format;
+    private TimestampedLwM2mNodes nodes;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        format = ContentFormat.fromName(formatName);
+        nodes = givenSendPayload();
+        encoded = encoder.encodeTimestampedNodes(nodes, format, null, model);
+        if (!nodes.equals(decoder.decodeTimestampedNodes(encoded, format, null, paths, model))) {
+            throw new IllegalStateException(String.format("%s payload is not decoded as encoded", formatName));
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return encoder.encodeTimestampedNodes(nodes, format, null, model);
+    }
+
+    @Benchmark
+    public TimestampedLwM2mNodes decode() {
+        return decoder.decodeTimestampedNodes(encoded, format, null, paths, model);
+    }
+
+    private TimestampedLwM2mNodes givenSendPayload() {
+        TimestampedLwM2mNodes.Builder builder = TimestampedLwM2mNodes.builder();
+        for (int i = 0; i < TIMESTAMPS; i++) {
+            Instant timestamp = Instant.ofEpochSecond(1_700_000_000L + i * 60);
+            builder.put(timestamp, new LwM2mPath(3, 0, 9), LwM2mSingleResource.newIntegerResource(9, i % 100));
+            builder.put(timestamp, new LwM2mPath(3, 0, 10), LwM2mSingleResource.newIntegerResource(10, 1000 + i));
+            Map<Integer, Long> instances = new HashMap<>();
+            instances.put(0, 3800L + i);
+            instances.put(1, 5000L + i);
+            builder.put(timestamp, new LwM2mPath(3, 0, 7), LwM2mMultipleResource.newIntegerResource(7, instances));
+            builder.put(timestamp, new LwM2mPath(3, 0, 14), LwM2mSingleResource.newStringResource(14, "+02:00"));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.benchmarks.server;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.LwM2m.Version;
+import org.eclipse.leshan.core.endpoint.EndpointUri;
+import org.eclipse.leshan.core.model.LwM2mModelRepository;
+import org.eclipse.leshan.core.model.ObjectLoader;
+import org.eclipse.leshan.core.model.ResourceModel;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.server.model.CachingVersionedModelProvider;
+import org.eclipse.leshan.server.model.LwM2mModelProvider;
+import org.eclipse.leshan.server.model.VersionedModelProvider;
+import org.eclipse.leshan.server.registration.Registration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link VersionedModelProvider} and {@link CachingVersionedModelProvider} when getting a model then a
+ * resource model, as done for each downlink request or notification.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelProviderBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean caching;
+
+    private Registration registration;
+    private LwM2mModelProvider modelProvider;
+
+    @Setup
+    public void setup() {
+        Map<Integer, Version> supportedObjects = new HashMap<>();
+        for (int objectId : new int[] { 1, 3, 4, 5, 6, 7, 3303, 3304, 3311, 3315, 3316, 3323, 3328, 3336, 3341 }) {
+            supportedObjects.put(objectId, Version.V1_0);
+        }
+        supportedObjects.put(1, new Version("1.1"));
+        supportedObjects.put(3, new Version("1.1"));
+        registration = new Registration.Builder("id", "endpoint", new IpPeer(new InetSocketAddress(5683)),
+                new EndpointUri("coap", "localhost", 5683)).supportedObjects(supportedObjects).build();
+
+        LwM2mModelRepository repository = new LwM2mModelRepository(ObjectLoader.loadAllDefault());
+        modelProvider = caching ? new CachingVersionedModelProvider(repository)
+                : new VersionedModelProvider(repository);
+    }
+
+    @Benchmark
+    public ResourceModel getResourceModel() {
+        return modelProvider.getObjectModel(registration).getResourceModel(3303, 5700);
+    }
+}
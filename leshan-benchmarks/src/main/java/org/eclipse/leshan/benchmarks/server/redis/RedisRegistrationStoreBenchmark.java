@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.benchmarks.server.redis;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.endpoint.DefaultEndPointUriHandler;
+import org.eclipse.leshan.core.endpoint.EndpointUri;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.server.redis.RedisRegistrationStore;
+import org.eclipse.leshan.server.registration.Deregistration;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationUpdate;
+import org.eclipse.leshan.server.registration.UpdatedRegistration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * Measures latency of {@link RedisRegistrationStore} operations, with lock based and optimistic concurrency (see
+ * {@link RedisRegistrationStore.Builder#setOptimisticConcurrency(boolean)}).
+ * <p>
+ * {@link #contendedUpdate(ThreadState)} measures several threads updating the same endpoint and adding observations to
+ * it concurrently.
+ * <p>
+ * It needs a running Redis server, its URI is read from the <code>REDIS_URI</code> environment variable (default is
+ * <code>redis://localhost:6379</code>). All keys are created with a random prefix and removed at the end.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisRegistrationStoreBenchmark {
+
+    private static final int NB_REGISTRATIONS = 2000;
+    private static final String CONTENDED_ENDPOINT = "contention";
+    private static final InetAddress ADDRESS = InetAddress.getLoopbackAddress();
+    private static final EndpointUri ENDPOINT_URI = new DefaultEndPointUriHandler().createUri("coap://localhost:5683");
+
+    @Param({ "false", "true" })
+    private boolean optimisticConcurrency;
+
+    private Pool<Jedis> pool;
+    private String prefix;
+    private RedisRegistrationStore store;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private int threadIndex;
+        private int next;
+
+        @Setup
+        public void setup(ThreadParams params) {
+            threadIndex = params.getThreadIndex();
+        }
+
+        /**
+         * @return the index of the next pre-registered endpoint used by this thread.
+         */
+        private int nextRegistration() {
+            next = (next + 1) % NB_REGISTRATIONS;
+            return next;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        pool = new JedisPool(getRedisURI());
+        prefix = "LESHAN_BENCH_REGSTORE#" + UUID.randomUUID() + "#";
+        store = new RedisRegistrationStore.Builder(pool).setPrefix(prefix)
+                .setOptimisticConcurrency(optimisticConcurrency).build();
+
+        for (int i = 0; i < NB_REGISTRATIONS; i++) {
+            store.addRegistration(newRegistration(i));
+        }
+        store.addRegistration(newRegistration(CONTENDED_ENDPOINT, CONTENDED_ENDPOINT, 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.destroy();
+        deleteKeys();
+        pool.close();
+    }
+
+    @Benchmark
+    public Registration getRegistrationByEndpoint(ThreadState thread) {
+        return store.getRegistrationByEndpoint("ep" + thread.nextRegistration());
+    }
+
+    @Benchmark
+    public Registration getRegistration(ThreadState thread) {
+        return store.getRegistration("id" + thread.nextRegistration());
+    }
+
+    @Benchmark
+    public Registration getRegistrationByAdress(ThreadState thread) {
+        return store.getRegistrationByAdress(new InetSocketAddress(ADDRESS, thread.nextRegistration() + 2));
+    }
+
+    @Benchmark
+    public Deregistration reRegister(ThreadState thread) {
+        return store.addRegistration(newRegistration(thread.nextRegistration()));
+    }
+
+    @Benchmark
+    public UpdatedRegistration updateRegistration(ThreadState thread) {
+        int i = thread.nextRegistration();
+        IpPeer peer = new IpPeer(new InetSocketAddress(ADDRESS, i + 2));
+        return store.updateRegistration(
+                new RegistrationUpdate("id" + i, peer, null, null, null, null, null, null, null, null, null, null));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Collection<Observation> contendedUpdate(ThreadState thread) {
+        store.updateRegistration(new RegistrationUpdate(CONTENDED_ENDPOINT,
+                new IpPeer(new InetSocketAddress(ADDRESS, thread.threadIndex + 2)), null, null, null, null, null, null,
+                null, null, null, null));
+        // one observation by thread : a new one replaces the previous one with same path
+        byte[] token = ByteBuffer.allocate(8).putInt(thread.threadIndex).putInt(thread.next++).array();
+        Observation observation = new SingleObservation(new ObservationIdentifier(ENDPOINT_URI, token),
+                CONTENDED_ENDPOINT, new LwM2mPath(3, 0, thread.threadIndex), ContentFormat.TLV, null, null);
+        return store.addObservation(CONTENDED_ENDPOINT, observation, false);
+    }
+
+    private Registration newRegistration(int i) {
+        return newRegistration("id" + i, "ep" + i, i + 2);
+    }
+
+    private Registration newRegistration(String id, String endpoint, int port) {
+        return new Registration.Builder(id, endpoint, new IpPeer(new InetSocketAddress(ADDRESS, port)), ENDPOINT_URI)
+                .lifeTimeInSec(10000L).bindingMode(EnumSet.of(BindingMode.U)).objectLinks(new Link[] { new Link("/3") })
+                .build();
+    }
+
+    private void deleteKeys() {
+        try (Jedis j = pool.getResource()) {
+            ScanParams params = new ScanParams().match(prefix + "*").count(1000);
+            String cursor = ScanParams.SCAN_POINTER_START;
+            do {
+                ScanResult<String> result = j.scan(cursor, params);
+                for (String key : result.getResult()) {
+                    j.del(key);
+                }
+                cursor = result.getCursor();
+            } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+        }
+    }
+
+    private static String getRedisURI() {
+        String redisURI = System.getenv("REDIS_URI");
+        if (redisURI != null && !redisURI.isEmpty()) {
+            return redisURI;
+        } else {
+            return "redis://localhost:6379";
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.benchmarks.server.redis;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.endpoint.DefaultEndPointUriHandler;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.link.LinkParseException;
+import org.eclipse.leshan.core.link.lwm2m.DefaultLwM2mLinkParser;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.server.redis.serialization.BinaryRegistrationSerDes;
+import org.eclipse.leshan.server.redis.serialization.LwM2mPeerSerDes;
+import org.eclipse.leshan.server.redis.serialization.RegistrationSerDes;
+import org.eclipse.leshan.server.registration.DefaultRegistrationDataExtractor;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationDataExtractor.RegistrationData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares JSON ({@link RegistrationSerDes}) and binary ({@link BinaryRegistrationSerDes}) serialization of a
+ * {@link Registration} with 35 object links.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RegistrationSerDesBenchmark {
+
+    private static final String OBJECT_LINKS = "</>;rt=\"oma.lwm2m\";ct=\"60 110 112 11542 11543\","
+            + "</1>;ver=1.1,</1/0>,</2>,</2/0>,</2/1>,</2/2>,</3>;ver=1.1,</3/0>,</4>;ver=1.2,</4/0>,</5>,</5/0>,"
+            + "</6>,</6/0>,</7>,</7/0>,</3303>;ver=1.1,</3303/0>,</3303/1>,</3303/2>,</3304>,</3304/0>,</3311>,"
+            + "</3311/0>,</3311/1>,</3311/2>,</3311/3>,</3342>,</3342/0>,</3342/1>,</10249>;ver=2.0,</10249/0>";
+
+    @Param({ "false", "true" })
+    private boolean binary;
+
+    private RegistrationSerDes serDes;
+    private Registration registration;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() throws LinkParseException {
+        serDes = binary ? new BinaryRegistrationSerDes(new LwM2mPeerSerDes())
+                : new RegistrationSerDes(new LwM2mPeerSerDes());
+        registration = newRegistration();
+        serialized = serDes.bSerialize(registration);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serDes.bSerialize(registration);
+    }
+
+    @Benchmark
+    public Registration deserialize() {
+        return serDes.deserialize(serialized);
+    }
+
+    private Registration newRegistration() throws LinkParseException {
+        Link[] links = new DefaultLwM2mLinkParser().parseCoreLinkFormat(OBJECT_LINKS.getBytes(StandardCharsets.UTF_8));
+
+        Registration.Builder builder = new Registration.Builder("registrationId", "urn:imei:123456",
+                new IpPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 56830)),
+                new DefaultEndPointUriHandler().createUri("coap://localhost:5683")).objectLinks(links)
+                        .lifeTimeInSec(86400L).lwM2mVersion(LwM2mVersion.V1_1);
+        builder.registrationDate(new Date(1700000000000L));
+        builder.lastUpdate(new Date(1700000001000L));
+
+        RegistrationData data = new DefaultRegistrationDataExtractor().extractDataFromObjectLinks(links,
+                LwM2mVersion.V1_1);
+        builder.rootPath(data.getAlternatePath());
+        builder.supportedContentFormats(data.getSupportedContentFormats());
+        builder.supportedObjects(data.getSupportedObjects());
+        builder.availableInstances(data.getAvailableInstances());
+        return builder.build();
+    }
+}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.integration.tests.bootstrap.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.leshan.bsserver.BootstrapConfig;
+import org.eclipse.leshan.bsserver.BootstrapConfig.ServerSecurity;
+import org.eclipse.leshan.bsserver.BootstrapConfigStoreListener;
+import org.eclipse.leshan.bsserver.InvalidConfigurationException;
+import org.eclipse.leshan.bsserver.redis.RedisBootstrapConfigStore;
+import org.eclipse.leshan.core.SecurityMode;
+import org.eclipse.leshan.integration.tests.util.RedisTestUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * Tests of {@link RedisBootstrapConfigStore} which need a running Redis server. They are only executed with the
+ * <code>redis</code> profile (e.g. <code>mvn test -Predis -Dredis.uri=redis://localhost:6379</code>).
+ */
+public class RedisBootstrapConfigStoreTest {
+
+    private static final String BS_URL = "coaps://localhost:5684";
+
+    private Pool<Jedis> pool;
+    private String prefix;
+    private RedisBootstrapConfigStore store;
+
+    @BeforeEach
+    public void setUp() {
+        pool = RedisTestUtil.createJedisPool();
+        prefix = "LESHAN_TEST_BSSTORE#" + UUID.randomUUID() + "#";
+        store = new RedisBootstrapConfigStore.Builder(pool).setPrefix(prefix).build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.destroy();
+        RedisTestUtil.deleteKeys(pool, prefix);
+        pool.close();
+    }
+
+    @Test
+    public void config_can_be_found_by_endpoint_and_psk_identity() throws InvalidConfigurationException {
+        store.add("endpoint", createConfig("identity"));
+
+        assertEquals(BS_URL, store.getByEndpoint("endpoint").security.get(0).uri);
+        assertEquals("identity", new String(store.getByPskIdentity(BS_URL, "identity").security.get(0).publicKeyOrId,
+                StandardCharsets.UTF_8));
+        assertNull(store.getByPskIdentity("coaps://other:5684", "identity"));
+        assertEquals(1, store.getAll().size());
+
+        // identity change moves the index
+        store.add("endpoint", createConfig("new-identity"));
+        assertNull(store.getByPskIdentity(BS_URL, "identity"));
+        assertNotNull(store.getByPskIdentity(BS_URL, "new-identity"));
+
+        assertEquals(BS_URL, store.remove("endpoint").security.get(0).uri);
+        assertNull(store.getByEndpoint("endpoint"));
+        assertNull(store.getByPskIdentity(BS_URL, "new-identity"));
+        assertNull(store.remove("endpoint"));
+    }
+
+    @Test
+    public void psk_identity_must_be_unique() throws InvalidConfigurationException {
+        store.add("endpoint1", createConfig("identity"));
+
+        assertThrows(InvalidConfigurationException.class, () -> store.add("endpoint2", createConfig("identity")));
+        assertNull(store.getByEndpoint("endpoint2"));
+
+        // identity can be used again once released
+        store.remove("endpoint1");
+        store.add("endpoint2", createConfig("identity"));
+        assertEquals(1, store.getAll().size());
+    }
+
+    @Test
+    public void cache_is_invalidated_by_other_store() throws Exception {
+        RedisBootstrapConfigStore cachingStore = new RedisBootstrapConfigStore.Builder(pool).setPrefix(prefix).build();
+        List<BootstrapConfig> removedConfigs = new CopyOnWriteArrayList<>();
+        cachingStore.addListener(new BootstrapConfigStoreListener() {
+            @Override
+            public void configAdded(String endpoint, BootstrapConfig previousConfig, BootstrapConfig config) {
+            }
+
+            @Override
+            public void configRemoved(String endpoint, BootstrapConfig config) {
+                removedConfigs.add(config);
+            }
+        });
+        try {
+            // added before subscription, so its invalidation message can not reach the cache after the first read
+            store.add("endpoint", createConfig("identity"));
+            cachingStore.start();
+            waitUntil(cachingStore::isCacheActive);
+
+            // same instance is returned while in cache
+            BootstrapConfig cachedConfig = cachingStore.getByEndpoint("endpoint");
+            assertSame(cachedConfig, cachingStore.getByEndpoint("endpoint"));
+            assertSame(cachedConfig, cachingStore.getByPskIdentity(BS_URL, "identity"));
+            assertEquals(1, cachingStore.getCacheSize());
+
+            // a modification done by another store invalidates the cache
+            store.add("endpoint", createConfig("new-identity"));
+            waitUntil(() -> cachingStore.getCacheSize() == 0);
+            assertSame(cachedConfig, removedConfigs.get(0));
+            BootstrapConfig newConfig = cachingStore.getByEndpoint("endpoint");
+            assertNotSame(cachedConfig, newConfig);
+            assertEquals("new-identity", new String(newConfig.security.get(0).publicKeyOrId, StandardCharsets.UTF_8));
+
+            // own modifications update the cache
+            BootstrapConfig addedConfig = createConfig("identity");
+            cachingStore.add("endpoint", addedConfig);
+            assertSame(addedConfig, cachingStore.getByEndpoint("endpoint"));
+        } finally {
+            cachingStore.destroy();
+        }
+    }
+
+    private BootstrapConfig createConfig(String identity) {
+        BootstrapConfig config = new BootstrapConfig();
+        ServerSecurity security = new ServerSecurity();
+        security.uri = BS_URL;
+        security.bootstrapServer = true;
+        security.securityMode = SecurityMode.PSK;
+        security.publicKeyOrId = identity.getBytes(StandardCharsets.UTF_8);
+        security.secretKey = new byte[16];
+        config.security.put(0, security);
+        return config;
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < timeout, "condition not reached after 5s");
+            Thread.sleep(10);
+        }
+    }
+
+}
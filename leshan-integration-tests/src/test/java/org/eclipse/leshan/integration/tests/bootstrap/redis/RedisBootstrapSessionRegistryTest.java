@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.integration.tests.bootstrap.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.leshan.bsserver.BootstrapSession;
+import org.eclipse.leshan.bsserver.DefaultBootstrapSession;
+import org.eclipse.leshan.bsserver.redis.RedisBootstrapSessionRegistry;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.BootstrapRequest;
+import org.eclipse.leshan.integration.tests.util.RedisTestUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * Tests of {@link RedisBootstrapSessionRegistry} which need a running Redis server. They are only executed with the
+ * <code>redis</code> profile (e.g. <code>mvn test -Predis -Dredis.uri=redis://localhost:6379</code>).
+ */
+public class RedisBootstrapSessionRegistryTest {
+
+    private Pool<Jedis> pool;
+    private String prefix;
+    private RedisBootstrapSessionRegistry registry1;
+    private RedisBootstrapSessionRegistry registry2;
+
+    @BeforeEach
+    public void setUp() {
+        pool = RedisTestUtil.createJedisPool();
+        prefix = "LESHAN_TEST_BSSESSION#" + UUID.randomUUID() + "#";
+        registry1 = new RedisBootstrapSessionRegistry.Builder(pool).setPrefix(prefix).build();
+        registry2 = new RedisBootstrapSessionRegistry.Builder(pool).setPrefix(prefix).build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        registry1.destroy();
+        registry2.destroy();
+        RedisTestUtil.deleteKeys(pool, prefix);
+        pool.close();
+    }
+
+    @Test
+    public void sessions_are_shared_between_servers() {
+        BootstrapSession session = newSession("endpoint");
+        assertNull(registry1.add(session));
+
+        assertTrue(registry2.contains("endpoint"));
+        assertFalse(registry2.contains("other"));
+        assertEquals(1, registry1.size());
+        assertEquals(1, registry2.size());
+        assertEquals(0, registry2.getLocalSize());
+
+        // only the server which handles the session can remove it
+        assertFalse(registry2.remove(session));
+        assertTrue(registry1.remove(session));
+        assertFalse(registry2.contains("endpoint"));
+        assertEquals(0, registry2.size());
+    }
+
+    @Test
+    public void local_session_is_returned_when_replaced() {
+        BootstrapSession session = newSession("endpoint");
+        BootstrapSession newSession = newSession("endpoint");
+        registry1.add(session);
+
+        assertSame(session, registry1.add(newSession));
+        assertFalse(registry1.remove(session));
+        assertEquals(1, registry1.size());
+        assertTrue(registry1.remove(newSession));
+        assertEquals(0, registry1.size());
+    }
+
+    @Test
+    public void session_replaced_by_other_server_is_notified() throws InterruptedException {
+        List<BootstrapSession> replacedSessions = new CopyOnWriteArrayList<>();
+        registry1.addListener(replacedSessions::add);
+        registry1.start();
+        // wait for subscription, there is no way to know it is done
+        Thread.sleep(200);
+
+        BootstrapSession session = newSession("endpoint");
+        registry1.add(session);
+        BootstrapSession newSession = newSession("endpoint");
+        assertNull(registry2.add(newSession));
+
+        waitUntil(() -> !replacedSessions.isEmpty());
+        assertSame(session, replacedSessions.get(0));
+        assertEquals(0, registry1.getLocalSize());
+        assertEquals(1, registry1.size());
+
+        // session is now owned by the other server
+        assertFalse(registry1.remove(session));
+        assertTrue(registry1.contains("endpoint"));
+        assertTrue(registry2.remove(newSession));
+        assertEquals(0, registry1.size());
+    }
+
+    @Test
+    public void expired_sessions_are_not_counted() throws InterruptedException {
+        RedisBootstrapSessionRegistry registry = new RedisBootstrapSessionRegistry.Builder(pool).setPrefix(prefix)
+                .setSessionTimeout(100).build();
+        registry.add(newSession("endpoint"));
+        assertEquals(1, registry.size());
+
+        Thread.sleep(200);
+        assertEquals(0, registry.size());
+        assertFalse(registry2.contains("endpoint"));
+    }
+
+    private BootstrapSession newSession(String endpoint) {
+        return new DefaultBootstrapSession(endpoint, new BootstrapRequest(endpoint),
+                new IpPeer(new InetSocketAddress(4242)), true, null, null);
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < timeout, "condition not reached after 5s");
+            Thread.sleep(10);
+        }
+    }
+}
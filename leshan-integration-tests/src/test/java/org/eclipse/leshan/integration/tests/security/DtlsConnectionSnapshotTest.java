@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.integration.tests.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.leshan.integration.tests.util.Credentials.GOOD_PSK_ID;
+import static org.eclipse.leshan.integration.tests.util.Credentials.GOOD_PSK_KEY;
+import static org.eclipse.leshan.integration.tests.util.LeshanTestClientBuilder.givenClientUsing;
+import static org.eclipse.leshan.integration.tests.util.assertion.Assertions.assertThat;
+
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.eclipse.californium.scandium.dtls.Handshaker;
+import org.eclipse.californium.scandium.dtls.SessionAdapter;
+import org.eclipse.leshan.core.endpoint.Protocol;
+import org.eclipse.leshan.integration.tests.util.LeshanTestClient;
+import org.eclipse.leshan.integration.tests.util.LeshanTestServer;
+import org.eclipse.leshan.integration.tests.util.LeshanTestServerBuilder;
+import org.eclipse.leshan.servers.security.InMemorySecurityStore;
+import org.eclipse.leshan.servers.security.NonUniqueSecurityInfoException;
+import org.eclipse.leshan.servers.security.SecurityInfo;
+import org.eclipse.leshan.servers.snapshot.FileSnapshotStore;
+import org.eclipse.leshan.transport.californium.server.DtlsConnectionSnapshotter;
+import org.eclipse.leshan.transport.californium.server.endpoint.CaliforniumServerEndpointsProvider;
+import org.eclipse.leshan.transport.californium.server.endpoint.coaps.CoapsServerEndpointFactoryBuilder;
+import org.eclipse.leshan.transport.californium.server.endpoint.coaps.CoapsServerProtocolProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DtlsConnectionSnapshotTest {
+
+    @TempDir
+    Path snapshotDirectory;
+
+    DtlsConnectionSnapshotter snapshotter;
+    AtomicInteger serverHandshakes = new AtomicInteger();
+    LeshanTestServer server;
+    LeshanTestClient client;
+
+    @BeforeEach
+    public void start() {
+        SecretKey key = new SecretKeySpec(new byte[16], "AES");
+        snapshotter = new DtlsConnectionSnapshotter(new FileSnapshotStore(snapshotDirectory.toString()), key, 60);
+    }
+
+    @AfterEach
+    public void stop() throws InterruptedException {
+        if (client != null)
+            client.destroy(false);
+        if (server != null)
+            server.destroy();
+    }
+
+    @Test
+    public void resume_dtls_session_after_server_restart() throws NonUniqueSecurityInfoException, InterruptedException {
+        // Start server and register a PSK client, snapshots are named after endpoint URI so port must not be 0
+        int port = findFreePort();
+        server = givenServerWithConnectionSnapshots(port);
+        server.start();
+        client = givenClientUsing(Protocol.COAPS).with("Californium").connectingTo(server)
+                .usingPsk(GOOD_PSK_ID, GOOD_PSK_KEY).build();
+        server.getSecurityStore()
+                .add(SecurityInfo.newPreSharedKeyInfo(client.getEndpointName(), GOOD_PSK_ID, GOOD_PSK_KEY));
+        client.start();
+        server.waitForNewRegistrationOf(client);
+        client.waitForRegistrationTo(server);
+        assertThat(serverHandshakes).hasValue(1);
+
+        // Replace server by a new one listening on same port, like a rolling restart would do
+        server.destroy();
+        server = givenServerWithConnectionSnapshots(port);
+        server.getSecurityStore()
+                .add(SecurityInfo.newPreSharedKeyInfo(client.getEndpointName(), GOOD_PSK_ID, GOOD_PSK_KEY));
+        server.start();
+
+        // New server does not know registration, so client registers again using its previous DTLS session
+        client.triggerRegistrationUpdate();
+        server.waitForNewRegistrationOf(client);
+        assertThat(client).isRegisteredAt(server);
+        assertThat(serverHandshakes).hasValue(1);
+    }
+
+    @Test
+    public void resume_dtls_session_after_server_stop_start()
+            throws NonUniqueSecurityInfoException, InterruptedException {
+        // Start server and register a PSK client
+        server = givenServerWithConnectionSnapshots(findFreePort());
+        server.start();
+        client = givenClientUsing(Protocol.COAPS).with("Californium").connectingTo(server)
+                .usingPsk(GOOD_PSK_ID, GOOD_PSK_KEY).build();
+        server.getSecurityStore()
+                .add(SecurityInfo.newPreSharedKeyInfo(client.getEndpointName(), GOOD_PSK_ID, GOOD_PSK_KEY));
+        client.start();
+        server.waitForNewRegistrationOf(client);
+        client.waitForRegistrationTo(server);
+        assertThat(serverHandshakes).hasValue(1);
+
+        // Stop and start the same server : connections are saved then restored from the snapshot
+        server.stop();
+        server.start();
+        assertThat(snapshotDirectory).isEmptyDirectory();
+
+        client.triggerRegistrationUpdate();
+        client.waitForUpdateTo(server);
+        assertThat(serverHandshakes).hasValue(1);
+    }
+
+    private int findFreePort() {
+        try (DatagramSocket socket = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            return socket.getLocalPort();
+        } catch (SocketException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private LeshanTestServer givenServerWithConnectionSnapshots(int port) {
+        CaliforniumServerEndpointsProvider.Builder endpointsBuilder = new CaliforniumServerEndpointsProvider.Builder(
+                new CoapsServerProtocolProvider());
+        endpointsBuilder.addEndpoint(new CoapsServerEndpointFactoryBuilder() //
+                .setURI(new InetSocketAddress(InetAddress.getLoopbackAddress(), port)) //
+                .setDtlsConnectorConfig(dtlsConfig -> dtlsConfig.setSessionListener(new SessionAdapter() {
+                    @Override
+                    public void handshakeStarted(Handshaker handshaker) {
+                        serverHandshakes.incrementAndGet();
+                    }
+                })) //
+                .setConnectionSnapshotter(snapshotter) //
+                .build());
+
+        LeshanTestServerBuilder builder = new LeshanTestServerBuilder(Protocol.COAPS).with(new InMemorySecurityStore());
+        builder.setEndpointsProviders(endpointsBuilder.build());
+        return builder.build();
+    }
+}
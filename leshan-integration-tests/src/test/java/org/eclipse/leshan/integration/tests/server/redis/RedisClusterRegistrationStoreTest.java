@@ -0,0 +1,299 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.integration.tests.server.redis;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.integration.tests.util.RedisTestUtil;
+import org.eclipse.leshan.server.redis.RedisClusterRegistrationStore;
+import org.eclipse.leshan.server.registration.Deregistration;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationUpdate;
+import org.eclipse.leshan.server.registration.UpdatedRegistration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+/**
+ * Tests of {@link RedisClusterRegistrationStore} which need a running Redis Cluster. They are only executed with the
+ * <code>redis</code> profile, the <code>redis.cluster.nodes</code> property giving a comma separated list of cluster
+ * nodes (e.g. <code>mvn test -Predis -Dredis.cluster.nodes=localhost:7000</code>).
+ */
+public class RedisClusterRegistrationStoreTest {
+
+    private final String ep = "urn:endpoint";
+    private final int port = 23452;
+    private final Long lifetime = 10000L;
+    private final EnumSet<BindingMode> binding = EnumSet.of(BindingMode.U);
+    private final Link[] objectLinks = new Link[] { new Link("/3") };
+    private final String registrationId = "4711";
+
+    private JedisCluster cluster;
+    private String prefix;
+    private RedisClusterRegistrationStore store;
+    private InetAddress address;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        address = InetAddress.getLoopbackAddress();
+        cluster = RedisTestUtil.createJedisCluster();
+        prefix = "LESHAN_TEST_REGSTORE#" + UUID.randomUUID() + "#";
+        store = new RedisClusterRegistrationStore.Builder(cluster).setPrefix(prefix).setCleanPeriod(1).build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.destroy();
+        RedisTestUtil.deleteKeys(cluster, prefix);
+        cluster.close();
+    }
+
+    @Test
+    public void endpoint_keys_are_on_the_same_slot() {
+        for (String endpoint : new String[] { ep, "ep{with}braces", "}ep" }) {
+            int slot = JedisClusterCRC16.getSlot(prefix + "REG#EP#{" + endpoint + "}");
+            if (endpoint.indexOf('}') < 0) {
+                assertEquals(slot, JedisClusterCRC16.getSlot(prefix + "OBS#EP#{" + endpoint + "}"));
+                assertEquals(slot, JedisClusterCRC16.getSlot(prefix + "LOCK#EP#{" + endpoint + "}"));
+            }
+
+            // all operations on endpoint slot must succeed whatever the endpoint
+            store.addRegistration(newRegistration(registrationId, endpoint, port));
+            store.addObservation(registrationId, newObservation(registrationId, 1, "/3/0/1"), false);
+            assertEquals(1, store.removeRegistration(registrationId).getObservations().size());
+        }
+    }
+
+    @Test
+    public void registration_can_be_found_by_all_indexes() {
+        Registration registration = newRegistration(registrationId, ep, port);
+        assertNull(store.addRegistration(registration));
+
+        assertSameRegistration(registration, store.getRegistration(registrationId));
+        assertSameRegistration(registration, store.getRegistrationByEndpoint(ep));
+        assertSameRegistration(registration, store.getRegistrationByAdress(new InetSocketAddress(address, port)));
+        assertSameRegistration(registration,
+                store.getRegistrationByIdentity(registration.getClientTransportData().getIdentity()));
+
+        assertNull(store.getRegistration("unknown"));
+        assertNull(store.getRegistrationByAdress(new InetSocketAddress(address, port + 1)));
+    }
+
+    @Test
+    public void update_registration_moves_address_index() {
+        store.addRegistration(newRegistration(registrationId, ep, port));
+
+        RegistrationUpdate update = new RegistrationUpdate(registrationId,
+                new IpPeer(new InetSocketAddress(address, port + 1)), lifetime, null, null, null, null, null, null,
+                null, null, null);
+        UpdatedRegistration updated = store.updateRegistration(update);
+
+        assertNotNull(updated);
+        assertSameRegistration(updated.getUpdatedRegistration(), store.getRegistrationByEndpoint(ep));
+        assertNull(store.getRegistrationByAdress(new InetSocketAddress(address, port)));
+        assertSameRegistration(updated.getUpdatedRegistration(),
+                store.getRegistrationByAdress(new InetSocketAddress(address, port + 1)));
+    }
+
+    @Test
+    public void new_registration_replaces_previous_one_and_its_observations() {
+        Registration registration = newRegistration(registrationId, ep, port);
+        store.addRegistration(registration);
+        Observation observation = newObservation(registrationId, 1, "/3/0/1");
+        store.addObservation(registrationId, observation, false);
+
+        Registration newRegistration = newRegistration("new-id", ep, port + 1);
+        Deregistration deregistration = store.addRegistration(newRegistration);
+
+        assertSameRegistration(registration, deregistration.getRegistration());
+        assertEquals(1, deregistration.getObservations().size());
+        assertNull(store.getRegistration(registrationId));
+        assertNull(store.getRegistrationByAdress(new InetSocketAddress(address, port)));
+        assertNull(store.getObservation(observation.getId()));
+        assertSameRegistration(newRegistration, store.getRegistration("new-id"));
+        assertTrue(store.getObservations("new-id").isEmpty());
+
+        // observation of previous registration can not be added to the new one
+        assertThrows(IllegalStateException.class,
+                () -> store.addObservation(registrationId, newObservation(registrationId, 2, "/3/0/2"), false));
+    }
+
+    @Test
+    public void observations_can_be_added_found_and_removed() {
+        store.addRegistration(newRegistration(registrationId, ep, port));
+        Observation first = newObservation(registrationId, 1, "/3/0/1");
+        Observation second = newObservation(registrationId, 2, "/3/0/1");
+        Observation other = newObservation(registrationId, 3, "/3/0/2");
+
+        store.addObservation(registrationId, first, false);
+        store.addObservation(registrationId, other, false);
+        Collection<Observation> removed = store.addObservation(registrationId, second, false);
+
+        assertEquals(1, removed.size());
+        assertEquals(first.getId(), removed.iterator().next().getId());
+        assertNull(store.getObservation(first.getId()));
+        assertEquals(2, store.getObservations(registrationId).size());
+        assertEquals(second.getId(), store.getObservation(second.getId()).getId());
+        assertEquals(second.getId(), store.getObservation(registrationId, second.getId()).getId());
+
+        assertEquals(other.getId(), store.removeObservation(registrationId, other.getId()).getId());
+        assertNull(store.getObservation(other.getId()));
+        assertEquals(1, store.removeObservations(registrationId).size());
+        assertTrue(store.getObservations(registrationId).isEmpty());
+    }
+
+    @Test
+    public void all_registrations_are_scanned_on_all_nodes() {
+        int nbRegistrations = 50;
+        for (int i = 0; i < nbRegistrations; i++) {
+            store.addRegistration(newRegistration("id" + i, "ep" + i, port + i));
+        }
+
+        Set<String> endpoints = new HashSet<>();
+        Iterator<Registration> all = store.getAllRegistrations();
+        while (all.hasNext()) {
+            endpoints.add(all.next().getEndpoint());
+        }
+        assertEquals(nbRegistrations, endpoints.size());
+    }
+
+    @Test
+    public void expired_registration_is_cleaned_and_listener_notified() throws InterruptedException {
+        final CountDownLatch expired = new CountDownLatch(1);
+        final AtomicReference<Registration> expiredRegistration = new AtomicReference<>();
+        store.setExpirationListener((registration, observations) -> {
+            expiredRegistration.set(registration);
+            expired.countDown();
+        });
+        store.start();
+
+        Registration registration = new Registration.Builder(registrationId, ep,
+                new IpPeer(new InetSocketAddress(address, port)), uriHandler.createUri("coap://localhost:5683"))
+                        .lifeTimeInSec(1L).bindingMode(binding).objectLinks(objectLinks).build();
+        store.addRegistration(registration);
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertSameRegistration(registration, expiredRegistration.get());
+        assertNull(store.getRegistrationByEndpoint(ep));
+        assertNull(store.getRegistration(registrationId));
+    }
+
+    @Test
+    public void each_clean_period_starts_from_the_next_shard() throws InterruptedException {
+        store.destroy();
+        store = new RedisClusterRegistrationStore.Builder(cluster).setPrefix(prefix).setCleanPeriod(1).setCleanLimit(1)
+                .setExpirationShards(2).build();
+        List<String> expiredEndpoints = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch lastShardCleaned = new CountDownLatch(1);
+        store.setExpirationListener((registration, observations) -> {
+            expiredEndpoints.add(registration.getEndpoint());
+            if (shardOf(registration.getEndpoint()) == 1) {
+                lastShardCleaned.countDown();
+            }
+        });
+
+        // more expired registrations in first shard than the clean limit
+        int firstShardCount = 0;
+        for (int i = 0; firstShardCount < 5; i++) {
+            if (shardOf("ep" + i) == 0) {
+                store.addRegistration(newExpiredRegistration("id" + i, "ep" + i));
+                firstShardCount++;
+            }
+        }
+        int i = 0;
+        while (shardOf("last" + i) != 1) {
+            i++;
+        }
+        store.addRegistration(newExpiredRegistration("last" + i, "last" + i));
+        store.start();
+
+        // registration of second shard does not wait for all expired registrations of first shard
+        assertTrue(lastShardCleaned.await(10, TimeUnit.SECONDS));
+        assertTrue(expiredEndpoints.size() < 5, "cleaned before second shard : " + expiredEndpoints);
+    }
+
+    @Test
+    public void prefix_with_hash_tag_delimiter_is_rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RedisClusterRegistrationStore.Builder(cluster).setPrefix("{LESHAN}").build());
+    }
+
+    private void assertSameRegistration(Registration expected, Registration actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getEndpoint(), actual.getEndpoint());
+        assertEquals(expected.getSocketAddress(), actual.getSocketAddress());
+        assertEquals(expected.getLifeTimeInSec(), actual.getLifeTimeInSec());
+        assertEquals(expected.getLastUpdate(), actual.getLastUpdate());
+    }
+
+    private int shardOf(String endpoint) {
+        return (endpoint.hashCode() & Integer.MAX_VALUE) % 2;
+    }
+
+    private Registration newExpiredRegistration(String id, String endpoint) {
+        return new Registration.Builder(id, endpoint, new IpPeer(new InetSocketAddress(address, port)),
+                uriHandler.createUri("coap://localhost:5683")).lifeTimeInSec(1L).lastUpdate(new Date(0))
+                        .bindingMode(binding).objectLinks(objectLinks).build();
+    }
+
+    private Registration newRegistration(String id, String endpoint, int port) {
+        return new Registration.Builder(id, endpoint, new IpPeer(new InetSocketAddress(address, port)),
+                uriHandler.createUri("coap://localhost:5683")).lifeTimeInSec(lifetime).bindingMode(binding)
+                        .objectLinks(objectLinks).build();
+    }
+
+    private Observation newObservation(String registrationId, int token, String path) {
+        return new SingleObservation(
+                new ObservationIdentifier(uriHandler.createUri("coap://localhost:5683"),
+                        ByteBuffer.allocate(4).putInt(token).array()),
+                registrationId, new LwM2mPath(path), ContentFormat.TLV, null, null);
+    }
+
+}
@@ -0,0 +1,510 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.integration.tests.server.redis;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.integration.tests.util.RedisTestUtil;
+import org.eclipse.leshan.server.redis.RedisRegistrationStore;
+import org.eclipse.leshan.server.redis.RegistrationNearCache;
+import org.eclipse.leshan.server.registration.Deregistration;
+import org.eclipse.leshan.server.registration.ExpirationListener;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationUpdate;
+import org.eclipse.leshan.server.registration.UpdatedRegistration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * Tests of {@link RedisRegistrationStore} which need a running Redis server. They are only executed with the
+ * <code>redis</code> profile (e.g. <code>mvn test -Predis -Dredis.uri=redis://localhost:6379</code>).
+ */
+public class RedisRegistrationStoreOperationsTest {
+
+    private final String ep = "urn:endpoint";
+    private final int port = 23452;
+    private final Long lifetime = 10000L;
+    private final EnumSet<BindingMode> binding = EnumSet.of(BindingMode.U);
+    private final Link[] objectLinks = new Link[] { new Link("/3") };
+    private final String registrationId = "4711";
+
+    private Pool<Jedis> pool;
+    private String prefix;
+    private RedisRegistrationStore store;
+    private InetAddress address;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        address = InetAddress.getLoopbackAddress();
+        pool = RedisTestUtil.createJedisPool();
+        prefix = "LESHAN_TEST_REGSTORE#" + UUID.randomUUID() + "#";
+        store = new RedisRegistrationStore.Builder(pool).setPrefix(prefix).setCleanPeriod(1).build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.destroy();
+        RedisTestUtil.deleteKeys(pool, prefix);
+        pool.close();
+    }
+
+    @Test
+    public void registration_can_be_found_by_all_indexes() {
+        Registration registration = newRegistration(registrationId, ep, port);
+        assertNull(store.addRegistration(registration));
+
+        assertSameRegistration(registration, store.getRegistration(registrationId));
+        assertSameRegistration(registration, store.getRegistrationByEndpoint(ep));
+        assertSameRegistration(registration, store.getRegistrationByAdress(new InetSocketAddress(address, port)));
+        assertSameRegistration(registration,
+                store.getRegistrationByIdentity(registration.getClientTransportData().getIdentity()));
+
+        assertNull(store.getRegistration("unknown"));
+        assertNull(store.getRegistrationByAdress(new InetSocketAddress(address, port + 1)));
+
+        Iterator<Registration> all = store.getAllRegistrations();
+        assertSameRegistration(registration, all.next());
+    }
+
+    @Test
+    public void update_registration_moves_address_index() {
+        store.addRegistration(newRegistration(registrationId, ep, port));
+
+        RegistrationUpdate update = new RegistrationUpdate(registrationId,
+                new IpPeer(new InetSocketAddress(address, port + 1)), lifetime, null, null, null, null, null, null,
+                null, null, null);
+        UpdatedRegistration updated = store.updateRegistration(update);
+
+        assertNotNull(updated);
+        assertSameRegistration(updated.getUpdatedRegistration(), store.getRegistrationByEndpoint(ep));
+        assertNull(store.getRegistrationByAdress(new InetSocketAddress(address, port)));
+        assertSameRegistration(updated.getUpdatedRegistration(),
+                store.getRegistrationByAdress(new InetSocketAddress(address, port + 1)));
+
+        assertNull(store
+                .updateRegistration(new RegistrationUpdate("unknown", new IpPeer(new InetSocketAddress(address, port)),
+                        null, null, null, null, null, null, null, null, null, null)));
+    }
+
+    @Test
+    public void new_registration_replaces_previous_one_and_its_observations() {
+        Registration registration = newRegistration(registrationId, ep, port);
+        store.addRegistration(registration);
+        store.addObservation(registrationId, newObservation(registrationId, 1, "/3/0/1"), false);
+
+        Registration newRegistration = newRegistration("new-id", ep, port + 1);
+        Deregistration deregistration = store.addRegistration(newRegistration);
+
+        assertSameRegistration(registration, deregistration.getRegistration());
+        assertEquals(1, deregistration.getObservations().size());
+        assertNull(store.getRegistration(registrationId));
+        assertNull(store.getRegistrationByAdress(new InetSocketAddress(address, port)));
+        assertSameRegistration(newRegistration, store.getRegistrationByEndpoint(ep));
+        assertSameRegistration(newRegistration, store.getRegistration("new-id"));
+        assertSameRegistration(newRegistration,
+                store.getRegistrationByAdress(new InetSocketAddress(address, port + 1)));
+        assertTrue(store.getObservations(registrationId).isEmpty());
+    }
+
+    @Test
+    public void stale_registration_id_index_does_not_modify_new_registration() {
+        store.addRegistration(newRegistration(registrationId, ep, port));
+        Registration newRegistration = newRegistration("new-id", ep, port + 1);
+        store.addRegistration(newRegistration);
+
+        // simulate a registration ID index which still points to the endpoint registered again
+        try (Jedis j = pool.getResource()) {
+            j.set(prefix + "EP#REGID#" + registrationId, ep);
+        }
+
+        assertNull(store.updateRegistration(
+                new RegistrationUpdate(registrationId, new IpPeer(new InetSocketAddress(address, port + 2)), 20000L,
+                        null, null, null, null, null, null, null, null, null)));
+        assertNull(store.removeRegistration(registrationId));
+        Registration registration = store.getRegistrationByEndpoint(ep);
+        assertSameRegistration(newRegistration, registration);
+        assertEquals(lifetime, registration.getLifeTimeInSec());
+        assertSameRegistration(newRegistration,
+                store.getRegistrationByAdress(new InetSocketAddress(address, port + 1)));
+    }
+
+    @Test
+    public void optimistic_store_does_not_add_observation_with_stale_registration_id_index() {
+        RedisRegistrationStore optimisticStore = new RedisRegistrationStore.Builder(pool).setPrefix(prefix)
+                .setOptimisticConcurrency(true).build();
+        try {
+            optimisticStore.addRegistration(newRegistration(registrationId, ep, port));
+            optimisticStore.addRegistration(newRegistration("new-id", ep, port + 1));
+
+            // simulate a registration ID index which still points to the endpoint registered again
+            try (Jedis j = pool.getResource()) {
+                j.set(prefix + "EP#REGID#" + registrationId, ep);
+            }
+
+            assertThrows(IllegalStateException.class, () -> optimisticStore.addObservation(registrationId,
+                    newObservation(registrationId, 1, "/3/0/1"), false));
+            assertTrue(optimisticStore.getObservations(registrationId).isEmpty());
+        } finally {
+            optimisticStore.destroy();
+        }
+    }
+
+    @Test
+    public void optimistic_store_updates_registrations_in_batch() {
+        RedisRegistrationStore optimisticStore = new RedisRegistrationStore.Builder(pool).setPrefix(prefix)
+                .setOptimisticConcurrency(true).build();
+        try {
+            optimisticStore.addRegistration(newRegistration(registrationId, ep, port));
+            optimisticStore.addRegistration(newRegistration("other-id", "urn:other", port + 1));
+
+            List<UpdatedRegistration> updated = optimisticStore.updateRegistrations(Arrays.asList(
+                    new RegistrationUpdate(registrationId, new IpPeer(new InetSocketAddress(address, port + 2)), 20000L,
+                            null, null, null, null, null, null, null, null, null),
+                    new RegistrationUpdate("unknown", new IpPeer(new InetSocketAddress(address, port)), 20000L, null,
+                            null, null, null, null, null, null, null, null),
+                    new RegistrationUpdate("other-id", new IpPeer(new InetSocketAddress(address, port + 1)), 20000L,
+                            null, null, null, null, null, null, null, null, null)));
+
+            assertEquals(3, updated.size());
+            assertNull(updated.get(1));
+            assertSameRegistration(updated.get(0).getUpdatedRegistration(),
+                    optimisticStore.getRegistrationByAdress(new InetSocketAddress(address, port + 2)));
+            assertNull(optimisticStore.getRegistrationByAdress(new InetSocketAddress(address, port)));
+            assertEquals(20000L, optimisticStore.getRegistration(registrationId).getLifeTimeInSec());
+            assertEquals(20000L, optimisticStore.getRegistration("other-id").getLifeTimeInSec());
+        } finally {
+            optimisticStore.destroy();
+        }
+    }
+
+    @Test
+    public void remove_registration_removes_indexes_and_observations() {
+        Registration registration = newRegistration(registrationId, ep, port);
+        store.addRegistration(registration);
+        store.addObservation(registrationId, newObservation(registrationId, 1, "/3/0/1"), false);
+        store.addObservation(registrationId, newObservation(registrationId, 2, "/3/0/2"), false);
+
+        Deregistration deregistration = store.removeRegistration(registrationId);
+
+        assertSameRegistration(registration, deregistration.getRegistration());
+        assertEquals(2, deregistration.getObservations().size());
+        assertNull(store.getRegistration(registrationId));
+        assertNull(store.getRegistrationByEndpoint(ep));
+        assertNull(store.getRegistrationByAdress(new InetSocketAddress(address, port)));
+        assertNull(store.getRegistrationByIdentity(registration.getClientTransportData().getIdentity()));
+        assertTrue(store.getObservations(registrationId).isEmpty());
+        assertNull(store.removeRegistration(registrationId));
+    }
+
+    @Test
+    public void add_observation_on_same_path_replaces_previous_one() {
+        store.addRegistration(newRegistration(registrationId, ep, port));
+        Observation first = newObservation(registrationId, 1, "/3/0/1");
+        Observation second = newObservation(registrationId, 2, "/3/0/1");
+
+        store.addObservation(registrationId, first, false);
+        Collection<Observation> removed = store.addObservation(registrationId, second, false);
+
+        assertEquals(1, removed.size());
+        assertEquals(first.getId(), removed.iterator().next().getId());
+        assertEquals(1, store.getObservations(registrationId).size());
+        assertEquals(second.getId(), store.getObservation(second.getId()).getId());
+    }
+
+    @Test
+    public void expired_registration_is_cleaned_and_listener_notified() throws InterruptedException {
+        final CountDownLatch expired = new CountDownLatch(1);
+        final AtomicReference<Registration> expiredRegistration = new AtomicReference<>();
+        store.setExpirationListener((registration, observations) -> {
+            expiredRegistration.set(registration);
+            expired.countDown();
+        });
+        store.start();
+
+        Registration registration = new Registration.Builder(registrationId, ep,
+                new IpPeer(new InetSocketAddress(address, port)), uriHandler.createUri("coap://localhost:5683"))
+                        .lifeTimeInSec(1L).bindingMode(binding).objectLinks(objectLinks).build();
+        store.addRegistration(registration);
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertSameRegistration(registration, expiredRegistration.get());
+        assertNull(store.getRegistrationByEndpoint(ep));
+    }
+
+    @Test
+    public void expired_registrations_are_cleaned_once_by_cooperating_stores() throws InterruptedException {
+        int nbRegistrations = 200;
+        Set<String> expiredEndpoints = ConcurrentHashMap.newKeySet();
+        AtomicInteger expiredCount = new AtomicInteger();
+        ExpirationListener listener = (registration, observations) -> {
+            expiredEndpoints.add(registration.getEndpoint());
+            expiredCount.incrementAndGet();
+        };
+
+        // registrations expired 10s ago, one of them is locked, one is still alive
+        Date lastUpdate = new Date(System.currentTimeMillis() - 10000);
+        for (int i = 0; i < nbRegistrations; i++) {
+            store.addRegistration(
+                    new Registration.Builder("id" + i, "ep" + i, new IpPeer(new InetSocketAddress(address, port + i)),
+                            uriHandler.createUri("coap://localhost:5683")).lifeTimeInSec(1L).lastUpdate(lastUpdate)
+                                    .bindingMode(binding).objectLinks(objectLinks).build());
+        }
+        store.addObservation("id0", newObservation("id0", 1, "/3/0/1"), false);
+        store.addRegistration(newRegistration("alive", "alive-ep", port - 1));
+        try (Jedis j = pool.getResource()) {
+            j.set(prefix + "LOCK#EP#ep1", "locked");
+        }
+
+        RedisRegistrationStore otherStore = new RedisRegistrationStore.Builder(pool).setPrefix(prefix).setCleanPeriod(1)
+                .setCleanBatchSize(10).setCleanWorkers(4).build();
+        RedisRegistrationStore batchStore = new RedisRegistrationStore.Builder(pool).setPrefix(prefix).setCleanPeriod(1)
+                .setCleanBatchSize(10).setCleanWorkers(2).build();
+        try {
+            otherStore.setExpirationListener(listener);
+            batchStore.setExpirationListener(listener);
+            otherStore.start();
+            batchStore.start();
+
+            waitUntil(() -> expiredCount.get() >= nbRegistrations - 1);
+            Thread.sleep(1500);
+            assertEquals(nbRegistrations - 1, expiredCount.get());
+            assertEquals(nbRegistrations - 1, expiredEndpoints.size());
+            assertNull(store.getRegistration("id0"));
+            assertNull(store.getRegistrationByAdress(new InetSocketAddress(address, port)));
+            assertTrue(store.getObservations("id0").isEmpty());
+            assertNotNull(store.getRegistration("id1"));
+            assertNotNull(store.getRegistration("alive"));
+
+            // locked registration is cleaned once unlocked
+            try (Jedis j = pool.getResource()) {
+                j.del(prefix + "LOCK#EP#ep1");
+            }
+            waitUntil(() -> expiredCount.get() == nbRegistrations);
+            assertNull(store.getRegistration("id1"));
+        } finally {
+            otherStore.destroy();
+            batchStore.destroy();
+        }
+    }
+
+    @Test
+    public void near_cache_serves_lookups_and_is_invalidated_by_other_store() throws InterruptedException {
+        RedisRegistrationStore cachingStore = new RedisRegistrationStore.Builder(pool).setPrefix(prefix)
+                .setNearCacheSize(100).build();
+        try {
+            cachingStore.start();
+            RegistrationNearCache nearCache = cachingStore.getNearCache();
+            waitUntil(nearCache::isActive);
+
+            store.addRegistration(newRegistration(registrationId, ep, port));
+            // wait for invalidation of registration, id, address and identity keys
+            waitUntil(() -> nearCache.getInvalidationCount() == 4);
+            InetSocketAddress socketAddress = new InetSocketAddress(address, port);
+
+            // first lookup is a miss, registration is then cached by endpoint and by address
+            assertNotNull(cachingStore.getRegistrationByAdress(socketAddress));
+            assertEquals(1, nearCache.getMissCount());
+            assertNotNull(cachingStore.getRegistrationByEndpoint(ep));
+            assertNotNull(cachingStore.getRegistrationByAdress(socketAddress));
+            assertEquals(2, nearCache.getHitCount());
+            assertEquals(1, nearCache.getMissCount());
+
+            // an update done by another store invalidates the cache
+            store.updateRegistration(
+                    new RegistrationUpdate(registrationId, new IpPeer(new InetSocketAddress(address, port + 1)), null,
+                            null, null, null, null, null, null, null, null, null));
+            waitUntil(() -> nearCache.size() == 0);
+            assertNull(cachingStore.getRegistrationByAdress(socketAddress));
+            assertEquals(port + 1, cachingStore.getRegistrationByEndpoint(ep).getSocketAddress().getPort());
+
+            // a removal done by another store invalidates the cache
+            store.removeRegistration(registrationId);
+            waitUntil(() -> nearCache.size() == 0);
+            assertNull(cachingStore.getRegistrationByEndpoint(ep));
+        } finally {
+            cachingStore.destroy();
+        }
+    }
+
+    @Test
+    public void near_cache_follows_address_reused_by_another_endpoint() throws InterruptedException {
+        RedisRegistrationStore cachingStore = new RedisRegistrationStore.Builder(pool).setPrefix(prefix)
+                .setNearCacheSize(100).build();
+        try {
+            cachingStore.start();
+            RegistrationNearCache nearCache = cachingStore.getNearCache();
+            waitUntil(nearCache::isActive);
+
+            InetSocketAddress socketAddress = new InetSocketAddress(address, port);
+            store.addRegistration(newRegistration(registrationId, ep, port));
+            assertEquals(ep, cachingStore.getRegistrationByAdress(socketAddress).getEndpoint());
+
+            // another endpoint now uses the same address : the most recent binding is returned
+            long invalidations = nearCache.getInvalidationCount();
+            store.addRegistration(newRegistration("other-id", "other-ep", port));
+            waitUntil(() -> nearCache.getInvalidationCount() > invalidations);
+            assertEquals("other-ep", cachingStore.getRegistrationByAdress(socketAddress).getEndpoint());
+        } finally {
+            cachingStore.destroy();
+        }
+    }
+
+    @Test
+    public void binary_store_reads_registrations_and_observations_stored_in_json() {
+        Registration registration = newRegistration(registrationId, ep, port);
+        store.addRegistration(registration);
+        Observation observation = newObservation(registrationId, 1, "/3/0/1");
+        store.addObservation(registrationId, observation, false);
+
+        RedisRegistrationStore binaryStore = new RedisRegistrationStore.Builder(pool).setPrefix(prefix)
+                .setBinarySerialization(true).build();
+        try {
+            assertSameRegistration(registration, binaryStore.getRegistrationByEndpoint(ep));
+            assertEquals(observation.getId(), binaryStore.getObservation(observation.getId()).getId());
+
+            // registration is written in binary format on update
+            UpdatedRegistration updated = binaryStore.updateRegistration(
+                    new RegistrationUpdate(registrationId, new IpPeer(new InetSocketAddress(address, port)), null, null,
+                            null, null, null, null, null, null, null, null));
+            try (Jedis j = pool.getResource()) {
+                byte[] data = j.get((prefix + "REG#EP#" + ep).getBytes(StandardCharsets.UTF_8));
+                assertNotEquals('{', data[0]);
+            }
+            assertSameRegistration(updated.getUpdatedRegistration(), binaryStore.getRegistration(registrationId));
+        } finally {
+            binaryStore.destroy();
+        }
+    }
+
+    @Test
+    public void optimistic_store_handles_concurrent_writes_on_same_endpoint() throws Exception {
+        RedisRegistrationStore optimisticStore = new RedisRegistrationStore.Builder(pool).setPrefix(prefix)
+                .setOptimisticConcurrency(true).build();
+        try {
+            Registration registration = newRegistration(registrationId, ep, port);
+            assertNull(optimisticStore.addRegistration(registration));
+
+            int nbThreads = 8;
+            int nbOperations = 50;
+            ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < nbThreads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < nbOperations; i++) {
+                        optimisticStore.updateRegistration(new RegistrationUpdate(registrationId,
+                                new IpPeer(new InetSocketAddress(address, port + thread + 1)), null, null, null, null,
+                                null, null, null, null, null, null));
+                        // each thread observes its own path, so only its last observation must remain
+                        optimisticStore.addObservation(registrationId,
+                                newObservation(registrationId, thread * nbOperations + i, "/3/0/" + thread), false);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+
+            Registration updated = optimisticStore.getRegistration(registrationId);
+            assertSameRegistration(updated, optimisticStore.getRegistrationByAdress(updated.getSocketAddress()));
+            assertEquals(nbThreads, optimisticStore.getObservations(registrationId).size());
+
+            // re-registration and removal remove observations
+            Deregistration deregistration = optimisticStore.addRegistration(newRegistration("new-id", ep, port));
+            assertEquals(nbThreads, deregistration.getObservations().size());
+            assertNull(optimisticStore.getRegistration(registrationId));
+            optimisticStore.addObservation("new-id", newObservation("new-id", 1, "/3/0/1"), false);
+            assertEquals(1, optimisticStore.removeRegistration("new-id").getObservations().size());
+            assertNull(optimisticStore.getRegistrationByEndpoint(ep));
+        } finally {
+            optimisticStore.destroy();
+        }
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < timeout, "condition not reached after 5s");
+            Thread.sleep(10);
+        }
+    }
+
+    private void assertSameRegistration(Registration expected, Registration actual) {
+        // Registration.equals() could fail on object links after deserialization.
+        assertNotNull(actual);
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getEndpoint(), actual.getEndpoint());
+        assertEquals(expected.getSocketAddress(), actual.getSocketAddress());
+        assertEquals(expected.getLifeTimeInSec(), actual.getLifeTimeInSec());
+        assertEquals(expected.getLastUpdate(), actual.getLastUpdate());
+    }
+
+    private Registration newRegistration(String id, String endpoint, int port) {
+        return new Registration.Builder(id, endpoint, new IpPeer(new InetSocketAddress(address, port)),
+                uriHandler.createUri("coap://localhost:5683")).lifeTimeInSec(lifetime).bindingMode(binding)
+                        .objectLinks(objectLinks).build();
+    }
+
+    private Observation newObservation(String registrationId, int token, String path) {
+        return new SingleObservation(
+                new ObservationIdentifier(uriHandler.createUri("coap://localhost:5683"),
+                        ByteBuffer.allocate(4).putInt(token).array()),
+                registrationId, new LwM2mPath(path), ContentFormat.TLV, null, null);
+    }
+
+}
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.integration.tests.server.redis;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.eclipse.leshan.integration.tests.util.RedisTestUtil;
+import org.eclipse.leshan.server.redis.RedisRegistrationStore;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationUpdate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisFactory;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisSocketFactory;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.util.JedisURIHelper;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * Checks the number of round-trips to Redis of each {@link RedisRegistrationStore} operation. Round-trips are counted
+ * by counting flushes of the connection output stream.
+ * <p>
+ * Latency of these operations is measured by <code>RedisRegistrationStoreBenchmark</code> of leshan-benchmarks module.
+ */
+public class RedisRegistrationStoreRoundTripTest {
+
+    private static final int NB_REGISTRATIONS = 100;
+
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final InetAddress address = InetAddress.getLoopbackAddress();
+
+    private Pool<Jedis> pool;
+    private String prefix;
+    private RedisRegistrationStore store;
+
+    @BeforeEach
+    public void setUp() {
+        pool = createCountingPool(URI.create(RedisTestUtil.getRedisURI()));
+        prefix = "LESHAN_TEST_ROUNDTRIP_REGSTORE#" + UUID.randomUUID() + "#";
+        store = new RedisRegistrationStore.Builder(pool).setPrefix(prefix).build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.destroy();
+        RedisTestUtil.deleteKeys(pool, prefix);
+        pool.close();
+    }
+
+    @Test
+    public void count_round_trips_by_operation() {
+        // warm up connections and script cache
+        store.addRegistration(newRegistration("warmup", "warmup", 1));
+        store.getRegistrationByAdress(new InetSocketAddress(address, 1));
+        store.removeRegistration("warmup");
+
+        double register = measure(i -> store.addRegistration(newRegistration("id" + i, "ep" + i, i)));
+        double reRegister = measure(i -> store.addRegistration(newRegistration("new-id" + i, "ep" + i, i)));
+        double update = measure(i -> store
+                .updateRegistration(new RegistrationUpdate("new-id" + i, new IpPeer(new InetSocketAddress(address, i)),
+                        null, null, null, null, null, null, null, null, null, null)));
+        double byEndpoint = measure(i -> store.getRegistrationByEndpoint("ep" + i));
+        double byId = measure(i -> store.getRegistration("new-id" + i));
+        double byAddress = measure(i -> store.getRegistrationByAdress(new InetSocketAddress(address, i)));
+        double deregister = measure(i -> store.removeRegistration("new-id" + i));
+
+        // lookups need only 1 round-trip
+        assertEquals(1, byEndpoint, 0.01);
+        assertEquals(1, byId, 0.01);
+        assertEquals(1, byAddress, 0.01);
+        // writes need 1 round-trip to write data, plus lock acquisition and release
+        // (plus registration fetching for update and deregister)
+        assertTrue(register <= 3.01);
+        assertTrue(reRegister <= 4.01);
+        assertTrue(update <= 5.01);
+        assertTrue(deregister <= 5.01);
+    }
+
+    private double measure(Operation operation) {
+        long startRoundTrips = roundTrips.get();
+        for (int i = 0; i < NB_REGISTRATIONS; i++) {
+            operation.execute(i + 2);
+        }
+        return (double) (roundTrips.get() - startRoundTrips) / NB_REGISTRATIONS;
+    }
+
+    private Registration newRegistration(String id, String endpoint, int port) {
+        return new Registration.Builder(id, endpoint, new IpPeer(new InetSocketAddress(address, port)),
+                uriHandler.createUri("coap://localhost:5683")).lifeTimeInSec(10000L)
+                        .bindingMode(EnumSet.of(BindingMode.U)).objectLinks(new Link[] { new Link("/3") }).build();
+    }
+
+    private Pool<Jedis> createCountingPool(URI uri) {
+        final String host = uri.getHost();
+        final int port = uri.getPort();
+        JedisSocketFactory socketFactory = new JedisSocketFactory() {
+            @Override
+            public Socket createSocket() throws JedisConnectionException {
+                try {
+                    Socket socket = new RoundTripCountingSocket();
+                    socket.setTcpNoDelay(true);
+                    socket.connect(new InetSocketAddress(host, port), 2000);
+                    socket.setSoTimeout(2000);
+                    return socket;
+                } catch (IOException e) {
+                    throw new JedisConnectionException("Failed to connect to " + uri, e);
+                }
+            }
+        };
+        DefaultJedisClientConfig config = DefaultJedisClientConfig.builder().database(JedisURIHelper.getDBIndex(uri))
+                .password(JedisURIHelper.getPassword(uri)).build();
+        return new JedisPool(new JedisFactory(socketFactory, config) {
+        });
+    }
+
+    private class RoundTripCountingSocket extends Socket {
+        private OutputStream out;
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException {
+            if (out == null) {
+                out = new FilterOutputStream(super.getOutputStream()) {
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        this.out.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        // Jedis flushes the connection once before waiting for response(s)
+                        roundTrips.incrementAndGet();
+                        super.flush();
+                    }
+                };
+            }
+            return out;
+        }
+    }
+
+    private interface Operation {
+        void execute(int i);
+    }
+}
@@ -24,11 +24,13 @@ import static org.mockito.Mockito.verify;
 
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.leshan.bsserver.BootstrapConfigStore;
 import org.eclipse.leshan.bsserver.BootstrapFailureCause;
 import org.eclipse.leshan.bsserver.BootstrapHandlerFactory;
 import org.eclipse.leshan.bsserver.BootstrapSession;
 import org.eclipse.leshan.bsserver.BootstrapSessionListener;
 import org.eclipse.leshan.bsserver.BootstrapSessionManager;
+import org.eclipse.leshan.bsserver.BootstrapSessionRegistry;
 import org.eclipse.leshan.bsserver.EditableBootstrapConfigStore;
 import org.eclipse.leshan.bsserver.LeshanBootstrapServer;
 import org.eclipse.leshan.bsserver.endpoint.LwM2mBootstrapServerEndpointsProvider;
@@ -54,12 +56,13 @@ public class LeshanTestBootstrapServer extends LeshanBootstrapServer {
             BootstrapSessionManager bsSessionManager, ServerEndpointNameProvider endpointNameProvider,
             BootstrapHandlerFactory bsHandlerFactory, LwM2mEncoder encoder, LwM2mDecoder decoder,
             LwM2mLinkParser linkParser, EndPointUriHandler uriHandler, BootstrapSecurityStore securityStore,
-            ServerSecurityInfo serverSecurityInfo, //
+            ServerSecurityInfo serverSecurityInfo, BootstrapConfigStore usedConfigStore,
+            BootstrapSessionRegistry sessionRegistry, //
             // arguments only needed for LeshanTestBootstrapServer
             EditableBootstrapConfigStore configStore, EditableSecurityStore editableSecurityStore) {
 
         super(endpointsProvider, bsSessionManager, endpointNameProvider, bsHandlerFactory, encoder, decoder, linkParser,
-                uriHandler, securityStore, serverSecurityInfo);
+                uriHandler, securityStore, serverSecurityInfo, usedConfigStore, sessionRegistry);
         // keep store reference for getter.
         this.configStore = configStore;
         this.securityStore = editableSecurityStore;
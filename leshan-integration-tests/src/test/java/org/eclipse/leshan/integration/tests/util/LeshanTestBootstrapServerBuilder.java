@@ -26,8 +26,10 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.californium.elements.config.Configuration;
 import org.eclipse.californium.scandium.config.DtlsConfig;
+import org.eclipse.leshan.bsserver.BootstrapConfigStore;
 import org.eclipse.leshan.bsserver.BootstrapHandlerFactory;
 import org.eclipse.leshan.bsserver.BootstrapSessionManager;
+import org.eclipse.leshan.bsserver.BootstrapSessionRegistry;
 import org.eclipse.leshan.bsserver.InMemoryBootstrapConfigStore;
 import org.eclipse.leshan.bsserver.LeshanBootstrapServerBuilder;
 import org.eclipse.leshan.bsserver.endpoint.LwM2mBootstrapServerEndpointsProvider;
@@ -86,7 +88,8 @@ public class LeshanTestBootstrapServerBuilder extends LeshanBootstrapServerBuild
             BootstrapSessionManager bsSessionManager, ServerEndpointNameProvider endpointNameProvider,
             BootstrapHandlerFactory bsHandlerFactory, LwM2mEncoder encoder, LwM2mDecoder decoder,
             LwM2mLinkParser linkParser, EndPointUriHandler uriHandler, BootstrapSecurityStore securityStore,
-            ServerSecurityInfo serverSecurityInfo) {
+            ServerSecurityInfo serverSecurityInfo, BootstrapConfigStore usedConfigStore,
+            BootstrapSessionRegistry sessionRegistry) {
 
         // create endpoint provider.
         if (endpointsProvider == null) {
@@ -111,7 +114,8 @@ public class LeshanTestBootstrapServerBuilder extends LeshanBootstrapServerBuild
         }
 
         return new LeshanTestBootstrapServer(endpointsProvider, bsSessionManager, endpointNameProvider,
-                bsHandlerFactory, encoder, decoder, linkParser, uriHandler, securityStore, serverSecurityInfo, //
+                bsHandlerFactory, encoder, decoder, linkParser, uriHandler, securityStore, serverSecurityInfo,
+                usedConfigStore, sessionRegistry, //
                 // arguments only needed for LeshanTestBootstrapServer
                 configStore, editableSecurityStore);
     }
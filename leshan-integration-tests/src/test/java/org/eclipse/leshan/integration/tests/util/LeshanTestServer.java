@@ -49,8 +49,10 @@ import org.eclipse.leshan.server.LeshanServer;
 import org.eclipse.leshan.server.endpoint.LwM2mServerEndpoint;
 import org.eclipse.leshan.server.endpoint.LwM2mServerEndpointsProvider;
 import org.eclipse.leshan.server.model.LwM2mModelProvider;
+import org.eclipse.leshan.server.observation.NotificationDispatcher;
 import org.eclipse.leshan.server.observation.ObservationListener;
 import org.eclipse.leshan.server.queue.ClientAwakeTimeProvider;
+import org.eclipse.leshan.server.queue.DownlinkRequestQueue;
 import org.eclipse.leshan.server.queue.PresenceListener;
 import org.eclipse.leshan.server.registration.Registration;
 import org.eclipse.leshan.server.registration.RegistrationDataExtractor;
@@ -60,6 +62,7 @@ import org.eclipse.leshan.server.registration.RegistrationStore;
 import org.eclipse.leshan.server.security.Authorizer;
 import org.eclipse.leshan.server.send.SendListener;
 import org.eclipse.leshan.servers.ServerEndpointNameProvider;
+import org.eclipse.leshan.servers.admission.AdmissionController;
 import org.eclipse.leshan.servers.security.EditableSecurityStore;
 import org.eclipse.leshan.servers.security.SecurityStore;
 import org.eclipse.leshan.servers.security.ServerSecurityInfo;
@@ -81,14 +84,17 @@ public class LeshanTestServer extends LeshanServer {
     public LeshanTestServer(LwM2mServerEndpointsProvider endpointsProvider, RegistrationStore registrationStore,
             SecurityStore securityStore, Authorizer authorizer, LwM2mModelProvider modelProvider, LwM2mEncoder encoder,
             LwM2mDecoder decoder, boolean noQueueMode, ClientAwakeTimeProvider awakeTimeProvider,
-            RegistrationIdProvider registrationIdProvider, RegistrationDataExtractor registrationDataExtractor,
-            LwM2mLinkParser linkParser, EndPointUriHandler uriHandler, ServerSecurityInfo serverSecurityInfo,
+            DownlinkRequestQueue downlinkRequestQueue, RegistrationIdProvider registrationIdProvider,
+            RegistrationDataExtractor registrationDataExtractor, LwM2mLinkParser linkParser,
+            EndPointUriHandler uriHandler, ServerSecurityInfo serverSecurityInfo,
             ServerEndpointNameProvider endponNameProvider, boolean updateRegistrationOnNotification,
-            boolean updateRegistrationOnSend) {
+            long updateRegistrationOnNotificationFlushPeriod, NotificationDispatcher notificationDispatcher,
+            boolean updateRegistrationOnSend, AdmissionController admissionController) {
         super(endpointsProvider, registrationStore, securityStore, authorizer, modelProvider, encoder, decoder,
-                noQueueMode, awakeTimeProvider, registrationIdProvider, registrationDataExtractor,
-                updateRegistrationOnNotification, updateRegistrationOnSend, linkParser, uriHandler, serverSecurityInfo,
-                endponNameProvider);
+                noQueueMode, awakeTimeProvider, downlinkRequestQueue, registrationIdProvider, registrationDataExtractor,
+                updateRegistrationOnNotification, updateRegistrationOnNotificationFlushPeriod, notificationDispatcher,
+                updateRegistrationOnSend, linkParser, uriHandler, serverSecurityInfo, endponNameProvider,
+                admissionController);
 
         if (securityStore != null && !(securityStore instanceof EditableSecurityStore)) {
             throw new IllegalStateException(
@@ -46,13 +46,16 @@ import org.eclipse.leshan.server.endpoint.DefaultCompositeServerEndpointsProvide
 import org.eclipse.leshan.server.endpoint.LwM2mServerEndpointsProvider;
 import org.eclipse.leshan.server.model.LwM2mModelProvider;
 import org.eclipse.leshan.server.model.VersionedModelProvider;
+import org.eclipse.leshan.server.observation.NotificationDispatcher;
 import org.eclipse.leshan.server.queue.ClientAwakeTimeProvider;
+import org.eclipse.leshan.server.queue.DownlinkRequestQueue;
 import org.eclipse.leshan.server.queue.StaticClientAwakeTimeProvider;
 import org.eclipse.leshan.server.registration.RegistrationDataExtractor;
 import org.eclipse.leshan.server.registration.RegistrationIdProvider;
 import org.eclipse.leshan.server.registration.RegistrationStore;
 import org.eclipse.leshan.server.security.Authorizer;
 import org.eclipse.leshan.servers.ServerEndpointNameProvider;
+import org.eclipse.leshan.servers.admission.AdmissionController;
 import org.eclipse.leshan.servers.security.EditableSecurityStore;
 import org.eclipse.leshan.servers.security.SecurityStore;
 import org.eclipse.leshan.servers.security.ServerSecurityInfo;
@@ -95,11 +98,12 @@ public class LeshanTestServerBuilder extends LeshanServerBuilder {
     protected LeshanTestServer createServer(LwM2mServerEndpointsProvider endpointsProvider,
             RegistrationStore registrationStore, SecurityStore securityStore, Authorizer authorizer,
             LwM2mModelProvider modelProvider, LwM2mEncoder encoder, LwM2mDecoder decoder, boolean noQueueMode,
-            ClientAwakeTimeProvider awakeTimeProvider, RegistrationIdProvider registrationIdProvider,
-            RegistrationDataExtractor registrationDataExtractor, LwM2mLinkParser linkParser,
-            EndPointUriHandler uriHandler, ServerSecurityInfo serverSecurityInfo,
+            ClientAwakeTimeProvider awakeTimeProvider, DownlinkRequestQueue downlinkRequestQueue,
+            RegistrationIdProvider registrationIdProvider, RegistrationDataExtractor registrationDataExtractor,
+            LwM2mLinkParser linkParser, EndPointUriHandler uriHandler, ServerSecurityInfo serverSecurityInfo,
             ServerEndpointNameProvider endpointNameProvider, boolean updateRegistrationOnNotification,
-            boolean updateRegistrationOnSend) {
+            long updateRegistrationOnNotificationFlushPeriod, NotificationDispatcher notificationDispatcher,
+            boolean updateRegistrationOnSend, AdmissionController admissionController) {
 
         // create endpoint provider.
         if (endpointsProvider == null) {
@@ -132,9 +136,10 @@ public class LeshanTestServerBuilder extends LeshanServerBuilder {
             endpointsProvider = new DefaultCompositeServerEndpointsProvider(providers);
         }
         return new LeshanTestServer(endpointsProvider, registrationStore, securityStore, authorizer, modelProvider,
-                encoder, decoder, noQueueMode, awakeTimeProvider, registrationIdProvider, registrationDataExtractor,
-                linkParser, uriHandler, serverSecurityInfo, endpointNameProvider, updateRegistrationOnNotification,
-                updateRegistrationOnSend);
+                encoder, decoder, noQueueMode, awakeTimeProvider, downlinkRequestQueue, registrationIdProvider,
+                registrationDataExtractor, linkParser, uriHandler, serverSecurityInfo, endpointNameProvider,
+                updateRegistrationOnNotification, updateRegistrationOnNotificationFlushPeriod, notificationDispatcher,
+                updateRegistrationOnSend, admissionController);
     }
 
     public static LeshanTestServerBuilder givenServerUsing(Protocol protocolToUse) {
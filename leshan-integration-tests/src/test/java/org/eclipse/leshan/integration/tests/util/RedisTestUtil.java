@@ -15,20 +15,71 @@
  *******************************************************************************/
 package org.eclipse.leshan.integration.tests.util;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import org.eclipse.leshan.server.redis.RedisRegistrationStore;
 
+import redis.clients.jedis.ConnectionPool;
+import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
 import redis.clients.jedis.util.Pool;
 
 public class RedisTestUtil {
-    public static Pool<Jedis> createJedisPool() {
+    public static String getRedisURI() {
         String redisURI = System.getenv("REDIS_URI");
         if (redisURI != null && !redisURI.isEmpty()) {
-            return new JedisPool(redisURI);
+            return redisURI;
         } else {
-            return new JedisPool();
+            return "redis://localhost:6379";
+        }
+    }
+
+    public static Pool<Jedis> createJedisPool() {
+        return new JedisPool(getRedisURI());
+    }
+
+    public static JedisCluster createJedisCluster() {
+        String clusterNodes = System.getenv("REDIS_CLUSTER_NODES");
+        if (clusterNodes == null || clusterNodes.isEmpty()) {
+            clusterNodes = "localhost:7000";
+        }
+        Set<HostAndPort> nodes = new HashSet<>();
+        for (String node : clusterNodes.split(",")) {
+            nodes.add(HostAndPort.from(node.trim()));
         }
+        return new JedisCluster(nodes);
+    }
+
+    public static void deleteKeys(Pool<Jedis> pool, String prefix) {
+        try (Jedis j = pool.getResource()) {
+            deleteKeys(j, prefix);
+        }
+    }
+
+    public static void deleteKeys(JedisCluster cluster, String prefix) {
+        for (ConnectionPool node : cluster.getClusterNodes().values()) {
+            try (Jedis j = new Jedis(node.getResource())) {
+                deleteKeys(j, prefix);
+            }
+        }
+    }
+
+    private static void deleteKeys(Jedis j, String prefix) {
+        ScanParams params = new ScanParams().match(prefix + "*").count(1000);
+        String cursor = ScanParams.SCAN_POINTER_START;
+        do {
+            ScanResult<String> result = j.scan(cursor, params);
+            for (String key : result.getResult()) {
+                // delete keys one by one as on a cluster they may belong to different slots
+                j.del(key);
+            }
+            cursor = result.getCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
     }
 
     public static RedisRegistrationStore createRedisRegistrationStore() {
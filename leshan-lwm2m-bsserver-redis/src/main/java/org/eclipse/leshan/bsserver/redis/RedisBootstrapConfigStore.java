@@ -0,0 +1,641 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.bsserver.redis;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.leshan.bsserver.BootstrapConfig;
+import org.eclipse.leshan.bsserver.BootstrapConfig.ServerSecurity;
+import org.eclipse.leshan.bsserver.BootstrapConfigStore;
+import org.eclipse.leshan.bsserver.BootstrapConfigStoreListener;
+import org.eclipse.leshan.bsserver.BootstrapConfigStoreTaskProvider;
+import org.eclipse.leshan.bsserver.BootstrapSession;
+import org.eclipse.leshan.bsserver.ConfigurationChecker;
+import org.eclipse.leshan.bsserver.EditableBootstrapConfigStore;
+import org.eclipse.leshan.bsserver.InMemoryBootstrapConfigStore;
+import org.eclipse.leshan.bsserver.InvalidConfigurationException;
+import org.eclipse.leshan.bsserver.LeshanBootstrapServer;
+import org.eclipse.leshan.bsserver.LeshanBootstrapServerBuilder;
+import org.eclipse.leshan.bsserver.redis.serialization.BootstrapConfigSerDes;
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.SecurityMode;
+import org.eclipse.leshan.core.Startable;
+import org.eclipse.leshan.core.Stoppable;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import redis.clients.jedis.BinaryJedisPubSub;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * An {@link EditableBootstrapConfigStore} which stores bootstrap configurations in Redis, so several bootstrap servers
+ * can share them.
+ * <p>
+ * Configurations are stored using the endpoint as primary key. Like {@link InMemoryBootstrapConfigStore}, a PSK
+ * identity can only be used by one configuration for a given bootstrap server URL : a secondary index of endpoint by
+ * bootstrap server PSK identity is maintained atomically with configurations by Lua scripts (see
+ * {@link #getByPskIdentity(String, String)}).
+ * <p>
+ * Configurations read from Redis are kept in a local read-through cache (see {@link Builder#setCacheSize(int)}). Each
+ * modification is published on an invalidation channel and the cache is only used while the store is subscribed to this
+ * channel, so {@link #start()} must be called to use it (this is done by {@link LeshanBootstrapServer} when the store
+ * is set with {@link LeshanBootstrapServerBuilder#setConfigStore(BootstrapConfigStore)}). As the same instance is
+ * returned while it is in cache, requests prepared by {@link BootstrapConfigStoreTaskProvider} are shared between
+ * sessions too.
+ * <p>
+ * This implementation targets a single Redis instance (no Redis cluster).
+ */
+public class RedisBootstrapConfigStore implements EditableBootstrapConfigStore, Startable, Stoppable, Destroyable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RedisBootstrapConfigStore.class);
+
+    // KEYS : config, endpoint by PSK id, PSK id by endpoint
+    // ARGV : endpoint, config, PSK id (empty if none), invalidation channel, invalidation message
+    // Returns {0} if PSK id is already used by another endpoint, else {1, previous config}.
+    private static final LuaScript ADD = new LuaScript(String.join("\n", //
+            "if ARGV[3] ~= '' then", //
+            "  local owner = redis.call('HGET', KEYS[2], ARGV[3])", //
+            "  if owner and owner ~= ARGV[1] then return {0} end", //
+            "end", //
+            "local previous = redis.call('GET', KEYS[1])", //
+            "redis.call('SET', KEYS[1], ARGV[2])", //
+            "local previousPskId = redis.call('HGET', KEYS[3], ARGV[1])", //
+            "if previousPskId and previousPskId ~= ARGV[3] then redis.call('HDEL', KEYS[2], previousPskId) end", //
+            "if ARGV[3] ~= '' then", //
+            "  redis.call('HSET', KEYS[2], ARGV[3], ARGV[1])", //
+            "  redis.call('HSET', KEYS[3], ARGV[1], ARGV[3])", //
+            "elseif previousPskId then", //
+            "  redis.call('HDEL', KEYS[3], ARGV[1])", //
+            "end", //
+            "redis.call('PUBLISH', ARGV[4], ARGV[5])", //
+            "return {1, previous}"));
+
+    // KEYS : config, endpoint by PSK id, PSK id by endpoint
+    // ARGV : endpoint, invalidation channel, invalidation message
+    // Returns the removed config or nil.
+    private static final LuaScript REMOVE = new LuaScript(String.join("\n", //
+            "local previous = redis.call('GET', KEYS[1])", //
+            "if not previous then return false end", //
+            "redis.call('DEL', KEYS[1])", //
+            "local pskId = redis.call('HGET', KEYS[3], ARGV[1])", //
+            "if pskId then", //
+            "  if redis.call('HGET', KEYS[2], pskId) == ARGV[1] then redis.call('HDEL', KEYS[2], pskId) end", //
+            "  redis.call('HDEL', KEYS[3], ARGV[1])", //
+            "end", //
+            "redis.call('PUBLISH', ARGV[2], ARGV[3])", //
+            "return previous"));
+
+    protected final ConfigurationChecker configChecker = new ConfigurationChecker();
+
+    private final Pool<Jedis> pool;
+    private final String configByEndpointPrefix;
+    private final byte[] endpointByPskIdKey;
+    private final byte[] pskIdByEndpointKey;
+    private final byte[] invalidationChannel;
+    // identifies this store in invalidation messages, to ignore its own modifications
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // local cache of configurations by endpoint or null if disabled
+    private final Map<String, BootstrapConfig> cache;
+    // incremented on each invalidation, used to not cache a value which was invalidated while it was fetched.
+    private long generation; // guarded by cache
+    private volatile boolean cacheActive = false;
+
+    private final List<BootstrapConfigStoreListener> listeners = new CopyOnWriteArrayList<>();
+
+    private InvalidationSubscriber invalidationSubscriber;
+
+    public RedisBootstrapConfigStore(Pool<Jedis> pool) {
+        this(new Builder(pool));
+    }
+
+    protected RedisBootstrapConfigStore(Builder builder) {
+        String prefix = builder.prefix != null ? builder.prefix : "";
+        this.pool = builder.pool;
+        this.configByEndpointPrefix = prefix + builder.configByEndpointPrefix;
+        this.endpointByPskIdKey = (prefix + builder.endpointByPskIdKey).getBytes(UTF_8);
+        this.pskIdByEndpointKey = (prefix + builder.pskIdByEndpointKey).getBytes(UTF_8);
+        this.invalidationChannel = (prefix + builder.invalidationChannel).getBytes(UTF_8);
+        if (builder.cacheSize > 0) {
+            final int maxEntries = builder.cacheSize;
+            this.cache = new LinkedHashMap<String, BootstrapConfig>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, BootstrapConfig> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        } else {
+            this.cache = null;
+        }
+    }
+
+    @Override
+    public BootstrapConfig get(BootstrapSession session) {
+        return getByEndpoint(session.getEndpoint());
+    }
+
+    /**
+     * @param endpoint the client endpoint name.
+     * @return the configuration of this client or <code>null</code> if there is none.
+     */
+    public BootstrapConfig getByEndpoint(String endpoint) {
+        try (Jedis j = pool.getResource()) {
+            return getByEndpoint(j, endpoint);
+        }
+    }
+
+    /**
+     * Get the configuration which uses the given PSK identity to connect to the given bootstrap server.
+     *
+     * @param serverUrl the URL of the bootstrap server, as in the security object of configuration.
+     * @param identity the PSK identity.
+     * @return the configuration or <code>null</code> if this identity is not used.
+     */
+    public BootstrapConfig getByPskIdentity(String serverUrl, String identity) {
+        try (Jedis j = pool.getResource()) {
+            byte[] endpoint = j.hget(endpointByPskIdKey, new PskByServer(serverUrl, identity).toBytes());
+            if (endpoint == null) {
+                return null;
+            }
+            return getByEndpoint(j, new String(endpoint, UTF_8));
+        }
+    }
+
+    private BootstrapConfig getByEndpoint(Jedis j, String endpoint) {
+        long fetchGeneration = 0;
+        if (cache != null && cacheActive) {
+            synchronized (cache) {
+                BootstrapConfig config = cache.get(endpoint);
+                if (config != null) {
+                    return config;
+                }
+                fetchGeneration = generation;
+            }
+        }
+
+        byte[] data = j.get(toConfigKey(endpoint));
+        if (data == null) {
+            return null;
+        }
+        BootstrapConfig config = deserialize(data);
+
+        if (cache != null && cacheActive) {
+            synchronized (cache) {
+                // do not cache a value which could have been modified while it was fetched
+                if (cacheActive && generation == fetchGeneration) {
+                    cache.put(endpoint, config);
+                }
+            }
+        }
+        return config;
+    }
+
+    @Override
+    public Map<String, BootstrapConfig> getAll() {
+        Map<String, BootstrapConfig> configs = new HashMap<>();
+        try (Jedis j = pool.getResource()) {
+            ScanParams params = new ScanParams().match(configByEndpointPrefix + "*").count(100);
+            String cursor = ScanParams.SCAN_POINTER_START;
+            do {
+                ScanResult<String> res = j.scan(cursor, params);
+                for (String key : res.getResult()) {
+                    String endpoint = key.substring(configByEndpointPrefix.length());
+                    BootstrapConfig config = getByEndpoint(j, endpoint);
+                    if (config != null) {
+                        configs.put(endpoint, config);
+                    }
+                }
+                cursor = res.getCursor();
+            } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+        }
+        return Collections.unmodifiableMap(configs);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized void add(String endpoint, BootstrapConfig config) throws InvalidConfigurationException {
+        checkConfig(endpoint, config);
+
+        PskByServer pskToAdd = getBootstrapPskIdentity(config);
+        List<Object> result;
+        try (Jedis j = pool.getResource()) {
+            result = (List<Object>) ADD.eval(j, toKeys(endpoint),
+                    Arrays.asList(endpoint.getBytes(UTF_8), serialize(config),
+                            pskToAdd != null ? pskToAdd.toBytes() : new byte[0], invalidationChannel,
+                            toInvalidationMessage(endpoint)));
+        }
+        if ((Long) result.get(0) == 0) {
+            throw new InvalidConfigurationException("Psk identity [%s] already used for this bootstrap server [%s]",
+                    pskToAdd.identity, pskToAdd.serverUrl);
+        }
+
+        BootstrapConfig previousConfig = invalidate(endpoint, config);
+        if (previousConfig == null && result.get(1) != null) {
+            previousConfig = deserialize((byte[]) result.get(1));
+        }
+        for (BootstrapConfigStoreListener listener : listeners) {
+            listener.configAdded(endpoint, previousConfig, config);
+        }
+    }
+
+    protected void checkConfig(String endpoint, BootstrapConfig config) throws InvalidConfigurationException {
+        configChecker.verify(config);
+    }
+
+    @Override
+    public synchronized BootstrapConfig remove(String endpoint) {
+        byte[] data;
+        try (Jedis j = pool.getResource()) {
+            data = (byte[]) REMOVE.eval(j, toKeys(endpoint),
+                    Arrays.asList(endpoint.getBytes(UTF_8), invalidationChannel, toInvalidationMessage(endpoint)));
+        }
+        BootstrapConfig cachedConfig = invalidate(endpoint, null);
+        if (data == null) {
+            return null;
+        }
+
+        BootstrapConfig removedConfig = cachedConfig != null ? cachedConfig : deserialize(data);
+        for (BootstrapConfigStoreListener listener : listeners) {
+            listener.configRemoved(endpoint, removedConfig);
+        }
+        return removedConfig;
+    }
+
+    /**
+     * Remove the configuration of an endpoint from the local cache, then cache the new one if any.
+     *
+     * @return the configuration previously in cache or <code>null</code>.
+     */
+    private BootstrapConfig invalidate(String endpoint, BootstrapConfig newConfig) {
+        if (cache == null) {
+            return null;
+        }
+        synchronized (cache) {
+            generation++;
+            BootstrapConfig previous = cache.remove(endpoint);
+            if (newConfig != null && cacheActive) {
+                cache.put(endpoint, newConfig);
+            }
+            return previous;
+        }
+    }
+
+    /**
+     * Handle a configuration modified by another store sharing the same Redis. Listeners are notified with
+     * {@link BootstrapConfigStoreListener#configRemoved(String, BootstrapConfig)} if the configuration was in cache, so
+     * data derived from this instance can be dropped.
+     */
+    private void onRemoteModification(String endpoint) {
+        BootstrapConfig cachedConfig = invalidate(endpoint, null);
+        if (cachedConfig != null) {
+            for (BootstrapConfigStoreListener listener : listeners) {
+                listener.configRemoved(endpoint, cachedConfig);
+            }
+        }
+    }
+
+    private void setCacheActive(boolean active) {
+        synchronized (cache) {
+            // invalidation messages could have been missed
+            generation++;
+            cache.clear();
+            cacheActive = active;
+        }
+    }
+
+    /**
+     * @return the number of configurations in local cache.
+     */
+    public int getCacheSize() {
+        if (cache == null) {
+            return 0;
+        }
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the local cache is used, meaning that the store is currently subscribed to
+     *         invalidation messages.
+     */
+    public boolean isCacheActive() {
+        return cacheActive;
+    }
+
+    @Override
+    public void addListener(BootstrapConfigStoreListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(BootstrapConfigStoreListener listener) {
+        listeners.remove(listener);
+    }
+
+    protected PskByServer getBootstrapPskIdentity(BootstrapConfig config) {
+        for (ServerSecurity security : config.security.values()) {
+            if (security.bootstrapServer) {
+                if (security.securityMode == SecurityMode.PSK) {
+                    return new PskByServer(security.uri, new String(security.publicKeyOrId, UTF_8));
+                }
+            }
+        }
+        return null;
+    }
+
+    private byte[] toConfigKey(String endpoint) {
+        return (configByEndpointPrefix + endpoint).getBytes(UTF_8);
+    }
+
+    private List<byte[]> toKeys(String endpoint) {
+        return Arrays.asList(toConfigKey(endpoint), endpointByPskIdKey, pskIdByEndpointKey);
+    }
+
+    private byte[] toInvalidationMessage(String endpoint) {
+        return (nodeId + ":" + endpoint).getBytes(UTF_8);
+    }
+
+    private byte[] serialize(BootstrapConfig config) {
+        return BootstrapConfigSerDes.serialize(config);
+    }
+
+    private BootstrapConfig deserialize(byte[] data) {
+        return BootstrapConfigSerDes.deserialize(data);
+    }
+
+    /**
+     * Subscribes to the invalidation channel and activates the cache while subscribed. Subscription is retried each
+     * second if connection is lost.
+     */
+    private class InvalidationSubscriber extends BinaryJedisPubSub implements Runnable {
+
+        private volatile boolean running = true;
+
+        @Override
+        public void run() {
+            while (running) {
+                try (Jedis j = pool.getResource()) {
+                    j.subscribe(this, invalidationChannel);
+                } catch (RuntimeException e) {
+                    if (running) {
+                        LOG.warn("Subscription to bootstrap config invalidation channel failed, retrying in 1s", e);
+                    }
+                } finally {
+                    setCacheActive(false);
+                }
+                if (running) {
+                    try {
+                        Thread.sleep(1000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onSubscribe(byte[] channel, int subscribedChannels) {
+            if (running) {
+                setCacheActive(true);
+            } else {
+                unsubscribe();
+            }
+        }
+
+        @Override
+        public void onMessage(byte[] channel, byte[] message) {
+            String content = new String(message, UTF_8);
+            int separator = content.indexOf(':');
+            if (separator < 0) {
+                LOG.warn("Invalid bootstrap config invalidation message [{}], clearing the cache", content);
+                setCacheActive(true);
+                return;
+            }
+            if (!nodeId.equals(content.substring(0, separator))) {
+                onRemoteModification(content.substring(separator + 1));
+            }
+        }
+
+        public void shutdown() {
+            running = false;
+            if (isSubscribed()) {
+                unsubscribe();
+            }
+        }
+    }
+
+    /**
+     * Start the local cache, which is used once subscribed to invalidation channel.
+     */
+    @Override
+    public synchronized void start() {
+        if (cache != null && invalidationSubscriber == null) {
+            invalidationSubscriber = new InvalidationSubscriber();
+            new NamedThreadFactory("RedisBootstrapConfigStore Cache Invalidation").newThread(invalidationSubscriber)
+                    .start();
+        }
+    }
+
+    /**
+     * Stop the local cache, configurations are then always read from Redis.
+     */
+    @Override
+    public synchronized void stop() {
+        if (invalidationSubscriber != null) {
+            invalidationSubscriber.shutdown();
+            invalidationSubscriber = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    protected static class PskByServer {
+        public final String serverUrl;
+        public final String identity;
+
+        public PskByServer(String serverUrl, String identity) {
+            this.serverUrl = serverUrl;
+            this.identity = identity;
+        }
+
+        /**
+         * @return the field of this identity in the secondary index, server URL is prefixed by its length to avoid any
+         *         ambiguity.
+         */
+        byte[] toBytes() {
+            String url = String.valueOf(serverUrl);
+            return (url.length() + ":" + url + identity).getBytes(UTF_8);
+        }
+
+        @Override
+        public final boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof PskByServer))
+                return false;
+            PskByServer that = (PskByServer) o;
+            return Objects.equals(serverUrl, that.serverUrl) && Objects.equals(identity, that.identity);
+        }
+
+        @Override
+        public final int hashCode() {
+            return Objects.hash(serverUrl, identity);
+        }
+    }
+
+    /**
+     * Class helping to build and configure a {@link RedisBootstrapConfigStore}.
+     * <p>
+     * By default, uses {@code BSSTORE#} prefix for all keys, {@code CFG#EP#} key prefix to find configuration by
+     * endpoint, {@code EP#PSKID} and {@code PSKID#EP} keys for the PSK identity index and {@code CFG#CHANNEL} channel
+     * for invalidation messages.
+     */
+    public static class Builder {
+
+        private final Pool<Jedis> pool;
+        private String prefix;
+        private String configByEndpointPrefix;
+        private String endpointByPskIdKey;
+        private String pskIdByEndpointKey;
+        private String invalidationChannel;
+        private int cacheSize;
+
+        public Builder(Pool<Jedis> pool) {
+            this.pool = pool;
+            this.prefix = "BSSTORE#";
+            this.configByEndpointPrefix = "CFG#EP#";
+            this.endpointByPskIdKey = "EP#PSKID";
+            this.pskIdByEndpointKey = "PSKID#EP";
+            this.invalidationChannel = "CFG#CHANNEL";
+            this.cacheSize = 10000;
+        }
+
+        /**
+         * Set the prefix for all keys, prefixes and channel.
+         * <p>
+         * Default value is {@literal BSSTORE#}.
+         */
+        public Builder setPrefix(String prefix) {
+            this.prefix = prefix;
+            return this;
+        }
+
+        /**
+         * Set the key prefix for configuration lookup by endpoint.
+         * <p>
+         * Default value is {@literal CFG#EP#}. Should not be {@code null} or empty.
+         */
+        public Builder setConfigByEndpointPrefix(String configByEndpointPrefix) {
+            this.configByEndpointPrefix = configByEndpointPrefix;
+            return this;
+        }
+
+        /**
+         * Set the key of the hash used for endpoint lookup by bootstrap server PSK identity.
+         * <p>
+         * Default value is {@literal EP#PSKID}. Should not be {@code null} or empty.
+         */
+        public Builder setEndpointByPskIdKey(String endpointByPskIdKey) {
+            this.endpointByPskIdKey = endpointByPskIdKey;
+            return this;
+        }
+
+        /**
+         * Set the key of the hash used to find the PSK identity indexed for an endpoint.
+         * <p>
+         * Default value is {@literal PSKID#EP}. Should not be {@code null} or empty.
+         */
+        public Builder setPskIdByEndpointKey(String pskIdByEndpointKey) {
+            this.pskIdByEndpointKey = pskIdByEndpointKey;
+            return this;
+        }
+
+        /**
+         * Set the pub/sub channel used to publish modified configurations. All stores sharing the same Redis must use
+         * the same channel.
+         * <p>
+         * Default value is {@literal CFG#CHANNEL}. Should not be {@code null} or empty.
+         */
+        public Builder setInvalidationChannel(String invalidationChannel) {
+            this.invalidationChannel = invalidationChannel;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of configurations kept in the local cache, the least recently used ones are evicted
+         * first. Use <code>0</code> to disable the cache.
+         * <p>
+         * Default value is {@literal 10000}.
+         */
+        public Builder setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * Create the {@link RedisBootstrapConfigStore}.
+         * <p>
+         * Throws {@link IllegalArgumentException} when a key, prefix or channel is not set or when keys are equal to
+         * each other.
+         */
+        public RedisBootstrapConfigStore build() throws IllegalArgumentException {
+            if (pool == null) {
+                throw new IllegalArgumentException("pool should not be null");
+            }
+            checkNotEmpty(configByEndpointPrefix, "configByEndpointPrefix");
+            checkNotEmpty(endpointByPskIdKey, "endpointByPskIdKey");
+            checkNotEmpty(pskIdByEndpointKey, "pskIdByEndpointKey");
+            checkNotEmpty(invalidationChannel, "invalidationChannel");
+            if (configByEndpointPrefix.equals(endpointByPskIdKey) || configByEndpointPrefix.equals(pskIdByEndpointKey)
+                    || endpointByPskIdKey.equals(pskIdByEndpointKey)) {
+                throw new IllegalArgumentException(
+                        "configByEndpointPrefix, endpointByPskIdKey and pskIdByEndpointKey should be different");
+            }
+            if (cacheSize < 0) {
+                throw new IllegalArgumentException("cacheSize should not be negative");
+            }
+
+            return new RedisBootstrapConfigStore(this);
+        }
+
+        private static void checkNotEmpty(String value, String name) {
+            if (value == null || value.isEmpty()) {
+                throw new IllegalArgumentException(name + " should not be empty");
+            }
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.bsserver.redis;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.leshan.bsserver.BootstrapSession;
+import org.eclipse.leshan.bsserver.BootstrapSessionRegistry;
+import org.eclipse.leshan.bsserver.BootstrapSessionRegistryListener;
+import org.eclipse.leshan.bsserver.DefaultBootstrapHandler;
+import org.eclipse.leshan.bsserver.LeshanBootstrapServer;
+import org.eclipse.leshan.bsserver.LeshanBootstrapServerBuilder;
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.Startable;
+import org.eclipse.leshan.core.Stoppable;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import redis.clients.jedis.BinaryJedisPubSub;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * A {@link BootstrapSessionRegistry} which shares ongoing sessions between several bootstrap servers using Redis, so a
+ * client is bootstrapped by only one server at a time and the limit of ongoing sessions (see
+ * {@link LeshanBootstrapServerBuilder#setMaxConcurrentSessions(int)}) applies to the whole cluster.
+ * <p>
+ * Sessions are kept in memory by the server which handles them. Redis only stores the owner of the session of each
+ * endpoint with an expiration (see {@link Builder#setSessionTimeout(long)}), so sessions of a crashed server are
+ * eventually forgotten, and a sorted set of endpoints by expiration time used to count ongoing sessions.
+ * <p>
+ * When a session is started on a server while another server handles a session for the same client, the other server is
+ * notified using pub/sub and its {@link BootstrapSessionRegistryListener} cancels the replaced session. So
+ * {@link #start()} must be called to handle those notifications : this is done by {@link LeshanBootstrapServer} when
+ * the registry is set with {@link LeshanBootstrapServerBuilder#setSessionRegistry(BootstrapSessionRegistry)}.
+ * <p>
+ * To use it :
+ *
+ * <pre>
+ * builder.setSessionRegistry(new RedisBootstrapSessionRegistry(pool));
+ * </pre>
+ *
+ * @see DefaultBootstrapHandler
+ */
+public class RedisBootstrapSessionRegistry implements BootstrapSessionRegistry, Startable, Stoppable, Destroyable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RedisBootstrapSessionRegistry.class);
+
+    // KEYS : session owner, sessions by expiration
+    // ARGV : endpoint, owner, timeout, expiration, now, channel, node id
+    // Returns the previous owner or nil.
+    private static final LuaScript ADD = new LuaScript(String.join("\n", //
+            "local previous = redis.call('GET', KEYS[1])", //
+            "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])", //
+            "redis.call('ZADD', KEYS[2], ARGV[4], ARGV[1])", //
+            "redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', '(' .. ARGV[5])", //
+            "if previous and string.sub(previous, 1, #ARGV[7] + 1) ~= ARGV[7] .. ':' then", //
+            "  redis.call('PUBLISH', ARGV[6], ARGV[1] .. '\\n' .. previous)", //
+            "end", //
+            "return previous"));
+
+    // KEYS : session owner, sessions by expiration
+    // ARGV : endpoint, owner
+    // Returns 1 if session was removed else 0.
+    private static final LuaScript REMOVE = new LuaScript(String.join("\n", //
+            "if redis.call('GET', KEYS[1]) ~= ARGV[2] then return 0 end", //
+            "redis.call('DEL', KEYS[1])", //
+            "redis.call('ZREM', KEYS[2], ARGV[1])", //
+            "return 1"));
+
+    private final Pool<Jedis> pool;
+    private final String sessionByEndpointPrefix;
+    private final byte[] sessionsKey;
+    private final byte[] channel;
+    private final long sessionTimeout;
+    // identifies this server as owner of sessions
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ConcurrentHashMap<String /* endpoint */, BootstrapSession> localSessions = new ConcurrentHashMap<>();
+    private final List<BootstrapSessionRegistryListener> listeners = new CopyOnWriteArrayList<>();
+
+    private ReplacementSubscriber replacementSubscriber;
+
+    public RedisBootstrapSessionRegistry(Pool<Jedis> pool) {
+        this(new Builder(pool));
+    }
+
+    protected RedisBootstrapSessionRegistry(Builder builder) {
+        String prefix = builder.prefix != null ? builder.prefix : "";
+        this.pool = builder.pool;
+        this.sessionByEndpointPrefix = prefix + builder.sessionByEndpointPrefix;
+        this.sessionsKey = (prefix + builder.sessionsKey).getBytes(UTF_8);
+        this.channel = (prefix + builder.channel).getBytes(UTF_8);
+        this.sessionTimeout = builder.sessionTimeout;
+    }
+
+    @Override
+    public BootstrapSession add(BootstrapSession session) {
+        String endpoint = session.getEndpoint();
+        BootstrapSession previous = localSessions.put(endpoint, session);
+
+        long now = System.currentTimeMillis();
+        try (Jedis j = pool.getResource()) {
+            ADD.eval(j, toKeys(endpoint),
+                    Arrays.asList(endpoint.getBytes(UTF_8), toOwner(session), Long.toString(sessionTimeout).getBytes(),
+                            Long.toString(now + sessionTimeout).getBytes(), Long.toString(now).getBytes(), channel,
+                            nodeId.getBytes(UTF_8)));
+        }
+        return previous;
+    }
+
+    @Override
+    public boolean remove(BootstrapSession session) {
+        String endpoint = session.getEndpoint();
+        if (!localSessions.remove(endpoint, session)) {
+            return false;
+        }
+        try (Jedis j = pool.getResource()) {
+            REMOVE.eval(j, toKeys(endpoint), Arrays.asList(endpoint.getBytes(UTF_8), toOwner(session)));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(String endpoint) {
+        if (localSessions.containsKey(endpoint)) {
+            return true;
+        }
+        try (Jedis j = pool.getResource()) {
+            return j.exists(toSessionKey(endpoint));
+        }
+    }
+
+    /**
+     * @return the number of ongoing sessions of all servers sharing this registry.
+     */
+    @Override
+    public int size() {
+        try (Jedis j = pool.getResource()) {
+            return (int) j.zcount(sessionsKey, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        }
+    }
+
+    /**
+     * @return the number of ongoing sessions handled by this server.
+     */
+    public int getLocalSize() {
+        return localSessions.size();
+    }
+
+    @Override
+    public void addListener(BootstrapSessionRegistryListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(BootstrapSessionRegistryListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Handle a session of this server replaced on another server.
+     */
+    private void onReplaced(String endpoint, String owner) {
+        BootstrapSession session = localSessions.get(endpoint);
+        // a new session could have been started locally meanwhile
+        if (session != null && owner.equals(new String(toOwner(session), UTF_8))
+                && localSessions.remove(endpoint, session)) {
+            for (BootstrapSessionRegistryListener listener : listeners) {
+                listener.sessionReplaced(session);
+            }
+        }
+    }
+
+    private byte[] toSessionKey(String endpoint) {
+        return (sessionByEndpointPrefix + endpoint).getBytes(UTF_8);
+    }
+
+    private List<byte[]> toKeys(String endpoint) {
+        return Arrays.asList(toSessionKey(endpoint), sessionsKey);
+    }
+
+    private byte[] toOwner(BootstrapSession session) {
+        return (nodeId + ":" + session.getId()).getBytes(UTF_8);
+    }
+
+    /**
+     * Subscribes to the channel of replaced sessions. Subscription is retried each second if connection is lost.
+     */
+    private class ReplacementSubscriber extends BinaryJedisPubSub implements Runnable {
+
+        private volatile boolean running = true;
+
+        @Override
+        public void run() {
+            while (running) {
+                try (Jedis j = pool.getResource()) {
+                    j.subscribe(this, channel);
+                } catch (RuntimeException e) {
+                    if (running) {
+                        LOG.warn("Subscription to bootstrap session channel failed, retrying in 1s", e);
+                    }
+                }
+                if (running) {
+                    try {
+                        Thread.sleep(1000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onSubscribe(byte[] channel, int subscribedChannels) {
+            if (!running) {
+                unsubscribe();
+            }
+        }
+
+        @Override
+        public void onMessage(byte[] channel, byte[] message) {
+            String content = new String(message, UTF_8);
+            int separator = content.lastIndexOf('\n');
+            String owner = content.substring(separator + 1);
+            if (separator > 0 && owner.startsWith(nodeId + ":")) {
+                onReplaced(content.substring(0, separator), owner);
+            }
+        }
+
+        public void shutdown() {
+            running = false;
+            if (isSubscribed()) {
+                unsubscribe();
+            }
+        }
+    }
+
+    /**
+     * Start handling of sessions replaced by other servers.
+     */
+    @Override
+    public synchronized void start() {
+        if (replacementSubscriber == null) {
+            replacementSubscriber = new ReplacementSubscriber();
+            new NamedThreadFactory("RedisBootstrapSessionRegistry Subscriber").newThread(replacementSubscriber).start();
+        }
+    }
+
+    /**
+     * Stop handling of sessions replaced by other servers.
+     */
+    @Override
+    public synchronized void stop() {
+        if (replacementSubscriber != null) {
+            replacementSubscriber.shutdown();
+            replacementSubscriber = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    /**
+     * Class helping to build and configure a {@link RedisBootstrapSessionRegistry}.
+     * <p>
+     * By default, uses {@code BSSESSION#} prefix for all keys, {@code SESSION#EP#} key prefix to find the session owner
+     * by endpoint, {@code SESSIONS} key for sessions by expiration and {@code SESSION#CHANNEL} channel for replaced
+     * sessions.
+     */
+    public static class Builder {
+
+        private final Pool<Jedis> pool;
+        private String prefix;
+        private String sessionByEndpointPrefix;
+        private String sessionsKey;
+        private String channel;
+        private long sessionTimeout;
+
+        public Builder(Pool<Jedis> pool) {
+            this.pool = pool;
+            this.prefix = "BSSESSION#";
+            this.sessionByEndpointPrefix = "SESSION#EP#";
+            this.sessionsKey = "SESSIONS";
+            this.channel = "SESSION#CHANNEL";
+            this.sessionTimeout = 10 * 60 * 1000;
+        }
+
+        /**
+         * Set the prefix for all keys, prefixes and channel.
+         * <p>
+         * Default value is {@literal BSSESSION#}.
+         */
+        public Builder setPrefix(String prefix) {
+            this.prefix = prefix;
+            return this;
+        }
+
+        /**
+         * Set the key prefix for session owner lookup by endpoint.
+         * <p>
+         * Default value is {@literal SESSION#EP#}. Should not be {@code null} or empty.
+         */
+        public Builder setSessionByEndpointPrefix(String sessionByEndpointPrefix) {
+            this.sessionByEndpointPrefix = sessionByEndpointPrefix;
+            return this;
+        }
+
+        /**
+         * Set the key of the sorted set of endpoints by session expiration.
+         * <p>
+         * Default value is {@literal SESSIONS}. Should not be {@code null} or empty.
+         */
+        public Builder setSessionsKey(String sessionsKey) {
+            this.sessionsKey = sessionsKey;
+            return this;
+        }
+
+        /**
+         * Set the pub/sub channel used to notify replaced sessions. All registries sharing the same Redis must use the
+         * same channel.
+         * <p>
+         * Default value is {@literal SESSION#CHANNEL}. Should not be {@code null} or empty.
+         */
+        public Builder setChannel(String channel) {
+            this.channel = channel;
+            return this;
+        }
+
+        /**
+         * Set the time in milliseconds after which a session is forgotten by other servers if it was not removed, e.g.
+         * because its server crashed. It should be greater than the longest bootstrap session.
+         * <p>
+         * Default value is 10 minutes.
+         */
+        public Builder setSessionTimeout(long sessionTimeout) {
+            this.sessionTimeout = sessionTimeout;
+            return this;
+        }
+
+        /**
+         * Create the {@link RedisBootstrapSessionRegistry}.
+         * <p>
+         * Throws {@link IllegalArgumentException} when a key, prefix or channel is not set or when timeout is not
+         * positive.
+         */
+        public RedisBootstrapSessionRegistry build() throws IllegalArgumentException {
+            if (pool == null) {
+                throw new IllegalArgumentException("pool should not be null");
+            }
+            if (sessionByEndpointPrefix == null || sessionByEndpointPrefix.isEmpty()) {
+                throw new IllegalArgumentException("sessionByEndpointPrefix should not be empty");
+            }
+            if (sessionsKey == null || sessionsKey.isEmpty()) {
+                throw new IllegalArgumentException("sessionsKey should not be empty");
+            }
+            if (channel == null || channel.isEmpty()) {
+                throw new IllegalArgumentException("channel should not be empty");
+            }
+            if (sessionsKey.startsWith(sessionByEndpointPrefix)) {
+                throw new IllegalArgumentException("sessionsKey should not start with sessionByEndpointPrefix");
+            }
+            if (sessionTimeout <= 0) {
+                throw new IllegalArgumentException("sessionTimeout should be positive");
+            }
+
+            return new RedisBootstrapSessionRegistry(this);
+        }
+    }
+}
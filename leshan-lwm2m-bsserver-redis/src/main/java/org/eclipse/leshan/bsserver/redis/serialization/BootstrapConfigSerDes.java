@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.bsserver.redis.serialization;
+
+import java.io.IOException;
+
+import org.eclipse.leshan.bsserver.BootstrapConfig;
+import org.eclipse.leshan.bsserver.BootstrapConfig.CipherSuiteId;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.util.datatype.ULong;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Functions for serialize and deserialize {@link BootstrapConfig} in JSON for storage.
+ * <p>
+ * Public fields of {@link BootstrapConfig} are mapped as is, byte arrays are encoded in Base64 and unknown fields are
+ * ignored so configurations written by a newer version can still be read.
+ */
+public class BootstrapConfigSerDes {
+
+    private static final ObjectMapper MAPPER = createMapper();
+
+    private static ObjectMapper createMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setVisibility(PropertyAccessor.ALL, Visibility.NONE);
+        mapper.setVisibility(PropertyAccessor.FIELD, Visibility.PUBLIC_ONLY);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(ULong.class, new ULongSerializer());
+        module.addDeserializer(ULong.class, new ULongDeserializer());
+        module.addSerializer(ContentFormat.class, new ContentFormatSerializer());
+        module.addDeserializer(ContentFormat.class, new ContentFormatDeserializer());
+        module.addSerializer(CipherSuiteId.class, new CipherSuiteIdSerializer());
+        module.addDeserializer(CipherSuiteId.class, new CipherSuiteIdDeserializer());
+        mapper.registerModule(module);
+        return mapper;
+    }
+
+    public static byte[] serialize(BootstrapConfig config) {
+        try {
+            return MAPPER.writeValueAsBytes(config);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to serialize bootstrap config", e);
+        }
+    }
+
+    public static BootstrapConfig deserialize(byte[] data) {
+        try {
+            return MAPPER.readValue(data, BootstrapConfig.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid bootstrap config content", e);
+        }
+    }
+
+    private static class ULongSerializer extends StdSerializer<ULong> {
+        private static final long serialVersionUID = 1L;
+
+        ULongSerializer() {
+            super(ULong.class);
+        }
+
+        @Override
+        public void serialize(ULong value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            // as string because value could not fit in a long
+            gen.writeString(value.toString());
+        }
+    }
+
+    private static class ULongDeserializer extends StdDeserializer<ULong> {
+        private static final long serialVersionUID = 1L;
+
+        ULongDeserializer() {
+            super(ULong.class);
+        }
+
+        @Override
+        public ULong deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return ULong.valueOf(p.getValueAsString());
+        }
+    }
+
+    private static class ContentFormatSerializer extends StdSerializer<ContentFormat> {
+        private static final long serialVersionUID = 1L;
+
+        ContentFormatSerializer() {
+            super(ContentFormat.class);
+        }
+
+        @Override
+        public void serialize(ContentFormat value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.getCode());
+        }
+    }
+
+    private static class ContentFormatDeserializer extends StdDeserializer<ContentFormat> {
+        private static final long serialVersionUID = 1L;
+
+        ContentFormatDeserializer() {
+            super(ContentFormat.class);
+        }
+
+        @Override
+        public ContentFormat deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return ContentFormat.fromCode(p.getIntValue());
+        }
+    }
+
+    private static class CipherSuiteIdSerializer extends StdSerializer<CipherSuiteId> {
+        private static final long serialVersionUID = 1L;
+
+        CipherSuiteIdSerializer() {
+            super(CipherSuiteId.class);
+        }
+
+        @Override
+        public void serialize(CipherSuiteId value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.getValueForSecurityObject().intValue());
+        }
+    }
+
+    private static class CipherSuiteIdDeserializer extends StdDeserializer<CipherSuiteId> {
+        private static final long serialVersionUID = 1L;
+
+        CipherSuiteIdDeserializer() {
+            super(CipherSuiteId.class);
+        }
+
+        @Override
+        public CipherSuiteId deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return new CipherSuiteId(ULong.valueOf(p.getLongValue()));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.bsserver.redis.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+
+import org.eclipse.leshan.bsserver.BootstrapConfig;
+import org.eclipse.leshan.bsserver.BootstrapConfig.ACLConfig;
+import org.eclipse.leshan.bsserver.BootstrapConfig.CipherSuiteId;
+import org.eclipse.leshan.bsserver.BootstrapConfig.OscoreObject;
+import org.eclipse.leshan.bsserver.BootstrapConfig.ServerConfig;
+import org.eclipse.leshan.bsserver.BootstrapConfig.ServerSecurity;
+import org.eclipse.leshan.core.CertificateUsage;
+import org.eclipse.leshan.core.SecurityMode;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.util.datatype.ULong;
+import org.junit.jupiter.api.Test;
+
+public class BootstrapConfigSerDesTest {
+
+    @Test
+    public void bootstrap_config_ser_des_then_equal() {
+        BootstrapConfig config = new BootstrapConfig();
+        config.contentFormat = ContentFormat.SENML_CBOR;
+        config.toDelete = Arrays.asList("/0", "/1");
+
+        ServerSecurity security = new ServerSecurity();
+        security.uri = "coaps://localhost:5684";
+        security.securityMode = SecurityMode.PSK;
+        security.publicKeyOrId = "identity".getBytes(StandardCharsets.UTF_8);
+        security.secretKey = new byte[] { 1, 2, 3, (byte) 0xFF };
+        security.serverId = 123;
+        security.certificateUsage = CertificateUsage.DOMAIN_ISSUER_CERTIFICATE;
+        security.cipherSuite = Arrays.asList(new CipherSuiteId((byte) 0xC0, (byte) 0xA8));
+        config.security.put(1, security);
+
+        ServerConfig server = new ServerConfig();
+        server.shortId = 123;
+        server.binding = EnumSet.of(BindingMode.U, BindingMode.T);
+        server.registrationPriority = ULong.valueOf("18446744073709551615");
+        config.servers.put(0, server);
+
+        ACLConfig acl = new ACLConfig();
+        acl.objectId = 3;
+        acl.acls = new HashMap<>();
+        acl.acls.put(123, 15L);
+        config.acls.put(0, acl);
+
+        OscoreObject oscore = new OscoreObject();
+        oscore.oscoreSenderId = new byte[] { 1 };
+        oscore.oscoreRecipientId = new byte[] { 2 };
+        config.oscore.put(2, oscore);
+
+        BootstrapConfig deserialized = BootstrapConfigSerDes.deserialize(BootstrapConfigSerDes.serialize(config));
+
+        assertEquals(config.toString(), deserialized.toString());
+        assertEquals(config.contentFormat, deserialized.contentFormat);
+        assertEquals(config.toDelete, deserialized.toDelete);
+        assertArrayEquals(security.secretKey, deserialized.security.get(1).secretKey);
+        assertEquals(server.binding, deserialized.servers.get(0).binding);
+        assertEquals(server.registrationPriority, deserialized.servers.get(0).registrationPriority);
+        assertEquals(security.cipherSuite.get(0).getValueForSecurityObject(),
+                deserialized.security.get(1).cipherSuite.get(0).getValueForSecurityObject());
+    }
+}
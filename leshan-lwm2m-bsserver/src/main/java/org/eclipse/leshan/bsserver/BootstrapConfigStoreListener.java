@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.bsserver;
+
+/**
+ * Listen for {@link BootstrapConfig} modifications of an {@link EditableBootstrapConfigStore}.
+ */
+public interface BootstrapConfigStoreListener {
+
+    /**
+     * Called when a configuration is added for an end-point.
+     *
+     * @param endpoint the client endpoint name.
+     * @param previousConfig the configuration replaced by the new one or <code>null</code> if there was no
+     *        configuration for this client.
+     * @param config the new configuration.
+     */
+    void configAdded(String endpoint, BootstrapConfig previousConfig, BootstrapConfig config);
+
+    /**
+     * Called when a configuration is removed for an end-point.
+     *
+     * @param endpoint the client endpoint name.
+     * @param config the removed configuration.
+     */
+    void configRemoved(String endpoint, BootstrapConfig config);
+}
@@ -17,20 +17,37 @@
 package org.eclipse.leshan.bsserver;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.eclipse.leshan.core.link.lwm2m.LwM2mLink;
 import org.eclipse.leshan.core.link.lwm2m.attributes.LwM2mAttributes;
 import org.eclipse.leshan.core.request.BootstrapDiscoverRequest;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.request.DownlinkBootstrapRequest;
 import org.eclipse.leshan.core.response.BootstrapDiscoverResponse;
 import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.eclipse.leshan.core.util.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * An implementation of {@link BootstrapTaskProvider} which use a {@link BootstrapConfigStore} to know which requests to
  * send during a {@link BootstrapSession}.
+ * <p>
+ * Requests created from a {@link BootstrapConfig} can be kept in cache, indexed by configuration
+ * <strong>instance</strong>, content format and bootstrap server instance id, so clients sharing the same configuration
+ * get the same request instances (see {@link CachingBootstrapEncoder} to also share their encoded payloads).
+ * <p>
+ * Caching is enabled by default only when the store is an {@link EditableBootstrapConfigStore}: cached requests of a
+ * configuration are dropped each time this configuration is added or removed. With other stores, caching must be
+ * enabled explicitly with {@link #BootstrapConfigStoreTaskProvider(BootstrapConfigStore, int)} and a configuration
+ * <strong>must not be modified</strong> once returned by the store.
  */
 public class BootstrapConfigStoreTaskProvider implements BootstrapTaskProvider {
 
@@ -38,8 +55,54 @@ public class BootstrapConfigStoreTaskProvider implements BootstrapTaskProvider {
 
     private final BootstrapConfigStore store;
 
+    // requests to send, indexed by configuration instance
+    private final Map<PlanKey, List<DownlinkBootstrapRequest<? extends LwM2mResponse>>> plans;
+    private final int maxPlans;
+    // incremented on each invalidation, guarded by plans
+    private long generation;
+
+    /**
+     * Create a task provider which caches requests only if the store is an {@link EditableBootstrapConfigStore}.
+     *
+     * @param store the store containing bootstrap configurations.
+     */
     public BootstrapConfigStoreTaskProvider(BootstrapConfigStore store) {
+        this(store, store instanceof EditableBootstrapConfigStore ? 64 : 0);
+    }
+
+    /**
+     * @param store the store containing bootstrap configurations.
+     * @param maxPlans the maximum number of request lists kept in cache, 0 to disable caching.
+     */
+    public BootstrapConfigStoreTaskProvider(BootstrapConfigStore store, final int maxPlans) {
+        Validate.isTrue(maxPlans >= 0, "maxPlans must be positive or 0");
         this.store = store;
+        this.maxPlans = maxPlans;
+        this.plans = new LinkedHashMap<PlanKey, List<DownlinkBootstrapRequest<? extends LwM2mResponse>>>(16, 0.75f,
+                true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<PlanKey, List<DownlinkBootstrapRequest<? extends LwM2mResponse>>> eldest) {
+                return size() > maxPlans;
+            }
+        };
+        if (store instanceof EditableBootstrapConfigStore && maxPlans > 0) {
+            ((EditableBootstrapConfigStore) store).addListener(new BootstrapConfigStoreListener() {
+                @Override
+                public void configAdded(String endpoint, BootstrapConfig previousConfig, BootstrapConfig config) {
+                    invalidate(previousConfig);
+                    // config instance could have been modified then added again
+                    invalidate(config);
+                }
+
+                @Override
+                public void configRemoved(String endpoint, BootstrapConfig config) {
+                    invalidate(config);
+                }
+            });
+        }
     }
 
     @Override
@@ -77,13 +140,13 @@ public class BootstrapConfigStoreTaskProvider implements BootstrapTaskProvider {
                 }
 
                 // create requests from config
-                tasks.requestsToSend = BootstrapUtil.toRequests(config,
+                tasks.requestsToSend = getRequests(config,
                         config.contentFormat != null ? config.contentFormat : session.getContentFormat(),
                         bootstrapServerInstanceId);
             } else {
                 // create requests from config
-                tasks.requestsToSend = BootstrapUtil.toRequests(config,
-                        config.contentFormat != null ? config.contentFormat : session.getContentFormat());
+                tasks.requestsToSend = getRequests(config,
+                        config.contentFormat != null ? config.contentFormat : session.getContentFormat(), null);
 
             }
 
@@ -97,6 +160,63 @@ public class BootstrapConfigStoreTaskProvider implements BootstrapTaskProvider {
         }
     }
 
+    /**
+     * @return the number of request lists currently in cache.
+     */
+    public int size() {
+        synchronized (plans) {
+            return plans.size();
+        }
+    }
+
+    private List<DownlinkBootstrapRequest<? extends LwM2mResponse>> getRequests(BootstrapConfig config,
+            ContentFormat contentFormat, Integer bootstrapServerInstanceId) {
+        if (maxPlans == 0) {
+            return toRequests(config, contentFormat, bootstrapServerInstanceId);
+        }
+
+        PlanKey key = new PlanKey(config, contentFormat, bootstrapServerInstanceId);
+        List<DownlinkBootstrapRequest<? extends LwM2mResponse>> plan;
+        long currentGeneration;
+        synchronized (plans) {
+            plan = plans.get(key);
+            currentGeneration = generation;
+        }
+        if (plan == null) {
+            plan = Collections.unmodifiableList(toRequests(config, contentFormat, bootstrapServerInstanceId));
+            synchronized (plans) {
+                // do not cache requests created from a configuration invalidated meanwhile
+                if (currentGeneration == generation) {
+                    plans.put(key, plan);
+                }
+            }
+        }
+        // session consumes its list of requests, so give it its own copy
+        return new ArrayList<>(plan);
+    }
+
+    private List<DownlinkBootstrapRequest<? extends LwM2mResponse>> toRequests(BootstrapConfig config,
+            ContentFormat contentFormat, Integer bootstrapServerInstanceId) {
+        if (bootstrapServerInstanceId != null) {
+            return BootstrapUtil.toRequests(config, contentFormat, bootstrapServerInstanceId);
+        } else {
+            return BootstrapUtil.toRequests(config, contentFormat);
+        }
+    }
+
+    private void invalidate(BootstrapConfig config) {
+        if (config == null)
+            return;
+        synchronized (plans) {
+            generation++;
+            for (Iterator<PlanKey> it = plans.keySet().iterator(); it.hasNext();) {
+                if (it.next().config == config) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
     protected boolean shouldStartWithDiscover(BootstrapConfig config) {
         return config.autoIdForSecurityObject;
     }
@@ -112,4 +232,34 @@ public class BootstrapConfigStoreTaskProvider implements BootstrapTaskProvider {
         }
         return null;
     }
+
+    private static class PlanKey {
+        private final BootstrapConfig config;
+        private final ContentFormat contentFormat;
+        private final Integer bootstrapServerInstanceId;
+
+        PlanKey(BootstrapConfig config, ContentFormat contentFormat, Integer bootstrapServerInstanceId) {
+            this.config = config;
+            this.contentFormat = contentFormat;
+            this.bootstrapServerInstanceId = bootstrapServerInstanceId;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(config);
+            result = 31 * result + Objects.hashCode(contentFormat);
+            return 31 * result + Objects.hashCode(bootstrapServerInstanceId);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof PlanKey))
+                return false;
+            PlanKey other = (PlanKey) obj;
+            return config == other.config && Objects.equals(contentFormat, other.contentFormat)
+                    && Objects.equals(bootstrapServerInstanceId, other.bootstrapServerInstanceId);
+        }
+    }
 }
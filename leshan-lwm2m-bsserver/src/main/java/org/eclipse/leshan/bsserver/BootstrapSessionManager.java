@@ -36,15 +36,24 @@ public interface BootstrapSessionManager {
     /**
      * Define if the session should continue, finished or failed.
      * <p>
-     * If the session continue, it also define which request must be send next.
+     * If the session continue, it also define which request must be send next. When several requests are sent at the
+     * same time (see {@link BootstrapSessionManager#getNextConcurrentRequest(BootstrapSession)}), the session can also
+     * wait for responses of ongoing requests.
      */
     public class BootstrapPolicy {
 
         private final boolean failed;
+        private final boolean waiting;
         private final DownlinkBootstrapRequest<? extends LwM2mResponse> nextRequest;
 
         protected BootstrapPolicy(boolean stop, DownlinkBootstrapRequest<? extends LwM2mResponse> nextRequest) {
+            this(stop, false, nextRequest);
+        }
+
+        protected BootstrapPolicy(boolean stop, boolean waiting,
+                DownlinkBootstrapRequest<? extends LwM2mResponse> nextRequest) {
             this.failed = stop;
+            this.waiting = waiting;
             this.nextRequest = nextRequest;
         }
 
@@ -59,7 +68,7 @@ public interface BootstrapSessionManager {
          * @return true if the session should stop with success
          */
         public boolean shouldFinish() {
-            return !failed && nextRequest == null;
+            return !failed && !waiting && nextRequest == null;
         }
 
         /**
@@ -69,6 +78,13 @@ public interface BootstrapSessionManager {
             return failed;
         }
 
+        /**
+         * @return true if the session should send nothing until it receives responses of ongoing requests.
+         */
+        public boolean shouldWait() {
+            return waiting;
+        }
+
         public DownlinkBootstrapRequest<? extends LwM2mResponse> nextRequest() {
             return nextRequest;
         }
@@ -86,9 +102,14 @@ public interface BootstrapSessionManager {
             return new BootstrapPolicy(true, null);
         }
 
+        public static BootstrapPolicy waitForOngoingRequests() {
+            return new BootstrapPolicy(false, true, null);
+        }
+
         @Override
         public String toString() {
-            return String.format("BootstrapPolicy [failed=%s, nextRequest=%s]", failed, nextRequest);
+            return String.format("BootstrapPolicy [failed=%s, waiting=%s, nextRequest=%s]", failed, waiting,
+                    nextRequest);
         }
     }
 
@@ -122,6 +143,22 @@ public interface BootstrapSessionManager {
      */
     public DownlinkBootstrapRequest<? extends LwM2mResponse> getFirstRequest(BootstrapSession bsSession);
 
+    /**
+     * Called to know if another request can be sent without waiting for responses of ongoing requests.
+     * <p>
+     * When this returns a request, the manager must be ready to receive responses in any order and so may return
+     * {@link BootstrapPolicy#waitForOngoingRequests()} until responses of all ongoing requests are received.
+     * <p>
+     * By default, this returns <code>null</code> : requests are sent one at a time.
+     *
+     * @param bsSession the bootstrap session concerned.
+     * @return the next request to send or <code>null</code> if it must wait for responses of ongoing requests.
+     */
+    public default DownlinkBootstrapRequest<? extends LwM2mResponse> getNextConcurrentRequest(
+            BootstrapSession bsSession) {
+        return null;
+    }
+
     /**
      * Called when we receive a successful response to a request.
      *
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.bsserver;
+
+/**
+ * Keeps track of ongoing {@link BootstrapSession}, at most one by endpoint.
+ * <p>
+ * {@link DefaultBootstrapHandler} uses it to ensure there isn't 2 bootstrap sessions at the same time for a given
+ * client and to count ongoing sessions. An implementation can share this state between several bootstrap servers, in
+ * that case a session started on another server replaces the one of this server, which is notified to
+ * {@link BootstrapSessionRegistryListener}.
+ *
+ * @see InMemoryBootstrapSessionRegistry
+ */
+public interface BootstrapSessionRegistry {
+
+    /**
+     * Register a new ongoing session, replacing the ongoing session of the same endpoint if any.
+     *
+     * @param session the new ongoing session.
+     * @return the replaced session if it was handled by this server, else <code>null</code>.
+     */
+    BootstrapSession add(BootstrapSession session);
+
+    /**
+     * Unregister an ongoing session, if it was not already replaced.
+     *
+     * @param session the session which ended.
+     * @return <code>true</code> if session was registered by this server.
+     */
+    boolean remove(BootstrapSession session);
+
+    /**
+     * @param endpoint the endpoint name of a client.
+     * @return <code>true</code> if there is an ongoing session for this client.
+     */
+    boolean contains(String endpoint);
+
+    /**
+     * @return the number of ongoing sessions.
+     */
+    int size();
+
+    /**
+     * Add a listener notified when a session of this server is replaced by a session started on another server.
+     *
+     * @param listener the listener to add.
+     */
+    void addListener(BootstrapSessionRegistryListener listener);
+
+    /**
+     * Remove a listener previously added with {@link #addListener(BootstrapSessionRegistryListener)}.
+     *
+     * @param listener the listener to remove.
+     */
+    void removeListener(BootstrapSessionRegistryListener listener);
+}
@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.bsserver;
+
+/**
+ * Listen for ongoing {@link BootstrapSession} replaced in a {@link BootstrapSessionRegistry}.
+ */
+public interface BootstrapSessionRegistryListener {
+
+    /**
+     * Called when a session handled by this server is replaced by a new session of the same client started on another
+     * server. The session should be cancelled.
+     *
+     * @param session the replaced session.
+     */
+    void sessionReplaced(BootstrapSession session);
+}
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.bsserver;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.leshan.core.model.LwM2mModel;
+import org.eclipse.leshan.core.model.ObjectModel;
+import org.eclipse.leshan.core.node.LwM2mNode;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.node.TimestampedLwM2mNode;
+import org.eclipse.leshan.core.node.TimestampedLwM2mNodes;
+import org.eclipse.leshan.core.node.codec.CodecException;
+import org.eclipse.leshan.core.node.codec.DefaultLwM2mEncoder;
+import org.eclipse.leshan.core.node.codec.LwM2mEncoder;
+import org.eclipse.leshan.core.request.BootstrapWriteRequest;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A {@link LwM2mEncoder} which keeps payloads encoded by
+ * {@link #encode(LwM2mNode, ContentFormat, String, LwM2mPath, LwM2mModel)}, indexed by node <strong>instance</strong>.
+ * <p>
+ * {@link BootstrapConfigStoreTaskProvider} sends the same {@link BootstrapWriteRequest} instances to all clients
+ * sharing a {@link BootstrapConfig}, so each of their payloads is encoded once and then reused by every bootstrap
+ * session. Nodes are immutable, so the payload of a given node instance only depends on content format, path and
+ * {@link ObjectModel} of the targeted object (compared by instance too). Returned payloads <strong>must not be
+ * modified</strong>.
+ * <p>
+ * The cache keeps the most recently used payloads only. Other methods are delegated without caching.
+ */
+public class CachingBootstrapEncoder implements LwM2mEncoder {
+
+    private final LwM2mEncoder encoder;
+    private final Map<Key, byte[]> cache;
+
+    public CachingBootstrapEncoder() {
+        this(new DefaultLwM2mEncoder(), 1024);
+    }
+
+    /**
+     * @param encoder the encoder used on cache miss.
+     * @param maxEntries the maximum number of payloads kept in cache.
+     */
+    public CachingBootstrapEncoder(LwM2mEncoder encoder, final int maxEntries) {
+        Validate.notNull(encoder);
+        Validate.isTrue(maxEntries > 0, "maxEntries must be positive");
+        this.encoder = encoder;
+        this.cache = new LinkedHashMap<Key, byte[]>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, byte[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public byte[] encode(LwM2mNode node, ContentFormat format, String rootPath, LwM2mPath path, LwM2mModel model)
+            throws CodecException {
+        if (node == null || path == null || path.isRoot()) {
+            return encoder.encode(node, format, rootPath, path, model);
+        }
+
+        ObjectModel objectModel = model != null ? model.getObjectModel(path.getObjectId()) : null;
+        Key key = new Key(node, format, rootPath, path, objectModel);
+        byte[] payload;
+        synchronized (cache) {
+            payload = cache.get(key);
+        }
+        if (payload == null) {
+            payload = encoder.encode(node, format, rootPath, path, model);
+            synchronized (cache) {
+                cache.put(key, payload);
+            }
+        }
+        return payload;
+    }
+
+    @Override
+    public byte[] encodeNodes(Map<LwM2mPath, LwM2mNode> nodes, ContentFormat format, String rootPath, LwM2mModel model)
+            throws CodecException {
+        return encoder.encodeNodes(nodes, format, rootPath, model);
+    }
+
+    @Override
+    public byte[] encodeTimestampedData(List<TimestampedLwM2mNode> timestampedNodes, ContentFormat format,
+            String rootPath, LwM2mPath path, LwM2mModel model) throws CodecException {
+        return encoder.encodeTimestampedData(timestampedNodes, format, rootPath, path, model);
+    }
+
+    @Override
+    public byte[] encodeTimestampedNodes(TimestampedLwM2mNodes data, ContentFormat format, String rootPath,
+            LwM2mModel model) throws CodecException {
+        return encoder.encodeTimestampedNodes(data, format, rootPath, model);
+    }
+
+    @Override
+    public byte[] encodePaths(List<LwM2mPath> paths, ContentFormat format, String rootPath) throws CodecException {
+        return encoder.encodePaths(paths, format, rootPath);
+    }
+
+    @Override
+    public boolean isSupported(ContentFormat format) {
+        return encoder.isSupported(format);
+    }
+
+    @Override
+    public Set<ContentFormat> getSupportedContentFormat() {
+        return encoder.getSupportedContentFormat();
+    }
+
+    /**
+     * @return the number of payloads currently in cache.
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private static class Key {
+        private final LwM2mNode node;
+        private final ContentFormat format;
+        private final String rootPath;
+        private final LwM2mPath path;
+        private final ObjectModel objectModel;
+        private final int hashCode;
+
+        Key(LwM2mNode node, ContentFormat format, String rootPath, LwM2mPath path, ObjectModel objectModel) {
+            this.node = node;
+            this.format = format;
+            this.rootPath = rootPath;
+            this.path = path;
+            this.objectModel = objectModel;
+            int result = System.identityHashCode(node);
+            result = 31 * result + Objects.hashCode(format);
+            result = 31 * result + Objects.hashCode(rootPath);
+            result = 31 * result + path.hashCode();
+            this.hashCode = 31 * result + System.identityHashCode(objectModel);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+            Key other = (Key) obj;
+            return node == other.node && objectModel == other.objectModel && Objects.equals(format, other.format)
+                    && Objects.equals(rootPath, other.rootPath) && path.equals(other.path);
+        }
+    }
+}
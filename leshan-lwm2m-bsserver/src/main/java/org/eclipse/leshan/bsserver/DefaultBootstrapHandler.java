@@ -22,7 +22,8 @@ import static org.eclipse.leshan.bsserver.BootstrapFailureCause.NO_BOOTSTRAP_CON
 import static org.eclipse.leshan.bsserver.BootstrapFailureCause.REQUEST_FAILED;
 import static org.eclipse.leshan.bsserver.BootstrapFailureCause.UNAUTHORIZED;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.leshan.bsserver.BootstrapSessionManager.BootstrapPolicy;
 import org.eclipse.leshan.bsserver.request.BootstrapDownlinkRequestSender;
@@ -38,6 +39,8 @@ import org.eclipse.leshan.core.response.ResponseCallback;
 import org.eclipse.leshan.core.response.SendableResponse;
 import org.eclipse.leshan.core.util.Validate;
 import org.eclipse.leshan.servers.ServerEndpointNameProvider;
+import org.eclipse.leshan.servers.admission.Admission;
+import org.eclipse.leshan.servers.admission.AdmissionController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +52,10 @@ import org.slf4j.LoggerFactory;
  * <p>
  * It also ensure that we send only one request at a time for a given client.
  * <p>
+ * To protect the server when a lot of devices bootstrap at once, an {@link AdmissionController} and a maximum number of
+ * concurrent sessions can be set. Rejected clients get a 5.03 Service Unavailable response with a Max-Age telling when
+ * to retry.
+ * <p>
  * All the logic for a given session is delegate to a the {@link BootstrapSessionManager}.
  */
 public class DefaultBootstrapHandler implements BootstrapHandler {
@@ -59,13 +66,27 @@ public class DefaultBootstrapHandler implements BootstrapHandler {
     // send a Confirmable message to the time when an acknowledgement is no longer expected.
     public static final long DEFAULT_TIMEOUT = 2 * 60 * 1000l; // 2min in ms
 
+    // maximum Max-Age in seconds of responses rejecting a client because of too many ongoing sessions
+    private static final long MAX_SESSION_RETRY_AFTER = 5;
+
     protected final BootstrapDownlinkRequestSender sender;
     protected final long requestTimeout;
 
-    protected final ConcurrentHashMap<String, BootstrapSession> onGoingSession = new ConcurrentHashMap<>();
+    /**
+     * Ongoing sessions by endpoint.
+     * <p>
+     * This replaces the former <code>ConcurrentHashMap&lt;String, BootstrapSession&gt; onGoingSession</code> field.
+     * Subclasses which used it must now use {@link BootstrapSessionRegistry#add(BootstrapSession)},
+     * {@link BootstrapSessionRegistry#remove(BootstrapSession)}, {@link BootstrapSessionRegistry#contains(String)} and
+     * {@link BootstrapSessionRegistry#size()}.
+     */
+    protected final BootstrapSessionRegistry onGoingSessions;
     protected final BootstrapSessionManager sessionManager;
     protected final BootstrapSessionListener listener;
     protected final ServerEndpointNameProvider endpointNameProvider;
+    protected final AdmissionController admissionController;
+    protected final int maxConcurrentSessions;
+    protected final AtomicLong rejectedSessionCount = new AtomicLong();
 
     public DefaultBootstrapHandler(BootstrapDownlinkRequestSender sender, BootstrapSessionManager sessionManager,
             ServerEndpointNameProvider endpointNameProvider, BootstrapSessionListener listener) {
@@ -74,14 +95,47 @@ public class DefaultBootstrapHandler implements BootstrapHandler {
 
     public DefaultBootstrapHandler(BootstrapDownlinkRequestSender sender, BootstrapSessionManager sessionManager,
             ServerEndpointNameProvider endpointNameProvider, BootstrapSessionListener listener, long requestTimeout) {
+        this(sender, sessionManager, endpointNameProvider, listener, requestTimeout, null, 0);
+    }
+
+    public DefaultBootstrapHandler(BootstrapDownlinkRequestSender sender, BootstrapSessionManager sessionManager,
+            ServerEndpointNameProvider endpointNameProvider, BootstrapSessionListener listener, long requestTimeout,
+            AdmissionController admissionController, int maxConcurrentSessions) {
+        this(sender, sessionManager, endpointNameProvider, listener, requestTimeout, admissionController,
+                maxConcurrentSessions, new InMemoryBootstrapSessionRegistry());
+    }
+
+    /**
+     * @param admissionController decides if a Bootstrap request is handled or rejected because server is overloaded. If
+     *        <code>null</code> all requests are handled.
+     * @param maxConcurrentSessions the maximum number of ongoing sessions, new sessions are rejected above it. Use
+     *        <code>0</code> for no limit.
+     * @param sessionRegistry keeps track of ongoing sessions, could be shared between several bootstrap servers.
+     */
+    public DefaultBootstrapHandler(BootstrapDownlinkRequestSender sender, BootstrapSessionManager sessionManager,
+            ServerEndpointNameProvider endpointNameProvider, BootstrapSessionListener listener, long requestTimeout,
+            AdmissionController admissionController, int maxConcurrentSessions,
+            BootstrapSessionRegistry sessionRegistry) {
         Validate.notNull(sender);
         Validate.notNull(sessionManager);
         Validate.notNull(listener);
+        Validate.notNull(sessionRegistry);
+        Validate.isTrue(maxConcurrentSessions >= 0, "maxConcurrentSessions must be positive or 0");
         this.sender = sender;
         this.sessionManager = sessionManager;
         this.endpointNameProvider = endpointNameProvider;
         this.listener = listener;
         this.requestTimeout = requestTimeout;
+        this.admissionController = admissionController;
+        this.maxConcurrentSessions = maxConcurrentSessions;
+        this.onGoingSessions = sessionRegistry;
+        this.onGoingSessions.addListener(new BootstrapSessionRegistryListener() {
+            @Override
+            public void sessionReplaced(BootstrapSession session) {
+                LOG.debug("{} replaced by a session started on another server", session);
+                cancelSession(session);
+            }
+        });
     }
 
     @Override
@@ -97,6 +151,12 @@ public class DefaultBootstrapHandler implements BootstrapHandler {
             }
         }
 
+        // Shed load before doing any work
+        BootstrapResponse overloaded = checkAdmission(endpoint, sender, request);
+        if (overloaded != null) {
+            return new SendableResponse<>(overloaded);
+        }
+
         // Start session, checking the BS credentials
         final BootstrapSession session;
         session = sessionManager.begin(endpoint, request, sender, endpointUsed);
@@ -110,13 +170,10 @@ public class DefaultBootstrapHandler implements BootstrapHandler {
         listener.authorized(session);
 
         // check if there is not an ongoing session.
-        BootstrapSession oldSession = onGoingSession.put(endpoint, session);
+        BootstrapSession oldSession = onGoingSessions.add(session);
         if (oldSession != null) {
             // stop previous ongoing session.
-            synchronized (oldSession) {
-                oldSession.cancel();
-                this.sender.cancelOngoingRequests(oldSession);
-            }
+            cancelSession(oldSession);
         }
 
         try {
@@ -142,12 +199,69 @@ public class DefaultBootstrapHandler implements BootstrapHandler {
         }
     }
 
+    /**
+     * @return the number of seconds after which a client rejected because of too many ongoing sessions should retry.
+     *         Ongoing sessions usually end after a few round trips, so it is short, but randomized so rejected clients
+     *         do not all retry at the same time.
+     */
+    protected long getSessionRetryAfter() {
+        return 1 + ThreadLocalRandom.current().nextLong(MAX_SESSION_RETRY_AFTER);
+    }
+
+    /**
+     * Check if a new session can be started.
+     *
+     * @return <code>null</code> if session can be started or the response to send if it is rejected.
+     */
+    protected BootstrapResponse checkAdmission(String endpoint, LwM2mPeer client, BootstrapRequest request) {
+        // A client restarting its ongoing session does not increase the number of sessions.
+        // As sessions are added later, this limit may be exceeded by a few concurrent requests.
+        if (maxConcurrentSessions > 0 && onGoingSessions.size() >= maxConcurrentSessions
+                && !onGoingSessions.contains(endpoint)) {
+            rejectedSessionCount.incrementAndGet();
+            LOG.debug("Bootstrap request from {} rejected, too many ongoing sessions", client);
+            return BootstrapResponse.serviceUnavailable("too many ongoing sessions", getSessionRetryAfter());
+        }
+
+        if (admissionController != null) {
+            Admission admission = admissionController.admit(client, request);
+            if (admission.isRejected()) {
+                rejectedSessionCount.incrementAndGet();
+                LOG.debug("Bootstrap request from {} rejected, retry after {}s", client, admission.getRetryAfter());
+                return BootstrapResponse.serviceUnavailable("server overloaded", admission.getRetryAfter());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the number of bootstrap requests rejected because of the concurrent session limit or by the
+     *         {@link AdmissionController}.
+     */
+    public long getRejectedSessionCount() {
+        return rejectedSessionCount.get();
+    }
+
+    /**
+     * @return the number of ongoing sessions.
+     */
+    public int getOngoingSessionCount() {
+        return onGoingSessions.size();
+    }
+
     protected void startBootstrap(BootstrapSession session) {
         sendRequest(session, sessionManager.getFirstRequest(session));
     }
 
+    protected void cancelSession(BootstrapSession session) {
+        synchronized (session) {
+            session.cancel();
+            this.sender.cancelOngoingRequests(session);
+        }
+    }
+
     protected void stopSession(BootstrapSession session, BootstrapFailureCause cause) {
-        if (!onGoingSession.remove(session.getEndpoint(), session) //
+        if (!onGoingSessions.remove(session) //
                 && !session.isCancelled()) {
             LOG.warn("{} was already removed", session);
         }
@@ -49,6 +49,8 @@ public class DefaultBootstrapSession implements BootstrapSession {
     private volatile List<DownlinkBootstrapRequest<? extends LwM2mResponse>> requests;
     private volatile List<LwM2mResponse> responses;
     private volatile boolean moreTasks = false;
+    private volatile int ongoingRequests = 0;
+    private volatile DownlinkBootstrapRequest<? extends LwM2mResponse> lastRequest;
     private volatile boolean cancelled = false;
 
     /**
@@ -199,6 +201,28 @@ public class DefaultBootstrapSession implements BootstrapSession {
         return moreTasks;
     }
 
+    /**
+     * @return the number of requests sent for which we are waiting a response.
+     */
+    public int getOngoingRequests() {
+        return ongoingRequests;
+    }
+
+    public void setOngoingRequests(int ongoingRequests) {
+        this.ongoingRequests = ongoingRequests;
+    }
+
+    /**
+     * @return the last request given to send.
+     */
+    public DownlinkBootstrapRequest<? extends LwM2mResponse> getLastRequest() {
+        return lastRequest;
+    }
+
+    public void setLastRequest(DownlinkBootstrapRequest<? extends LwM2mResponse> lastRequest) {
+        this.lastRequest = lastRequest;
+    }
+
     @Override
     public void cancel() {
         cancelled = true;
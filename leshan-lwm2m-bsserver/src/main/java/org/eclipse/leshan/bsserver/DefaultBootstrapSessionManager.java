@@ -25,8 +25,10 @@ import org.eclipse.leshan.bsserver.security.BootstrapAuthorizer;
 import org.eclipse.leshan.bsserver.security.BootstrapSecurityStore;
 import org.eclipse.leshan.core.endpoint.EndpointUri;
 import org.eclipse.leshan.core.peer.LwM2mPeer;
+import org.eclipse.leshan.core.request.BootstrapDeleteRequest;
 import org.eclipse.leshan.core.request.BootstrapFinishRequest;
 import org.eclipse.leshan.core.request.BootstrapRequest;
+import org.eclipse.leshan.core.request.BootstrapWriteRequest;
 import org.eclipse.leshan.core.request.DownlinkBootstrapRequest;
 import org.eclipse.leshan.core.request.SimpleDownlinkRequest;
 import org.eclipse.leshan.core.response.LwM2mResponse;
@@ -41,6 +43,10 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Starting a session only checks credentials from BootstrapSecurityStore.
  * <p>
+ * Requests of the last {@link Tasks} can be sent concurrently (see
+ * {@link #getNextConcurrentRequest(BootstrapSession)}): consecutive Bootstrap-Delete requests can be sent together,
+ * then consecutive Bootstrap-Write requests, and Bootstrap-Finish is sent once all of them get a response.
+ * <p>
  * Nothing specific is done on session's end.
  */
 public class DefaultBootstrapSessionManager implements BootstrapSessionManager {
@@ -121,23 +127,79 @@ public class DefaultBootstrapSessionManager implements BootstrapSessionManager {
 
         if (!requestsToSend.isEmpty()) {
             // get next requests
-            return requestsToSend.remove(0);
+            return sent(session, requestsToSend.remove(0));
         } else {
             if (session.hasMoreTasks()) {
                 Tasks nextTasks = tasksProvider.getTasks(session, session.getResponses());
                 if (nextTasks == null) {
                     session.setMoreTasks(false);
-                    return new BootstrapFinishRequest();
+                    return sent(session, new BootstrapFinishRequest());
                 }
 
                 initTasks(session, nextTasks);
                 return nextRequest(bsSession);
             } else {
-                return new BootstrapFinishRequest();
+                return sent(session, new BootstrapFinishRequest());
             }
         }
     }
 
+    @Override
+    public DownlinkBootstrapRequest<? extends LwM2mResponse> getNextConcurrentRequest(BootstrapSession bsSession) {
+        DefaultBootstrapSession session = (DefaultBootstrapSession) bsSession;
+        List<DownlinkBootstrapRequest<? extends LwM2mResponse>> requestsToSend = session.getRequests();
+
+        // responses could be needed by task provider to get next tasks, so keep them in order.
+        if (session.hasMoreTasks() || requestsToSend.isEmpty()) {
+            return null;
+        }
+        if (session.getOngoingRequests() > 0
+                && !canBeSentConcurrently(requestsToSend.get(0), session.getLastRequest())) {
+            return null;
+        }
+        return sent(session, requestsToSend.remove(0));
+    }
+
+    /**
+     * Define if a request can be sent while the previous one (and maybe others before it) is waiting for a response.
+     * <p>
+     * By default, only Bootstrap-Delete following Bootstrap-Delete and Bootstrap-Write following Bootstrap-Write can.
+     * So all Delete requests get a response before the first Write is sent.
+     */
+    protected boolean canBeSentConcurrently(DownlinkBootstrapRequest<? extends LwM2mResponse> request,
+            DownlinkBootstrapRequest<? extends LwM2mResponse> previousRequest) {
+        return (request instanceof BootstrapDeleteRequest && previousRequest instanceof BootstrapDeleteRequest)
+                || (request instanceof BootstrapWriteRequest && previousRequest instanceof BootstrapWriteRequest);
+    }
+
+    private DownlinkBootstrapRequest<? extends LwM2mResponse> sent(DefaultBootstrapSession session,
+            DownlinkBootstrapRequest<? extends LwM2mResponse> request) {
+        session.setOngoingRequests(session.getOngoingRequests() + 1);
+        session.setLastRequest(request);
+        return request;
+    }
+
+    /**
+     * Get the way to continue the session once a response is received for a request which is not Bootstrap-Finish.
+     */
+    protected BootstrapPolicy continueSession(DefaultBootstrapSession session) {
+        if (session.getOngoingRequests() == 0) {
+            return BootstrapPolicy.continueWith(nextRequest(session));
+        }
+        // some other requests are still waiting for response
+        DownlinkBootstrapRequest<? extends LwM2mResponse> nextRequest = getNextConcurrentRequest(session);
+        if (nextRequest != null) {
+            return BootstrapPolicy.continueWith(nextRequest);
+        } else {
+            return BootstrapPolicy.waitForOngoingRequests();
+        }
+    }
+
+    private void received(BootstrapSession bsSession) {
+        DefaultBootstrapSession session = (DefaultBootstrapSession) bsSession;
+        session.setOngoingRequests(session.getOngoingRequests() - 1);
+    }
+
     @Override
     public BootstrapPolicy onResponseSuccess(BootstrapSession bsSession,
             DownlinkBootstrapRequest<? extends LwM2mResponse> request, LwM2mResponse response) {
@@ -145,13 +207,14 @@ public class DefaultBootstrapSessionManager implements BootstrapSessionManager {
             LOG.trace("{} {} receives success response for {} : {}", request.getClass().getSimpleName(),
                     request instanceof SimpleDownlinkRequest ? ((SimpleDownlinkRequest<?>) request).getPath() : "",
                     bsSession, request);
+        received(bsSession);
 
         if (!(request instanceof BootstrapFinishRequest)) {
             // store response
             DefaultBootstrapSession session = (DefaultBootstrapSession) bsSession;
             session.getResponses().add(response);
             // on success for NOT bootstrap finish request we send next request
-            return BootstrapPolicy.continueWith(nextRequest(bsSession));
+            return continueSession(session);
         } else {
             // on success for bootstrap finish request we stop the session
             return BootstrapPolicy.finished();
@@ -165,6 +228,7 @@ public class DefaultBootstrapSessionManager implements BootstrapSessionManager {
             LOG.trace("{} {} receives error response {} for {} : {}", request.getClass().getSimpleName(),
                     request instanceof SimpleDownlinkRequest ? ((SimpleDownlinkRequest<?>) request).getPath() : "",
                     response, bsSession, request);
+        received(bsSession);
 
         if (!(request instanceof BootstrapFinishRequest)) {
             // store response
@@ -172,7 +236,7 @@ public class DefaultBootstrapSessionManager implements BootstrapSessionManager {
             session.getResponses().add(response);
 
             // on response error for NOT bootstrap finish request we continue any sending next request
-            return BootstrapPolicy.continueWith(nextRequest(bsSession));
+            return continueSession(session);
         } else {
             // on response error for bootstrap finish request we stop the session
             return BootstrapPolicy.failed();
@@ -186,6 +250,7 @@ public class DefaultBootstrapSessionManager implements BootstrapSessionManager {
             LOG.trace("{} {} failed because of {} for {} : {}", request.getClass().getSimpleName(),
                     request instanceof SimpleDownlinkRequest ? ((SimpleDownlinkRequest<?>) request).getPath() : "",
                     cause, bsSession, request);
+        received(bsSession);
 
         return BootstrapPolicy.failed();
     }
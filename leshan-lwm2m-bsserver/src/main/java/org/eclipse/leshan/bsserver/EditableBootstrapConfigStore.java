@@ -45,4 +45,25 @@ public interface EditableBootstrapConfigStore extends BootstrapConfigStore {
      * @return the removed {@link BootstrapConfig} or <code>null</code> if no bootstrap configuration for this client.
      */
     BootstrapConfig remove(String endpoint);
+
+    /**
+     * Add a listener notified each time a configuration is added or removed.
+     * <p>
+     * Default implementation does nothing. Stores which do not override it do not notify changes, so they should be
+     * used with a {@link BootstrapConfigStoreTaskProvider} without caching.
+     *
+     * @param listener the listener to add.
+     */
+    default void addListener(BootstrapConfigStoreListener listener) {
+    }
+
+    /**
+     * Remove a listener previously added with {@link #addListener(BootstrapConfigStoreListener)}.
+     * <p>
+     * Default implementation does nothing.
+     *
+     * @param listener the listener to remove.
+     */
+    default void removeListener(BootstrapConfigStoreListener listener) {
+    }
 }
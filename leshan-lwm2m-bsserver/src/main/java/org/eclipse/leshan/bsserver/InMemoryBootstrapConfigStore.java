@@ -17,9 +17,11 @@
 package org.eclipse.leshan.bsserver;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.leshan.bsserver.BootstrapConfig.ServerSecurity;
 import org.eclipse.leshan.core.SecurityMode;
@@ -35,6 +37,8 @@ public class InMemoryBootstrapConfigStore implements EditableBootstrapConfigStor
     protected final Map<String /* endpoint */, BootstrapConfig> bootstrapByEndpoint = new ConcurrentHashMap<>();
     protected final ConcurrentHashMap<PskByServer, BootstrapConfig> bootstrapByPskId = new ConcurrentHashMap<>();
 
+    private final List<BootstrapConfigStoreListener> listeners = new CopyOnWriteArrayList<>();
+
     @Override
     public BootstrapConfig get(BootstrapSession session) {
         return bootstrapByEndpoint.get(session.getEndpoint());
@@ -66,10 +70,13 @@ public class InMemoryBootstrapConfigStore implements EditableBootstrapConfigStor
         // but with https://github.com/eclipse/leshan/issues/1112
         // I'm not sure this still makes sense...
 
-        bootstrapByEndpoint.put(endpoint, config);
+        BootstrapConfig previousConfig = bootstrapByEndpoint.put(endpoint, config);
         if (pskToAdd != null) {
             bootstrapByPskId.put(pskToAdd, config);
         }
+        for (BootstrapConfigStoreListener listener : listeners) {
+            listener.configAdded(endpoint, previousConfig, config);
+        }
     }
 
     protected void checkConfig(String endpoint, BootstrapConfig config) throws InvalidConfigurationException {
@@ -84,10 +91,23 @@ public class InMemoryBootstrapConfigStore implements EditableBootstrapConfigStor
             if (pskIdentity != null) {
                 bootstrapByPskId.remove(pskIdentity, bootstrapConfig);
             }
+            for (BootstrapConfigStoreListener listener : listeners) {
+                listener.configRemoved(enpoint, bootstrapConfig);
+            }
         }
         return bootstrapConfig;
     }
 
+    @Override
+    public void addListener(BootstrapConfigStoreListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(BootstrapConfigStoreListener listener) {
+        listeners.remove(listener);
+    }
+
     protected PskByServer getBootstrapPskIdentity(BootstrapConfig config) {
         for (ServerSecurity security : config.security.values()) {
             if (security.bootstrapServer) {
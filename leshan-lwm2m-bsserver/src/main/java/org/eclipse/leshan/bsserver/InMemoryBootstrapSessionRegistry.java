@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.bsserver;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link BootstrapSessionRegistry} keeping ongoing sessions of this server in memory.
+ * <p>
+ * Sessions are not shared with other servers, so listeners are never notified.
+ */
+public class InMemoryBootstrapSessionRegistry implements BootstrapSessionRegistry {
+
+    private final ConcurrentHashMap<String /* endpoint */, BootstrapSession> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public BootstrapSession add(BootstrapSession session) {
+        return sessions.put(session.getEndpoint(), session);
+    }
+
+    @Override
+    public boolean remove(BootstrapSession session) {
+        return sessions.remove(session.getEndpoint(), session);
+    }
+
+    @Override
+    public boolean contains(String endpoint) {
+        return sessions.containsKey(endpoint);
+    }
+
+    @Override
+    public int size() {
+        return sessions.size();
+    }
+
+    @Override
+    public void addListener(BootstrapSessionRegistryListener listener) {
+    }
+
+    @Override
+    public void removeListener(BootstrapSessionRegistryListener listener) {
+    }
+}
@@ -55,6 +55,8 @@ public class LeshanBootstrapServer {
     private final BootstrapDownlinkRequestSender requestSender;
     private final LwM2mBootstrapServerEndpointsProvider endpointsProvider;
     private final BootstrapSecurityStore securityStore;
+    private final BootstrapConfigStore configStore;
+    private final BootstrapSessionRegistry sessionRegistry;
 
     /**
      * /** Initialize a server which will bind to the specified address and port.
@@ -73,12 +75,42 @@ public class LeshanBootstrapServer {
             BootstrapHandlerFactory bsHandlerFactory, LwM2mEncoder encoder, LwM2mDecoder decoder,
             LwM2mLinkParser linkParser, EndPointUriHandler uriHandler, BootstrapSecurityStore securityStore,
             ServerSecurityInfo serverSecurityInfo) {
+        this(endpointsProvider, bsSessionManager, endpointNameProvider, bsHandlerFactory, encoder, decoder, linkParser,
+                uriHandler, securityStore, serverSecurityInfo, null, null);
+    }
+
+    /**
+     * Initialize a server which will bind to the specified address and port.
+     * <p>
+     * {@link LeshanBootstrapServerBuilder} is the priviledged way to create a {@link LeshanBootstrapServer}.
+     * <p>
+     * The given stores are started, stopped and destroyed with the server when they implement {@link Startable},
+     * {@link Stoppable} or {@link Destroyable}.
+     *
+     * @param bsSessionManager manages life cycle of a bootstrap process
+     * @param endpointNameProvider must guess endpoint name if missing and if possible else return <code>null</code>
+     * @param bsHandlerFactory responsible to create the {@link BootstrapHandler}
+     * @param encoder encode used to encode request payload.
+     * @param decoder decoder used to decode response payload.
+     * @param linkParser a parser {@link LwM2mLinkParser} used to parse a CoRE Link.
+     * @param configStore the {@link BootstrapConfigStore} used by the session manager, can be <code>null</code>.
+     * @param sessionRegistry the {@link BootstrapSessionRegistry} used by the bootstrap handler, can be
+     *        <code>null</code>.
+     */
+    public LeshanBootstrapServer(LwM2mBootstrapServerEndpointsProvider endpointsProvider,
+            BootstrapSessionManager bsSessionManager, ServerEndpointNameProvider endpointNameProvider,
+            BootstrapHandlerFactory bsHandlerFactory, LwM2mEncoder encoder, LwM2mDecoder decoder,
+            LwM2mLinkParser linkParser, EndPointUriHandler uriHandler, BootstrapSecurityStore securityStore,
+            ServerSecurityInfo serverSecurityInfo, BootstrapConfigStore configStore,
+            BootstrapSessionRegistry sessionRegistry) {
 
         Validate.notNull(endpointsProvider, "endpoints provider must not be null");
         Validate.notNull(bsSessionManager, "session manager must not be null");
         Validate.notNull(bsHandlerFactory, "BootstrapHandler factory must not be null");
         this.endpointsProvider = endpointsProvider;
         this.securityStore = securityStore;
+        this.configStore = configStore;
+        this.sessionRegistry = sessionRegistry;
 
         // create request sender
         requestSender = createRequestSender(endpointsProvider);
@@ -105,6 +137,16 @@ public class LeshanBootstrapServer {
      * Starts the server and binds it to the specified port.
      */
     public void start() {
+        // Start stores
+        if (securityStore instanceof Startable) {
+            ((Startable) securityStore).start();
+        }
+        if (configStore instanceof Startable) {
+            ((Startable) configStore).start();
+        }
+        if (sessionRegistry instanceof Startable) {
+            ((Startable) sessionRegistry).start();
+        }
         if (requestSender instanceof Startable) {
             ((Startable) requestSender).start();
         }
@@ -125,6 +167,16 @@ public class LeshanBootstrapServer {
     public void stop() {
         endpointsProvider.stop();
 
+        // Stop stores
+        if (securityStore instanceof Stoppable) {
+            ((Stoppable) securityStore).stop();
+        }
+        if (configStore instanceof Stoppable) {
+            ((Stoppable) configStore).stop();
+        }
+        if (sessionRegistry instanceof Stoppable) {
+            ((Stoppable) sessionRegistry).stop();
+        }
         if (requestSender instanceof Stoppable) {
             ((Stoppable) requestSender).stop();
         }
@@ -139,6 +191,25 @@ public class LeshanBootstrapServer {
     public void destroy() {
         endpointsProvider.destroy();
 
+        // Destroy stores
+        if (securityStore instanceof Destroyable) {
+            ((Destroyable) securityStore).destroy();
+        } else if (securityStore instanceof Stoppable) {
+            ((Stoppable) securityStore).stop();
+        }
+
+        if (configStore instanceof Destroyable) {
+            ((Destroyable) configStore).destroy();
+        } else if (configStore instanceof Stoppable) {
+            ((Stoppable) configStore).stop();
+        }
+
+        if (sessionRegistry instanceof Destroyable) {
+            ((Destroyable) sessionRegistry).destroy();
+        } else if (sessionRegistry instanceof Stoppable) {
+            ((Stoppable) sessionRegistry).stop();
+        }
+
         if (requestSender instanceof Destroyable) {
             ((Destroyable) requestSender).destroy();
         } else if (requestSender instanceof Stoppable) {
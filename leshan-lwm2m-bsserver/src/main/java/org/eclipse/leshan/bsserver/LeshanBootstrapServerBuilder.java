@@ -31,6 +31,9 @@ import org.eclipse.leshan.bsserver.model.StandardBootstrapModelProvider;
 import org.eclipse.leshan.bsserver.request.BootstrapDownlinkRequestSender;
 import org.eclipse.leshan.bsserver.security.BootstrapAuthorizer;
 import org.eclipse.leshan.bsserver.security.BootstrapSecurityStore;
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.Startable;
+import org.eclipse.leshan.core.Stoppable;
 import org.eclipse.leshan.core.endpoint.DefaultEndPointUriHandler;
 import org.eclipse.leshan.core.endpoint.EndPointUriHandler;
 import org.eclipse.leshan.core.link.lwm2m.DefaultLwM2mLinkParser;
@@ -42,6 +45,8 @@ import org.eclipse.leshan.core.node.codec.LwM2mDecoder;
 import org.eclipse.leshan.core.node.codec.LwM2mEncoder;
 import org.eclipse.leshan.servers.DefaultServerEndpointNameProvider;
 import org.eclipse.leshan.servers.ServerEndpointNameProvider;
+import org.eclipse.leshan.servers.admission.AdmissionController;
+import org.eclipse.leshan.servers.admission.TokenBucketAdmissionController;
 import org.eclipse.leshan.servers.security.SecurityChecker;
 import org.eclipse.leshan.servers.security.ServerSecurityInfo;
 import org.slf4j.Logger;
@@ -64,6 +69,9 @@ public class LeshanBootstrapServerBuilder {
     private BootstrapHandlerFactory bootstrapHandlerFactory;
     private BootstrapAuthorizer authorizer;
     private ServerEndpointNameProvider endpointNameProvider;
+    private AdmissionController admissionController;
+    private int maxConcurrentSessions = 0;
+    private BootstrapSessionRegistry sessionRegistry;
 
     private LwM2mBootstrapModelProvider modelProvider;
 
@@ -157,6 +165,9 @@ public class LeshanBootstrapServerBuilder {
      * By default an {@link InMemoryBootstrapConfigStore} is used.
      * <p>
      * See {@link BootstrapConfig} to see what is could be done during a bootstrap session.
+     * <p>
+     * If the store implements {@link Startable}, {@link Stoppable} or {@link Destroyable}, its life cycle is managed by
+     * the {@link LeshanBootstrapServer}.
      *
      * @param configStore the bootstrap configuration store.
      * @return the builder for fluent Bootstrap Server creation.
@@ -201,6 +212,10 @@ public class LeshanBootstrapServerBuilder {
      * <p>
      * If default bootstrap server behavior is not flexible enough, you can create your own {@link BootstrapHandler} by
      * inspiring yourself from {@link DefaultBootstrapHandler}.
+     * <p>
+     * Admission control settings ({@link #setAdmissionController(AdmissionController)},
+     * {@link #setMaxConcurrentSessions(int)} and {@link #setSessionRegistry(BootstrapSessionRegistry)}) are not used
+     * with a custom factory: give them to the created handler instead.
      *
      * @param bootstrapHandlerFactory the factory used to create {@link BootstrapHandler}.
      * @return the builder for fluent Bootstrap Server creation.
@@ -210,6 +225,57 @@ public class LeshanBootstrapServerBuilder {
         return this;
     }
 
+    /**
+     * Set the {@link AdmissionController} which decides if a Bootstrap request should be rejected because the server is
+     * overloaded, e.g. when a whole fleet of devices reconnects at once. Rejected requests get a 5.03 Service
+     * Unavailable response with a Max-Age telling when to retry.
+     * <p>
+     * By default, there is no admission control. See {@link TokenBucketAdmissionController}.
+     * <p>
+     * Used by the default {@link BootstrapHandlerFactory} only.
+     *
+     * @param admissionController the {@link AdmissionController} to set.
+     * @return the builder for fluent Bootstrap Server creation.
+     */
+    public LeshanBootstrapServerBuilder setAdmissionController(AdmissionController admissionController) {
+        this.admissionController = admissionController;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of ongoing bootstrap sessions. Above it, new sessions are rejected with a 5.03 Service
+     * Unavailable response.
+     * <p>
+     * By default, <code>0</code> which means no limit.
+     * <p>
+     * Used by the default {@link BootstrapHandlerFactory} only.
+     *
+     * @param maxConcurrentSessions the maximum number of ongoing sessions.
+     * @return the builder for fluent Bootstrap Server creation.
+     */
+    public LeshanBootstrapServerBuilder setMaxConcurrentSessions(int maxConcurrentSessions) {
+        this.maxConcurrentSessions = maxConcurrentSessions;
+        return this;
+    }
+
+    /**
+     * Set the {@link BootstrapSessionRegistry} which keeps track of ongoing bootstrap sessions. Sharing it between
+     * several bootstrap servers ensures there is only one session by client and applies
+     * {@link #setMaxConcurrentSessions(int)} to all of them.
+     * <p>
+     * By default, a {@link InMemoryBootstrapSessionRegistry} is used.
+     * <p>
+     * Used by the default {@link BootstrapHandlerFactory} only. If the registry implements {@link Startable},
+     * {@link Stoppable} or {@link Destroyable}, its life cycle is managed by the {@link LeshanBootstrapServer}.
+     *
+     * @param sessionRegistry the {@link BootstrapSessionRegistry} to set.
+     * @return the builder for fluent Bootstrap Server creation.
+     */
+    public LeshanBootstrapServerBuilder setSessionRegistry(BootstrapSessionRegistry sessionRegistry) {
+        this.sessionRegistry = sessionRegistry;
+        return this;
+    }
+
     /**
      * <p>
      * Set your {@link LwM2mBootstrapModelProvider} implementation.
@@ -226,7 +292,8 @@ public class LeshanBootstrapServerBuilder {
      * <p>
      * Set the {@link LwM2mEncoder} which will encode {@link LwM2mNode} with supported content format.
      * </p>
-     * By default the {@link DefaultLwM2mEncoder} is used. It supports Text, Opaque, TLV and JSON format.
+     * By default a {@link CachingBootstrapEncoder} using a {@link DefaultLwM2mEncoder} is used. It supports Text,
+     * Opaque, TLV and JSON format.
      */
     public LeshanBootstrapServerBuilder setEncoder(LwM2mEncoder encoder) {
         this.encoder = encoder;
@@ -322,18 +389,43 @@ public class LeshanBootstrapServerBuilder {
      * @throws IllegalStateException if builder configuration is not consistent.
      */
     public LeshanBootstrapServer build() {
-        if (bootstrapHandlerFactory == null)
+        // stores actually used by default components, their life cycle is managed by the server
+        BootstrapSessionRegistry usedSessionRegistry = null;
+        BootstrapConfigStore usedConfigStore = null;
+
+        if (bootstrapHandlerFactory == null) {
+            final AdmissionController admissionController = this.admissionController;
+            final int maxConcurrentSessions = this.maxConcurrentSessions;
+            final BootstrapSessionRegistry sessionRegistry = this.sessionRegistry != null ? this.sessionRegistry
+                    : new InMemoryBootstrapSessionRegistry();
+            usedSessionRegistry = sessionRegistry;
             bootstrapHandlerFactory = new BootstrapHandlerFactory() {
                 @Override
                 public BootstrapHandler create(BootstrapDownlinkRequestSender sender,
                         BootstrapSessionManager sessionManager, ServerEndpointNameProvider endpointNameProvider,
                         BootstrapSessionListener listener) {
-                    return new DefaultBootstrapHandler(sender, sessionManager, endpointNameProvider, listener);
+                    return new DefaultBootstrapHandler(sender, sessionManager, endpointNameProvider, listener,
+                            DefaultBootstrapHandler.DEFAULT_TIMEOUT, admissionController, maxConcurrentSessions,
+                            sessionRegistry);
                 }
             };
+        } else {
+            if (admissionController != null) {
+                LOG.warn(
+                        "admissionController is set but you also provide a custom BootstrapHandlerFactory so this controller will not be used");
+            }
+            if (maxConcurrentSessions > 0) {
+                LOG.warn(
+                        "maxConcurrentSessions is set but you also provide a custom BootstrapHandlerFactory so this limit will not be used");
+            }
+            if (sessionRegistry != null) {
+                LOG.warn(
+                        "sessionRegistry is set but you also provide a custom BootstrapHandlerFactory so this registry will not be used");
+            }
+        }
 
         if (encoder == null)
-            encoder = new DefaultLwM2mEncoder();
+            encoder = new CachingBootstrapEncoder(new DefaultLwM2mEncoder(), 1024);
         if (decoder == null)
             decoder = new DefaultLwM2mDecoder();
         if (linkParser == null)
@@ -361,6 +453,7 @@ public class LeshanBootstrapServerBuilder {
                     configStore = new InMemoryBootstrapConfigStore();
                 }
                 taskProvider = new BootstrapConfigStoreTaskProvider(configStore);
+                usedConfigStore = configStore;
             } else {
                 if (configStore != null) {
                     LOG.warn(
@@ -388,7 +481,8 @@ public class LeshanBootstrapServerBuilder {
         }
         return createBootstrapServer(endpointsProvider, sessionManager, endpointNameProvider, bootstrapHandlerFactory,
                 encoder, decoder, linkParser, uriHandler, securityStore,
-                new ServerSecurityInfo(privateKey, publicKey, certificateChain, trustedCertificates));
+                new ServerSecurityInfo(privateKey, publicKey, certificateChain, trustedCertificates), usedConfigStore,
+                usedSessionRegistry);
     }
 
     /**
@@ -402,14 +496,19 @@ public class LeshanBootstrapServerBuilder {
      * @param decoder decoder used to decode response payload.
      * @param encoder encode used to encode request payload.
      * @param linkParser a parser {@link LwM2mLinkParser} used to parse a CoRE Link.
+     * @param configStore the {@link BootstrapConfigStore} used by the default session manager or <code>null</code>.
+     * @param sessionRegistry the {@link BootstrapSessionRegistry} used by the default bootstrap handler or
+     *        <code>null</code>.
      * @return the LWM2M Bootstrap server.
      */
     protected LeshanBootstrapServer createBootstrapServer(LwM2mBootstrapServerEndpointsProvider endpointsProvider,
             BootstrapSessionManager bsSessionManager, ServerEndpointNameProvider endpointNameProvider,
             BootstrapHandlerFactory bsHandlerFactory, LwM2mEncoder encoder, LwM2mDecoder decoder,
             LwM2mLinkParser linkParser, EndPointUriHandler uriHandler, BootstrapSecurityStore securityStore,
-            ServerSecurityInfo serverSecurityInfo) {
+            ServerSecurityInfo serverSecurityInfo, BootstrapConfigStore configStore,
+            BootstrapSessionRegistry sessionRegistry) {
         return new LeshanBootstrapServer(endpointsProvider, bsSessionManager, endpointNameProvider, bsHandlerFactory,
-                encoder, decoder, linkParser, uriHandler, securityStore, serverSecurityInfo);
+                encoder, decoder, linkParser, uriHandler, securityStore, serverSecurityInfo, configStore,
+                sessionRegistry);
     }
 }
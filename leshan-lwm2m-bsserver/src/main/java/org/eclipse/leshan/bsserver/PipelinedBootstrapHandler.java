@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.bsserver;
+
+import static org.eclipse.leshan.bsserver.BootstrapFailureCause.CANCELLED;
+import static org.eclipse.leshan.bsserver.BootstrapFailureCause.FINISH_FAILED;
+import static org.eclipse.leshan.bsserver.BootstrapFailureCause.REQUEST_FAILED;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.leshan.bsserver.BootstrapSessionManager.BootstrapPolicy;
+import org.eclipse.leshan.bsserver.request.BootstrapDownlinkRequestSender;
+import org.eclipse.leshan.core.request.BootstrapFinishRequest;
+import org.eclipse.leshan.core.request.DownlinkBootstrapRequest;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.eclipse.leshan.core.util.Validate;
+import org.eclipse.leshan.servers.ServerEndpointNameProvider;
+import org.eclipse.leshan.servers.admission.AdmissionController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link BootstrapHandler} which sends several requests at a time for a given client, instead of waiting for a
+ * response before sending next request.
+ * <p>
+ * Up to <code>maxOngoingRequests</code> requests can wait for a response at the same time. Which requests can be sent
+ * together is decided by {@link BootstrapSessionManager#getNextConcurrentRequest(BootstrapSession)}. With the
+ * {@link DefaultBootstrapSessionManager}, Bootstrap-Delete requests are sent together, then Bootstrap-Write ones, then
+ * Bootstrap-Finish alone, so a session needs about 3 round trips instead of one per request.
+ * <p>
+ * {@link BootstrapPolicy} returned for each response are aggregated : once a policy fails, no more request is sent and
+ * the session fails when all ongoing requests get a response. The session finishes when Bootstrap-Finish succeeds.
+ * <p>
+ * To use it, as admission control settings of the builder are only used by the default handler factory, give them to
+ * the handler. The session registry is created once, outside of the factory :
+ *
+ * <pre>
+ * AdmissionController admissionController = new TokenBucketAdmissionController(100, 200);
+ * BootstrapSessionRegistry sessionRegistry = new InMemoryBootstrapSessionRegistry();
+ * builder.setBootstrapHandlerFactory(
+ *         (sender, sessionManager, endpointNameProvider, listener) -&gt; new PipelinedBootstrapHandler(sender,
+ *                 sessionManager, endpointNameProvider, listener, DefaultBootstrapHandler.DEFAULT_TIMEOUT,
+ *                 admissionController, 1000, sessionRegistry, 4));
+ * </pre>
+ */
+public class PipelinedBootstrapHandler extends DefaultBootstrapHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PipelinedBootstrapHandler.class);
+
+    private final int maxOngoingRequests;
+
+    public PipelinedBootstrapHandler(BootstrapDownlinkRequestSender sender, BootstrapSessionManager sessionManager,
+            ServerEndpointNameProvider endpointNameProvider, BootstrapSessionListener listener,
+            int maxOngoingRequests) {
+        this(sender, sessionManager, endpointNameProvider, listener, DEFAULT_TIMEOUT, maxOngoingRequests);
+    }
+
+    /**
+     * @param maxOngoingRequests the maximum number of requests waiting for a response at the same time for a given
+     *        client.
+     */
+    public PipelinedBootstrapHandler(BootstrapDownlinkRequestSender sender, BootstrapSessionManager sessionManager,
+            ServerEndpointNameProvider endpointNameProvider, BootstrapSessionListener listener, long requestTimeout,
+            int maxOngoingRequests) {
+        this(sender, sessionManager, endpointNameProvider, listener, requestTimeout, null, 0,
+                new InMemoryBootstrapSessionRegistry(), maxOngoingRequests);
+    }
+
+    /**
+     * @param admissionController decides if a Bootstrap request is handled or rejected because server is overloaded. If
+     *        <code>null</code> all requests are handled.
+     * @param maxConcurrentSessions the maximum number of ongoing sessions or <code>0</code> for no limit.
+     * @param sessionRegistry keeps track of ongoing sessions, could be shared between several bootstrap servers.
+     * @param maxOngoingRequests the maximum number of requests waiting for a response at the same time for a given
+     *        client.
+     */
+    public PipelinedBootstrapHandler(BootstrapDownlinkRequestSender sender, BootstrapSessionManager sessionManager,
+            ServerEndpointNameProvider endpointNameProvider, BootstrapSessionListener listener, long requestTimeout,
+            AdmissionController admissionController, int maxConcurrentSessions,
+            BootstrapSessionRegistry sessionRegistry, int maxOngoingRequests) {
+        super(sender, sessionManager, endpointNameProvider, listener, requestTimeout, admissionController,
+                maxConcurrentSessions, sessionRegistry);
+        Validate.isTrue(maxOngoingRequests > 0, "maxOngoingRequests must be positive");
+        this.maxOngoingRequests = maxOngoingRequests;
+    }
+
+    @Override
+    protected void startBootstrap(BootstrapSession session) {
+        Pipeline pipeline = new Pipeline();
+        List<DownlinkBootstrapRequest<? extends LwM2mResponse>> requestsToSend = new ArrayList<>();
+        synchronized (session) {
+            requestsToSend.add(sessionManager.getFirstRequest(session));
+            fill(session, pipeline, requestsToSend);
+        }
+        sendRequests(session, pipeline, requestsToSend);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected void sendRequest(BootstrapSession session, Pipeline pipeline,
+            DownlinkBootstrapRequest<? extends LwM2mResponse> requestToSend) {
+
+        listener.sendRequest(session, requestToSend);
+        SafeResponseCallback responseCallback = new SafeResponseCallback(session) {
+            @Override
+            public void safeOnResponse(LwM2mResponse response) {
+                BootstrapPolicy policy;
+                if (response.isSuccess()) {
+                    LOG.trace("{} receives {} for {}", session, response, requestToSend);
+                    synchronized (session) {
+                        policy = sessionManager.onResponseSuccess(session, requestToSend, response);
+                    }
+                    listener.onResponseSuccess(session, requestToSend, response);
+                } else {
+                    LOG.debug("{} receives {} for {}", session, response, requestToSend);
+                    synchronized (session) {
+                        policy = sessionManager.onResponseError(session, requestToSend, response);
+                    }
+                    listener.onResponseError(session, requestToSend, response);
+                }
+                afterRequest(session, pipeline, policy, requestToSend);
+            }
+        };
+        SafeErrorCallback errorCallback = new SafeErrorCallback(session) {
+            @Override
+            public void safeOnError(Exception e) {
+                LOG.debug("Error for {} while sending {} ", session, requestToSend, e);
+                BootstrapPolicy policy;
+                synchronized (session) {
+                    policy = sessionManager.onRequestFailure(session, requestToSend, e);
+                }
+                listener.onRequestFailure(session, requestToSend, e);
+                afterRequest(session, pipeline, policy, requestToSend);
+            }
+        };
+
+        boolean cancelled;
+        synchronized (session) {
+            cancelled = session.isCancelled();
+            if (!cancelled) {
+                sender.send(session, (DownlinkBootstrapRequest) requestToSend, requestTimeout, responseCallback,
+                        errorCallback);
+            }
+        }
+        if (cancelled) {
+            stopSession(session, pipeline, CANCELLED);
+        }
+    }
+
+    protected void afterRequest(BootstrapSession session, Pipeline pipeline, BootstrapPolicy policy,
+            DownlinkBootstrapRequest<? extends LwM2mResponse> requestSent) {
+        List<DownlinkBootstrapRequest<? extends LwM2mResponse>> requestsToSend = new ArrayList<>();
+        synchronized (session) {
+            pipeline.ongoingRequests--;
+            if (session.isCancelled()) {
+                // ongoing requests are cancelled too, no need to wait for them
+                requestsToSend = null;
+            } else if (policy.shouldfail()) {
+                // keep first failure
+                if (pipeline.failure == null) {
+                    pipeline.failure = requestSent instanceof BootstrapFinishRequest ? FINISH_FAILED : REQUEST_FAILED;
+                }
+            } else if (policy.shouldContinue()) {
+                if (pipeline.failure == null) {
+                    requestsToSend.add(policy.nextRequest());
+                }
+            } else if (policy.shouldFinish()) {
+                pipeline.finished = true;
+            } else if (!policy.shouldWait()) {
+                throw new IllegalStateException("unknown policy :" + policy);
+            }
+
+            if (requestsToSend != null) {
+                if (pipeline.failure == null && !pipeline.finished) {
+                    fill(session, pipeline, requestsToSend);
+                } else if (pipeline.ongoingRequests > 0) {
+                    // wait for ongoing requests before to stop the session
+                    return;
+                }
+            }
+        }
+
+        if (requestsToSend == null) {
+            stopSession(session, pipeline, CANCELLED);
+        } else if (pipeline.failure != null) {
+            stopSession(session, pipeline, pipeline.failure);
+        } else if (pipeline.finished) {
+            stopSession(session, pipeline, null);
+        } else {
+            sendRequests(session, pipeline, requestsToSend);
+        }
+    }
+
+    /**
+     * Add requests which can be sent concurrently until window is full. Must be called with session lock.
+     */
+    private void fill(BootstrapSession session, Pipeline pipeline,
+            List<DownlinkBootstrapRequest<? extends LwM2mResponse>> requestsToSend) {
+        while (pipeline.ongoingRequests + requestsToSend.size() < maxOngoingRequests) {
+            DownlinkBootstrapRequest<? extends LwM2mResponse> request = sessionManager
+                    .getNextConcurrentRequest(session);
+            if (request == null)
+                break;
+            requestsToSend.add(request);
+        }
+        pipeline.ongoingRequests += requestsToSend.size();
+    }
+
+    private void sendRequests(BootstrapSession session, Pipeline pipeline,
+            List<DownlinkBootstrapRequest<? extends LwM2mResponse>> requestsToSend) {
+        for (DownlinkBootstrapRequest<? extends LwM2mResponse> request : requestsToSend) {
+            sendRequest(session, pipeline, request);
+        }
+    }
+
+    private void stopSession(BootstrapSession session, Pipeline pipeline, BootstrapFailureCause cause) {
+        synchronized (session) {
+            if (pipeline.stopped)
+                return;
+            pipeline.stopped = true;
+        }
+        stopSession(session, cause);
+    }
+
+    /**
+     * State of requests sent for a session, guarded by the session lock.
+     */
+    protected static class Pipeline {
+        private int ongoingRequests;
+        private BootstrapFailureCause failure;
+        private boolean finished;
+        private boolean stopped;
+    }
+}
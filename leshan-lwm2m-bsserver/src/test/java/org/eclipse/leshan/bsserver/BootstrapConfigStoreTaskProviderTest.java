@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.bsserver;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.leshan.bsserver.BootstrapConfig.ServerConfig;
+import org.eclipse.leshan.bsserver.BootstrapConfig.ServerSecurity;
+import org.eclipse.leshan.bsserver.BootstrapTaskProvider.Tasks;
+import org.eclipse.leshan.core.SecurityMode;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.BootstrapRequest;
+import org.eclipse.leshan.core.request.BootstrapWriteRequest;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.core.request.DownlinkBootstrapRequest;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BootstrapConfigStoreTaskProviderTest {
+
+    private EditableBootstrapConfigStore store;
+    private BootstrapConfigStoreTaskProvider taskProvider;
+
+    @BeforeEach
+    public void setup() throws InvalidConfigurationException {
+        store = new InMemoryBootstrapConfigStore();
+        store.add("endpoint1", createConfig());
+        store.add("endpoint2", store.getAll().get("endpoint1"));
+        taskProvider = new BootstrapConfigStoreTaskProvider(store);
+    }
+
+    @Test
+    public void share_requests_between_sessions_with_same_config() {
+        List<DownlinkBootstrapRequest<? extends LwM2mResponse>> requests1 = getRequests("endpoint1", ContentFormat.TLV);
+        List<DownlinkBootstrapRequest<? extends LwM2mResponse>> requests2 = getRequests("endpoint2", ContentFormat.TLV);
+
+        // check requests are the same than without cache
+        assertEquals(BootstrapUtil.toRequests(store.getAll().get("endpoint1"), ContentFormat.TLV), requests1);
+
+        // each session gets its own list, but requests are shared
+        assertNotSame(requests1, requests2);
+        assertEquals(requests1.size(), requests2.size());
+        for (int i = 0; i < requests1.size(); i++) {
+            assertSame(requests1.get(i), requests2.get(i));
+        }
+        requests1.remove(0);
+        assertEquals(requests2.size() - 1, requests1.size());
+        assertEquals(1, taskProvider.size());
+    }
+
+    @Test
+    public void do_not_share_requests_between_content_formats() {
+        List<DownlinkBootstrapRequest<? extends LwM2mResponse>> tlvRequests = getRequests("endpoint1",
+                ContentFormat.TLV);
+        List<DownlinkBootstrapRequest<? extends LwM2mResponse>> senmlRequests = getRequests("endpoint1",
+                ContentFormat.SENML_CBOR);
+
+        assertNotSame(tlvRequests.get(2), senmlRequests.get(2));
+        assertEquals(ContentFormat.SENML_CBOR, ((BootstrapWriteRequest) senmlRequests.get(2)).getContentFormat());
+        assertEquals(2, taskProvider.size());
+    }
+
+    @Test
+    public void drop_requests_of_modified_config() throws InvalidConfigurationException {
+        DownlinkBootstrapRequest<? extends LwM2mResponse> previous = getRequests("endpoint1", ContentFormat.TLV).get(0);
+
+        // modify config then add it again
+        BootstrapConfig config = store.getAll().get("endpoint1");
+        config.toDelete = Arrays.asList("/0", "/1", "/2");
+        store.add("endpoint1", config);
+        assertEquals(0, taskProvider.size());
+
+        List<DownlinkBootstrapRequest<? extends LwM2mResponse>> requests = getRequests("endpoint1", ContentFormat.TLV);
+        assertNotSame(previous, requests.get(0));
+        assertEquals(BootstrapUtil.toRequests(config, ContentFormat.TLV), requests);
+
+        // remove config
+        store.remove("endpoint1");
+        assertEquals(0, taskProvider.size());
+    }
+
+    @Test
+    public void caching_can_be_disabled() {
+        taskProvider = new BootstrapConfigStoreTaskProvider(store, 0);
+
+        assertNotSame(getRequests("endpoint1", ContentFormat.TLV).get(0),
+                getRequests("endpoint1", ContentFormat.TLV).get(0));
+        assertEquals(0, taskProvider.size());
+    }
+
+    @Test
+    public void caching_is_disabled_by_default_for_not_editable_store() {
+        BootstrapConfig config = store.getAll().get("endpoint1");
+        BootstrapConfigStore readOnlyStore = session -> config;
+        taskProvider = new BootstrapConfigStoreTaskProvider(readOnlyStore);
+
+        assertNotSame(getRequests("endpoint1", ContentFormat.TLV).get(0),
+                getRequests("endpoint1", ContentFormat.TLV).get(0));
+        assertEquals(0, taskProvider.size());
+
+        // but can be enabled explicitly
+        taskProvider = new BootstrapConfigStoreTaskProvider(readOnlyStore, 64);
+        assertSame(getRequests("endpoint1", ContentFormat.TLV).get(0),
+                getRequests("endpoint1", ContentFormat.TLV).get(0));
+    }
+
+    private List<DownlinkBootstrapRequest<? extends LwM2mResponse>> getRequests(String endpoint,
+            ContentFormat contentFormat) {
+        BootstrapSession session = new DefaultBootstrapSession(endpoint, new BootstrapRequest(endpoint),
+                new IpPeer(new InetSocketAddress(4242)), true, contentFormat, null,
+                uriHandler.createUri("coap://localhost:5683"));
+        Tasks tasks = taskProvider.getTasks(session, null);
+        return tasks.requestsToSend;
+    }
+
+    private BootstrapConfig createConfig() {
+        BootstrapConfig config = new BootstrapConfig();
+        config.toDelete = Arrays.asList("/0", "/1");
+
+        ServerSecurity security = new ServerSecurity();
+        security.uri = "coap://localhost:5683";
+        security.securityMode = SecurityMode.NO_SEC;
+        security.serverId = 123;
+        config.security.put(1, security);
+
+        ServerConfig server = new ServerConfig();
+        server.shortId = 123;
+        config.servers.put(0, server);
+        return config;
+    }
+}
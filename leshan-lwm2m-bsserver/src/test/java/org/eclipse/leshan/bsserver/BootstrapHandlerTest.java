@@ -19,6 +19,7 @@ import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.InetSocketAddress;
@@ -48,6 +49,7 @@ import org.eclipse.leshan.core.response.LwM2mResponse;
 import org.eclipse.leshan.core.response.ResponseCallback;
 import org.eclipse.leshan.core.response.SendableResponse;
 import org.eclipse.leshan.servers.DefaultServerEndpointNameProvider;
+import org.eclipse.leshan.servers.admission.Admission;
 import org.junit.jupiter.api.Test;
 
 public class BootstrapHandlerTest {
@@ -166,6 +168,61 @@ public class BootstrapHandlerTest {
         assertTrue(bsSessionManager.failedWasCalled(firstSession, BootstrapFailureCause.CANCELLED));
     }
 
+    @Test
+    public void bootstrap_rejected_when_too_many_ongoing_sessions() throws InvalidConfigurationException {
+        // prepare a bootstrap handler accepting only 1 session at a time
+        // and a sender which never get response.
+        MockRequestSender requestSender = new MockRequestSender(Mode.NO_RESPONSE);
+        EditableBootstrapConfigStore bsStore = new InMemoryBootstrapConfigStore();
+        bsStore.add("endpoint1", new BootstrapConfig());
+        bsStore.add("endpoint2", new BootstrapConfig());
+        MockBootstrapSessionManager bsSessionManager = new MockBootstrapSessionManager(true, bsStore);
+        DefaultBootstrapHandler bsHandler = new DefaultBootstrapHandler(requestSender, bsSessionManager,
+                new DefaultServerEndpointNameProvider(), new BootstrapSessionDispatcher(),
+                DefaultBootstrapHandler.DEFAULT_TIMEOUT, null, 1);
+
+        // First bootstrap : which will not end (because of sender)
+        SendableResponse<BootstrapResponse> firstResponse = bsHandler.bootstrap(new IpPeer(new InetSocketAddress(4242)),
+                new BootstrapRequest("endpoint1"), endpointUsed);
+        firstResponse.sent();
+        assertTrue(firstResponse.getResponse().isSuccess());
+
+        // Bootstrap of another endpoint is rejected with a back-off hint
+        BootstrapResponse secondResponse = bsHandler
+                .bootstrap(new IpPeer(new InetSocketAddress(4243)), new BootstrapRequest("endpoint2"), endpointUsed)
+                .getResponse();
+        assertEquals(ResponseCode.SERVICE_UNAVAILABLE, secondResponse.getCode());
+        assertNotNull(secondResponse.getMaxAge());
+        assertEquals(1, bsHandler.getRejectedSessionCount());
+
+        // Same endpoint can restart its session
+        assertTrue(bsHandler
+                .bootstrap(new IpPeer(new InetSocketAddress(4242)), new BootstrapRequest("endpoint1"), endpointUsed)
+                .getResponse().isSuccess());
+        assertEquals(1, bsHandler.getOngoingSessionCount());
+    }
+
+    @Test
+    public void bootstrap_rejected_by_admission_controller() throws InvalidConfigurationException {
+        EditableBootstrapConfigStore bsStore = new InMemoryBootstrapConfigStore();
+        bsStore.add("endpoint", new BootstrapConfig());
+        MockBootstrapSessionManager bsSessionManager = new MockBootstrapSessionManager(true, bsStore);
+        DefaultBootstrapHandler bsHandler = new DefaultBootstrapHandler(new MockRequestSender(Mode.ALWAYS_SUCCESS),
+                bsSessionManager, new DefaultServerEndpointNameProvider(), new BootstrapSessionDispatcher(),
+                DefaultBootstrapHandler.DEFAULT_TIMEOUT, (client, request) -> Admission.rejected(42), 0);
+
+        // Try to bootstrap
+        BootstrapResponse response = bsHandler
+                .bootstrap(new IpPeer(new InetSocketAddress(4242)), new BootstrapRequest("endpoint"), endpointUsed)
+                .getResponse();
+
+        // Ensure bootstrap is rejected before session starts
+        assertEquals(ResponseCode.SERVICE_UNAVAILABLE, response.getCode());
+        assertEquals(Long.valueOf(42), response.getMaxAge());
+        assertNull(bsSessionManager.lastSession);
+        assertEquals(1, bsHandler.getRejectedSessionCount());
+    }
+
     public static class MockRequestSender implements BootstrapDownlinkRequestSender {
 
         private Mode mode;
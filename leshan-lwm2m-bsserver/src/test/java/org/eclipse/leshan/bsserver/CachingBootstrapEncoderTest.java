@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.bsserver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.leshan.bsserver.BootstrapConfig.ServerConfig;
+import org.eclipse.leshan.bsserver.model.StandardBootstrapModelProvider;
+import org.eclipse.leshan.core.model.LwM2mModel;
+import org.eclipse.leshan.core.node.LwM2mObjectInstance;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.node.codec.DefaultLwM2mEncoder;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.junit.jupiter.api.Test;
+
+public class CachingBootstrapEncoderTest {
+
+    private final CachingBootstrapEncoder encoder = new CachingBootstrapEncoder(new DefaultLwM2mEncoder(), 16);
+    private final StandardBootstrapModelProvider modelProvider = new StandardBootstrapModelProvider();
+
+    @Test
+    public void share_payload_of_same_node() {
+        ServerConfig server = new ServerConfig();
+        server.shortId = 123;
+        LwM2mObjectInstance node = BootstrapUtil.toServerInstance(0, server);
+        LwM2mPath path = new LwM2mPath(1, 0);
+
+        // each session gets its own model, but object models are the same
+        byte[] payload = encoder.encode(node, ContentFormat.TLV, null, path, createModel("1.1"));
+        assertArrayEquals(new DefaultLwM2mEncoder().encode(node, ContentFormat.TLV, null, path, createModel("1.1")),
+                payload);
+        assertSame(payload, encoder.encode(node, ContentFormat.TLV, null, path, createModel("1.1")));
+
+        // content format, model and node are part of the key
+        assertNotSame(payload, encoder.encode(node, ContentFormat.SENML_CBOR, null, path, createModel("1.1")));
+        assertNotSame(payload, encoder.encode(node, ContentFormat.TLV, null, path, createModel("1.0")));
+        assertNotSame(payload, encoder.encode(BootstrapUtil.toServerInstance(0, server), ContentFormat.TLV, null, path,
+                createModel("1.1")));
+        assertEquals(4, encoder.size());
+    }
+
+    private LwM2mModel createModel(String serverObjectVersion) {
+        Map<Integer, String> supportedObjects = new HashMap<>();
+        supportedObjects.put(1, serverObjectVersion);
+        return modelProvider.getObjectModel(null, supportedObjects);
+    }
+}
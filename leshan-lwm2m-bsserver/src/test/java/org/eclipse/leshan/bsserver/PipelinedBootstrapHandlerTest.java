@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.bsserver;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.leshan.bsserver.BootstrapConfig.ServerConfig;
+import org.eclipse.leshan.bsserver.BootstrapConfig.ServerSecurity;
+import org.eclipse.leshan.bsserver.model.StandardBootstrapModelProvider;
+import org.eclipse.leshan.bsserver.request.BootstrapDownlinkRequestSender;
+import org.eclipse.leshan.core.SecurityMode;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.BootstrapDeleteRequest;
+import org.eclipse.leshan.core.request.BootstrapFinishRequest;
+import org.eclipse.leshan.core.request.BootstrapRequest;
+import org.eclipse.leshan.core.request.BootstrapWriteRequest;
+import org.eclipse.leshan.core.request.DownlinkBootstrapRequest;
+import org.eclipse.leshan.core.request.exception.TimeoutException;
+import org.eclipse.leshan.core.response.BootstrapDeleteResponse;
+import org.eclipse.leshan.core.response.BootstrapFinishResponse;
+import org.eclipse.leshan.core.response.BootstrapWriteResponse;
+import org.eclipse.leshan.core.response.ErrorCallback;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.eclipse.leshan.core.response.ResponseCallback;
+import org.eclipse.leshan.servers.DefaultServerEndpointNameProvider;
+import org.eclipse.leshan.servers.security.Authorization;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PipelinedBootstrapHandlerTest {
+
+    private final QueueRequestSender sender = new QueueRequestSender();
+    private final SessionResultListener listener = new SessionResultListener();
+    private BootstrapSessionManager sessionManager;
+
+    @BeforeEach
+    public void setup() throws InvalidConfigurationException {
+        EditableBootstrapConfigStore store = new InMemoryBootstrapConfigStore();
+        store.add("endpoint", createConfig());
+        sessionManager = new DefaultBootstrapSessionManager(new BootstrapConfigStoreTaskProvider(store),
+                new StandardBootstrapModelProvider(), (endpoint, request, client) -> Authorization.approved());
+    }
+
+    @Test
+    public void send_deletes_then_writes_then_finish() {
+        startBootstrap(4);
+
+        // 3 deletes sent together
+        assertEquals(3, sender.ongoing.size());
+        sender.ongoing.forEach(request -> assertInstanceOf(BootstrapDeleteRequest.class, request.request));
+        sender.respond(2);
+        sender.respond(0);
+        // writes are not sent until all deletes get a response
+        assertEquals(1, sender.ongoing.size());
+        sender.respond(0);
+
+        // 2 writes sent together
+        assertEquals(2, sender.ongoing.size());
+        sender.ongoing.forEach(request -> assertInstanceOf(BootstrapWriteRequest.class, request.request));
+        sender.respond(1);
+        assertEquals(1, sender.ongoing.size());
+        sender.respond(0);
+
+        // then finish
+        assertEquals(1, sender.ongoing.size());
+        assertInstanceOf(BootstrapFinishRequest.class, sender.ongoing.get(0).request);
+        sender.respond(0);
+
+        assertTrue(listener.ended);
+        assertNull(listener.failure);
+        assertEquals(6, sender.sent);
+    }
+
+    @Test
+    public void limit_ongoing_requests() {
+        startBootstrap(2);
+
+        assertEquals(2, sender.ongoing.size());
+        sender.respond(0);
+        // next delete replaces the one which gets a response
+        assertEquals(2, sender.ongoing.size());
+        sender.ongoing.forEach(request -> assertInstanceOf(BootstrapDeleteRequest.class, request.request));
+        sender.respondAll();
+
+        assertTrue(listener.ended);
+        assertEquals(6, sender.sent);
+    }
+
+    @Test
+    public void send_one_request_at_a_time_with_window_of_1() {
+        startBootstrap(1);
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(1, sender.ongoing.size());
+            sender.respond(0);
+        }
+        assertTrue(listener.ended);
+    }
+
+    @Test
+    public void fail_once_ongoing_requests_get_response() {
+        startBootstrap(4);
+
+        // one delete fails
+        sender.fail(1);
+        assertNull(listener.failure);
+
+        // session fails when all ongoing requests get response, without sending any write
+        sender.respond(0);
+        assertNull(listener.failure);
+        sender.respond(0);
+        assertEquals(BootstrapFailureCause.REQUEST_FAILED, listener.failure);
+        assertEquals(0, sender.ongoing.size());
+        assertEquals(3, sender.sent);
+    }
+
+    private void startBootstrap(int maxOngoingRequests) {
+        BootstrapHandler handler = new PipelinedBootstrapHandler(sender, sessionManager,
+                new DefaultServerEndpointNameProvider(), listener, maxOngoingRequests);
+        handler.bootstrap(new IpPeer(new InetSocketAddress(4242)), new BootstrapRequest("endpoint"),
+                uriHandler.createUri("coap://localhost:5683")).sent();
+    }
+
+    private BootstrapConfig createConfig() {
+        BootstrapConfig config = new BootstrapConfig();
+        config.toDelete = Arrays.asList("/0", "/1", "/2");
+
+        ServerSecurity security = new ServerSecurity();
+        security.uri = "coap://localhost:5683";
+        security.securityMode = SecurityMode.NO_SEC;
+        security.serverId = 123;
+        config.security.put(1, security);
+
+        ServerConfig server = new ServerConfig();
+        server.shortId = 123;
+        config.servers.put(0, server);
+        return config;
+    }
+
+    private static class OngoingRequest {
+        private final DownlinkBootstrapRequest<?> request;
+        private final ResponseCallback<?> responseCallback;
+        private final ErrorCallback errorCallback;
+
+        OngoingRequest(DownlinkBootstrapRequest<?> request, ResponseCallback<?> responseCallback,
+                ErrorCallback errorCallback) {
+            this.request = request;
+            this.responseCallback = responseCallback;
+            this.errorCallback = errorCallback;
+        }
+    }
+
+    /**
+     * A sender which keeps requests until test gives their response.
+     */
+    private static class QueueRequestSender implements BootstrapDownlinkRequestSender {
+
+        private final List<OngoingRequest> ongoing = new ArrayList<>();
+        private int sent;
+
+        @Override
+        public <T extends LwM2mResponse> T send(BootstrapSession session, DownlinkBootstrapRequest<T> request,
+                long timeout) throws InterruptedException {
+            // Not Implemented
+            return null;
+        }
+
+        @Override
+        public <T extends LwM2mResponse> void send(BootstrapSession session, DownlinkBootstrapRequest<T> request,
+                long timeout, ResponseCallback<T> responseCallback, ErrorCallback errorCallback) {
+            ongoing.add(new OngoingRequest(request, responseCallback, errorCallback));
+            sent++;
+        }
+
+        @Override
+        public void cancelOngoingRequests(BootstrapSession destination) {
+        }
+
+        @SuppressWarnings("unchecked")
+        public void respond(int index) {
+            OngoingRequest ongoingRequest = ongoing.remove(index);
+            if (ongoingRequest.request instanceof BootstrapDeleteRequest) {
+                ((ResponseCallback<BootstrapDeleteResponse>) ongoingRequest.responseCallback)
+                        .onResponse(BootstrapDeleteResponse.success());
+            } else if (ongoingRequest.request instanceof BootstrapWriteRequest) {
+                ((ResponseCallback<BootstrapWriteResponse>) ongoingRequest.responseCallback)
+                        .onResponse(BootstrapWriteResponse.success());
+            } else if (ongoingRequest.request instanceof BootstrapFinishRequest) {
+                ((ResponseCallback<BootstrapFinishResponse>) ongoingRequest.responseCallback)
+                        .onResponse(BootstrapFinishResponse.success());
+            }
+        }
+
+        public void respondAll() {
+            while (!ongoing.isEmpty()) {
+                respond(0);
+            }
+        }
+
+        public void fail(int index) {
+            ongoing.remove(index).errorCallback
+                    .onError(new TimeoutException(TimeoutException.Type.RESPONSE_TIMEOUT, "timeout"));
+        }
+    }
+
+    private static class SessionResultListener extends BootstrapSessionAdapter {
+        private boolean ended;
+        private BootstrapFailureCause failure;
+
+        @Override
+        public void end(BootstrapSession session) {
+            ended = true;
+        }
+
+        @Override
+        public void failed(BootstrapSession session, BootstrapFailureCause cause) {
+            failure = cause;
+        }
+    }
+}
@@ -57,6 +57,8 @@ public class ResponseCode {
     public final static int UNSUPPORTED_CONTENT_FORMAT_CODE = 415;
     /** generic response code for unexpected error */
     public final static int INTERNAL_SERVER_ERROR_CODE = 500;
+    /** The server is temporarily unable to handle the request, e.g. because it is overloaded */
+    public final static int SERVICE_UNAVAILABLE_CODE = 503;
 
     // LwM2m Response codes
     public final static ResponseCode CREATED = new ResponseCode(CREATED_CODE, "CREATED");
@@ -80,11 +82,13 @@ public class ResponseCode {
             "UNSUPPORTED_CONTENT_FORMAT");
     public final static ResponseCode INTERNAL_SERVER_ERROR = new ResponseCode(INTERNAL_SERVER_ERROR_CODE,
             "INTERNAL_SERVER_ERROR");
+    public final static ResponseCode SERVICE_UNAVAILABLE = new ResponseCode(SERVICE_UNAVAILABLE_CODE,
+            "SERVICE_UNAVAILABLE");
 
     private static final ResponseCode knownResponseCode[] = new ResponseCode[] { CREATED, DELETED, CHANGED, CONTENT,
             BAD_REQUEST, UNAUTHORIZED, METHOD_NOT_ALLOWED, FORBIDDEN, NOT_FOUND, NOT_ACCEPTABLE,
             REQUEST_ENTITY_INCOMPLETE, PRECONDITION_FAILED, REQUEST_ENTITY_TOO_LARGE, UNSUPPORTED_CONTENT_FORMAT,
-            INTERNAL_SERVER_ERROR };
+            INTERNAL_SERVER_ERROR, SERVICE_UNAVAILABLE };
 
     private final int code;
     private final String name;
@@ -0,0 +1,317 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.link;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.leshan.core.link.attributes.Attribute;
+import org.eclipse.leshan.core.link.attributes.AttributeParser;
+import org.eclipse.leshan.core.link.attributes.DefaultAttributeParser;
+import org.eclipse.leshan.core.link.attributes.InvalidAttributeException;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A {@link LinkParser} which parses CoRE Link Format directly from the UTF-8 payload, without converting it to a
+ * {@link String} first.
+ * <p>
+ * Link-values are mostly made of the same URIs and attributes (e.g. <code>rt="oma.lwm2m"</code>, <code>ct=11543</code>
+ * or <code>ver=1.1</code>). So short URIs and attributes are interned : an already seen URI or attribute is taken from
+ * a cache instead of being parsed again. Caches are direct-mapped, so they never grow and this class is thread-safe.
+ * <p>
+ * This parser accepts exactly the same grammar as {@link DefaultLinkParser}. It only handles the common syntax itself :
+ * on anything unusual (e.g. percent-encoded URI) or invalid, the whole payload is parsed again by a
+ * {@link DefaultLinkParser}, so result and error messages are always the same.
+ */
+public class Utf8LinkParser implements LinkParser {
+
+    private static final int MAX_INTERNED_LENGTH = 64;
+
+    private final AttributeParser attributeParser;
+    private final LinkParser fallbackParser;
+    private final InternTable<String> uris;
+    private final InternTable<Attribute> attributes;
+
+    public Utf8LinkParser() {
+        this(new DefaultAttributeParser());
+    }
+
+    public Utf8LinkParser(AttributeParser attributeParser) {
+        this(attributeParser, 1024);
+    }
+
+    /**
+     * @param attributeParser the parser used for attributes which are not interned yet.
+     * @param cacheSize the number of slots of URI and attribute caches, must be a power of 2.
+     */
+    public Utf8LinkParser(AttributeParser attributeParser, int cacheSize) {
+        Validate.notNull(attributeParser);
+        Validate.isTrue(cacheSize > 0 && Integer.bitCount(cacheSize) == 1, "cacheSize must be a power of 2");
+        this.attributeParser = attributeParser;
+        this.fallbackParser = new DefaultLinkParser(attributeParser);
+        this.uris = new InternTable<>(cacheSize);
+        this.attributes = new InternTable<>(cacheSize);
+    }
+
+    @Override
+    public Link[] parseCoreLinkFormat(byte[] bytes) throws LinkParseException {
+        // manage null/empty case
+        if (bytes == null || bytes.length == 0) {
+            return new Link[] {};
+        }
+
+        // Parse link-value-list
+        List<Link> links = new ArrayList<>();
+        Cursor cursor = new Cursor();
+        while (true) {
+            Link link = parseLinkValue(bytes, cursor);
+            if (link == null) {
+                // unusual or invalid content
+                return fallbackParser.parseCoreLinkFormat(bytes);
+            }
+            links.add(link);
+
+            // no more link value we finished
+            if (cursor.position == bytes.length) {
+                break;
+            }
+
+            // consume separator ','
+            if (bytes[cursor.position] != ',') {
+                return fallbackParser.parseCoreLinkFormat(bytes);
+            }
+            cursor.position++;
+        }
+        return links.toArray(new Link[links.size()]);
+    }
+
+    /**
+     * Parses a link-value (<code>"<" URI-Reference ">" *( ";" link-param )</code>).
+     *
+     * @return the parsed link or <code>null</code> if it can not be parsed by this class.
+     */
+    private Link parseLinkValue(byte[] bytes, Cursor cursor) {
+        int position = cursor.position;
+        if (position == bytes.length || bytes[position] != '<') {
+            return null;
+        }
+
+        // parse URI-Reference
+        int start = ++position;
+        while (position < bytes.length && isPathChar(bytes[position])) {
+            position++;
+        }
+        int end = position;
+        if (position == bytes.length || bytes[position] != '>') {
+            return null;
+        }
+        // path-absolute : begins with "/" but not "//"
+        if (end == start || bytes[start] != '/' || (end - start > 1 && bytes[start + 1] == '/')) {
+            return null;
+        }
+        String uriReference = uris.get(bytes, start, end - start);
+        if (uriReference == null) {
+            uriReference = new String(bytes, start, end - start, StandardCharsets.US_ASCII);
+            uris.put(bytes, start, end - start, uriReference);
+        }
+        position++;
+
+        // parse link-params
+        List<Attribute> attrs = Collections.emptyList();
+        while (position < bytes.length && bytes[position] == ';') {
+            cursor.position = position + 1;
+            Attribute attribute = parseLinkParam(bytes, cursor);
+            if (attribute == null) {
+                return null;
+            }
+            if (attrs.isEmpty()) {
+                attrs = new ArrayList<>(4);
+            }
+            attrs.add(attribute);
+            position = cursor.position;
+        }
+        cursor.position = position;
+
+        try {
+            return new Link(uriReference, attrs);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a link-param (<code>parmname [ "=" ( ptoken / quoted-string ) ]</code>).
+     *
+     * @return the parsed attribute or <code>null</code> if it can not be parsed by this class.
+     */
+    private Attribute parseLinkParam(byte[] bytes, Cursor cursor) {
+        // parse parmname
+        int start = cursor.position;
+        int position = start;
+        while (position < bytes.length && isAttrChar(bytes[position])) {
+            position++;
+        }
+        int nameEnd = position;
+        if (nameEnd == start) {
+            return null;
+        }
+
+        // search end of value
+        int valueStart = -1;
+        if (position < bytes.length && bytes[position] == '=') {
+            valueStart = ++position;
+            if (position < bytes.length && bytes[position] == '"') {
+                // quoted-string : search closing DQUOTE, skipping quoted-pair
+                position++;
+                while (position < bytes.length && bytes[position] != '"') {
+                    if (bytes[position] == '\\') {
+                        position++;
+                    }
+                    position++;
+                }
+                if (position >= bytes.length) {
+                    return null;
+                }
+                position++;
+            } else {
+                // ptoken : search next separator
+                while (position < bytes.length && bytes[position] != ';' && bytes[position] != ',') {
+                    position++;
+                }
+            }
+        }
+        int end = position;
+        if (end < bytes.length && bytes[end] != ';' && bytes[end] != ',') {
+            return null;
+        }
+        cursor.position = end;
+
+        // search in interned attributes
+        Attribute attribute = attributes.get(bytes, start, end - start);
+        if (attribute != null) {
+            return attribute;
+        }
+
+        // else parse it
+        String name = new String(bytes, start, nameEnd - start, StandardCharsets.US_ASCII);
+        try {
+            if (valueStart == -1) {
+                attribute = attributeParser.createEmptyAttribute(name);
+            } else {
+                attribute = attributeParser.parseCoreLinkValue(name,
+                        new String(bytes, valueStart, end - valueStart, StandardCharsets.UTF_8));
+            }
+        } catch (InvalidAttributeException | IllegalArgumentException e) {
+            return null;
+        }
+        attributes.put(bytes, start, end - start, attribute);
+        return attribute;
+    }
+
+    /**
+     * pchar (except pct-encoded) or "/", see {@link DefaultLinkParser#consumeSegment}
+     */
+    private static boolean isPathChar(byte b) {
+        return isAlphaOrDigit(b) || indexOf("/-._~!$&'()*+,;=:@", b);
+    }
+
+    /**
+     * attr-char, see {@link DefaultLinkParser#consumeParmName}
+     */
+    private static boolean isAttrChar(byte b) {
+        return isAlphaOrDigit(b) || indexOf("!#$&+-.^_`|~", b);
+    }
+
+    private static boolean isAlphaOrDigit(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9');
+    }
+
+    private static boolean indexOf(String chars, byte b) {
+        return b > 0 && chars.indexOf(b) != -1;
+    }
+
+    private static class Cursor {
+        private int position;
+    }
+
+    /**
+     * A direct-mapped cache of values indexed by their ASCII representation. Entries are immutable, so a concurrent
+     * write to the same slot is harmless : one of them is kept.
+     */
+    private static class InternTable<V> {
+
+        private final Entry<V>[] slots;
+        private final int mask;
+
+        @SuppressWarnings("unchecked")
+        InternTable(int size) {
+            this.slots = new Entry[size];
+            this.mask = size - 1;
+        }
+
+        V get(byte[] bytes, int offset, int length) {
+            if (length > MAX_INTERNED_LENGTH) {
+                return null;
+            }
+            Entry<V> entry = slots[slotOf(bytes, offset, length)];
+            if (entry != null && entry.matches(bytes, offset, length)) {
+                return entry.value;
+            }
+            return null;
+        }
+
+        void put(byte[] bytes, int offset, int length, V value) {
+            if (length <= MAX_INTERNED_LENGTH) {
+                byte[] key = new byte[length];
+                System.arraycopy(bytes, offset, key, 0, length);
+                slots[slotOf(bytes, offset, length)] = new Entry<>(key, value);
+            }
+        }
+
+        private int slotOf(byte[] bytes, int offset, int length) {
+            int hash = 1;
+            for (int i = offset; i < offset + length; i++) {
+                hash = 31 * hash + bytes[i];
+            }
+            // spread bits (Fibonacci hashing)
+            return ((hash * 0x9E37_79B9) >>> 16) & mask;
+        }
+    }
+
+    private static class Entry<V> {
+        private final byte[] key;
+        private final V value;
+
+        Entry(byte[] key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        boolean matches(byte[] bytes, int offset, int length) {
+            if (key.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (key[i] != bytes[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.link.lwm2m;
+
+import java.util.Arrays;
+
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.link.LinkParseException;
+import org.eclipse.leshan.core.util.ClockCache;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A {@link LwM2mLinkParser} which caches links parsed by {@link #parseCoreLinkFormat(byte[])}, indexed by payload
+ * content.
+ * <p>
+ * Clients generally send the same object links on each registration update, and devices with the same firmware send the
+ * same ones. So parsing an already seen payload returns a copy of the cached {@link Link} array : the immutable
+ * {@link Link} instances are shared by all registrations using this payload, but each one gets its own array.
+ * <p>
+ * Payloads are compared byte per byte (not only by hash), so two different payloads can never share the same links. The
+ * cache keeps the most recently used payloads only (see {@link ClockCache}).
+ */
+public class CachingLwM2mLinkParser implements LwM2mLinkParser {
+
+    private final LwM2mLinkParser parser;
+    private final ClockCache<Payload, Link[]> cache;
+
+    public CachingLwM2mLinkParser() {
+        this(new DefaultLwM2mLinkParser(), 256);
+    }
+
+    /**
+     * @param parser the parser used on cache miss.
+     * @param maxEntries the maximum number of payloads kept in cache.
+     */
+    public CachingLwM2mLinkParser(LwM2mLinkParser parser, final int maxEntries) {
+        Validate.notNull(parser);
+        Validate.isTrue(maxEntries > 0, "maxEntries must be positive");
+        this.parser = parser;
+        this.cache = new ClockCache<>(maxEntries);
+    }
+
+    @Override
+    public Link[] parseCoreLinkFormat(byte[] bytes) throws LinkParseException {
+        if (bytes == null || bytes.length == 0) {
+            return parser.parseCoreLinkFormat(bytes);
+        }
+
+        Payload payload = new Payload(bytes);
+        Link[] links = cache.get(payload);
+        if (links == null) {
+            links = parser.parseCoreLinkFormat(bytes);
+            // store a copy of payload and links as given bytes and returned array could be modified
+            cache.put(new Payload(bytes.clone(), payload.hashCode), links.clone());
+            return links;
+        }
+        return links.clone();
+    }
+
+    @Override
+    public LwM2mLink[] parseLwM2mLinkFromCoreLinkFormat(byte[] bytes, String rootPath) throws LinkParseException {
+        return parser.parseLwM2mLinkFromCoreLinkFormat(bytes, rootPath);
+    }
+
+    /**
+     * @return the number of payloads currently in cache.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private static class Payload {
+        private final byte[] bytes;
+        private final int hashCode;
+
+        Payload(byte[] bytes) {
+            this(bytes, Arrays.hashCode(bytes));
+        }
+
+        Payload(byte[] bytes, int hashCode) {
+            this.bytes = bytes;
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Payload))
+                return false;
+            Payload other = (Payload) obj;
+            return hashCode == other.hashCode && Arrays.equals(bytes, other.bytes);
+        }
+    }
+}
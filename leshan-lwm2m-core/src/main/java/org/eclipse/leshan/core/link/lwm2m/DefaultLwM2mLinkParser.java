@@ -19,10 +19,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 
-import org.eclipse.leshan.core.link.DefaultLinkParser;
 import org.eclipse.leshan.core.link.Link;
 import org.eclipse.leshan.core.link.LinkParseException;
 import org.eclipse.leshan.core.link.LinkParser;
+import org.eclipse.leshan.core.link.Utf8LinkParser;
 import org.eclipse.leshan.core.link.attributes.Attribute;
 import org.eclipse.leshan.core.link.attributes.AttributeModel;
 import org.eclipse.leshan.core.link.attributes.Attributes;
@@ -35,6 +35,7 @@ import org.eclipse.leshan.core.link.lwm2m.attributes.LwM2mAttributes;
 import org.eclipse.leshan.core.link.lwm2m.attributes.MixedLwM2mAttributeSet;
 import org.eclipse.leshan.core.node.InvalidLwM2mPathException;
 import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.node.LwM2mPathCache;
 import org.eclipse.leshan.core.node.PrefixedLwM2mPathParser;
 
 /**
@@ -44,6 +45,7 @@ public class DefaultLwM2mLinkParser implements LwM2mLinkParser {
 
     private final LinkParser linkParser;
     private final PrefixedLwM2mPathParser prefixedPathParser;
+    private final LwM2mPathCache pathCache = new LwM2mPathCache();
 
     public DefaultLwM2mLinkParser() {
         // Define all supported Attributes
@@ -52,12 +54,12 @@ public class DefaultLwM2mLinkParser implements LwM2mLinkParser {
         suppportedAttributes.addAll(LwM2mAttributes.ALL);
 
         // Create default link Parser
-        this.linkParser = new DefaultLinkParser(new DefaultAttributeParser(suppportedAttributes));
+        this.linkParser = new Utf8LinkParser(new DefaultAttributeParser(suppportedAttributes));
         this.prefixedPathParser = new PrefixedLwM2mPathParser();
     }
 
     public DefaultLwM2mLinkParser(Collection<? extends AttributeModel<?>> suppportedAttributes) {
-        this(new DefaultLinkParser(new DefaultAttributeParser(suppportedAttributes)));
+        this(new Utf8LinkParser(new DefaultAttributeParser(suppportedAttributes)));
     }
 
     public DefaultLwM2mLinkParser(LinkParser internalLinkParser) {
@@ -150,7 +152,7 @@ public class DefaultLwM2mLinkParser implements LwM2mLinkParser {
                 // create lwm2m path
                 LwM2mPath lwm2mPath;
                 try {
-                    lwm2mPath = LwM2mPath.parse(path, rootPath);
+                    lwm2mPath = parsePath(path, rootPath);
                 } catch (InvalidLwM2mPathException e) {
                     String strLink = new String(bytes, StandardCharsets.UTF_8);
                     throw new LinkParseException(e, "Unable to parse link %s in %s", links[i], strLink);
@@ -174,4 +176,16 @@ public class DefaultLwM2mLinkParser implements LwM2mLinkParser {
         }
         return links;
     }
+
+    private LwM2mPath parsePath(String path, String rootPath) throws InvalidLwM2mPathException {
+        if (rootPath.equals("/")) {
+            // most common case : paths of registration are interned
+            try {
+                return pathCache.get(path);
+            } catch (InvalidLwM2mPathException e) {
+                // let LwM2mPath.parse raise the error
+            }
+        }
+        return LwM2mPath.parse(path, rootPath);
+    }
 }
@@ -18,7 +18,6 @@ package org.eclipse.leshan.core.node;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NavigableMap;
-import java.util.Objects;
 
 import org.eclipse.leshan.core.util.Validate;
 
@@ -33,15 +32,32 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
     public static final byte RESOURCE_DEPTH = 4;
     public static final byte RESOURCE_INSTANCE_DEPTH = 5;
 
-    private final Integer objectId;
-    private final Integer objectInstanceId;
-    private final Integer resourceId;
-    private final Integer resourceInstanceId;
+    // bits of the ids field, telling which identifiers are defined
+    private static final byte OBJECT_ID = 0b0001;
+    private static final byte OBJECT_INSTANCE_ID = 0b0010;
+    private static final byte RESOURCE_ID = 0b0100;
+    private static final byte RESOURCE_INSTANCE_ID = 0b1000;
+
+    /**
+     * Value returned by {@link #parseCanonical(String)} for paths which can not be packed.
+     */
+    static final long NOT_CANONICAL = 0xFFFF_0000_0000_0000L;
+    /**
+     * Packed identifiers of the root path : all identifiers are undefined.
+     */
+    static final long ROOT_PACKED_IDS = -1L;
+
+    // identifiers are stored as primitive to avoid boxing, an undefined identifier is stored as 0.
+    private final int objectId;
+    private final int objectInstanceId;
+    private final int resourceId;
+    private final int resourceInstanceId;
+    private final byte ids;
 
     public static final LwM2mPath ROOTPATH = new LwM2mPath();
 
     private LwM2mPath() {
-        this(null, null, null, null);
+        this(0, 0, 0, 0, (byte) 0);
     }
 
     /**
@@ -52,7 +68,7 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
      * @throws InvalidLwM2mPathException if you try to create path with invalid inputs
      */
     public LwM2mPath(int objectId) throws InvalidLwM2mPathException {
-        this(objectId, null, null, null);
+        this(objectId, 0, 0, 0, OBJECT_ID);
         validate();
     }
 
@@ -65,7 +81,7 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
      * @throws InvalidLwM2mPathException if you try to create path with invalid inputs
      */
     public LwM2mPath(int objectId, int objectInstanceId) throws InvalidLwM2mPathException {
-        this(objectId, objectInstanceId, null, null);
+        this(objectId, objectInstanceId, 0, 0, (byte) (OBJECT_ID | OBJECT_INSTANCE_ID));
         validate();
     }
 
@@ -79,7 +95,7 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
      * @throws InvalidLwM2mPathException if you try to create path with invalid inputs
      */
     public LwM2mPath(int objectId, int objectInstanceId, int resourceId) throws InvalidLwM2mPathException {
-        this(objectId, objectInstanceId, resourceId, null);
+        this(objectId, objectInstanceId, resourceId, 0, (byte) (OBJECT_ID | OBJECT_INSTANCE_ID | RESOURCE_ID));
         validate();
     }
 
@@ -95,7 +111,8 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
      */
     public LwM2mPath(int objectId, int objectInstanceId, int resourceId, int resourceInstanceId)
             throws InvalidLwM2mPathException {
-        this((Integer) objectId, (Integer) objectInstanceId, (Integer) resourceId, (Integer) resourceInstanceId);
+        this(objectId, objectInstanceId, resourceId, resourceInstanceId,
+                (byte) (OBJECT_ID | OBJECT_INSTANCE_ID | RESOURCE_ID | RESOURCE_INSTANCE_ID));
         validate();
     }
 
@@ -107,7 +124,21 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
      * @throws InvalidLwM2mPathException if you try to create path with invalid inputs
      */
     public LwM2mPath(String path) throws InvalidLwM2mPathException {
-        Validate.notNull(path);
+        this(path, parseCanonical(path));
+    }
+
+    private LwM2mPath(String path, long packedIds) throws InvalidLwM2mPathException {
+        if (packedIds != NOT_CANONICAL) {
+            // fast path : canonical path was parsed without allocation
+            this.objectId = unpack(packedIds, 0);
+            this.objectInstanceId = unpack(packedIds, 1);
+            this.resourceId = unpack(packedIds, 2);
+            this.resourceInstanceId = unpack(packedIds, 3);
+            this.ids = idsOf(packedIds);
+            validate();
+            return;
+        }
+
         if (path.startsWith("/")) {
             path = path.substring(1);
         }
@@ -119,10 +150,13 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
             throw new InvalidLwM2mPathException("Invalid length for path %s", path);
         }
         try {
-            this.objectId = (p.length >= 1 && !p[0].isEmpty()) ? Integer.valueOf(p[0]) : null;
-            this.objectInstanceId = (p.length >= 2) ? Integer.valueOf(p[1]) : null;
-            this.resourceId = (p.length >= 3) ? Integer.valueOf(p[2]) : null;
-            this.resourceInstanceId = (p.length == 4) ? Integer.valueOf(p[3]) : null;
+            boolean hasObjectId = p.length >= 1 && !p[0].isEmpty();
+            this.objectId = hasObjectId ? Integer.parseInt(p[0]) : 0;
+            this.objectInstanceId = (p.length >= 2) ? Integer.parseInt(p[1]) : 0;
+            this.resourceId = (p.length >= 3) ? Integer.parseInt(p[2]) : 0;
+            this.resourceInstanceId = (p.length == 4) ? Integer.parseInt(p[3]) : 0;
+            this.ids = (byte) ((hasObjectId ? OBJECT_ID : 0) | (p.length >= 2 ? OBJECT_INSTANCE_ID : 0)
+                    | (p.length >= 3 ? RESOURCE_ID : 0) | (p.length == 4 ? RESOURCE_INSTANCE_ID : 0));
             validate();
         } catch (NumberFormatException e) {
             throw new InvalidLwM2mPathException(e, "Invalid elements in path %s", path);
@@ -130,10 +164,125 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
     }
 
     protected LwM2mPath(Integer objectId, Integer objectInstanceId, Integer resourceId, Integer resourceInstanceId) {
+        this(objectId != null ? objectId : 0, //
+                objectInstanceId != null ? objectInstanceId : 0, //
+                resourceId != null ? resourceId : 0, //
+                resourceInstanceId != null ? resourceInstanceId : 0, //
+                (byte) ((objectId != null ? OBJECT_ID : 0) | (objectInstanceId != null ? OBJECT_INSTANCE_ID : 0)
+                        | (resourceId != null ? RESOURCE_ID : 0)
+                        | (resourceInstanceId != null ? RESOURCE_INSTANCE_ID : 0)));
+    }
+
+    private LwM2mPath(int objectId, int objectInstanceId, int resourceId, int resourceInstanceId, byte ids) {
         this.objectId = objectId;
         this.objectInstanceId = objectInstanceId;
         this.resourceId = resourceId;
         this.resourceInstanceId = resourceInstanceId;
+        this.ids = ids;
+    }
+
+    /**
+     * Creates a path from identifiers packed by {@link #parseCanonical(String)} or {@link #pack(long, int, int)}.
+     */
+    static LwM2mPath fromPackedIds(long packedIds) throws InvalidLwM2mPathException {
+        LwM2mPath path = new LwM2mPath(unpack(packedIds, 0), unpack(packedIds, 1), unpack(packedIds, 2),
+                unpack(packedIds, 3), idsOf(packedIds));
+        path.validate();
+        return path;
+    }
+
+    // --------------------------------------------------------------------------------------------------------------
+    // Packed representation : 16 bits per identifier, from object id (most significant bits) to resource instance id.
+    // 0xFFFF is used for an undefined identifier, so only identifiers between 0 and 65534 can be packed and undefined
+    // identifiers must be at the end of the path.
+    // --------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parses a path like "/3/0/1", "3/0/1" or "/3/0/1/" without allocating any object.
+     *
+     * @return packed identifiers or {@link #NOT_CANONICAL} if this path is not made of up to 4 identifiers between 0
+     *         and 65534 written with digits only.
+     */
+    static long parseCanonical(String path) {
+        Validate.notNull(path);
+        int start = 0;
+        int end = path.length();
+        if (end > 0 && path.charAt(0) == '/') {
+            start = 1;
+        }
+        if (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+
+        long packed = ROOT_PACKED_IDS;
+        int count = 0;
+        int i = start;
+        while (i < end) {
+            if (count == 4) {
+                return NOT_CANONICAL;
+            }
+            int id = 0;
+            int digits = 0;
+            for (; i < end && path.charAt(i) != '/'; i++) {
+                char c = path.charAt(i);
+                if (c < '0' || c > '9' || digits == 5) {
+                    return NOT_CANONICAL;
+                }
+                id = id * 10 + (c - '0');
+                digits++;
+            }
+            if (digits == 0) {
+                return NOT_CANONICAL;
+            }
+            packed = pack(packed, count, id);
+            if (packed == NOT_CANONICAL) {
+                return NOT_CANONICAL;
+            }
+            count++;
+            // skip separator
+            i++;
+            if (i == end && path.charAt(end - 1) == '/') {
+                // empty last segment e.g. "/3//"
+                return NOT_CANONICAL;
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Sets the identifier at given index (0 for object id, 3 for resource instance id) of packed identifiers.
+     *
+     * @return packed identifiers or {@link #NOT_CANONICAL} if the identifier can not be packed.
+     */
+    static long pack(long packedIds, int index, int id) {
+        if (packedIds == NOT_CANONICAL || id < 0 || id >= 0xFFFF) {
+            return NOT_CANONICAL;
+        }
+        int shift = 16 * (3 - index);
+        return (packedIds & ~(0xFFFFL << shift)) | ((long) id << shift);
+    }
+
+    private static int unpack(long packedIds, int index) {
+        int id = (int) (packedIds >>> (16 * (3 - index))) & 0xFFFF;
+        return id == 0xFFFF ? 0 : id;
+    }
+
+    private static byte idsOf(long packedIds) {
+        byte ids = 0;
+        for (int index = 0; index < 4; index++) {
+            if (((packedIds >>> (16 * (3 - index))) & 0xFFFF) != 0xFFFF) {
+                ids |= 1 << index;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * @return <code>true</code> if this path has exactly the given packed identifiers.
+     */
+    boolean hasPackedIds(long packedIds) {
+        return ids == idsOf(packedIds) && objectId == unpack(packedIds, 0) && objectInstanceId == unpack(packedIds, 1)
+                && resourceId == unpack(packedIds, 2) && resourceInstanceId == unpack(packedIds, 3);
     }
 
     /**
@@ -167,11 +316,11 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
         if (isRoot()) {
             return new LwM2mPath(end);
         } else if (isObject()) {
-            return new LwM2mPath(getObjectId(), end);
+            return new LwM2mPath(objectId, end);
         } else if (isObjectInstance()) {
-            return new LwM2mPath(getObjectId(), getObjectInstanceId(), end);
+            return new LwM2mPath(objectId, objectInstanceId, end);
         } else if (isResource()) {
-            return new LwM2mPath((int) getObjectId(), (int) getObjectInstanceId(), (int) getResourceId(), end);
+            return new LwM2mPath(objectId, objectInstanceId, resourceId, end);
         } else {
             throw new IllegalArgumentException(String.format(
                     "Unable to append Id(%d) to path %s. Resource instance level is the deeper one.", end, this));
@@ -182,33 +331,14 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
      * @param start start of the path
      * @return true if the current path start with the given path
      */
-    @SuppressWarnings("java:S1126")
     public boolean startWith(LwM2mPath start) {
-        // object id
-        if (start.getObjectId() == null)
-            return true;
-        if (!start.getObjectId().equals(this.getObjectId())) {
-            return false;
-        }
-        // object instance id
-        if (start.getObjectInstanceId() == null)
-            return true;
-        if (!start.getObjectInstanceId().equals(this.getObjectInstanceId())) {
-            return false;
-        }
-        // resource id
-        if (start.getResourceId() == null)
-            return true;
-        if (!start.getResourceId().equals(this.getResourceId())) {
-            return false;
-        }
-        // resource instance id
-        if (start.getResourceInstanceId() == null)
-            return true;
-        if (!start.getResourceInstanceId().equals(this.getResourceInstanceId())) {
-            return false;
-        }
-        return true;
+        // all identifiers of start must be defined in this path with same value
+        byte startIds = start.ids;
+        return (startIds & ~ids) == 0 //
+                && ((startIds & OBJECT_ID) == 0 || start.objectId == objectId)
+                && ((startIds & OBJECT_INSTANCE_ID) == 0 || start.objectInstanceId == objectInstanceId)
+                && ((startIds & RESOURCE_ID) == 0 || start.resourceId == resourceId)
+                && ((startIds & RESOURCE_INSTANCE_ID) == 0 || start.resourceInstanceId == resourceInstanceId);
     }
 
     /**
@@ -217,7 +347,7 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
      * @return the object ID. Can be <code>null</code> when this is an root path.
      */
     public Integer getObjectId() {
-        return objectId;
+        return (ids & OBJECT_ID) != 0 ? objectId : null;
     }
 
     /**
@@ -226,7 +356,7 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
      * @return the object instance ID. Can be <code>null</code> when this is an root/object path.
      */
     public Integer getObjectInstanceId() {
-        return objectInstanceId;
+        return (ids & OBJECT_INSTANCE_ID) != 0 ? objectInstanceId : null;
     }
 
     /**
@@ -235,7 +365,7 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
      * @return the resource ID. Can be <code>null</code> when this is a root/object/object instance path.
      */
     public Integer getResourceId() {
-        return resourceId;
+        return (ids & RESOURCE_ID) != 0 ? resourceId : null;
     }
 
     /**
@@ -245,50 +375,50 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
      *         path.
      */
     public Integer getResourceInstanceId() {
-        return resourceInstanceId;
+        return (ids & RESOURCE_INSTANCE_ID) != 0 ? resourceInstanceId : null;
     }
 
     /**
      * @return <code>true</code> if this is the root path ("/").
      */
     public boolean isRoot() {
-        return objectId == null && objectInstanceId == null && resourceId == null && resourceInstanceId == null;
+        return ids == 0;
     }
 
     /**
      * @return <code>true</code> if this is an Object path.
      */
     public boolean isObject() {
-        return objectId != null && objectInstanceId == null && resourceId == null && resourceInstanceId == null;
+        return ids == OBJECT_ID;
     }
 
     /**
      * @return <code>true</code> if this is an ObjectInstance path.
      */
     public boolean isObjectInstance() {
-        return objectId != null && objectInstanceId != null && resourceId == null && resourceInstanceId == null;
+        return ids == (OBJECT_ID | OBJECT_INSTANCE_ID);
     }
 
     /**
      * @return <code>true</code> if this is a Resource path.
      */
     public boolean isResource() {
-        return objectId != null && objectInstanceId != null && resourceId != null && resourceInstanceId == null;
+        return ids == (OBJECT_ID | OBJECT_INSTANCE_ID | RESOURCE_ID);
     }
 
     /**
      * @return <code>true</code> if this is a Resource instance path.
      */
     public boolean isResourceInstance() {
-        return objectId != null && objectInstanceId != null && resourceId != null && resourceInstanceId != null;
+        return ids == (OBJECT_ID | OBJECT_INSTANCE_ID | RESOURCE_ID | RESOURCE_INSTANCE_ID);
     }
 
     /**
      * @return a new {@link LwM2mPath} targeting an object from current path.
      */
     public LwM2mPath toObjectPath() {
-        if (getObjectId() != null)
-            return new LwM2mPath(getObjectId());
+        if ((ids & OBJECT_ID) != 0)
+            return new LwM2mPath(objectId);
         throw new IllegalStateException(String.format("an object path can not be created from %s", this));
     }
 
@@ -296,8 +426,8 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
      * @return a new {@link LwM2mPath} targeting an object instance from current path.
      */
     public LwM2mPath toObjectInstancePath() {
-        if (getObjectInstanceId() != null)
-            return new LwM2mPath(getObjectId(), getObjectInstanceId());
+        if ((ids & OBJECT_INSTANCE_ID) != 0)
+            return new LwM2mPath(objectId, objectInstanceId);
         throw new IllegalStateException(String.format("an object instance path can not be created from %s", this));
     }
 
@@ -305,8 +435,8 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
      * @return a new {@link LwM2mPath} targeting an resource from current path.
      */
     public LwM2mPath toResourcePath() {
-        if (getResourceId() != null)
-            return new LwM2mPath(getObjectId(), getObjectInstanceId(), getResourceId());
+        if ((ids & RESOURCE_ID) != 0)
+            return new LwM2mPath(objectId, objectInstanceId, resourceId);
         throw new IllegalStateException(String.format("an resource path can not be created from %s", this));
     }
 
@@ -372,15 +502,15 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
      * Append LwM2m Path to given {@link StringBuilder}
      */
     public void appendTo(StringBuilder b) {
-        b.append("/");
-        if (getObjectId() != null) {
-            b.append(getObjectId());
-            if (getObjectInstanceId() != null) {
-                b.append("/").append(getObjectInstanceId());
-                if (getResourceId() != null) {
-                    b.append("/").append(getResourceId());
-                    if (getResourceInstanceId() != null) {
-                        b.append("/").append(getResourceInstanceId());
+        b.append('/');
+        if ((ids & OBJECT_ID) != 0) {
+            b.append(objectId);
+            if ((ids & OBJECT_INSTANCE_ID) != 0) {
+                b.append('/').append(objectInstanceId);
+                if ((ids & RESOURCE_ID) != 0) {
+                    b.append('/').append(resourceId);
+                    if ((ids & RESOURCE_INSTANCE_ID) != 0) {
+                        b.append('/').append(resourceInstanceId);
                     }
                 }
             }
@@ -389,32 +519,30 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
 
     @Override
     public int compareTo(LwM2mPath o) {
-        int res = compareInteger(this.objectId, o.objectId);
-        if (res != 0 || this.objectId == null)
+        // undefined identifiers are at the end of the path and an undefined identifier is lower than any value
+        int res = compareId(o, OBJECT_ID, objectId, o.objectId);
+        if (res != 0)
             return res;
 
-        res = compareInteger(this.objectInstanceId, o.objectInstanceId);
-        if (res != 0 || this.objectInstanceId == null)
+        res = compareId(o, OBJECT_INSTANCE_ID, objectInstanceId, o.objectInstanceId);
+        if (res != 0)
             return res;
 
-        res = compareInteger(this.resourceId, o.resourceId);
-        if (res != 0 || this.resourceId == null)
+        res = compareId(o, RESOURCE_ID, resourceId, o.resourceId);
+        if (res != 0)
             return res;
 
-        return compareInteger(this.resourceInstanceId, o.resourceInstanceId);
+        return compareId(o, RESOURCE_INSTANCE_ID, resourceInstanceId, o.resourceInstanceId);
     }
 
-    @SuppressWarnings("java:S4973")
-    private int compareInteger(Integer i1, Integer i2) {
-        if (i1 == i2) {
-            return 0;
-        } else if (i1 == null) {
-            return -1;
-        } else if (i2 == null) {
-            return 1;
-        } else {
-            return i1.compareTo(i2);
+    private int compareId(LwM2mPath o, byte id, int value, int otherValue) {
+        int defined = ids & id;
+        int otherDefined = o.ids & id;
+        if (defined == otherDefined) {
+            // undefined identifiers are stored as 0
+            return Integer.compare(value, otherValue);
         }
+        return defined != 0 ? 1 : -1;
     }
 
     /**
@@ -484,10 +612,9 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
         if (!(o instanceof LwM2mPath))
             return false;
         LwM2mPath that = (LwM2mPath) o;
-        return that.canEqual(this) && Objects.equals(objectId, that.objectId)
-                && Objects.equals(objectInstanceId, that.objectInstanceId)
-                && Objects.equals(resourceId, that.resourceId)
-                && Objects.equals(resourceInstanceId, that.resourceInstanceId);
+        return that.canEqual(this) && ids == that.ids && objectId == that.objectId
+                && objectInstanceId == that.objectInstanceId && resourceId == that.resourceId
+                && resourceInstanceId == that.resourceInstanceId;
     }
 
     public boolean canEqual(Object o) {
@@ -496,6 +623,10 @@ public class LwM2mPath implements Comparable<LwM2mPath> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(objectId, objectInstanceId, resourceId, resourceInstanceId);
+        int result = 31 + ids;
+        result = 31 * result + objectId;
+        result = 31 * result + objectInstanceId;
+        result = 31 * result + resourceId;
+        return 31 * result + resourceInstanceId;
     }
 }
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.node;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A cache interning {@link LwM2mPath} instances, so hot paths can be parsed or created without allocation.
+ * <p>
+ * This is a direct-mapped cache : each path has only one slot, and a new path replaces the one in its slot. So it never
+ * grows and lookups are lock-free. Paths are immutable so this class is thread-safe.
+ * <p>
+ * Only paths made of identifiers between 0 and 65534 are cached, others are created each time.
+ */
+public class LwM2mPathCache {
+
+    private final LwM2mPath[] slots;
+    private final int mask;
+
+    /**
+     * Creates a cache of 1024 slots.
+     */
+    public LwM2mPathCache() {
+        this(1024);
+    }
+
+    /**
+     * @param size the number of slots of this cache, must be a power of 2.
+     */
+    public LwM2mPathCache(int size) {
+        Validate.isTrue(size > 0 && Integer.bitCount(size) == 1, "size must be a power of 2");
+        this.slots = new LwM2mPath[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Same as {@link LwM2mPath#LwM2mPath(String)} but returning a cached instance if possible.
+     *
+     * @throws InvalidLwM2mPathException if path is invalid
+     */
+    public LwM2mPath get(String path) throws InvalidLwM2mPathException {
+        long packedIds = LwM2mPath.parseCanonical(path);
+        if (packedIds == LwM2mPath.NOT_CANONICAL) {
+            return new LwM2mPath(path);
+        }
+        return get(packedIds);
+    }
+
+    /**
+     * Same as {@link LwM2mPath#LwM2mPath(int)} but returning a cached instance if possible.
+     *
+     * @throws InvalidLwM2mPathException if path is invalid
+     */
+    public LwM2mPath get(int objectId) throws InvalidLwM2mPathException {
+        long packedIds = LwM2mPath.pack(LwM2mPath.ROOT_PACKED_IDS, 0, objectId);
+        if (packedIds == LwM2mPath.NOT_CANONICAL) {
+            return new LwM2mPath(objectId);
+        }
+        return get(packedIds);
+    }
+
+    /**
+     * Same as {@link LwM2mPath#LwM2mPath(int, int)} but returning a cached instance if possible.
+     *
+     * @throws InvalidLwM2mPathException if path is invalid
+     */
+    public LwM2mPath get(int objectId, int objectInstanceId) throws InvalidLwM2mPathException {
+        long packedIds = LwM2mPath.pack(LwM2mPath.pack(LwM2mPath.ROOT_PACKED_IDS, 0, objectId), 1, objectInstanceId);
+        if (packedIds == LwM2mPath.NOT_CANONICAL) {
+            return new LwM2mPath(objectId, objectInstanceId);
+        }
+        return get(packedIds);
+    }
+
+    /**
+     * Same as {@link LwM2mPath#LwM2mPath(int, int, int)} but returning a cached instance if possible.
+     *
+     * @throws InvalidLwM2mPathException if path is invalid
+     */
+    public LwM2mPath get(int objectId, int objectInstanceId, int resourceId) throws InvalidLwM2mPathException {
+        long packedIds = LwM2mPath.pack(
+                LwM2mPath.pack(LwM2mPath.pack(LwM2mPath.ROOT_PACKED_IDS, 0, objectId), 1, objectInstanceId), 2,
+                resourceId);
+        if (packedIds == LwM2mPath.NOT_CANONICAL) {
+            return new LwM2mPath(objectId, objectInstanceId, resourceId);
+        }
+        return get(packedIds);
+    }
+
+    private LwM2mPath get(long packedIds) {
+        int slot = slotOf(packedIds);
+        LwM2mPath path = slots[slot];
+        if (path != null && path.hasPackedIds(packedIds)) {
+            return path;
+        }
+        path = LwM2mPath.fromPackedIds(packedIds);
+        // a concurrent write to the same slot is harmless : path is immutable and one of them is kept
+        slots[slot] = path;
+        return path;
+    }
+
+    private int slotOf(long packedIds) {
+        // spread bits of all identifiers (Fibonacci hashing)
+        long hash = packedIds * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+}
@@ -76,7 +76,9 @@ public class DefaultLwM2mDecoder implements LwM2mDecoder {
         decoders.put(ContentFormat.TEXT, new LwM2mNodeTextDecoder());
         decoders.put(ContentFormat.OPAQUE, new LwM2mNodeOpaqueDecoder());
         decoders.put(ContentFormat.CBOR, new LwM2mNodeCborDecoder());
-        decoders.put(ContentFormat.SENML_JSON, new LwM2mNodeSenMLDecoder(new SenMLJsonJacksonEncoderDecoder(), true));
+        // stream decoding is only used for JSON, with CBOR it is slower than decoding the whole pack
+        decoders.put(ContentFormat.SENML_JSON,
+                new LwM2mNodeSenMLDecoder(new SenMLJsonJacksonEncoderDecoder(), true, true));
         decoders.put(ContentFormat.SENML_CBOR,
                 new LwM2mNodeSenMLDecoder(new SenMLCborUpokecenterEncoderDecoder(), false));
 
@@ -52,12 +52,14 @@ import org.eclipse.leshan.core.node.codec.TimestampedMultiNodeDecoder;
 import org.eclipse.leshan.core.node.codec.TimestampedNodeDecoder;
 import org.eclipse.leshan.core.util.Hex;
 import org.eclipse.leshan.core.util.TimestampUtil;
+import org.eclipse.leshan.core.util.Validate;
 import org.eclipse.leshan.core.util.datatype.NumberUtil;
 import org.eclipse.leshan.core.util.datatype.ULong;
 import org.eclipse.leshan.senml.SenMLDecoder;
 import org.eclipse.leshan.senml.SenMLException;
 import org.eclipse.leshan.senml.SenMLPack;
 import org.eclipse.leshan.senml.SenMLRecord;
+import org.eclipse.leshan.senml.SenMLStreamDecoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,16 +69,38 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
 
     private final SenMLDecoder decoder;
     private final boolean permissiveNumberConversion;
+    private final boolean streamDecoding;
     // parser used for core link data type
     private final LinkParser linkParser;
 
     public LwM2mNodeSenMLDecoder(SenMLDecoder decoder, boolean permissiveNumberConversion) {
-        this(decoder, new DefaultLwM2mLinkParser(), permissiveNumberConversion);
+        this(decoder, new DefaultLwM2mLinkParser(), permissiveNumberConversion, false);
+    }
+
+    public LwM2mNodeSenMLDecoder(SenMLDecoder decoder, boolean permissiveNumberConversion, boolean streamDecoding) {
+        this(decoder, new DefaultLwM2mLinkParser(), permissiveNumberConversion, streamDecoding);
     }
 
     public LwM2mNodeSenMLDecoder(SenMLDecoder decoder, LinkParser linkParser, boolean permissiveNumberConversion) {
+        this(decoder, linkParser, permissiveNumberConversion, false);
+    }
+
+    /**
+     * @param decoder the SenML decoder to use.
+     * @param linkParser parser used for core link data type.
+     * @param permissiveNumberConversion allow to convert numbers to the type expected by the model.
+     * @param streamDecoding if <code>true</code> records are resolved as soon as they are decoded by the
+     *        {@link SenMLStreamDecoder}, without building an intermediate {@link SenMLPack}. Resolved records are still
+     *        collected before nodes are built. This is only worth it if the stream decoder is faster than the pack one,
+     *        which is the case for JSON but not for CBOR.
+     */
+    public LwM2mNodeSenMLDecoder(SenMLDecoder decoder, LinkParser linkParser, boolean permissiveNumberConversion,
+            boolean streamDecoding) {
+        Validate.isTrue(!streamDecoding || decoder instanceof SenMLStreamDecoder,
+                "decoder must be a SenMLStreamDecoder to use stream decoding");
         this.decoder = decoder;
         this.permissiveNumberConversion = permissiveNumberConversion;
+        this.streamDecoding = streamDecoding;
         this.linkParser = linkParser;
     }
 
@@ -85,15 +109,9 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
     public <T extends LwM2mNode> T decode(byte[] content, String rootPath, LwM2mPath path, LwM2mModel model,
             Class<T> nodeClass) throws CodecException {
         try {
-            // Decode SenML pack
-            SenMLPack pack = decoder.fromSenML(content);
-            List<SenMLRecord> records = pack.getRecords();
-
-            // Resolve records
-            LwM2mSenMLResolver resolver = new LwM2mSenMLResolver();
-            Collection<LwM2mResolvedSenMLRecord> resolvedRecords = new ArrayList<>(records.size());
-            for (SenMLRecord record : records) {
-                LwM2mResolvedSenMLRecord resolvedRecord = resolver.resolve(record);
+            // Decode and resolve records
+            List<LwM2mResolvedSenMLRecord> resolvedRecords = decodeAndResolve(content);
+            for (LwM2mResolvedSenMLRecord resolvedRecord : resolvedRecords) {
                 // Validate SenML resolved name
                 validateRootPath(resolvedRecord, rootPath);
                 if (!resolvedRecord.getPath().isResourceInstance() && !resolvedRecord.getPath().isResource()) {
@@ -106,7 +124,6 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
                             resolvedRecord.getPrefixedPath(), path);
                 }
                 validateNoTimestampedRecord(resolvedRecord);
-                resolvedRecords.add(resolvedRecord);
             }
 
             // Parse records and create node
@@ -121,14 +138,14 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
     public Map<LwM2mPath, LwM2mNode> decodeNodes(byte[] content, String rootPath, List<LwM2mPath> paths,
             LwM2mModel model) throws CodecException {
         try {
-            // Decode SenML pack
-            SenMLPack pack = decoder.fromSenML(content);
+            // Decode and resolve records
+            List<LwM2mResolvedSenMLRecord> resolvedRecords = decodeAndResolve(content);
 
             Map<LwM2mPath, LwM2mNode> nodes = new HashMap<>();
             if (paths != null) {
-                // Resolve records & Group it by path
-                Map<LwM2mPath, Collection<LwM2mResolvedSenMLRecord>> recordsByPath = groupByPath(pack.getRecords(),
-                        paths, rootPath);
+                // Group records by path
+                Map<LwM2mPath, Collection<LwM2mResolvedSenMLRecord>> recordsByPath = groupByPath(resolvedRecords, paths,
+                        rootPath);
 
                 for (LwM2mPath path : paths) {
                     Collection<LwM2mResolvedSenMLRecord> records = recordsByPath.get(path);
@@ -150,9 +167,7 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
             } else {
                 // Paths are not given so we given so we can not regroup by path
                 // let's assume that each path refer to a single resource or single resource instances.
-                LwM2mSenMLResolver resolver = new LwM2mSenMLResolver();
-                for (SenMLRecord record : pack.getRecords()) {
-                    LwM2mResolvedSenMLRecord resolvedRecord = resolver.resolve(record);
+                for (LwM2mResolvedSenMLRecord resolvedRecord : resolvedRecords) {
                     validateRootPath(resolvedRecord, rootPath);
                     validateNoTimestampedRecord(resolvedRecord);
 
@@ -199,12 +214,9 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
     public List<TimestampedLwM2mNode> decodeTimestampedData(byte[] content, String rootPath, LwM2mPath path,
             LwM2mModel model, Class<? extends LwM2mNode> nodeClass) throws CodecException {
         try {
-            // Decode SenML pack
-            SenMLPack pack = decoder.fromSenML(content);
-
-            // Resolve records & Group it by time-stamp
+            // Decode and resolve records then group it by time-stamp
             Map<BigDecimal, Collection<LwM2mResolvedSenMLRecord>> recordsByTimestamp = groupRecordByTimestamp(
-                    pack.getRecords(), path, rootPath);
+                    decodeAndResolve(content), path, rootPath);
 
             // Fill time-stamped nodes collection
             List<TimestampedLwM2mNode> timestampedNodes = new ArrayList<>();
@@ -226,8 +238,8 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
     public TimestampedLwM2mNodes decodeTimestampedNodes(byte[] content, String rootPath, List<LwM2mPath> paths,
             LwM2mModel model) throws CodecException {
         try {
-            // Decode SenML pack
-            SenMLPack pack = decoder.fromSenML(content);
+            // Decode and resolve records
+            List<LwM2mResolvedSenMLRecord> resolvedRecords = decodeAndResolve(content);
 
             TimestampedLwM2mNodes.Builder nodes;
 
@@ -236,7 +248,7 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
 
                 // Group by time-stamp
                 SortedMap<BigDecimal, Collection<LwM2mResolvedSenMLRecord>> recordsByTimestamp = groupRecordByTimestamp(
-                        pack.getRecords(), null, rootPath);
+                        resolvedRecords, null, rootPath);
 
                 // For each time-stamp
                 for (Entry<BigDecimal, Collection<LwM2mResolvedSenMLRecord>> entryByTimestamp : recordsByTimestamp
@@ -264,9 +276,7 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
                 }
             } else {
                 nodes = TimestampedLwM2mNodes.builder();
-                LwM2mSenMLResolver resolver = new LwM2mSenMLResolver();
-                for (SenMLRecord record : pack.getRecords()) {
-                    LwM2mResolvedSenMLRecord resolvedRecord = resolver.resolve(record);
+                for (LwM2mResolvedSenMLRecord resolvedRecord : resolvedRecords) {
                     validateRootPath(resolvedRecord, rootPath);
                     LwM2mPath path = resolvedRecord.getPath();
                     LwM2mNode node = parseRecords(Arrays.asList(resolvedRecord), path, model,
@@ -283,6 +293,26 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
         }
     }
 
+    /**
+     * Decode SenML payload and resolve its records.
+     * <p>
+     * If stream decoding is used, records are resolved as soon as they are decoded, without building an intermediate
+     * {@link SenMLPack}. In both cases, all resolved records are returned at once : nodes are built from the whole list
+     * as records must be grouped by timestamp and path first.
+     */
+    private List<LwM2mResolvedSenMLRecord> decodeAndResolve(byte[] content) throws SenMLException {
+        LwM2mSenMLResolver resolver = new LwM2mSenMLResolver();
+        List<LwM2mResolvedSenMLRecord> resolvedRecords = new ArrayList<>();
+        if (streamDecoding) {
+            ((SenMLStreamDecoder) decoder).decode(content, record -> resolvedRecords.add(resolver.resolve(record)));
+        } else {
+            for (SenMLRecord record : decoder.fromSenML(content).getRecords()) {
+                resolvedRecords.add(resolver.resolve(record));
+            }
+        }
+        return resolvedRecords;
+    }
+
     /**
      * Parse records for a given LWM2M path.
      */
@@ -406,10 +436,11 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
     }
 
     /**
-     * Resolved record then group it by LwM2mPath
+     * Validate resolved records then group it by LwM2mPath
      */
-    private Map<LwM2mPath, Collection<LwM2mResolvedSenMLRecord>> groupByPath(List<SenMLRecord> records,
-            List<LwM2mPath> paths, String rootPath) throws SenMLException {
+    private Map<LwM2mPath, Collection<LwM2mResolvedSenMLRecord>> groupByPath(
+            List<LwM2mResolvedSenMLRecord> resolvedRecords, List<LwM2mPath> paths, String rootPath)
+            throws SenMLException {
 
         // Prepare map result
         Map<LwM2mPath, Collection<LwM2mResolvedSenMLRecord>> result = new HashMap<>(paths.size());
@@ -417,10 +448,8 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
             result.put(path, new ArrayList<LwM2mResolvedSenMLRecord>());
         }
 
-        // Resolve record and add it to the map
-        LwM2mSenMLResolver resolver = new LwM2mSenMLResolver();
-        for (SenMLRecord record : records) {
-            LwM2mResolvedSenMLRecord resolvedRecord = resolver.resolve(record);
+        // Add resolved record to the map
+        for (LwM2mResolvedSenMLRecord resolvedRecord : resolvedRecords) {
             validateRootPath(resolvedRecord, rootPath);
 
             // Find the corresponding path for this record.
@@ -477,15 +506,16 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
     }
 
     /**
-     * Resolved record then group it by time-stamp
+     * Validate resolved records then group it by time-stamp
      *
-     * @param records list of records to group
+     * @param resolvedRecords list of resolved records to group
      * @param requestPath If not <code>null</code> then all record should belong to this path
      * @return a sorted map (timestamp => collection of record) order by descending time-stamp (most recent one at first
      *         place). If null time-stamp (meaning no time information) exists it always at first place.
      */
     private SortedMap<BigDecimal, Collection<LwM2mResolvedSenMLRecord>> groupRecordByTimestamp(
-            List<SenMLRecord> records, LwM2mPath requestPath, String rootPath) throws SenMLException {
+            List<LwM2mResolvedSenMLRecord> resolvedRecords, LwM2mPath requestPath, String rootPath)
+            throws SenMLException {
         SortedMap<BigDecimal, Collection<LwM2mResolvedSenMLRecord>> result = new TreeMap<>(
                 new Comparator<BigDecimal>() {
                     @Override
@@ -501,10 +531,7 @@ public class LwM2mNodeSenMLDecoder implements TimestampedNodeDecoder, MultiNodeD
                     }
                 });
 
-        LwM2mSenMLResolver resolver = new LwM2mSenMLResolver();
-        for (SenMLRecord record : records) {
-            LwM2mResolvedSenMLRecord resolvedRecord = resolver.resolve(record);
-
+        for (LwM2mResolvedSenMLRecord resolvedRecord : resolvedRecords) {
             // Validate SenML resolved name
             validateRootPath(resolvedRecord, rootPath);
 
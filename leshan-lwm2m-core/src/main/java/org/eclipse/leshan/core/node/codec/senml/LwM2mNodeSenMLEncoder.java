@@ -13,9 +13,9 @@
  *******************************************************************************/
 package org.eclipse.leshan.core.node.codec.senml;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +49,9 @@ import org.eclipse.leshan.senml.SenMLEncoder;
 import org.eclipse.leshan.senml.SenMLException;
 import org.eclipse.leshan.senml.SenMLPack;
 import org.eclipse.leshan.senml.SenMLRecord;
+import org.eclipse.leshan.senml.SenMLStreamEncoder;
+import org.eclipse.leshan.senml.SenMLStreamEncoder.RecordProducer;
+import org.eclipse.leshan.senml.SenMLStreamEncoder.RecordWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,18 +77,11 @@ public class LwM2mNodeSenMLEncoder implements TimestampedNodeEncoder, MultiNodeE
         Validate.notNull(path);
         Validate.notNull(model);
 
-        InternalEncoder internalEncoder = new InternalEncoder();
-        internalEncoder.objectId = path.getObjectId();
-        internalEncoder.model = model;
-        internalEncoder.rootPath = rootPath;
-        internalEncoder.requestPath = path;
-        internalEncoder.converter = converter;
-        node.accept(internalEncoder);
-
-        SenMLPack pack = new SenMLPack(internalEncoder.records);
-
         try {
-            return encoder.toSenML(pack);
+            return encodeRecords(writer -> {
+                InternalEncoder internalEncoder = new InternalEncoder(path, rootPath, model, converter, null, writer);
+                node.accept(internalEncoder);
+            });
         } catch (SenMLException e) {
             throw new CodecException(e, "Unable to encode node[path:%s] : %s", path, node);
         }
@@ -97,32 +93,23 @@ public class LwM2mNodeSenMLEncoder implements TimestampedNodeEncoder, MultiNodeE
         // validate arguments
         Validate.notEmpty(nodes);
 
-        // Encodes nodes to SenML pack
-        SenMLPack pack = new SenMLPack();
-        for (Entry<LwM2mPath, LwM2mNode> entry : nodes.entrySet()) {
-            LwM2mPath path = entry.getKey();
-            InternalEncoder internalEncoder = new InternalEncoder();
-            internalEncoder.objectId = path.getObjectId();
-            internalEncoder.model = model;
-            internalEncoder.rootPath = rootPath;
-            internalEncoder.requestPath = path;
-            internalEncoder.converter = converter;
-            internalEncoder.records = new ArrayList<>();
-            LwM2mNode node = entry.getValue();
-            if (node != null) {
-                node.accept(internalEncoder);
-                pack.addRecords(internalEncoder.records);
-            }
-            // else
-            // We just ignore null node as the LWM2M specification says that "Read-Composite operation is treated as
-            // non-atomic and handled as best effort by the client. That is, if any of the requested resources do not
-            // have a valid value to return, they will not be included in the response".
-            // Meaning that a given path could have no corresponding value.
-        }
-
-        // Encodes SenML pack using internal encoder (it could be SenML-JSON or SenML-CBOR encoder)
+        // Encodes nodes using internal encoder (it could be SenML-JSON or SenML-CBOR encoder)
         try {
-            return encoder.toSenML(pack);
+            return encodeRecords(writer -> {
+                for (Entry<LwM2mPath, LwM2mNode> entry : nodes.entrySet()) {
+                    LwM2mPath path = entry.getKey();
+                    LwM2mNode node = entry.getValue();
+                    if (node != null) {
+                        node.accept(new InternalEncoder(path, rootPath, model, converter, null, writer));
+                    }
+                    // else
+                    // We just ignore null node as the LWM2M specification says that "Read-Composite operation is
+                    // treated as non-atomic and handled as best effort by the client. That is, if any of the
+                    // requested resources do not have a valid value to return, they will not be included in the
+                    // response".
+                    // Meaning that a given path could have no corresponding value.
+                }
+            });
         } catch (SenMLException e) {
             throw new CodecException(e, "Unable to encode multi node[paths:%s] : %s", nodes.keySet(), nodes);
         }
@@ -135,9 +122,7 @@ public class LwM2mNodeSenMLEncoder implements TimestampedNodeEncoder, MultiNodeE
         Validate.notNull(path);
         Validate.notNull(model);
 
-        SenMLPack pack = new SenMLPack();
         for (TimestampedLwM2mNode timestampedLwM2mNode : timestampedNodes) {
-
             if (timestampedLwM2mNode.isTimestamped()
                     && timestampedLwM2mNode.getTimestamp().getEpochSecond() < 268_435_456) {
                 // The smallest absolute Time value that can be expressed (2**28) is 1978-07-04 21:24:16 UTC.
@@ -146,27 +131,16 @@ public class LwM2mNodeSenMLEncoder implements TimestampedNodeEncoder, MultiNodeE
                         "Unable to encode timestamped node[path:%s] : invalid timestamp %s, timestamp should be greater or equals to 268,435,456",
                         path, timestampedLwM2mNode.getTimestamp());
             }
-
-            InternalEncoder internalEncoder = new InternalEncoder();
-            internalEncoder.objectId = path.getObjectId();
-            internalEncoder.model = model;
-            internalEncoder.rootPath = rootPath;
-            internalEncoder.requestPath = path;
-            internalEncoder.converter = converter;
-            internalEncoder.records = new ArrayList<>();
-            timestampedLwM2mNode.getNode().accept(internalEncoder);
-            BigDecimal timestampInSeconds = TimestampUtil.fromInstant(timestampedLwM2mNode.getTimestamp());
-
-            SenMLRecord record = internalEncoder.records.get(0);
-            SenMLRecord timestampedrecord = new SenMLRecord(record.getBaseName(), timestampInSeconds, record.getName(),
-                    record.getTime(), record.getNumberValue(), record.getBooleanValue(), record.getObjectLinkValue(),
-                    record.getStringValue(), record.getOpaqueValue());
-            internalEncoder.records.set(0, timestampedrecord);
-            pack.addRecords(internalEncoder.records);
         }
 
         try {
-            return encoder.toSenML(pack);
+            return encodeRecords(writer -> {
+                for (TimestampedLwM2mNode timestampedLwM2mNode : timestampedNodes) {
+                    BigDecimal timestampInSeconds = TimestampUtil.fromInstant(timestampedLwM2mNode.getTimestamp());
+                    timestampedLwM2mNode.getNode()
+                            .accept(new InternalEncoder(path, rootPath, model, converter, timestampInSeconds, writer));
+                }
+            });
         } catch (SenMLException e) {
             throw new CodecException(e, "Unable to encode timestamped node[path:%s] : %s", path, timestampedNodes);
         }
@@ -177,54 +151,65 @@ public class LwM2mNodeSenMLEncoder implements TimestampedNodeEncoder, MultiNodeE
             LwM2mValueConverter converter) throws CodecException {
         Validate.notEmpty(timestampedNodes.getTimestamps());
 
-        SenMLPack pack = new SenMLPack();
-        for (Instant timestamp : timestampedNodes.getTimestamps()) {
-            Map<LwM2mPath, LwM2mNode> nodesAtTimestamp = timestampedNodes.getNodesAt(timestamp);
-            for (Entry<LwM2mPath, LwM2mNode> entry : nodesAtTimestamp.entrySet()) {
-                LwM2mPath path = entry.getKey();
-                InternalEncoder internalEncoder = new InternalEncoder();
-                internalEncoder.objectId = path.getObjectId();
-                internalEncoder.model = model;
-                internalEncoder.rootPath = rootPath;
-                internalEncoder.requestPath = path;
-                internalEncoder.converter = converter;
-                internalEncoder.records = new ArrayList<>();
-                LwM2mNode node = entry.getValue();
-                if (node != null) {
-                    node.accept(internalEncoder);
-
-                    List<SenMLRecord> records = internalEncoder.records;
-                    if (!records.isEmpty()) {
-                        SenMLRecord record = internalEncoder.records.get(0);
-                        SenMLRecord timestampedrecord = new SenMLRecord(record.getBaseName(),
-                                TimestampUtil.fromInstant(timestamp), record.getName(), record.getTime(),
-                                record.getNumberValue(), record.getBooleanValue(), record.getObjectLinkValue(),
-                                record.getStringValue(), record.getOpaqueValue());
-                        internalEncoder.records.set(0, timestampedrecord);
-
-                        pack.addRecords(records);
+        try {
+            return encodeRecords(writer -> {
+                for (Instant timestamp : timestampedNodes.getTimestamps()) {
+                    BigDecimal timestampInSeconds = TimestampUtil.fromInstant(timestamp);
+                    Map<LwM2mPath, LwM2mNode> nodesAtTimestamp = timestampedNodes.getNodesAt(timestamp);
+                    for (Entry<LwM2mPath, LwM2mNode> entry : nodesAtTimestamp.entrySet()) {
+                        LwM2mPath path = entry.getKey();
+                        LwM2mNode node = entry.getValue();
+                        if (node != null) {
+                            node.accept(
+                                    new InternalEncoder(path, rootPath, model, converter, timestampInSeconds, writer));
+                        }
                     }
                 }
-            }
+            });
+        } catch (SenMLException e) {
+            throw new CodecException(e, "Unable to encode timestamped nodes: %s", timestampedNodes);
         }
+    }
 
-        try {
+    /**
+     * Writes records directly to the output when encoder is a {@link SenMLStreamEncoder}, else collects them in a
+     * {@link SenMLPack} first.
+     */
+    private byte[] encodeRecords(RecordProducer producer) throws SenMLException {
+        if (encoder instanceof SenMLStreamEncoder) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            ((SenMLStreamEncoder) encoder).encode(producer, out);
+            return out.toByteArray();
+        } else {
+            SenMLPack pack = new SenMLPack();
+            producer.produce(pack::addRecord);
             return encoder.toSenML(pack);
-        } catch (SenMLException e) {
-            throw new CodecException(e, "Unable to encode timestamped nodes: %s", timestampedNodes);
         }
     }
 
     private class InternalEncoder implements LwM2mNodeVisitor {
         // visitor inputs
         private Integer objectId;
-        private LwM2mModel model;
-        private LwM2mPath requestPath;
-        private LwM2mValueConverter converter;
-        private String rootPath;
+        private final LwM2mModel model;
+        private final LwM2mPath requestPath;
+        private final LwM2mValueConverter converter;
+        private final String rootPath;
+        private final BigDecimal baseTime;
 
         // visitor output
-        private ArrayList<SenMLRecord> records = new ArrayList<>();
+        private final RecordWriter writer;
+        private boolean firstRecord = true;
+
+        public InternalEncoder(LwM2mPath requestPath, String rootPath, LwM2mModel model, LwM2mValueConverter converter,
+                BigDecimal baseTime, RecordWriter writer) {
+            this.objectId = requestPath.getObjectId();
+            this.requestPath = requestPath;
+            this.rootPath = rootPath;
+            this.model = model;
+            this.converter = converter;
+            this.baseTime = baseTime;
+            this.writer = writer;
+        }
 
         @Override
         public void visit(LwM2mRoot root) {
@@ -240,7 +225,8 @@ public class LwM2mNodeSenMLEncoder implements TimestampedNodeEncoder, MultiNodeE
                     for (LwM2mResource resource : instance.getResources().values()) {
                         String prefixPath = object.getId() + "/" + instance.getId() + "/" + resource.getId();
                         this.objectId = object.getId();
-                        lwM2mResourceToSenMLRecord(prefixPath, resource);
+                        lwM2mResourceToSenMLRecord(prefixPath,
+                                new LwM2mPath(object.getId(), instance.getId(), resource.getId()), resource);
                     }
                 }
             }
@@ -260,7 +246,8 @@ public class LwM2mNodeSenMLEncoder implements TimestampedNodeEncoder, MultiNodeE
             for (LwM2mObjectInstance instance : object.getInstances().values()) {
                 for (LwM2mResource resource : instance.getResources().values()) {
                     String prefixPath = Integer.toString(instance.getId()) + "/" + Integer.toString(resource.getId());
-                    lwM2mResourceToSenMLRecord(prefixPath, resource);
+                    lwM2mResourceToSenMLRecord(prefixPath,
+                            new LwM2mPath(requestPath.getObjectId(), instance.getId(), resource.getId()), resource);
                 }
             }
         }
@@ -279,7 +266,8 @@ public class LwM2mNodeSenMLEncoder implements TimestampedNodeEncoder, MultiNodeE
                     throw new CodecException("Invalid request path %s for instance encoding", requestPath);
                 }
                 // Create SenML records
-                lwM2mResourceToSenMLRecord(prefixPath, resource);
+                lwM2mResourceToSenMLRecord(prefixPath,
+                        new LwM2mPath(requestPath.getObjectId(), instance.getId(), resource.getId()), resource);
             }
         }
 
@@ -291,7 +279,7 @@ public class LwM2mNodeSenMLEncoder implements TimestampedNodeEncoder, MultiNodeE
             }
 
             // Using request path as base name, and record doesn't have name
-            lwM2mResourceToSenMLRecord(null, resource);
+            lwM2mResourceToSenMLRecord(null, requestPath, resource);
         }
 
         @Override
@@ -306,10 +294,10 @@ public class LwM2mNodeSenMLEncoder implements TimestampedNodeEncoder, MultiNodeE
             Type expectedType = rSpec != null ? rSpec.type : resourceInstance.getType();
 
             // Using request path as base name, and record doesn't have name
-            addSenMLRecord(null, resourceInstance.getType(), expectedType, resourceInstance.getValue());
+            addSenMLRecord(null, requestPath, resourceInstance.getType(), expectedType, resourceInstance.getValue());
         }
 
-        private void lwM2mResourceToSenMLRecord(String recordName, LwM2mResource resource) {
+        private void lwM2mResourceToSenMLRecord(String recordName, LwM2mPath resourcePath, LwM2mResource resource) {
             // get type for this resource
             ResourceModel rSpec = model.getResourceModel(objectId, resource.getId());
             Type expectedType = rSpec != null ? rSpec.type : resource.getType();
@@ -325,46 +313,48 @@ public class LwM2mNodeSenMLEncoder implements TimestampedNodeEncoder, MultiNodeE
                         resourceInstanceRecordName = recordName + "/" + entry.getKey();
                     }
 
-                    addSenMLRecord(resourceInstanceRecordName, resource.getType(), expectedType,
-                            entry.getValue().getValue());
+                    addSenMLRecord(resourceInstanceRecordName, resourcePath.append(entry.getKey()), resource.getType(),
+                            expectedType, entry.getValue().getValue());
                 }
             } else {
-                addSenMLRecord(recordName, resource.getType(), expectedType, resource.getValue());
+                addSenMLRecord(recordName, resourcePath, resource.getType(), expectedType, resource.getValue());
             }
         }
 
-        private void addSenMLRecord(String recordName, Type valueType, Type expectedType, Object value) {
+        private void addSenMLRecord(String recordName, LwM2mPath resourcePath, Type valueType, Type expectedType,
+                Object value) {
             // Create SenML record attributes
             String recordbasename = null;
-            String recordname = null;
-
-            // Compute baseName and name for SenML record
-            String bn = requestPath.toString();
-            String n = recordName == null ? "" : recordName;
-
-            // Add slash if necessary
-            if (!n.isEmpty() && !bn.equals("/")) {
-                bn += "/";
-            }
-
-            // Set basename only for first record
-            if (records.isEmpty()) {
+            BigDecimal recordbasetime = null;
+            String recordname = recordName == null ? "" : recordName;
+
+            // Set basename and basetime only for first record, next records names are relative to it
+            if (firstRecord) {
+                String bn = requestPath.toString();
+                // Add slash if necessary
+                if (!recordname.isEmpty() && !bn.equals("/")) {
+                    bn += "/";
+                }
                 recordbasename = (rootPath != null ? rootPath + bn : bn);
+                recordbasetime = baseTime;
+                firstRecord = false;
             }
-            recordname = n;
 
             // Convert value using expected type
-            LwM2mPath lwM2mResourcePath = new LwM2mPath(bn + n);
-            Object convertedValue = converter.convertValue(value, valueType, expectedType, lwM2mResourcePath);
-            SenMLRecord record = setResourceValue(convertedValue, expectedType, lwM2mResourcePath, recordbasename,
-                    recordname);
-
-            // Add record to the List
-            records.add(record);
+            Object convertedValue = converter.convertValue(value, valueType, expectedType, resourcePath);
+            SenMLRecord record = setResourceValue(convertedValue, expectedType, resourcePath, recordbasename,
+                    recordbasetime, recordname);
+
+            // Write record
+            try {
+                writer.write(record);
+            } catch (SenMLException e) {
+                throw new CodecException(e, "Unable to encode record %s for %s", record, resourcePath);
+            }
         }
 
         private SenMLRecord setResourceValue(Object value, Type type, LwM2mPath resourcePath, String recordBaseName,
-                String recordName) {
+                BigDecimal recordBaseTime, String recordName) {
             LOG.trace("Encoding resource value {} in SenML", value);
 
             if (type == null || type == Type.NONE) {
@@ -409,8 +399,8 @@ public class LwM2mNodeSenMLEncoder implements TimestampedNodeEncoder, MultiNodeE
             default:
                 throw new CodecException("Invalid value type %s for %s", type, resourcePath);
             }
-            return new SenMLRecord(recordBaseName, null, recordName, null, recordNumberValue, recordBooleanValue, null,
-                    recordStringValue, recordopaqueValue);
+            return new SenMLRecord(recordBaseName, recordBaseTime, recordName, null, recordNumberValue,
+                    recordBooleanValue, null, recordStringValue, recordopaqueValue);
         }
     }
 }
@@ -15,8 +15,7 @@
  *******************************************************************************/
 package org.eclipse.leshan.core.node.codec.tlv;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Map.Entry;
@@ -40,9 +39,9 @@ import org.eclipse.leshan.core.node.ObjectLink;
 import org.eclipse.leshan.core.node.codec.CodecException;
 import org.eclipse.leshan.core.node.codec.LwM2mValueConverter;
 import org.eclipse.leshan.core.node.codec.NodeEncoder;
-import org.eclipse.leshan.core.tlv.Tlv;
 import org.eclipse.leshan.core.tlv.Tlv.TlvType;
 import org.eclipse.leshan.core.tlv.TlvEncoder;
+import org.eclipse.leshan.core.tlv.TlvWriter;
 import org.eclipse.leshan.core.util.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,9 +75,13 @@ public class LwM2mNodeTlvEncoder implements NodeEncoder {
         internalEncoder.model = model;
         internalEncoder.converter = converter;
         node.accept(internalEncoder);
-        return internalEncoder.out.toByteArray();
+        return internalEncoder.write();
     }
 
+    /**
+     * Encodes a node in 2 passes : visiting the node collects TLV entries and computes their length, then all entries
+     * are written in a buffer of the exact size.
+     */
     private class InternalEncoder implements LwM2mNodeVisitor {
 
         // visitor inputs
@@ -86,8 +89,15 @@ public class LwM2mNodeTlvEncoder implements NodeEncoder {
         private LwM2mModel model;
         private LwM2mValueConverter converter;
 
-        // visitor output
-        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // visitor output : TLV entries in writing order (a container is followed by its children)
+        private TlvType[] types = new TlvType[16];
+        private int[] identifiers = new int[16];
+        private int[] lengths = new int[16];
+        private Type[] valueTypes = new Type[16];
+        private Object[] values = new Object[16];
+        private int count;
+        // size of the TLV content collected so far
+        private int size;
 
         @Override
         public void visit(LwM2mRoot root) {
@@ -98,22 +108,12 @@ public class LwM2mNodeTlvEncoder implements NodeEncoder {
         public void visit(LwM2mObject object) {
             LOG.trace("Encoding object {} into TLV", object);
 
-            Tlv[] tlvs;
-
             // encoded as an array of instances
-            tlvs = new Tlv[object.getInstances().size()];
-            int i = 0;
             for (Entry<Integer, LwM2mObjectInstance> instance : object.getInstances().entrySet()) {
-                Tlv[] resources = encodeResources(instance.getValue().getResources().values(),
+                int entry = startContainer(TlvType.OBJECT_INSTANCE, instance.getKey());
+                addResources(instance.getValue().getResources().values(),
                         new LwM2mPath(object.getId(), instance.getKey()));
-                tlvs[i] = new Tlv(TlvType.OBJECT_INSTANCE, resources, null, instance.getKey());
-                i++;
-            }
-
-            try {
-                out.write(TlvEncoder.encode(tlvs).array());
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+                endContainer(entry);
             }
         }
 
@@ -121,23 +121,16 @@ public class LwM2mNodeTlvEncoder implements NodeEncoder {
         public void visit(LwM2mObjectInstance instance) {
             LOG.trace("Encoding object instance {} into TLV", instance);
 
-            Tlv[] tlvs;
             if (path.isObjectInstance() || instance.getId() == LwM2mObjectInstance.UNDEFINED) {
                 // the instanceId is part of the request path or is undefined
                 // so the instance TLV layer is not needed.
                 // encoded as an array of resource TLVs
-                tlvs = encodeResources(instance.getResources().values(), new LwM2mIncompletePath(path.getObjectId()));
+                addResources(instance.getResources().values(), new LwM2mIncompletePath(path.getObjectId()));
             } else {
                 // encoded as an instance TLV
-                Tlv[] resources = encodeResources(instance.getResources().values(),
-                        new LwM2mPath(path.getObjectId(), instance.getId()));
-                tlvs = new Tlv[] { new Tlv(TlvType.OBJECT_INSTANCE, resources, null, instance.getId()) };
-            }
-
-            try {
-                out.write(TlvEncoder.encode(tlvs).array());
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+                int entry = startContainer(TlvType.OBJECT_INSTANCE, instance.getId());
+                addResources(instance.getResources().values(), new LwM2mPath(path.getObjectId(), instance.getId()));
+                endContainer(entry);
             }
         }
 
@@ -145,46 +138,31 @@ public class LwM2mNodeTlvEncoder implements NodeEncoder {
         public void visit(LwM2mResource resource) {
             LOG.trace("Encoding resource {} into TLV", resource);
 
-            Tlv rTlv = encodeResource(resource, path);
-
-            try {
-                out.write(TlvEncoder.encode(new Tlv[] { rTlv }).array());
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
+            addResource(resource, path);
         }
 
-        private Tlv[] encodeResources(Collection<LwM2mResource> resources, LwM2mPath instancePath) {
-            Tlv[] rTlvs = new Tlv[resources.size()];
-            int i = 0;
+        private void addResources(Collection<LwM2mResource> resources, LwM2mPath instancePath) {
             for (LwM2mResource resource : resources) {
-                rTlvs[i] = encodeResource(resource, instancePath.append(resource.getId()));
-                i++;
+                addResource(resource, instancePath.append(resource.getId()));
             }
-            return rTlvs;
         }
 
-        private Tlv encodeResource(LwM2mResource resource, LwM2mPath resourcePath) {
+        private void addResource(LwM2mResource resource, LwM2mPath resourcePath) {
             ResourceModel rSpec = model.getResourceModel(path.getObjectId(), resource.getId());
             Type expectedType = rSpec != null ? rSpec.type : resource.getType();
 
-            Tlv rTlv;
             if (resource.isMultiInstances()) {
-                Tlv[] instances = new Tlv[resource.getInstances().size()];
-                int i = 0;
+                int entry = startContainer(TlvType.MULTIPLE_RESOURCE, resource.getId());
                 for (LwM2mResourceInstance resourceInstance : resource.getInstances().values()) {
                     LwM2mPath resourceInstancePath = resourcePath.append(resourceInstance.getId());
-                    instances[i] = encodeResourceInstance(resourceInstance, resourceInstancePath, expectedType);
-                    i++;
+                    addResourceInstance(resourceInstance, resourceInstancePath, expectedType);
                 }
-                rTlv = new Tlv(TlvType.MULTIPLE_RESOURCE, instances, null, resource.getId());
+                endContainer(entry);
             } else {
                 Object convertedValue = converter.convertValue(resource.getValue(), resource.getType(), expectedType,
                         resourcePath);
-                rTlv = new Tlv(TlvType.RESOURCE_VALUE, null,
-                        this.encodeTlvValue(convertedValue, expectedType, resourcePath), resource.getId());
+                addValue(TlvType.RESOURCE_VALUE, resource.getId(), convertedValue, expectedType, resourcePath);
             }
-            return rTlv;
         }
 
         @Override
@@ -194,24 +172,18 @@ public class LwM2mNodeTlvEncoder implements NodeEncoder {
             ResourceModel rSpec = model.getResourceModel(path.getObjectId(), path.getResourceId());
             Type expectedType = rSpec != null ? rSpec.type : resourceInstance.getType();
 
-            Tlv rTlv = encodeResourceInstance(resourceInstance, path, expectedType);
-
-            try {
-                out.write(TlvEncoder.encode(new Tlv[] { rTlv }).array());
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
+            addResourceInstance(resourceInstance, path, expectedType);
         }
 
-        private Tlv encodeResourceInstance(LwM2mResourceInstance resourceInstance, LwM2mPath resourceInstancePath,
+        private void addResourceInstance(LwM2mResourceInstance resourceInstance, LwM2mPath resourceInstancePath,
                 Type expectedType) {
             Object convertedValue = converter.convertValue(resourceInstance.getValue(), resourceInstance.getType(),
                     expectedType, resourceInstancePath);
-            return new Tlv(TlvType.RESOURCE_INSTANCE, null,
-                    this.encodeTlvValue(convertedValue, expectedType, resourceInstancePath), resourceInstance.getId());
+            addValue(TlvType.RESOURCE_INSTANCE, resourceInstance.getId(), convertedValue, expectedType,
+                    resourceInstancePath);
         }
 
-        private byte[] encodeTlvValue(Object value, Type type, LwM2mPath path) {
+        private void addValue(TlvType tlvType, int identifier, Object value, Type type, LwM2mPath path) {
             LOG.trace("Encoding value {} in TLV", value);
             if (type == null || type == Type.NONE) {
                 throw new CodecException(
@@ -221,22 +193,33 @@ public class LwM2mNodeTlvEncoder implements NodeEncoder {
             try {
                 switch (type) {
                 case STRING:
-                    return TlvEncoder.encodeString((String) value);
+                    byte[] bytes = TlvEncoder.encodeString((String) value);
+                    addEntry(tlvType, identifier, bytes.length, type, bytes);
+                    break;
                 case INTEGER:
                 case UNSIGNED_INTEGER:
-                    return TlvEncoder.encodeInteger((Number) value);
+                    addEntry(tlvType, identifier, TlvWriter.integerLength(((Number) value).longValue()), type, value);
+                    break;
                 case FLOAT:
-                    return TlvEncoder.encodeFloat((Number) value);
+                    addEntry(tlvType, identifier, TlvWriter.floatLength((Number) value), type, value);
+                    break;
                 case BOOLEAN:
-                    return TlvEncoder.encodeBoolean((Boolean) value);
+                    addEntry(tlvType, identifier, 1, type, (Boolean) value);
+                    break;
                 case TIME:
-                    return TlvEncoder.encodeDate((Date) value);
+                    long time = ((Date) value).getTime() / 1000L;
+                    addEntry(tlvType, identifier, TlvWriter.integerLength(time), type, time);
+                    break;
                 case OPAQUE:
-                    return (byte[]) value;
+                    addEntry(tlvType, identifier, ((byte[]) value).length, type, value);
+                    break;
                 case OBJLNK:
-                    return TlvEncoder.encodeObjlnk((ObjectLink) value);
+                    addEntry(tlvType, identifier, 4, type, (ObjectLink) value);
+                    break;
                 case CORELINK:
-                    return TlvEncoder.encodeString(linkSerializer.serializeCoreLinkFormat((Link[]) value));
+                    byte[] links = TlvEncoder.encodeString(linkSerializer.serializeCoreLinkFormat((Link[]) value));
+                    addEntry(tlvType, identifier, links.length, type, links);
+                    break;
                 default:
                     throw new CodecException("Invalid value %s for type %s of %s", value, type, path);
                 }
@@ -244,5 +227,80 @@ public class LwM2mNodeTlvEncoder implements NodeEncoder {
                 throw new CodecException(e, "Invalid value %s for type %s of %s", value, type, path);
             }
         }
+
+        /**
+         * Adds a container entry, its length will be known once all its children are added.
+         *
+         * @return the index of the entry to give to {@link #endContainer(int)}
+         */
+        private int startContainer(TlvType type, int identifier) {
+            int entry = count;
+            addEntry(type, identifier, 0, null, null);
+            // size of the container is added by endContainer()
+            size -= TlvWriter.sizeOf(identifier, 0);
+            lengths[entry] = size;
+            return entry;
+        }
+
+        private void endContainer(int entry) {
+            int start = lengths[entry];
+            lengths[entry] = size - start;
+            size = start + TlvWriter.sizeOf(identifiers[entry], lengths[entry]);
+        }
+
+        private void addEntry(TlvType type, int identifier, int length, Type valueType, Object value) {
+            if (count == types.length) {
+                int capacity = count * 2;
+                types = Arrays.copyOf(types, capacity);
+                identifiers = Arrays.copyOf(identifiers, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                valueTypes = Arrays.copyOf(valueTypes, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            types[count] = type;
+            identifiers[count] = identifier;
+            lengths[count] = length;
+            valueTypes[count] = valueType;
+            values[count] = value;
+            count++;
+            size += TlvWriter.sizeOf(identifier, length);
+        }
+
+        /**
+         * Writes all collected entries.
+         */
+        private byte[] write() {
+            TlvWriter writer = new TlvWriter(size);
+            for (int i = 0; i < count; i++) {
+                writer.writeHeader(types[i], identifiers[i], lengths[i]);
+                if (valueTypes[i] != null) {
+                    writeValue(writer, valueTypes[i], values[i]);
+                }
+            }
+            return writer.toByteArray();
+        }
+
+        private void writeValue(TlvWriter writer, Type type, Object value) {
+            switch (type) {
+            case INTEGER:
+            case UNSIGNED_INTEGER:
+            case TIME:
+                writer.writeInteger(((Number) value).longValue());
+                break;
+            case FLOAT:
+                writer.writeFloat((Number) value);
+                break;
+            case BOOLEAN:
+                writer.writeBoolean((Boolean) value);
+                break;
+            case OBJLNK:
+                writer.writeObjlnk((ObjectLink) value);
+                break;
+            default:
+                // STRING, OPAQUE and CORELINK are already encoded
+                writer.writeBytes((byte[]) value);
+                break;
+            }
+        }
     }
 }
@@ -22,12 +22,31 @@ import org.eclipse.leshan.core.ResponseCode;
  */
 public class BootstrapResponse extends AbstractLwM2mResponse {
 
+    private final Long maxAge;
+
     public BootstrapResponse(ResponseCode code, String errorMessage) {
         this(code, errorMessage, null);
     }
 
     public BootstrapResponse(ResponseCode code, String errorMessage, Object coapResponse) {
+        this(code, errorMessage, null, coapResponse);
+    }
+
+    /**
+     * @param maxAge the number of seconds after which the client may retry, only used with
+     *        {@link ResponseCode#SERVICE_UNAVAILABLE}. Can be <code>null</code>.
+     */
+    public BootstrapResponse(ResponseCode code, String errorMessage, Long maxAge, Object coapResponse) {
         super(code, errorMessage, coapResponse);
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * @return the number of seconds after which the client may retry (CoAP Max-Age option of a 5.03 response) or
+     *         <code>null</code> if there is no hint.
+     */
+    public Long getMaxAge() {
+        return maxAge;
     }
 
     @Override
@@ -41,6 +60,7 @@ public class BootstrapResponse extends AbstractLwM2mResponse {
         case ResponseCode.CHANGED_CODE:
         case ResponseCode.BAD_REQUEST_CODE:
         case ResponseCode.INTERNAL_SERVER_ERROR_CODE:
+        case ResponseCode.SERVICE_UNAVAILABLE_CODE:
             return true;
         default:
             return false;
@@ -68,4 +88,8 @@ public class BootstrapResponse extends AbstractLwM2mResponse {
     public static BootstrapResponse internalServerError(String errorMessage) {
         return new BootstrapResponse(ResponseCode.INTERNAL_SERVER_ERROR, errorMessage);
     }
+
+    public static BootstrapResponse serviceUnavailable(String errorMessage, long maxAge) {
+        return new BootstrapResponse(ResponseCode.SERVICE_UNAVAILABLE, errorMessage, maxAge, null);
+    }
 }
@@ -23,20 +23,39 @@ import org.eclipse.leshan.core.ResponseCode;
 public class RegisterResponse extends AbstractLwM2mResponse {
 
     private final String registrationID;
+    private final Long maxAge;
 
     public RegisterResponse(ResponseCode code, String registrationID, String errorMessage) {
         this(code, registrationID, errorMessage, null);
     }
 
     public RegisterResponse(ResponseCode code, String registrationID, String errorMessage, Object coapResponse) {
+        this(code, registrationID, errorMessage, null, coapResponse);
+    }
+
+    /**
+     * @param maxAge the number of seconds after which the client may retry, only used with
+     *        {@link ResponseCode#SERVICE_UNAVAILABLE}. Can be <code>null</code>.
+     */
+    public RegisterResponse(ResponseCode code, String registrationID, String errorMessage, Long maxAge,
+            Object coapResponse) {
         super(code, errorMessage, coapResponse);
         this.registrationID = registrationID;
+        this.maxAge = maxAge;
     }
 
     public String getRegistrationID() {
         return registrationID;
     }
 
+    /**
+     * @return the number of seconds after which the client may retry (CoAP Max-Age option of a 5.03 response) or
+     *         <code>null</code> if there is no hint.
+     */
+    public Long getMaxAge() {
+        return maxAge;
+    }
+
     @Override
     public boolean isSuccess() {
         return getCode() == ResponseCode.CREATED;
@@ -50,6 +69,7 @@ public class RegisterResponse extends AbstractLwM2mResponse {
         case ResponseCode.FORBIDDEN_CODE:
         case ResponseCode.PRECONDITION_FAILED_CODE:
         case ResponseCode.INTERNAL_SERVER_ERROR_CODE:
+        case ResponseCode.SERVICE_UNAVAILABLE_CODE:
             return true;
         default:
             return false;
@@ -85,4 +105,8 @@ public class RegisterResponse extends AbstractLwM2mResponse {
     public static RegisterResponse internalServerError(String errorMessage) {
         return new RegisterResponse(ResponseCode.INTERNAL_SERVER_ERROR, null, errorMessage);
     }
+
+    public static RegisterResponse serviceUnavailable(String errorMessage, long maxAge) {
+        return new RegisterResponse(ResponseCode.SERVICE_UNAVAILABLE, null, errorMessage, maxAge, null);
+    }
 }
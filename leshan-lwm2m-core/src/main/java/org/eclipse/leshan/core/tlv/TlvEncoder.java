@@ -15,9 +15,7 @@
  *******************************************************************************/
 package org.eclipse.leshan.core.tlv;
 
-import java.nio.Buffer;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
@@ -29,10 +27,6 @@ public class TlvEncoder {
 
     private static final Logger LOG = LoggerFactory.getLogger(TlvEncoder.class);
 
-    private static final int MAX_LENGTH_8BIT = 256;
-    private static final int MAX_LENGTH_16BIT = 65_536;
-    private static final int MAX_LENGTH_24BIT = 16_777_216;
-
     /**
      * Encodes an array of TLV.
      */
@@ -41,58 +35,34 @@ public class TlvEncoder {
 
         LOG.trace("start");
         for (Tlv tlv : tlvs) {
-
-            int length = tlvEncodedLength(tlv);
-            size += tlvEncodedSize(tlv, length);
+            size += TlvWriter.sizeOf(tlv.getIdentifier(), tlvEncodedLength(tlv));
             LOG.trace("tlv size : {}", size);
         }
         LOG.trace("done, size : {}", size);
-        ByteBuffer b = ByteBuffer.allocate(size);
-        b.order(ByteOrder.BIG_ENDIAN);
+        TlvWriter writer = new TlvWriter(size);
         for (Tlv tlv : tlvs) {
-            encode(tlv, b);
+            encode(tlv, writer);
         }
-        // HACK the cast is necessary for binary backward compatibility bug introduce in Java 9
-        // https://github.com/apache/felix/pull/114
-        ((Buffer) b).flip();
-        return b;
+        return ByteBuffer.wrap(writer.toByteArray());
     }
 
     /**
      * Encodes an integer value.
      */
     public static byte[] encodeInteger(Number number) {
-        ByteBuffer iBuf;
         long lValue = number.longValue();
-        if (lValue >= Byte.MIN_VALUE && lValue <= Byte.MAX_VALUE) {
-            iBuf = ByteBuffer.allocate(1);
-            iBuf.put((byte) lValue);
-        } else if (lValue >= Short.MIN_VALUE && lValue <= Short.MAX_VALUE) {
-            iBuf = ByteBuffer.allocate(2);
-            iBuf.putShort((short) lValue);
-        } else if (lValue >= Integer.MIN_VALUE && lValue <= Integer.MAX_VALUE) {
-            iBuf = ByteBuffer.allocate(4);
-            iBuf.putInt((int) lValue);
-        } else {
-            iBuf = ByteBuffer.allocate(8);
-            iBuf.putLong(lValue);
-        }
-        return iBuf.array();
+        TlvWriter writer = new TlvWriter(TlvWriter.integerLength(lValue));
+        writer.writeInteger(lValue);
+        return writer.toByteArray();
     }
 
     /**
      * Encodes a floating point value.
      */
     public static byte[] encodeFloat(Number number) {
-        ByteBuffer fBuf;
-        if (number instanceof Float) {
-            fBuf = ByteBuffer.allocate(4);
-            fBuf.putFloat(number.floatValue());
-        } else {
-            fBuf = ByteBuffer.allocate(8);
-            fBuf.putDouble(number.doubleValue());
-        }
-        return fBuf.array();
+        TlvWriter writer = new TlvWriter(TlvWriter.floatLength(number));
+        writer.writeFloat(number);
+        return writer.toByteArray();
     }
 
     /**
@@ -113,52 +83,16 @@ public class TlvEncoder {
      * Encodes a date value.
      */
     public static byte[] encodeDate(Date value) {
-        ByteBuffer tBuf;
-        long lValue = value.getTime() / 1000L;
-        if (lValue <= Byte.MAX_VALUE && lValue >= Byte.MIN_VALUE) {
-            tBuf = ByteBuffer.allocate(1);
-            tBuf.put((byte) lValue);
-        } else if (lValue <= Short.MAX_VALUE && lValue >= Short.MIN_VALUE) {
-            tBuf = ByteBuffer.allocate(2);
-            tBuf.putShort((short) lValue);
-        } else if (lValue <= Integer.MAX_VALUE && lValue >= Integer.MIN_VALUE) {
-            tBuf = ByteBuffer.allocate(4);
-            tBuf.putInt((int) lValue);
-        } else {
-            tBuf = ByteBuffer.allocate(8);
-            tBuf.putLong(lValue);
-        }
-        return tBuf.array();
+        return encodeInteger(value.getTime() / 1000L);
     }
 
     /**
      * Encodes a Objlnk value.
      */
     public static byte[] encodeObjlnk(ObjectLink value) {
-        ByteBuffer objlnkBuffer = ByteBuffer.allocate(4).order(ByteOrder.BIG_ENDIAN);
-        objlnkBuffer.putShort(0, (short) value.getObjectId());
-        objlnkBuffer.putShort(2, (short) value.getObjectInstanceId());
-        return objlnkBuffer.array();
-    }
-
-    private static int tlvEncodedSize(Tlv tlv, int length) {
-        int size = 1 /* HEADER */;
-        size += (tlv.getIdentifier() < MAX_LENGTH_8BIT) ? 1 : 2; /* 8 bits or 16 bits identifiers */
-
-        if (length < 8) {
-            size += 0;
-        } else if (length < MAX_LENGTH_8BIT) {
-            size += 1;
-        } else if (length < MAX_LENGTH_16BIT) {
-            size += 2;
-        } else if (length < MAX_LENGTH_24BIT) {
-            size += 3;
-        } else {
-            throw new IllegalArgumentException("length should fit in max 24bits");
-        }
-
-        size += length;
-        return size;
+        TlvWriter writer = new TlvWriter(4);
+        writer.writeObjlnk(value);
+        return writer.toByteArray();
     }
 
     private static int tlvEncodedLength(Tlv tlv) {
@@ -171,82 +105,24 @@ public class TlvEncoder {
         default:
             length = 0;
             for (Tlv child : tlv.getChildren()) {
-                int subLength = tlvEncodedLength(child);
-                length += tlvEncodedSize(child, subLength);
+                length += TlvWriter.sizeOf(child.getIdentifier(), tlvEncodedLength(child));
             }
         }
 
         return length;
     }
 
-    private static void encode(Tlv tlv, ByteBuffer b) {
-        int length;
-        length = tlvEncodedLength(tlv);
-        int typeByte;
-
-        switch (tlv.getType()) {
-        case OBJECT_INSTANCE:
-            typeByte = 0b00_000000;
-            break;
-        case RESOURCE_INSTANCE:
-            typeByte = 0b01_000000;
-            break;
-        case MULTIPLE_RESOURCE:
-            typeByte = 0b10_000000;
-            break;
-        case RESOURCE_VALUE:
-            // encode the value
-            typeByte = 0b11_000000;
-            break;
-        default:
-            throw new IllegalArgumentException("unknown TLV type : '" + tlv.getType() + "'");
-        }
-
-        // encode identifier length
-        typeByte |= (tlv.getIdentifier() < MAX_LENGTH_8BIT) ? 0b00_0000 : 0b10_0000;
-
-        // type of length
-        if (length < 8) {
-            typeByte |= length;
-        } else if (length < MAX_LENGTH_8BIT) {
-            typeByte |= 0b0000_1000;
-        } else if (length < MAX_LENGTH_16BIT) {
-            typeByte |= 0b0001_0000;
-        } else {
-            typeByte |= 0b0001_1000;
-        }
-
-        // fill the buffer
-        b.put((byte) typeByte);
-        if (tlv.getIdentifier() < MAX_LENGTH_8BIT) {
-            b.put((byte) tlv.getIdentifier());
-        } else {
-            b.putShort((short) tlv.getIdentifier());
-        }
-
-        // write length
-
-        if (length >= 8) {
-            if (length < MAX_LENGTH_8BIT) {
-                b.put((byte) length);
-            } else if (length < MAX_LENGTH_16BIT) {
-                b.putShort((short) length);
-            } else {
-                int msb = (length & 0xFF_00_00) >> 16;
-                b.put((byte) msb);
-                b.putShort((short) (length & 0xFF_FF));
-                typeByte |= 0b0001_1000;
-            }
-        }
+    private static void encode(Tlv tlv, TlvWriter writer) {
+        writer.writeHeader(tlv.getType(), tlv.getIdentifier(), tlvEncodedLength(tlv));
 
         switch (tlv.getType()) {
         case RESOURCE_VALUE:
         case RESOURCE_INSTANCE:
-            b.put(tlv.getValue());
+            writer.writeBytes(tlv.getValue());
             break;
         default:
             for (Tlv child : tlv.getChildren()) {
-                encode(child, b);
+                encode(child, writer);
             }
             break;
         }
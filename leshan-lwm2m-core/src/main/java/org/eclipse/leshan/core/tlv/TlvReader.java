@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.tlv;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.eclipse.leshan.core.node.ObjectLink;
+import org.eclipse.leshan.core.tlv.Tlv.TlvType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cursor over a sequence of TLV entries stored in a {@link ByteBuffer}.
+ * <p>
+ * Unlike {@link TlvDecoder#decode(ByteBuffer)}, no {@link Tlv} object is created and values are decoded directly from
+ * the buffer : only opaque values (and core links) are copied.
+ * <p>
+ * Usage :
+ *
+ * <pre>
+ * TlvReader reader = new TlvReader(buffer);
+ * while (reader.hasNext()) {
+ *     reader.next();
+ *     if (reader.getType() == TlvType.RESOURCE_VALUE) {
+ *         long value = reader.readInteger();
+ *     } else {
+ *         TlvReader children = reader.children();
+ *     }
+ * }
+ * </pre>
+ *
+ * The input buffer is never modified : neither its position nor its byte order (TLV is always big endian).
+ */
+public class TlvReader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TlvReader.class);
+
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int end;
+    private int position;
+
+    // current TLV
+    private TlvType type;
+    private int identifier;
+    private int valueOffset;
+    private int length;
+
+    /**
+     * Creates a reader for TLV entries between the position and the limit of the given buffer.
+     */
+    public TlvReader(ByteBuffer buffer) {
+        this(buffer, ((Buffer) buffer).position(), ((Buffer) buffer).limit());
+    }
+
+    private TlvReader(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        this.position = start;
+    }
+
+    /**
+     * @return <code>true</code> if there is a TLV entry after the current one.
+     */
+    public boolean hasNext() {
+        return position < end;
+    }
+
+    /**
+     * @return the type of the next TLV entry without moving to it, or <code>null</code> if there is no more entry.
+     */
+    public TlvType peekType() {
+        if (!hasNext()) {
+            return null;
+        }
+        return typeOf(buffer.get(position) & 0xFF);
+    }
+
+    /**
+     * @return the number of TLV entries in this sequence. All headers are read (and so validated) but not the values.
+     */
+    public int count() throws TlvException {
+        TlvReader reader = new TlvReader(buffer, start, end);
+        int count = 0;
+        while (reader.hasNext()) {
+            reader.next();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Moves to the next TLV entry, reading its header.
+     *
+     * @throws TlvException if header is invalid or if value is longer than remaining content.
+     */
+    public void next() throws TlvException {
+        if (!hasNext()) {
+            throw new TlvException("No more TLV");
+        }
+
+        // decode type
+        int typeByte = buffer.get(position++) & 0xFF;
+        type = typeOf(typeByte);
+
+        // decode identifier
+        if ((typeByte & 0b0010_0000) == 0) {
+            identifier = readUnsigned(1, "identifier");
+        } else {
+            identifier = readUnsigned(2, "identifier");
+        }
+        LOG.trace("decoding {} {}", type, identifier);
+
+        // decode length
+        int lengthType = typeByte & 0b0001_1000;
+        switch (lengthType) {
+        case 0b0000_0000:
+            // 3 bit length
+            length = typeByte & 0b0000_0111;
+            break;
+        case 0b0000_1000:
+            // 8 bit length
+            length = readUnsigned(1, "length");
+            break;
+        case 0b0001_0000:
+            // 16 bit length
+            length = readUnsigned(2, "length");
+            break;
+        default:
+            // 24 bit length
+            length = readUnsigned(3, "length");
+            break;
+        }
+        LOG.trace("length: {} (length type: {})", length, lengthType);
+
+        // skip value
+        if (length > end - position) {
+            throw new TlvException("Invalid 'value' length");
+        }
+        valueOffset = position;
+        position += length;
+    }
+
+    private int readUnsigned(int size, String field) throws TlvException {
+        if (end - position < size) {
+            throw new TlvException(String.format("Invalid '%s' length", field));
+        }
+        int value = 0;
+        for (int i = 0; i < size; i++) {
+            value = (value << 8) | (buffer.get(position++) & 0xFF);
+        }
+        return value;
+    }
+
+    private static TlvType typeOf(int typeByte) {
+        switch (typeByte & 0b1100_0000) {
+        case 0b0000_0000:
+            return TlvType.OBJECT_INSTANCE;
+        case 0b0100_0000:
+            return TlvType.RESOURCE_INSTANCE;
+        case 0b1000_0000:
+            return TlvType.MULTIPLE_RESOURCE;
+        default:
+            return TlvType.RESOURCE_VALUE;
+        }
+    }
+
+    public TlvType getType() {
+        return type;
+    }
+
+    public int getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * @return the length of the value of the current TLV entry.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return a reader for the TLV entries contained in the current TLV entry (for {@link TlvType#OBJECT_INSTANCE} and
+     *         {@link TlvType#MULTIPLE_RESOURCE}).
+     */
+    public TlvReader children() {
+        return new TlvReader(buffer, valueOffset, valueOffset + length);
+    }
+
+    /**
+     * @return a copy of the value of the current TLV entry.
+     */
+    public byte[] readOpaque() {
+        byte[] value = new byte[length];
+        if (buffer.hasArray()) {
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + valueOffset, value, 0, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                value[i] = buffer.get(valueOffset + i);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Decodes the value of the current TLV entry as a string.
+     */
+    public String readString() {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + valueOffset, length, StandardCharsets.UTF_8);
+        }
+        return new String(readOpaque(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the value of the current TLV entry as a signed integer (1, 2, 4 or 8 bytes).
+     */
+    public long readInteger() throws TlvException {
+        if (length == 0 || length > 8) {
+            throw new TlvException("Invalid length for an integer value: " + length);
+        }
+        return readSignedLong();
+    }
+
+    /**
+     * Decodes the value of the current TLV entry as a float (4 or 8 bytes).
+     */
+    public double readFloat() throws TlvException {
+        if (length == 4) {
+            return Float.intBitsToFloat((int) readSignedLong());
+        } else if (length == 8) {
+            return Double.longBitsToDouble(readSignedLong());
+        } else {
+            throw new TlvException("Invalid length for a float value: " + length);
+        }
+    }
+
+    /**
+     * Decodes the value of the current TLV entry as a boolean.
+     */
+    public boolean readBoolean() throws TlvException {
+        if (length == 1) {
+            byte value = buffer.get(valueOffset);
+            if (value == 0) {
+                return false;
+            } else if (value == 1) {
+                return true;
+            } else {
+                LOG.warn("Boolean value should be encoded as integer with value 0 or 1, not {}", value);
+                return false;
+            }
+        }
+        throw new TlvException("Invalid length for a boolean value: " + length);
+    }
+
+    /**
+     * Decodes the value of the current TLV entry as a date (number of seconds since epoch).
+     */
+    public Date readDate() throws TlvException {
+        if (length == 0 || length > 8) {
+            throw new TlvException("Invalid length for a time value: " + length);
+        }
+        return new Date(readSignedLong() * 1000L);
+    }
+
+    /**
+     * Decodes the value of the current TLV entry as an object link.
+     */
+    public ObjectLink readObjlnk() throws TlvException {
+        if (length > 4) {
+            throw new TlvException("Invalid length for an objlnk value: " + length);
+        }
+        // missing bytes are considered as 0
+        byte[] value = Arrays.copyOf(readOpaque(), 4);
+        int objectId = ((value[0] & 0xFF) << 8) | (value[1] & 0xFF);
+        int objectInstanceId = ((value[2] & 0xFF) << 8) | (value[3] & 0xFF);
+        return new ObjectLink(objectId, objectInstanceId);
+    }
+
+    private long readSignedLong() {
+        // big endian two's complement
+        long value = buffer.get(valueOffset);
+        for (int i = 1; i < length; i++) {
+            value = (value << 8) | (buffer.get(valueOffset + i) & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.tlv;
+
+import java.util.Arrays;
+
+import org.eclipse.leshan.core.node.ObjectLink;
+import org.eclipse.leshan.core.tlv.Tlv.TlvType;
+
+/**
+ * Writes TLV entries into a single byte array allocated up front.
+ * <p>
+ * Size of the array must be computed before writing, using {@link #sizeOf(int, int)} for each entry and
+ * {@link #integerLength(long)} or {@link #floatLength(Number)} for values. A container entry (
+ * {@link TlvType#OBJECT_INSTANCE} or {@link TlvType#MULTIPLE_RESOURCE}) is written with
+ * {@link #writeHeader(TlvType, int, int)} followed by its children.
+ */
+public class TlvWriter {
+
+    private static final int MAX_LENGTH_8BIT = 256;
+    private static final int MAX_LENGTH_16BIT = 65_536;
+    private static final int MAX_LENGTH_24BIT = 16_777_216;
+
+    private final byte[] buffer;
+    private int position;
+
+    /**
+     * Creates a writer for a TLV content of exactly <code>size</code> bytes.
+     */
+    public TlvWriter(int size) {
+        this.buffer = new byte[size];
+    }
+
+    /**
+     * @return the number of bytes needed to encode a TLV entry with the given identifier and value length.
+     * @throws IllegalArgumentException if length does not fit in 24 bits.
+     */
+    public static int sizeOf(int identifier, int length) {
+        int size = 1 /* HEADER */;
+        size += (identifier < MAX_LENGTH_8BIT) ? 1 : 2; /* 8 bits or 16 bits identifiers */
+
+        if (length < 8) {
+            size += 0;
+        } else if (length < MAX_LENGTH_8BIT) {
+            size += 1;
+        } else if (length < MAX_LENGTH_16BIT) {
+            size += 2;
+        } else if (length < MAX_LENGTH_24BIT) {
+            size += 3;
+        } else {
+            throw new IllegalArgumentException("length should fit in max 24bits");
+        }
+
+        return size + length;
+    }
+
+    /**
+     * @return the number of bytes (1, 2, 4 or 8) needed to encode the given integer value.
+     */
+    public static int integerLength(long value) {
+        if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            return 1;
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            return 2;
+        } else if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return 4;
+        } else {
+            return 8;
+        }
+    }
+
+    /**
+     * @return the number of bytes needed to encode the given floating point value : 4 for a {@link Float}, 8 else.
+     */
+    public static int floatLength(Number value) {
+        return value instanceof Float ? 4 : 8;
+    }
+
+    /**
+     * Writes the header of a TLV entry (type, identifier and length of the value).
+     */
+    public void writeHeader(TlvType type, int identifier, int length) {
+        int typeByte;
+        switch (type) {
+        case OBJECT_INSTANCE:
+            typeByte = 0b00_000000;
+            break;
+        case RESOURCE_INSTANCE:
+            typeByte = 0b01_000000;
+            break;
+        case MULTIPLE_RESOURCE:
+            typeByte = 0b10_000000;
+            break;
+        case RESOURCE_VALUE:
+            typeByte = 0b11_000000;
+            break;
+        default:
+            throw new IllegalArgumentException("unknown TLV type : '" + type + "'");
+        }
+
+        // encode identifier length
+        typeByte |= (identifier < MAX_LENGTH_8BIT) ? 0b00_0000 : 0b10_0000;
+
+        // type of length
+        if (length < 8) {
+            typeByte |= length;
+        } else if (length < MAX_LENGTH_8BIT) {
+            typeByte |= 0b0000_1000;
+        } else if (length < MAX_LENGTH_16BIT) {
+            typeByte |= 0b0001_0000;
+        } else {
+            typeByte |= 0b0001_1000;
+        }
+
+        buffer[position++] = (byte) typeByte;
+        if (identifier < MAX_LENGTH_8BIT) {
+            writeBigEndian(identifier, 1);
+        } else {
+            writeBigEndian(identifier, 2);
+        }
+
+        // write length
+        if (length >= 8) {
+            if (length < MAX_LENGTH_8BIT) {
+                writeBigEndian(length, 1);
+            } else if (length < MAX_LENGTH_16BIT) {
+                writeBigEndian(length, 2);
+            } else {
+                writeBigEndian(length, 3);
+            }
+        }
+    }
+
+    /**
+     * Writes an integer value on the minimal number of bytes given by {@link #integerLength(long)}.
+     */
+    public void writeInteger(long value) {
+        writeBigEndian(value, integerLength(value));
+    }
+
+    /**
+     * Writes a floating point value on the number of bytes given by {@link #floatLength(Number)}.
+     */
+    public void writeFloat(Number value) {
+        if (value instanceof Float) {
+            writeBigEndian(Float.floatToRawIntBits(value.floatValue()), 4);
+        } else {
+            writeBigEndian(Double.doubleToRawLongBits(value.doubleValue()), 8);
+        }
+    }
+
+    public void writeBoolean(boolean value) {
+        buffer[position++] = (byte) (value ? 1 : 0);
+    }
+
+    public void writeObjlnk(ObjectLink value) {
+        writeBigEndian(value.getObjectId(), 2);
+        writeBigEndian(value.getObjectInstanceId(), 2);
+    }
+
+    public void writeBytes(byte[] value) {
+        System.arraycopy(value, 0, buffer, position, value.length);
+        position += value.length;
+    }
+
+    private void writeBigEndian(long value, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            buffer[position++] = (byte) (value >> (8 * i));
+        }
+    }
+
+    /**
+     * @return the written TLV content.
+     */
+    public byte[] toByteArray() {
+        if (position == buffer.length) {
+            return buffer;
+        }
+        return Arrays.copyOf(buffer, position);
+    }
+}
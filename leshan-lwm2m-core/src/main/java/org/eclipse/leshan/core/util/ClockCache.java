@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * A bounded concurrent cache using the CLOCK eviction policy (also known as second chance), an approximation of LRU
+ * which does not need any lock on read.
+ * <p>
+ * Entries are kept in insertion order in a circular queue and marked as referenced when they are read. When the cache
+ * is full, the clock hand goes through the queue : referenced entries are unmarked and get a second chance, the first
+ * entry which was not referenced since the last pass is evicted.
+ * <p>
+ * The cache may briefly hold a few more entries than its maximum size when entries are added concurrently. Values must
+ * not be <code>null</code>.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public class ClockCache<K, V> {
+
+    private final int maxEntries;
+    private final ConcurrentMap<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+    // the clock : head is the next entry checked by the clock hand. It could contain nodes of removed entries which are
+    // dropped when the hand reaches them.
+    private final ConcurrentLinkedQueue<Node<K, V>> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger clockSize = new AtomicInteger();
+
+    /**
+     * @param maxEntries the maximum number of entries kept in cache.
+     */
+    public ClockCache(int maxEntries) {
+        Validate.isTrue(maxEntries > 0, "maxEntries must be positive");
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the value associated to this key or <code>null</code> if it is not in cache.
+     */
+    public V get(K key) {
+        Node<K, V> node = entries.get(key);
+        if (node == null) {
+            return null;
+        }
+        // avoid a volatile write on each read
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        return node.value;
+    }
+
+    /**
+     * Associates a value to a key, evicting an entry if the cache is full.
+     */
+    public void put(K key, V value) {
+        compute(key, (k, previous) -> value);
+    }
+
+    /**
+     * Atomically computes the value associated to a key from its current value, like
+     * {@link ConcurrentMap#compute(Object, BiFunction)}.
+     *
+     * @param remappingFunction the function computing the new value from the key and the current value (
+     *        <code>null</code> if there is none). If it returns <code>null</code> the entry is removed.
+     * @return the new value associated to the key or <code>null</code> if there is none.
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Validate.notNull(remappingFunction);
+        @SuppressWarnings("unchecked")
+        Node<K, V>[] added = new Node[1];
+        Node<K, V> node = entries.compute(key, (k, current) -> {
+            V value = remappingFunction.apply(k, current == null ? null : current.value);
+            if (value == null) {
+                return null;
+            }
+            if (current == null) {
+                added[0] = new Node<>(k, value);
+                return added[0];
+            }
+            current.value = value;
+            current.referenced = true;
+            return current;
+        });
+        if (added[0] != null) {
+            clock.offer(added[0]);
+            clockSize.incrementAndGet();
+            evictIfNeeded();
+        }
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Removes the entry of this key.
+     *
+     * @return the removed value or <code>null</code> if key was not in cache.
+     */
+    public V remove(K key) {
+        Node<K, V> node = entries.remove(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of entries currently in cache.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Performs the given action for each entry of the cache. Entries are not marked as referenced.
+     * <p>
+     * Like iterators of {@link ConcurrentHashMap}, it is weakly consistent : entries added or removed concurrently may
+     * or may not be seen.
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Validate.notNull(action);
+        entries.forEach((key, node) -> action.accept(key, node.value));
+    }
+
+    /**
+     * Called each time an entry is evicted because the cache is full. Default implementation does nothing.
+     */
+    protected void onEviction(K key, V value) {
+    }
+
+    private void evictIfNeeded() {
+        // bound work done by one caller, concurrent callers share eviction.
+        for (int i = 0; i < 2 * maxEntries + 16; i++) {
+            boolean full = entries.size() > maxEntries;
+            // nodes of removed entries are only dropped by the clock hand, so move it when there are too many.
+            if (!full && clockSize.get() <= 2 * maxEntries) {
+                return;
+            }
+            Node<K, V> node = clock.poll();
+            if (node == null) {
+                return;
+            }
+            clockSize.decrementAndGet();
+            if (entries.get(node.key) != node) {
+                // removed entry
+                continue;
+            }
+            if (!full || node.referenced) {
+                // second chance
+                if (full) {
+                    node.referenced = false;
+                }
+                clock.offer(node);
+                clockSize.incrementAndGet();
+                continue;
+            }
+            if (entries.remove(node.key, node)) {
+                onEviction(node.key, node.value);
+            }
+        }
+    }
+
+    private static class Node<K, V> {
+        private final K key;
+        private volatile V value;
+        private volatile boolean referenced;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
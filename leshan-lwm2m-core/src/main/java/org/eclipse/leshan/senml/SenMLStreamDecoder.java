@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.senml;
+
+/**
+ * A {@link SenMLDecoder} able to give records one by one to a handler, without building an intermediate
+ * {@link SenMLPack}.
+ * <p>
+ * How much of the payload is kept in memory at once depends on the implementation.
+ */
+public interface SenMLStreamDecoder extends SenMLDecoder {
+
+    /**
+     * Receives records as soon as they are decoded.
+     */
+    @FunctionalInterface
+    interface RecordHandler {
+        void onRecord(SenMLRecord record) throws SenMLException;
+    }
+
+    /**
+     * Decodes the given SenML payload and gives each record to the handler, in payload order.
+     *
+     * @param encodedSenML the SenML payload, an empty or <code>null</code> payload contains no record.
+     * @param handler the handler receiving decoded records.
+     * @throws SenMLException if payload is invalid or if handler raised it.
+     */
+    void decode(byte[] encodedSenML, RecordHandler handler) throws SenMLException;
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.senml;
+
+import java.io.OutputStream;
+
+/**
+ * A {@link SenMLEncoder} able to write records one by one to an output, without building a {@link SenMLPack} nor an
+ * intermediate tree of the payload.
+ */
+public interface SenMLStreamEncoder extends SenMLEncoder {
+
+    /**
+     * Receives records to encode.
+     */
+    @FunctionalInterface
+    interface RecordWriter {
+        void write(SenMLRecord record) throws SenMLException;
+    }
+
+    /**
+     * Gives records to encode, in payload order.
+     */
+    @FunctionalInterface
+    interface RecordProducer {
+        void produce(RecordWriter writer) throws SenMLException;
+    }
+
+    /**
+     * Encodes records given by the producer as a SenML payload written to the given output.
+     * <p>
+     * The output is not closed, so it can be reused (e.g. a {@link java.io.ByteArrayOutputStream} which is reset).
+     *
+     * @param producer the producer of records to encode.
+     * @param out the output where SenML payload is written.
+     * @throws SenMLException if a record is invalid, if producer raised it or if output can not be written.
+     */
+    void encode(RecordProducer producer, OutputStream out) throws SenMLException;
+}
@@ -15,8 +15,11 @@
  *******************************************************************************/
 package org.eclipse.leshan.senml.cbor.upokecenter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 
 import org.eclipse.leshan.core.util.datatype.NumberUtil;
@@ -33,6 +36,7 @@ import com.upokecenter.cbor.CBORType;
 public class SenMLCborPackSerDes {
 
     private final boolean allowNoValue;
+    private final boolean keepingInsertionOrder;
 
     public SenMLCborPackSerDes() {
         this(false);
@@ -48,7 +52,21 @@ public class SenMLCborPackSerDes {
      * @param allowNoValue <code>True</code> to not check if there is a value for each SenML record.
      */
     public SenMLCborPackSerDes(boolean allowNoValue) {
+        this(allowNoValue, false);
+    }
+
+    /**
+     * Create SenML-CBOR serializer/deserializer based on CBOR-JAVA.
+     *
+     * @param allowNoValue <code>True</code> to not check if there is a value for each SenML record.
+     * @param keepingInsertionOrder <code>True</code> to serialize record fields in insertion order instead of CBOR-JAVA
+     *        map order. This is a kind of HACK using reflection which could make testing easier but could bring
+     *        performance penalty.
+     * @see <a href="https://github.com/peteroupc/CBOR-Java/issues/13">CBOR-Java#13 issue</a>
+     */
+    public SenMLCborPackSerDes(boolean allowNoValue, boolean keepingInsertionOrder) {
         this.allowNoValue = allowNoValue;
+        this.keepingInsertionOrder = keepingInsertionOrder;
     }
 
     public SenMLPack deserializeFromCbor(Collection<CBORObject> objects) throws SenMLException {
@@ -236,13 +254,11 @@ public class SenMLCborPackSerDes {
                 }
             }
         case Double:
+            return o.AsDoubleValue();
         case EFloat:
         case EDecimal:
-            if (number.CanFitInDouble()) {
-                return o.AsDoubleValue();
-            } else {
-                return (BigDecimal) o.ToObject(BigDecimal.class);
-            }
+            // bigfloat and decimal fraction (e.g. BigDecimal time encoded by this class) can not be read as double
+            return (BigDecimal) o.ToObject(BigDecimal.class);
         default:
             throw new SenMLException("Invalid SenML record: unexpected kind of number %s is not supported in %s",
                     number.getKind(), o);
@@ -328,7 +344,142 @@ public class SenMLCborPackSerDes {
         }
     }
 
+    /**
+     * Serializes a record directly to the given output, without building a {@link CBORObject} tree.
+     * <p>
+     * Output is the same than the one of {@link #serializeToCbor(SenMLPack)} with default {@link #newMap()}. Fields are
+     * written in the order used by CBOR-JAVA map, or in insertion order if <code>keepingInsertionOrder</code> is used.
+     */
+    public void serializeRecord(SenMLRecord record, OutputStream out) throws SenMLException, IOException {
+        Type type = record.getType();
+        if (type == null && !allowNoValue) {
+            throw new SenMLException("Invalid SenML record : record must have a value (v,vb,vlo,vd,vs) : %s", record);
+        }
+
+        boolean hasBaseName = record.getBaseName() != null && !record.getBaseName().isEmpty();
+        boolean hasName = record.getName() != null && !record.getName().isEmpty();
+        Object valueKey = getValueKey(record);
+
+        int size = (hasBaseName ? 1 : 0) + (record.getBaseTime() != null ? 1 : 0) + (hasName ? 1 : 0)
+                + (record.getTime() != null ? 1 : 0) + (valueKey != null ? 1 : 0);
+        CBORObject.WriteValue(out, 5, size);
+
+        if (keepingInsertionOrder) {
+            if (hasBaseName)
+                writeField(-2, record.getBaseName(), out);
+            if (record.getBaseTime() != null)
+                writeField(-3, record.getBaseTime(), out);
+            if (hasName)
+                writeField(0, record.getName(), out);
+            if (record.getTime() != null)
+                writeField(6, record.getTime(), out);
+            if (valueKey != null)
+                writeValue(record, out);
+        } else {
+            // CBOR-JAVA map sorts keys by their encoding : 0, 2, 3, 4, 6, 8, -2, -3, "vlo"
+            if (hasName)
+                writeField(0, record.getName(), out);
+            if (valueKey instanceof Integer && (Integer) valueKey < 6)
+                writeValue(record, out);
+            if (record.getTime() != null)
+                writeField(6, record.getTime(), out);
+            if (valueKey instanceof Integer && (Integer) valueKey > 6)
+                writeValue(record, out);
+            if (hasBaseName)
+                writeField(-2, record.getBaseName(), out);
+            if (record.getBaseTime() != null)
+                writeField(-3, record.getBaseTime(), out);
+            if (valueKey instanceof String)
+                writeValue(record, out);
+        }
+    }
+
+    private Object getValueKey(SenMLRecord record) {
+        Type type = record.getType();
+        if (type == null) {
+            return null;
+        }
+        switch (type) {
+        case NUMBER:
+            Number value = record.getNumberValue();
+            if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long
+                    || value instanceof BigInteger || value instanceof ULong || value instanceof Float
+                    || value instanceof Double || value instanceof BigDecimal) {
+                return 2;
+            }
+            return null;
+        case BOOLEAN:
+            return 4;
+        case OBJLNK:
+            return "vlo";
+        case OPAQUE:
+            return 8;
+        case STRING:
+            return 3;
+        default:
+            return null;
+        }
+    }
+
+    private void writeValue(SenMLRecord record, OutputStream out) throws IOException {
+        switch (record.getType()) {
+        case NUMBER:
+            CBORObject.Write(2, out);
+            Number value = record.getNumberValue();
+            if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long) {
+                CBORObject.Write(value.longValue(), out);
+            } else if (value instanceof ULong) {
+                CBORObject.Write(NumberUtil.unsignedLongToEInteger(((ULong) value).longValue()), out);
+            } else if (value instanceof Float) {
+                // same value than float, so same shortest encoding (CBORObject.Write(float) does not encode it as
+                // CBORObject.FromObject(float))
+                CBORObject.Write((double) value.floatValue(), out);
+            } else if (value instanceof Double) {
+                CBORObject.Write(value.doubleValue(), out);
+            } else {
+                CBORObject.FromObject(value).WriteTo(out);
+            }
+            break;
+        case BOOLEAN:
+            CBORObject.Write(4, out);
+            CBORObject.Write(record.getBooleanValue().booleanValue(), out);
+            break;
+        case OBJLNK:
+            writeString("vlo", out);
+            writeString(record.getObjectLinkValue(), out);
+            break;
+        case OPAQUE:
+            CBORObject.Write(8, out);
+            byte[] opaque = record.getOpaqueValue();
+            CBORObject.WriteValue(out, 2, opaque.length);
+            out.write(opaque);
+            break;
+        case STRING:
+            writeField(3, record.getStringValue(), out);
+            break;
+        default:
+            break;
+        }
+    }
+
+    private void writeField(int key, String value, OutputStream out) throws IOException {
+        CBORObject.Write(key, out);
+        writeString(value, out);
+    }
+
+    private void writeField(int key, BigDecimal value, OutputStream out) throws IOException {
+        CBORObject.Write(key, out);
+        CBORObject.FromObject(value).WriteTo(out);
+    }
+
+    private void writeString(String value, OutputStream out) throws IOException {
+        // always use definite length text string (major type 3)
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        CBORObject.WriteValue(out, 3, bytes.length);
+        out.write(bytes);
+    }
+
     protected CBORObject newMap() {
-        return CBORObject.NewMap();
+        return keepingInsertionOrder ? CBORObject.NewOrderedMap() : CBORObject.NewMap();
     }
 }
@@ -15,10 +15,17 @@
  *******************************************************************************/
 package org.eclipse.leshan.senml.cbor.upokecenter;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
 import org.eclipse.leshan.senml.SenMLDecoder;
 import org.eclipse.leshan.senml.SenMLEncoder;
 import org.eclipse.leshan.senml.SenMLException;
 import org.eclipse.leshan.senml.SenMLPack;
+import org.eclipse.leshan.senml.SenMLStreamDecoder;
+import org.eclipse.leshan.senml.SenMLStreamEncoder;
 
 import com.upokecenter.cbor.CBORException;
 import com.upokecenter.cbor.CBORObject;
@@ -28,7 +35,8 @@ import com.upokecenter.cbor.CBORType;
  * Helper for encoding/decoding SenML CBOR using <a href="https://github.com/peteroupc/CBOR-Java">"upokecenter"
  * CBOR-Java</a>
  */
-public class SenMLCborUpokecenterEncoderDecoder implements SenMLDecoder, SenMLEncoder {
+public class SenMLCborUpokecenterEncoderDecoder
+        implements SenMLDecoder, SenMLStreamDecoder, SenMLEncoder, SenMLStreamEncoder {
     private final SenMLCborPackSerDes serDes;
 
     public SenMLCborUpokecenterEncoderDecoder() {
@@ -48,14 +56,7 @@ public class SenMLCborUpokecenterEncoderDecoder implements SenMLDecoder, SenMLEn
      * @see <a href="https://github.com/peteroupc/CBOR-Java/issues/13">CBOR-Java#13 issue</a>
      */
     public SenMLCborUpokecenterEncoderDecoder(boolean keepingInsertionOrder, boolean allowNoValue) {
-        this(/* if */ keepingInsertionOrder ? /* then */
-                new SenMLCborPackSerDes(allowNoValue) {
-                    @Override
-                    protected CBORObject newMap() {
-                        return CBORObject.NewOrderedMap();
-                    }
-
-                }/* else */ : new SenMLCborPackSerDes(allowNoValue));
+        this(new SenMLCborPackSerDes(allowNoValue, keepingInsertionOrder));
     }
 
     public SenMLCborUpokecenterEncoderDecoder(SenMLCborPackSerDes senmlSerDes) {
@@ -69,6 +70,41 @@ public class SenMLCborUpokecenterEncoderDecoder implements SenMLDecoder, SenMLEn
         return serDes.serializeToCbor(pack);
     }
 
+    /**
+     * Writes records one by one without building {@link CBORObject} maps when the default {@link SenMLCborPackSerDes}
+     * is used. Else a whole {@link SenMLPack} is built first.
+     * <p>
+     * As SenML array is encoded with a definite length, records are written to a buffer before the array header.
+     */
+    @Override
+    public void encode(RecordProducer producer, OutputStream out) throws SenMLException {
+        try {
+            if (serDes.getClass() != SenMLCborPackSerDes.class) {
+                SenMLPack pack = new SenMLPack();
+                producer.produce(pack::addRecord);
+                out.write(toSenML(pack));
+                return;
+            }
+
+            ByteArrayOutputStream records = new ByteArrayOutputStream(256);
+            int[] count = new int[1];
+            producer.produce(record -> {
+                try {
+                    serDes.serializeRecord(record, records);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new SenMLException("Unable to serialize SenML in CBOR", e);
+                }
+            });
+            CBORObject.WriteValue(out, 4, count[0]);
+            records.writeTo(out);
+        } catch (IOException e) {
+            throw new SenMLException("Unable to serialize SenML in CBOR", e);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new SenMLException(e, "Unable to serialize SenML in CBOR");
+        }
+    }
+
     @Override
     public SenMLPack fromSenML(byte[] data) throws SenMLException {
         try {
@@ -86,4 +122,69 @@ public class SenMLCborUpokecenterEncoderDecoder implements SenMLDecoder, SenMLEn
             throw new SenMLException("Unable to parse SenML CBOR.", e);
         }
     }
+
+    /**
+     * Decodes records one by one: only the header of the SenML array is read by hand, then each record is read as a
+     * single {@link CBORObject}, so the whole payload is never decoded as one object tree.
+     * <p>
+     * As each record still goes through a {@link CBORObject}, this is not faster than {@link #fromSenML(byte[])}.
+     */
+    @Override
+    public void decode(byte[] data, RecordHandler handler) throws SenMLException {
+        // handle empty payload
+        if (data == null || data.length == 0) {
+            return;
+        }
+
+        // read array header (major type 4)
+        int initialByte = data[0] & 0xFF;
+        if (initialByte >>> 5 != 4) {
+            throw new SenMLException("Unable to parse SenML CBOR: Array expected but major type was %d",
+                    initialByte >>> 5);
+        }
+        int additionalInfo = initialByte & 0x1F;
+        long size;
+        int headerLength;
+        if (additionalInfo < 24) {
+            size = additionalInfo;
+            headerLength = 1;
+        } else if (additionalInfo <= 27) {
+            headerLength = 1 + (1 << (additionalInfo - 24));
+            if (data.length < headerLength) {
+                throw new SenMLException("Unable to parse SenML CBOR: truncated array header");
+            }
+            size = 0;
+            for (int i = 1; i < headerLength; i++) {
+                size = (size << 8) | (data[i] & 0xFF);
+            }
+            if (size < 0) {
+                throw new SenMLException("Unable to parse SenML CBOR: array is too large");
+            }
+        } else if (additionalInfo == 31) {
+            size = -1; // indefinite length, ended by a "break" byte
+            headerLength = 1;
+        } else {
+            throw new SenMLException("Unable to parse SenML CBOR: invalid array header %02x", initialByte);
+        }
+
+        // read records
+        ByteArrayInputStream in = new ByteArrayInputStream(data, headerLength, data.length - headerLength);
+        try {
+            for (long i = 0; size < 0 || i < size; i++) {
+                if (size < 0 && in.available() > 0 && (data[data.length - in.available()] & 0xFF) == 0xFF) {
+                    in.skip(1);
+                    break;
+                }
+                CBORObject record = CBORObject.Read(in);
+                handler.onRecord(serDes.deserializeRecord(record));
+            }
+        } catch (CBORException e) {
+            throw new SenMLException("Unable to parse SenML CBOR.", e);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new SenMLException(e, "Unable to parse SenML CBOR.");
+        }
+        if (in.available() > 0) {
+            throw new SenMLException("Unable to parse SenML CBOR: %d unexpected bytes after array", in.available());
+        }
+    }
 }
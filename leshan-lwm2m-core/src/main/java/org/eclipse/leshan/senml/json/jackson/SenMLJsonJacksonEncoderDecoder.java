@@ -15,6 +15,7 @@
 package org.eclipse.leshan.senml.json.jackson;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
 import org.eclipse.leshan.core.util.base64.Base64Decoder;
 import org.eclipse.leshan.core.util.base64.Base64Encoder;
@@ -31,7 +32,13 @@ import org.eclipse.leshan.senml.SenMLEncoder;
 import org.eclipse.leshan.senml.SenMLException;
 import org.eclipse.leshan.senml.SenMLPack;
 import org.eclipse.leshan.senml.SenMLRecord;
+import org.eclipse.leshan.senml.SenMLStreamDecoder;
+import org.eclipse.leshan.senml.SenMLStreamEncoder;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -40,7 +47,8 @@ import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
 /**
  * Helper for encoding/decoding SenML JSON using Jackson
  */
-public class SenMLJsonJacksonEncoderDecoder implements SenMLDecoder, SenMLEncoder {
+public class SenMLJsonJacksonEncoderDecoder
+        implements SenMLDecoder, SenMLStreamDecoder, SenMLEncoder, SenMLStreamEncoder {
     private final JacksonJsonSerDes<SenMLRecord> serDes;
     private final ObjectMapper mapper;
 
@@ -93,6 +101,41 @@ public class SenMLJsonJacksonEncoderDecoder implements SenMLDecoder, SenMLEncode
         }
     }
 
+    /**
+     * Writes records one by one using Jackson streaming API when the default {@link SenMLJsonRecordSerDes} is used.
+     * Else a whole {@link SenMLPack} is built first.
+     */
+    @Override
+    public void encode(RecordProducer producer, OutputStream out) throws SenMLException {
+        if (!(serDes instanceof SenMLJsonRecordSerDes)) {
+            SenMLPack pack = new SenMLPack();
+            producer.produce(pack::addRecord);
+            try {
+                out.write(toSenML(pack));
+            } catch (IOException e) {
+                throw new SenMLException("Unable to serialize SenML JSON.", e);
+            }
+            return;
+        }
+
+        SenMLJsonRecordSerDes recordSerDes = (SenMLJsonRecordSerDes) serDes;
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            // output is owned by caller
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            producer.produce(record -> {
+                try {
+                    recordSerDes.serialize(record, generator);
+                } catch (JsonException | IOException e) {
+                    throw new SenMLException("Unable to serialize SenML JSON.", e);
+                }
+            });
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new SenMLException("Unable to serialize SenML JSON.", e);
+        }
+    }
+
     @Override
     public SenMLPack fromSenML(byte[] jsonString) throws SenMLException {
         try {
@@ -112,4 +155,39 @@ public class SenMLJsonJacksonEncoderDecoder implements SenMLDecoder, SenMLEncode
             throw new SenMLException("Unable to parse SenML JSON.", e);
         }
     }
+
+    /**
+     * Decodes records one by one using Jackson streaming API when the default {@link SenMLJsonRecordSerDes} is used.
+     * Else the whole {@link SenMLPack} is decoded first.
+     */
+    @Override
+    public void decode(byte[] jsonString, RecordHandler handler) throws SenMLException {
+        // handle empty payload
+        if (jsonString == null || jsonString.length == 0) {
+            return;
+        }
+
+        if (!(serDes instanceof SenMLJsonRecordSerDes)) {
+            for (SenMLRecord record : fromSenML(jsonString).getRecords()) {
+                handler.onRecord(record);
+            }
+            return;
+        }
+
+        SenMLJsonRecordSerDes recordSerDes = (SenMLJsonRecordSerDes) serDes;
+        try (JsonParser parser = mapper.getFactory().createParser(jsonString)) {
+            JsonToken token = parser.nextToken();
+            if (token != JsonToken.START_ARRAY) {
+                throw new SenMLException("Unable to parse SenML JSON: JsonArray expected but was %s", token);
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new SenMLException("Unable to parse SenML JSON: unexpected end of content");
+                }
+                handler.onRecord(recordSerDes.deserialize(parser));
+            }
+        } catch (JsonException | IOException e) {
+            throw new SenMLException("Unable to parse SenML JSON.", e);
+        }
+    }
 }
@@ -14,6 +14,7 @@
 
 package org.eclipse.leshan.senml.json.jackson;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
@@ -26,6 +27,9 @@ import org.eclipse.leshan.core.util.json.JsonException;
 import org.eclipse.leshan.senml.SenMLRecord;
 import org.eclipse.leshan.senml.SenMLRecord.Type;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -124,6 +128,80 @@ public class SenMLJsonRecordSerDes extends JacksonJsonSerDes<SenMLRecord> {
         return jsonObj;
     }
 
+    /**
+     * Serializes the record with the given generator, without building a {@link JsonNode}.
+     * <p>
+     * Output is the same than the one of {@link #jSerialize(SenMLRecord)}.
+     */
+    public void serialize(SenMLRecord record, JsonGenerator generator) throws JsonException, IOException {
+        Type type = record.getType();
+        if (type == null && !allowNoValue) {
+            throw new JsonException("Invalid SenML record : record must have a value (v,vb,vlo,vd,vs) : %s", record);
+        }
+
+        generator.writeStartObject();
+        if (record.getBaseName() != null && record.getBaseName().length() > 0) {
+            generator.writeStringField("bn", record.getBaseName());
+        }
+
+        if (record.getBaseTime() != null) {
+            generator.writeNumberField("bt", record.getBaseTime());
+        }
+
+        if (record.getName() != null && record.getName().length() > 0) {
+            generator.writeStringField("n", record.getName());
+        }
+
+        if (record.getTime() != null) {
+            generator.writeNumberField("t", record.getTime());
+        }
+
+        if (type != null) {
+            switch (type) {
+            case NUMBER:
+                Number value = record.getNumberValue();
+                // integer
+                if (value instanceof Byte || value instanceof Short || value instanceof Integer) {
+                    generator.writeNumberField("v", value.intValue());
+                } else if (value instanceof Long) {
+                    generator.writeNumberField("v", value.longValue());
+                } else if (value instanceof BigInteger) {
+                    generator.writeFieldName("v");
+                    generator.writeNumber((BigInteger) value);
+                }
+                // unsigned integer
+                else if (value instanceof ULong) {
+                    generator.writeFieldName("v");
+                    generator.writeNumber(((ULong) value).toBigInteger());
+                }
+                // floating-point
+                else if (value instanceof Float) {
+                    generator.writeNumberField("v", value.floatValue());
+                } else if (value instanceof Double) {
+                    generator.writeNumberField("v", value.doubleValue());
+                } else if (value instanceof BigDecimal) {
+                    generator.writeNumberField("v", (BigDecimal) value);
+                }
+                break;
+            case BOOLEAN:
+                generator.writeBooleanField("vb", record.getBooleanValue());
+                break;
+            case OBJLNK:
+                generator.writeStringField("vlo", record.getObjectLinkValue());
+                break;
+            case OPAQUE:
+                generator.writeStringField("vd", base64Encoder.encode(record.getOpaqueValue()));
+                break;
+            case STRING:
+                generator.writeStringField("vs", record.getStringValue());
+                break;
+            default:
+                break;
+            }
+        }
+        generator.writeEndObject();
+    }
+
     @Override
     public SenMLRecord deserialize(JsonNode o) throws JsonException {
         if (o == null)
@@ -196,4 +274,92 @@ public class SenMLJsonRecordSerDes extends JacksonJsonSerDes<SenMLRecord> {
         return new SenMLRecord(recordBaseName, recordBaseTime, recordName, recordTime, recordNumberValue,
                 recordBooleanValue, recordObjectLinkValue, recordStringValue, recordOpaqueValue);
     }
+
+    /**
+     * Deserializes the record at current position of the parser, without building a {@link JsonNode} tree.
+     * <p>
+     * Fields are handled like in {@link #deserialize(JsonNode)}: unexpected fields or fields with unexpected types are
+     * ignored.
+     *
+     * @param parser a parser positioned on the first token of the record. After this call, it is positioned on the last
+     *        token of the record.
+     */
+    public SenMLRecord deserialize(JsonParser parser) throws JsonException, IOException {
+        String recordBaseName = null;
+        BigDecimal recordBaseTime = null;
+        String recordName = null;
+        BigDecimal recordTime = null;
+        Number recordNumberValue = null;
+        Boolean recordBooleanValue = null;
+        String recordStringValue = null;
+        String recordObjectLinkValue = null;
+        byte[] recordOpaqueValue = null;
+
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            // not an object so there is no field to read
+            parser.skipChildren();
+        } else {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                case "bn":
+                    recordBaseName = token == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    break;
+                case "bt":
+                    recordBaseTime = token.isNumeric() ? new BigDecimal(parser.getText()) : null;
+                    break;
+                case "n":
+                    recordName = token == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    break;
+                case "t":
+                    recordTime = token.isNumeric() ? new BigDecimal(parser.getText()) : null;
+                    break;
+                case "v":
+                    if (token == JsonToken.VALUE_NUMBER_INT) {
+                        recordNumberValue = parser.getNumberValue();
+                    } else if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+                        recordNumberValue = parser.getDecimalValue();
+                    } else {
+                        recordNumberValue = null;
+                    }
+                    break;
+                case "vb":
+                    recordBooleanValue = token.isBoolean() ? parser.getBooleanValue() : null;
+                    break;
+                case "vs":
+                    recordStringValue = token == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    break;
+                case "vlo":
+                    recordObjectLinkValue = token == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    break;
+                case "vd":
+                    if (token == JsonToken.VALUE_STRING) {
+                        String vd = parser.getText();
+                        try {
+                            recordOpaqueValue = base64Decoder.decode(vd);
+                        } catch (InvalidBase64Exception exception) {
+                            throw new JsonException(exception, "Node vd with value '%s' is not in valid Base64 format.",
+                                    vd);
+                        }
+                    } else {
+                        recordOpaqueValue = null;
+                    }
+                    break;
+                default:
+                    break;
+                }
+                // ignore content of unexpected objects or arrays
+                if (token.isStructStart()) {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        SenMLRecord record = new SenMLRecord(recordBaseName, recordBaseTime, recordName, recordTime, recordNumberValue,
+                recordBooleanValue, recordObjectLinkValue, recordStringValue, recordOpaqueValue);
+        if (!allowNoValue && record.getType() == null)
+            throw new JsonException("Invalid SenML record : record must have a value (v,vb,vlo,vd,vs) : %s", record);
+        return record;
+    }
 }
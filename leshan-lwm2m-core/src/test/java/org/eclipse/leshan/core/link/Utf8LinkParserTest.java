@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.link;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.eclipse.leshan.core.link.attributes.AttributeModel;
+import org.eclipse.leshan.core.link.attributes.Attributes;
+import org.eclipse.leshan.core.link.attributes.DefaultAttributeParser;
+import org.eclipse.leshan.core.link.lwm2m.attributes.LwM2mAttributes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class Utf8LinkParserTest {
+
+    private final DefaultAttributeParser attributeParser;
+    private final LinkParser parser;
+    private final LinkParser expectedParser;
+
+    public Utf8LinkParserTest() {
+        Collection<AttributeModel<?>> suppportedAttributes = new ArrayList<AttributeModel<?>>();
+        suppportedAttributes.addAll(Attributes.ALL);
+        suppportedAttributes.addAll(LwM2mAttributes.ALL);
+        attributeParser = new DefaultAttributeParser(suppportedAttributes);
+        parser = new Utf8LinkParser(attributeParser);
+        expectedParser = new DefaultLinkParser(attributeParser);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { //
+            "</>;rt=\"oma.lwm2m\";ct=11543,</1>;ver=1.1,</1/0>,</3>;ver=1.1,</3/0>,</3303/0>,</3303/1>", //
+            "</lwm2m>;rt=\"oma.lwm2m oma.lwm2m.ext\";ct=\"60 110 112 11542 11543\",</lwm2m/1/0>", //
+            "</>", //
+            "</uri/>,</uri//>,</uri//a>,</%20>,</-._~a-zA-Z0-9:@!$&'()*+,;=>", //
+            "</foo>;param=\"<\",</bar>;param2=\">\"", //
+            "</foo>;param=\",\";param2=\";\";param3=\" \\\" \\\\ \\x \\ą \"", //
+            "</foo>;param=!#$%&'()*+-.:<=>?@[]^_`{|}~a1z9;param2=\"foo\";param3,</bar>", //
+            "</foo>;title=\"fóó\";obs;pmin=10;pmax=60;gt=20.5;lt=-3;st=1", //
+            "</3/0/1>;dim=3,</3/0/2>;dim=0", //
+    })
+    void parse_same_links_as_default_parser(String linkValueList) throws LinkParseException {
+        byte[] bytes = linkValueList.getBytes(StandardCharsets.UTF_8);
+
+        Link[] expected = expectedParser.parseCoreLinkFormat(bytes);
+        assertArrayEquals(expected, parser.parseCoreLinkFormat(bytes));
+        // parse twice to check interned values
+        assertArrayEquals(expected, parser.parseCoreLinkFormat(bytes));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { //
+            "<file:///etc/hosts>", //
+            "</%a>", //
+            "</fóó>", //
+            "</foo>;pąrąm", //
+            "</foo>;param=ą", //
+            "</foo>;param=\"bar", //
+            "</foo>;param=\"bar\\\"", //
+            "</foo>;param=\"bar\"baz", //
+            "</>;=", //
+            "</>;param=", //
+            "</>;param=123 ", //
+            "</>;ct=abc", //
+            "</>;ver=1", //
+            "</>;pmin", //
+            "</>;rt=\"oma.lwm2m\";rt=\"oma.lwm2m\"", //
+            "<>", //
+            "</", //
+            "<//>", //
+            "</>,", //
+            "</>;", //
+            "</>, </>", //
+            " </>,</>", //
+    })
+    void raise_same_errors_as_default_parser(String linkValueList) {
+        byte[] bytes = linkValueList.getBytes(StandardCharsets.UTF_8);
+
+        LinkParseException expected = assertThrowsExactly(LinkParseException.class, () -> {
+            expectedParser.parseCoreLinkFormat(bytes);
+        });
+        LinkParseException actual = assertThrowsExactly(LinkParseException.class, () -> {
+            parser.parseCoreLinkFormat(bytes);
+        });
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    @Test
+    void intern_uris_and_attributes() throws LinkParseException {
+        byte[] bytes = "</>;rt=\"oma.lwm2m\";ct=11543,</1>;ver=1.1,</3>;ver=1.1".getBytes(StandardCharsets.UTF_8);
+
+        Link[] first = parser.parseCoreLinkFormat(bytes);
+        Link[] second = parser.parseCoreLinkFormat(bytes);
+
+        assertSame(first[1].getUriReference(), second[1].getUriReference());
+        assertSame(first[0].getAttributes().get(Attributes.RT), second[0].getAttributes().get(Attributes.RT));
+        assertSame(first[0].getAttributes().get(Attributes.CT), second[0].getAttributes().get(Attributes.CT));
+        assertSame(first[1].getAttributes().get(LwM2mAttributes.OBJECT_VERSION),
+                second[2].getAttributes().get(LwM2mAttributes.OBJECT_VERSION));
+    }
+
+    @Test
+    void parse_empty_payload() throws LinkParseException {
+        assertEquals(0, parser.parseCoreLinkFormat(null).length);
+        assertEquals(0, parser.parseCoreLinkFormat(new byte[0]).length);
+    }
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.link.lwm2m;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.link.LinkParseException;
+import org.junit.jupiter.api.Test;
+
+public class CachingLwM2mLinkParserTest {
+
+    private final CachingLwM2mLinkParser parser = new CachingLwM2mLinkParser(new DefaultLwM2mLinkParser(), 2);
+
+    @Test
+    public void share_links_of_identical_payloads() throws LinkParseException {
+        byte[] payload = "</>;rt=\"oma.lwm2m\",</1/0>,</3/0>".getBytes(StandardCharsets.UTF_8);
+
+        Link[] links = parser.parseCoreLinkFormat(payload);
+        assertArrayEquals(new DefaultLwM2mLinkParser().parseCoreLinkFormat(payload), links);
+
+        // a copy of the payload gets a new array of same link instances
+        Link[] sameLinks = parser.parseCoreLinkFormat(payload.clone());
+        assertNotSame(links, sameLinks);
+        assertSame(links[1], sameLinks[1]);
+
+        // modifying returned array does not corrupt the cache
+        links[1] = new Link("/2/0");
+        assertEquals("/1/0", parser.parseCoreLinkFormat(payload)[1].getUriReference());
+
+        // modifying given payload does not corrupt the cache
+        payload[payload.length - 2] = '1';
+        Link[] otherLinks = parser.parseCoreLinkFormat(payload);
+        assertNotSame(sameLinks[2], otherLinks[2]);
+        assertEquals("/3/1", otherLinks[2].getUriReference());
+        assertEquals(2, parser.size());
+    }
+
+    @Test
+    public void keep_most_recently_used_payloads() throws LinkParseException {
+        byte[] payload1 = "</1/0>".getBytes(StandardCharsets.UTF_8);
+        byte[] payload2 = "</2/0>".getBytes(StandardCharsets.UTF_8);
+        byte[] payload3 = "</3/0>".getBytes(StandardCharsets.UTF_8);
+
+        Link[] links1 = parser.parseCoreLinkFormat(payload1);
+        Link[] links2 = parser.parseCoreLinkFormat(payload2);
+        parser.parseCoreLinkFormat(payload1);
+        parser.parseCoreLinkFormat(payload3);
+
+        // payload2 is the least recently used one
+        assertEquals(2, parser.size());
+        assertSame(links1[0], parser.parseCoreLinkFormat(payload1)[0]);
+        assertNotSame(links2[0], parser.parseCoreLinkFormat(payload2)[0]);
+    }
+
+    @Test
+    public void do_not_cache_invalid_payload() {
+        byte[] payload = "</1/0>;".getBytes(StandardCharsets.UTF_8);
+
+        assertThrowsExactly(LinkParseException.class, () -> parser.parseCoreLinkFormat(payload));
+        assertEquals(0, parser.size());
+    }
+}
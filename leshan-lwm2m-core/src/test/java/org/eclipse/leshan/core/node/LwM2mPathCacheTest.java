@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.node;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class LwM2mPathCacheTest {
+
+    private final LwM2mPathCache cache = new LwM2mPathCache(16);
+
+    @Test
+    public void get_returns_same_instance_for_same_path() {
+        LwM2mPath resource = cache.get("/3/0/1");
+        assertEquals(new LwM2mPath(3, 0, 1), resource);
+        assertSame(resource, cache.get("3/0/1/"));
+        assertSame(resource, cache.get(3, 0, 1));
+
+        LwM2mPath instance = cache.get(3, 0);
+        assertEquals(new LwM2mPath(3, 0), instance);
+        assertSame(instance, cache.get("/3/0"));
+
+        assertEquals(new LwM2mPath(3), cache.get(3));
+        assertEquals(LwM2mPath.ROOTPATH, cache.get("/"));
+        assertEquals(new LwM2mPath(3, 0, 1, 2), cache.get("/3/0/1/2"));
+    }
+
+    @Test
+    public void get_paths_which_can_not_be_cached() {
+        assertEquals(new LwM2mPath(65535), cache.get(65535));
+        assertEquals(new LwM2mPath(3, 0, 65535), cache.get("/3/0/65535"));
+        assertEquals(new LwM2mPath(3, 0), cache.get("/+3/0"));
+    }
+
+    @Test
+    public void get_invalid_paths() {
+        assertThrows(InvalidLwM2mPathException.class, () -> cache.get(-1));
+        assertThrows(InvalidLwM2mPathException.class, () -> cache.get(3, 65535));
+        assertThrows(InvalidLwM2mPathException.class, () -> cache.get("/3//0"));
+        assertThrows(IllegalArgumentException.class, () -> new LwM2mPathCache(10));
+    }
+}
@@ -16,6 +16,8 @@
 package org.eclipse.leshan.core.node;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
@@ -74,6 +76,51 @@ public class LwM2mPathTest {
 
     }
 
+    static Stream<Arguments> parseTestArguments() {
+        return Stream.of( //
+                arguments("", LwM2mPath.ROOTPATH), //
+                arguments("/", LwM2mPath.ROOTPATH), //
+                arguments("3", new LwM2mPath(3)), //
+                arguments("/3/0/", new LwM2mPath(3, 0)), //
+                arguments("3/0/1", new LwM2mPath(3, 0, 1)), //
+                arguments("/3/0/1/2", new LwM2mPath(3, 0, 1, 2)), //
+                arguments("/00003/0", new LwM2mPath(3, 0)), //
+                arguments("/65535/0/65535/65535", new LwM2mPath(65535, 0, 65535, 65535)), //
+                arguments("/+3/0", new LwM2mPath(3, 0)), //
+                arguments("/3/0//", new LwM2mPath(3, 0)));
+    }
+
+    @ParameterizedTest(name = "[{0}] parsed as [{1}]")
+    @MethodSource("parseTestArguments")
+    public void test_parse(String path, LwM2mPath expected) {
+        LwM2mPath parsed = new LwM2mPath(path);
+        assertEquals(expected, parsed);
+        assertEquals(expected.hashCode(), parsed.hashCode());
+        assertEquals(expected.toString(), parsed.toString());
+    }
+
+    @ParameterizedTest(name = "[{0}] is invalid")
+    @MethodSource("invalidPathArguments")
+    public void test_parse_invalid(String path) {
+        assertThrows(InvalidLwM2mPathException.class, () -> new LwM2mPath(path));
+    }
+
+    static Stream<String> invalidPathArguments() {
+        return Stream.of("/3//1", "//3", "/3/65535", "/3/0/1/2/3", "/3/a", "/-1", "/3/0/99999999999");
+    }
+
+    @Test
+    public void test_start_with() {
+        LwM2mPath path = new LwM2mPath(3, 0, 7, 1);
+        assertTrue(path.startWith(LwM2mPath.ROOTPATH));
+        assertTrue(path.startWith(new LwM2mPath(3)));
+        assertTrue(path.startWith(new LwM2mPath(3, 0, 7)));
+        assertTrue(path.startWith(path));
+        assertFalse(path.startWith(new LwM2mPath(3, 1)));
+        assertFalse(new LwM2mPath(3, 0).startWith(new LwM2mPath(3, 0, 7)));
+        assertFalse(LwM2mPath.ROOTPATH.startWith(new LwM2mPath(3)));
+    }
+
     @Test
     public void assertEqualsHashcode() {
         EqualsVerifier.forClass(LwM2mPath.class).withRedefinedSubclass(LwM2mIncompletePath.class).verify();
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.node.codec.senml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.leshan.core.model.LwM2mModel;
+import org.eclipse.leshan.core.model.StaticModel;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.util.TestObjectLoader;
+import org.eclipse.leshan.senml.SenMLException;
+import org.eclipse.leshan.senml.cbor.upokecenter.SenMLCborUpokecenterEncoderDecoder;
+import org.eclipse.leshan.senml.json.jackson.SenMLJsonJacksonEncoderDecoder;
+import org.junit.jupiter.api.Test;
+
+public class LwM2mNodeSenMLDecoderTest {
+
+    private final LwM2mModel model = new StaticModel(TestObjectLoader.loadAllDefault());
+    private final List<LwM2mPath> paths = Arrays.asList(new LwM2mPath("/3/0"));
+
+    @Test
+    public void pack_and_stream_decoding_give_same_nodes() throws SenMLException {
+        SenMLJsonJacksonEncoderDecoder json = new SenMLJsonJacksonEncoderDecoder();
+        SenMLCborUpokecenterEncoderDecoder cbor = new SenMLCborUpokecenterEncoderDecoder();
+        byte[] jsonPayload = givenPayload(100);
+        byte[] cborPayload = cbor.toSenML(json.fromSenML(jsonPayload));
+
+        assertEquals(
+                new LwM2mNodeSenMLDecoder(json, true, false).decodeTimestampedNodes(jsonPayload, null, paths, model),
+                new LwM2mNodeSenMLDecoder(json, true, true).decodeTimestampedNodes(jsonPayload, null, paths, model));
+        assertEquals(
+                new LwM2mNodeSenMLDecoder(cbor, false, false).decodeTimestampedNodes(cborPayload, null, paths, model),
+                new LwM2mNodeSenMLDecoder(cbor, false, true).decodeTimestampedNodes(cborPayload, null, paths, model));
+    }
+
+    private byte[] givenPayload(int timestamps) {
+        StringBuilder b = new StringBuilder("[");
+        for (int i = 0; i < timestamps; i++) {
+            if (i > 0)
+                b.append(",");
+            b.append("{\"bn\":\"/3/0/\",\"bt\":").append(1_700_000_000 + i).append(",\"n\":\"9\",\"v\":")
+                    .append(i % 100).append("},");
+            b.append("{\"n\":\"10\",\"v\":").append(1000 + i).append("},");
+            b.append("{\"n\":\"7/0\",\"v\":").append(3800 + i).append("},");
+            b.append("{\"n\":\"7/1\",\"v\":").append(5000 + i).append("},");
+            b.append("{\"n\":\"14\",\"vs\":\"+02:00\"}");
+        }
+        return b.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.senml.cbor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+
+import org.eclipse.leshan.core.util.Hex;
+import org.eclipse.leshan.senml.SenMLException;
+import org.eclipse.leshan.senml.SenMLPack;
+import org.eclipse.leshan.senml.SenMLRecord;
+import org.eclipse.leshan.senml.SenMLStreamDecoder;
+import org.eclipse.leshan.senml.cbor.upokecenter.SenMLCborUpokecenterEncoderDecoder;
+import org.eclipse.leshan.senml.json.jackson.SenMLJsonJacksonEncoderDecoder;
+import org.junit.jupiter.api.Test;
+
+public class SenMLStreamDecoderTest extends AbstractSenMLTest {
+
+    private final SenMLJsonJacksonEncoderDecoder json = new SenMLJsonJacksonEncoderDecoder();
+    private final SenMLCborUpokecenterEncoderDecoder cbor = new SenMLCborUpokecenterEncoderDecoder();
+
+    private SenMLPack decode(SenMLStreamDecoder decoder, byte[] content) throws SenMLException {
+        SenMLPack pack = new SenMLPack();
+        decoder.decode(content, pack::addRecord);
+        return pack;
+    }
+
+    @Test
+    public void stream_decode_json_device_object() throws SenMLException {
+        byte[] content = givenSenMLJsonExample().getBytes();
+
+        SenMLTestUtil.assertSenMLPackEquals(givenDeviceObjectInstance(), decode(json, content));
+        SenMLTestUtil.assertSenMLPackEquals(json.fromSenML(content), decode(json, content));
+    }
+
+    @Test
+    public void stream_decode_cbor_device_object() throws SenMLException {
+        byte[] content = Hex.decodeHex(givenSenMLCborExample().toCharArray());
+
+        SenMLTestUtil.assertSenMLPackEquals(givenDeviceObjectInstance(), decode(cbor, content));
+        SenMLTestUtil.assertSenMLPackEquals(cbor.fromSenML(content), decode(cbor, content));
+    }
+
+    @Test
+    public void stream_decode_json_ignores_unexpected_fields() throws SenMLException {
+        byte[] content = ("[{\"bn\":\"/3/0/\",\"n\":1,\"x\":{\"n\":\"2\",\"a\":[1,2]},\"v\":1.50,\"bt\":25},"
+                + "{\"n\":\"2\",\"vs\":\"a\",\"vs\":\"b\",\"t\":-5}]").getBytes();
+
+        SenMLPack pack = decode(json, content);
+        SenMLTestUtil.assertSenMLPackEquals(json.fromSenML(content), pack);
+
+        SenMLRecord first = pack.getRecords().get(0);
+        assertEquals(null, first.getName());
+        assertEquals(new BigDecimal("1.50"), first.getNumberValue());
+        assertEquals(new BigDecimal("25"), first.getBaseTime());
+        assertEquals("b", pack.getRecords().get(1).getStringValue());
+    }
+
+    @Test
+    public void stream_decode_cbor_indefinite_length_array() throws SenMLException {
+        // [_ {0:"1", 2:1}, {0:"2", 3:"a"}]
+        byte[] content = Hex.decodeHex("9fa200613102 01a20061320361 61ff".replace(" ", "").toCharArray());
+
+        SenMLPack pack = decode(cbor, content);
+        SenMLTestUtil.assertSenMLPackEquals(cbor.fromSenML(content), pack);
+        assertEquals(2, pack.getRecords().size());
+    }
+
+    @Test
+    public void stream_decode_empty_payload() throws SenMLException {
+        assertEquals(0, decode(json, new byte[0]).getRecords().size());
+        assertEquals(0, decode(cbor, new byte[0]).getRecords().size());
+    }
+
+    @Test
+    public void stream_decode_invalid_payload() {
+        assertThrows(SenMLException.class, () -> decode(json, "{\"n\":\"1\",\"v\":1}".getBytes()));
+        assertThrows(SenMLException.class, () -> decode(json, "[{\"n\":\"1\",\"v\":1}".getBytes()));
+        assertThrows(SenMLException.class, () -> decode(json, "[{\"n\":\"1\"}]".getBytes()));
+
+        // map instead of array
+        assertThrows(SenMLException.class,
+                () -> decode(cbor, Hex.decodeHex("a200613102 01".replace(" ", "").toCharArray())));
+        // trailing byte
+        assertThrows(SenMLException.class, () -> decode(cbor, Hex.decodeHex("81a2006131020100".toCharArray())));
+        // truncated
+        assertThrows(SenMLException.class, () -> decode(cbor, Hex.decodeHex("82a20061310201".toCharArray())));
+        // record without value
+        assertThrows(SenMLException.class, () -> decode(cbor, Hex.decodeHex("81a1006131".toCharArray())));
+    }
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.senml.cbor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.leshan.core.util.Hex;
+import org.eclipse.leshan.core.util.datatype.ULong;
+import org.eclipse.leshan.senml.SenMLException;
+import org.eclipse.leshan.senml.SenMLPack;
+import org.eclipse.leshan.senml.SenMLRecord;
+import org.eclipse.leshan.senml.SenMLStreamEncoder;
+import org.eclipse.leshan.senml.cbor.upokecenter.SenMLCborUpokecenterEncoderDecoder;
+import org.eclipse.leshan.senml.json.jackson.SenMLJsonJacksonEncoderDecoder;
+import org.junit.jupiter.api.Test;
+
+public class SenMLStreamEncoderTest extends AbstractSenMLTest {
+
+    private byte[] encode(SenMLStreamEncoder encoder, SenMLPack pack) throws SenMLException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.encode(writer -> {
+            for (SenMLRecord record : pack.getRecords()) {
+                writer.write(record);
+            }
+        }, out);
+        return out.toByteArray();
+    }
+
+    private SenMLPack givenRecordsOfAllTypes() {
+        SenMLPack pack = new SenMLPack();
+        pack.addRecord(
+                new SenMLRecord("/0/0/", new BigDecimal("1700000000"), "1", null, (byte) 1, null, null, null, null));
+        pack.addRecord(new SenMLRecord(null, null, "2", new BigDecimal("-5"), (short) -300, null, null, null, null));
+        pack.addRecord(new SenMLRecord(null, null, "3", null, 70000, null, null, null, null));
+        pack.addRecord(new SenMLRecord(null, null, "4", null, -5_000_000_000L, null, null, null, null));
+        pack.addRecord(new SenMLRecord(null, null, "5", null, new BigInteger("123456789012345678901234567890"), null,
+                null, null, null));
+        pack.addRecord(
+                new SenMLRecord(null, null, "6", null, ULong.valueOf("18446744073709551615"), null, null, null, null));
+        pack.addRecord(new SenMLRecord(null, null, "7", null, 1.5f, null, null, null, null));
+        pack.addRecord(new SenMLRecord(null, null, "8", null, 43.918998d, null, null, null, null));
+        pack.addRecord(new SenMLRecord(null, null, "9", null, 1e300d, null, null, null, null));
+        pack.addRecord(new SenMLRecord(null, null, "10", null, new BigDecimal("22.90"), null, null, null, null));
+        pack.addRecord(new SenMLRecord(null, null, "11", null, null, true, null, null, null));
+        pack.addRecord(new SenMLRecord(null, null, "12", null, null, null, "3:0", null, null));
+        pack.addRecord(new SenMLRecord(null, null, "13", null, null, null, null, "Open Mobile Alliance", null));
+        pack.addRecord(new SenMLRecord(null, null, "14", null, null, null, null, null, new byte[] { 1, 2, 3 }));
+        pack.addRecord(
+                new SenMLRecord("/1/0/1", new BigDecimal("1700000000.25"), null, null, 86400, null, null, null, null));
+        return pack;
+    }
+
+    @Test
+    public void stream_encode_json_same_as_pack_encoding() throws SenMLException {
+        SenMLJsonJacksonEncoderDecoder json = new SenMLJsonJacksonEncoderDecoder();
+
+        SenMLPack device = givenDeviceObjectInstance();
+        assertEquals(givenSenMLJsonExample(), new String(encode(json, device)));
+
+        SenMLPack pack = givenRecordsOfAllTypes();
+        assertArrayEquals(json.toSenML(pack), encode(json, pack));
+    }
+
+    @Test
+    public void stream_encode_non_ascii_string() throws SenMLException {
+        SenMLPack pack = new SenMLPack();
+        pack.addRecord(new SenMLRecord("/3/0/0", null, null, null, null, null, null, "\u00e9t\u00e9 \u2603", null));
+
+        // SenML JSON is always UTF-8 encoded
+        assertEquals("[{\"bn\":\"/3/0/0\",\"vs\":\"\u00e9t\u00e9 \u2603\"}]",
+                new String(encode(new SenMLJsonJacksonEncoderDecoder(), pack), StandardCharsets.UTF_8));
+
+        SenMLCborUpokecenterEncoderDecoder cbor = new SenMLCborUpokecenterEncoderDecoder();
+        assertArrayEquals(cbor.toSenML(pack), encode(cbor, pack));
+    }
+
+    @Test
+    public void stream_encode_cbor_same_as_pack_encoding() throws SenMLException {
+        SenMLCborUpokecenterEncoderDecoder insertionOrder = new SenMLCborUpokecenterEncoderDecoder(true, false);
+        SenMLCborUpokecenterEncoderDecoder defaultOrder = new SenMLCborUpokecenterEncoderDecoder();
+
+        SenMLPack device = givenDeviceObjectInstance();
+        assertEquals(givenSenMLCborExample(), Hex.encodeHexString(encode(insertionOrder, device)));
+        assertArrayEquals(defaultOrder.toSenML(device), encode(defaultOrder, device));
+
+        SenMLPack pack = givenRecordsOfAllTypes();
+        assertArrayEquals(insertionOrder.toSenML(pack), encode(insertionOrder, pack));
+        assertArrayEquals(defaultOrder.toSenML(pack), encode(defaultOrder, pack));
+        SenMLTestUtil.assertSenMLPackEquals(defaultOrder.fromSenML(defaultOrder.toSenML(pack)),
+                defaultOrder.fromSenML(encode(defaultOrder, pack)));
+    }
+
+    @Test
+    public void stream_encode_empty() throws SenMLException {
+        SenMLPack empty = new SenMLPack();
+        SenMLJsonJacksonEncoderDecoder json = new SenMLJsonJacksonEncoderDecoder();
+        SenMLCborUpokecenterEncoderDecoder cbor = new SenMLCborUpokecenterEncoderDecoder();
+
+        assertArrayEquals(json.toSenML(empty), encode(json, empty));
+        assertArrayEquals(cbor.toSenML(empty), encode(cbor, empty));
+    }
+
+    @Test
+    public void stream_encode_record_without_value() {
+        SenMLPack pack = new SenMLPack();
+        pack.addRecord(new SenMLRecord("/3/0/1", null, null, null, null, null, null, null, null));
+
+        assertThrows(SenMLException.class, () -> encode(new SenMLJsonJacksonEncoderDecoder(), pack));
+        assertThrows(SenMLException.class, () -> encode(new SenMLCborUpokecenterEncoderDecoder(), pack));
+    }
+}
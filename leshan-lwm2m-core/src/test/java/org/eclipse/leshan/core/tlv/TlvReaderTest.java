@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.tlv;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Date;
+
+import org.eclipse.leshan.core.node.ObjectLink;
+import org.eclipse.leshan.core.tlv.Tlv.TlvType;
+import org.eclipse.leshan.core.util.Hex;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link TlvReader} and {@link TlvWriter}
+ */
+public class TlvReaderTest {
+
+    @Test
+    public void read_multiple_resource_without_moving_buffer() throws TlvException {
+        // multiple resource 7 with instances 0=3800 and 1=5000
+        ByteBuffer buffer = ByteBuffer.wrap(Hex.decodeHex("88070842000ED842011388".toCharArray()));
+        // byte order of input buffer is ignored
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        TlvReader reader = new TlvReader(buffer);
+        assertEquals(TlvType.MULTIPLE_RESOURCE, reader.peekType());
+        assertEquals(1, reader.count());
+        reader.next();
+        assertEquals(TlvType.MULTIPLE_RESOURCE, reader.getType());
+        assertEquals(7, reader.getIdentifier());
+        assertEquals(8, reader.getLength());
+        assertFalse(reader.hasNext());
+        assertNull(reader.peekType());
+
+        TlvReader instances = reader.children();
+        assertEquals(2, instances.count());
+        instances.next();
+        assertEquals(TlvType.RESOURCE_INSTANCE, instances.getType());
+        assertEquals(0, instances.getIdentifier());
+        assertEquals(3800, instances.readInteger());
+        instances.next();
+        assertEquals(1, instances.getIdentifier());
+        assertEquals(5000, instances.readInteger());
+        assertFalse(instances.hasNext());
+
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void write_and_read_values() throws TlvException {
+        Date date = new Date(1367491215000L);
+        ObjectLink objlnk = new ObjectLink(0x1234, 0x5678);
+        byte[] opaque = new byte[300];
+        opaque[299] = 42;
+
+        int size = TlvWriter.sizeOf(0, TlvWriter.integerLength(-129)) + TlvWriter.sizeOf(1, 4)
+                + TlvWriter.sizeOf(2, TlvWriter.floatLength(1.5d)) + TlvWriter.sizeOf(3, 1)
+                + TlvWriter.sizeOf(4, TlvWriter.integerLength(date.getTime() / 1000)) + TlvWriter.sizeOf(5, 4)
+                + TlvWriter.sizeOf(300, opaque.length);
+        TlvWriter writer = new TlvWriter(size);
+        writer.writeHeader(TlvType.RESOURCE_VALUE, 0, TlvWriter.integerLength(-129));
+        writer.writeInteger(-129);
+        writer.writeHeader(TlvType.RESOURCE_VALUE, 1, 4);
+        writer.writeFloat(-2.25f);
+        writer.writeHeader(TlvType.RESOURCE_VALUE, 2, 8);
+        writer.writeFloat(1.5d);
+        writer.writeHeader(TlvType.RESOURCE_VALUE, 3, 1);
+        writer.writeBoolean(true);
+        writer.writeHeader(TlvType.RESOURCE_VALUE, 4, 4);
+        writer.writeInteger(date.getTime() / 1000);
+        writer.writeHeader(TlvType.RESOURCE_VALUE, 5, 4);
+        writer.writeObjlnk(objlnk);
+        writer.writeHeader(TlvType.RESOURCE_VALUE, 300, opaque.length);
+        writer.writeBytes(opaque);
+        byte[] content = writer.toByteArray();
+        assertEquals(size, content.length);
+
+        TlvReader reader = new TlvReader(ByteBuffer.wrap(content));
+        reader.next();
+        assertEquals(-129, reader.readInteger());
+        reader.next();
+        assertEquals(-2.25d, reader.readFloat());
+        reader.next();
+        assertEquals(1.5d, reader.readFloat());
+        reader.next();
+        assertTrue(reader.readBoolean());
+        reader.next();
+        assertEquals(date, reader.readDate());
+        reader.next();
+        assertEquals(objlnk, reader.readObjlnk());
+        reader.next();
+        assertEquals(300, reader.getIdentifier());
+        assertArrayEquals(opaque, reader.readOpaque());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void read_invalid_values() throws TlvException {
+        // value longer than content
+        TlvReader reader = new TlvReader(ByteBuffer.wrap(Hex.decodeHex("C30001".toCharArray())));
+        assertThrows(TlvException.class, () -> reader.next());
+
+        // missing length
+        assertThrows(TlvException.class, () -> new TlvReader(ByteBuffer.wrap(new byte[] { (byte) 0xC8, 0 })).next());
+
+        // invalid value length for type
+        TlvReader empty = new TlvReader(ByteBuffer.wrap(Hex.decodeHex("C000".toCharArray())));
+        empty.next();
+        assertThrows(TlvException.class, () -> empty.readInteger());
+        assertThrows(TlvException.class, () -> empty.readFloat());
+        assertThrows(TlvException.class, () -> empty.readBoolean());
+        assertThrows(TlvException.class, () -> empty.readDate());
+    }
+}
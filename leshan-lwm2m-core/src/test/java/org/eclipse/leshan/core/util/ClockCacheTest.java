@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.core.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class ClockCacheTest {
+
+    @Test
+    public void evict_entry_not_referenced_since_last_pass() {
+        List<String> evicted = new ArrayList<>();
+        ClockCache<String, Integer> cache = new ClockCache<String, Integer>(3) {
+            @Override
+            protected void onEviction(String key, Integer value) {
+                evicted.add(key);
+            }
+        };
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        // "a" and "c" are used, "b" is the eldest entry not used
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(Integer.valueOf(3), cache.get("c"));
+        cache.put("d", 4);
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(Integer.valueOf(4), cache.get("d"));
+        assertEquals(1, evicted.size());
+        assertEquals("b", evicted.get(0));
+    }
+
+    @Test
+    public void compute_replaces_or_removes_value() {
+        ClockCache<String, Integer> cache = new ClockCache<>(2);
+        cache.put("a", 1);
+
+        assertEquals(Integer.valueOf(2), cache.compute("a", (k, v) -> v + 1));
+        assertEquals(Integer.valueOf(2), cache.get("a"));
+        assertNull(cache.compute("a", (k, v) -> null));
+        assertEquals(0, cache.size());
+        assertEquals(Integer.valueOf(5), cache.compute("b", (k, v) -> v == null ? 5 : v));
+    }
+
+    @Test
+    public void removed_entries_do_not_fill_the_cache() {
+        ClockCache<Integer, Integer> cache = new ClockCache<>(4);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+            cache.remove(i);
+        }
+        for (int i = 0; i < 4; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(4, cache.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(Integer.valueOf(i), cache.get(i));
+        }
+    }
+
+    @Test
+    public void stay_bounded_under_concurrent_access() throws Exception {
+        ClockCache<Integer, Integer> cache = new ClockCache<>(100);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        int key = (i * 7 + offset) % 1000;
+                        if (cache.get(key) == null) {
+                            cache.put(key, key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(cache.size() <= 100, "cache size " + cache.size());
+    }
+}
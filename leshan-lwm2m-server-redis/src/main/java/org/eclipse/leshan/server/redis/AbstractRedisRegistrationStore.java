@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.Startable;
+import org.eclipse.leshan.core.Stoppable;
+import org.eclipse.leshan.core.observation.CompositeObservation;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.peer.LwM2mIdentity;
+import org.eclipse.leshan.server.redis.serialization.LwM2mIdentitySerDes;
+import org.eclipse.leshan.server.redis.serialization.ObservationSerDes;
+import org.eclipse.leshan.server.redis.serialization.RegistrationSerDes;
+import org.eclipse.leshan.server.registration.ExpirationListener;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class of Redis {@link RegistrationStore}s.
+ * <p>
+ * It holds what does not depend on how Redis is deployed : the layout of registration and secondary index keys,
+ * serialization of registrations and observations, and the periodic task cleaning expired registrations.
+ *
+ * @see RedisRegistrationStore
+ * @see RedisClusterRegistrationStore
+ */
+public abstract class AbstractRedisRegistrationStore implements RegistrationStore, Startable, Stoppable, Destroyable {
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractRedisRegistrationStore.class);
+
+    // Redis key prefixes
+    protected final String registrationByEndpointPrefix; // (Endpoint => Registration)
+    protected final String endpointByRegistrationIdPrefix; // secondary index key (Registration ID => Endpoint)
+    protected final String endpointBySocketAddressPrefix; // secondary index key (Socket Address => Endpoint)
+    protected final String endpointByIdentityPrefix; // secondary index key (Identity => Endpoint)
+    protected final String endpointLockPrefix;
+
+    // Listener used to notify about a registration expiration
+    protected ExpirationListener expirationListener;
+
+    protected final ScheduledExecutorService schedExecutor;
+    private ScheduledFuture<?> cleanerTask;
+    private boolean started = false;
+
+    protected final long cleanPeriod; // in seconds
+    protected final int cleanLimit; // maximum number to clean in a clean period
+    protected final long gracePeriod; // in seconds
+
+    protected final RegistrationSerDes registrationSerDes;
+    protected final ObservationSerDes observationSerDes;
+    protected final LwM2mIdentitySerDes identitySerDes;
+
+    protected AbstractRedisRegistrationStore(AbstractRedisRegistrationStoreBuilder<?, ?> builder) {
+        this.registrationByEndpointPrefix = builder.registrationByEndpointPrefix;
+        this.endpointByRegistrationIdPrefix = builder.endpointByRegistrationIdPrefix;
+        this.endpointBySocketAddressPrefix = builder.endpointBySocketAddressPrefix;
+        this.endpointByIdentityPrefix = builder.endpointByIdentityPrefix;
+        this.endpointLockPrefix = builder.endpointLockPrefix;
+        this.cleanPeriod = builder.cleanPeriod;
+        this.cleanLimit = builder.cleanLimit;
+        this.gracePeriod = builder.gracePeriod;
+        this.schedExecutor = builder.schedExecutor;
+        this.registrationSerDes = builder.registrationSerDes;
+        this.observationSerDes = builder.observationSerDes;
+        this.identitySerDes = builder.identitySerDes;
+    }
+
+    /* *************** Redis Key utility function **************** */
+
+    protected byte[] toKey(String prefix, String value) {
+        return (prefix + value).getBytes(UTF_8);
+    }
+
+    protected byte[] toRegIdKey(String registrationId) {
+        return toKey(endpointByRegistrationIdPrefix, registrationId);
+    }
+
+    protected byte[] toRegAddrKey(InetSocketAddress addr) {
+        return toKey(endpointBySocketAddressPrefix, addr.getAddress().toString() + ":" + addr.getPort());
+    }
+
+    protected byte[] toRegIdentityKey(LwM2mIdentity identity) {
+        return toKey(endpointByIdentityPrefix, identitySerDes.serialize(identity).toString());
+    }
+
+    protected byte[] toObservationId(ObservationIdentifier observationId) {
+        byte[] uri = (observationId.getEndpointUri().toString() + "##").getBytes(UTF_8);
+        byte[] token = observationId.getBytes();
+        byte[] id = Arrays.copyOf(uri, uri.length + token.length);
+        System.arraycopy(token, 0, id, uri.length, token.length);
+        return id;
+    }
+
+    /* *************** Secondary indexes **************** */
+
+    /**
+     * @return all secondary indexes of a registration.
+     */
+    protected List<byte[]> getIndexes(Registration registration) {
+        return Arrays.asList(toRegIdKey(registration.getId()), toRegAddrKey(registration.getSocketAddress()),
+                toRegIdentityKey(registration.getClientTransportData().getIdentity()));
+    }
+
+    /**
+     * @return the secondary indexes of a registration which could change on update.
+     */
+    protected List<byte[]> getUpdatedIndexes(Registration registration) {
+        return Arrays.asList(toRegAddrKey(registration.getSocketAddress()),
+                toRegIdentityKey(registration.getClientTransportData().getIdentity()));
+    }
+
+    /**
+     * @return the secondary indexes of the previous registration of an endpoint which are not used by the new one.
+     */
+    protected List<byte[]> getStaleIndexes(Registration previous, Registration registration) {
+        List<byte[]> staleIndexes = new ArrayList<>();
+        if (!registration.getId().equals(previous.getId())) {
+            staleIndexes.add(toRegIdKey(previous.getId()));
+        }
+        if (!previous.getSocketAddress().equals(registration.getSocketAddress())) {
+            staleIndexes.add(toRegAddrKey(previous.getSocketAddress()));
+        }
+        if (!previous.getClientTransportData().getIdentity()
+                .equals(registration.getClientTransportData().getIdentity())) {
+            staleIndexes.add(toRegIdentityKey(previous.getClientTransportData().getIdentity()));
+        }
+        return staleIndexes;
+    }
+
+    /* *************** Serialization **************** */
+
+    protected byte[] serializeReg(Registration registration) {
+        return registrationSerDes.bSerialize(registration);
+    }
+
+    protected Registration deserializeReg(byte[] data) {
+        return registrationSerDes.deserialize(data);
+    }
+
+    protected byte[] serializeObs(Observation obs) {
+        return observationSerDes.serialize(obs);
+    }
+
+    protected Observation deserializeObs(byte[] data) {
+        return observationSerDes.deserialize(data);
+    }
+
+    protected Collection<Observation> deserializeObservations(Object values) {
+        Collection<Observation> observations = new ArrayList<>();
+        for (Object value : (List<?>) values) {
+            observations.add(deserializeObs((byte[]) value));
+        }
+        return observations;
+    }
+
+    protected boolean areTheSamePaths(Observation observation, Observation obs) {
+        if (observation instanceof SingleObservation && obs instanceof SingleObservation) {
+            return ((SingleObservation) observation).getPath().equals(((SingleObservation) obs).getPath());
+        }
+        if (observation instanceof CompositeObservation && obs instanceof CompositeObservation) {
+            return ((CompositeObservation) observation).getPaths().equals(((CompositeObservation) obs).getPaths());
+        }
+        return false;
+    }
+
+    /* *************** Expiration handling **************** */
+
+    /**
+     * @return the task removing expired registrations, run every clean period once the store is started.
+     */
+    protected abstract Runnable createCleaner();
+
+    /**
+     * Called when the store starts, after the cleaning task is scheduled. Default implementation does nothing.
+     */
+    protected void onStart() {
+    }
+
+    /**
+     * Called when the store stops, after the cleaning task is cancelled. Default implementation does nothing.
+     */
+    protected void onStop() {
+    }
+
+    /**
+     * Called when the store is destroyed, before the cleaning scheduler is shut down. Default implementation does
+     * nothing.
+     */
+    protected void onDestroy() {
+    }
+
+    /**
+     * Start regular cleanup of dead registrations.
+     */
+    @Override
+    public synchronized void start() {
+        if (!started) {
+            started = true;
+            cleanerTask = schedExecutor.scheduleAtFixedRate(createCleaner(), cleanPeriod, cleanPeriod,
+                    TimeUnit.SECONDS);
+            onStart();
+        }
+    }
+
+    /**
+     * Stop the underlying cleanup of the registrations.
+     */
+    @Override
+    public synchronized void stop() {
+        if (started) {
+            started = false;
+            if (cleanerTask != null) {
+                cleanerTask.cancel(false);
+                cleanerTask = null;
+            }
+            onStop();
+        }
+    }
+
+    /**
+     * Destroy "cleanup" scheduler.
+     */
+    @Override
+    public synchronized void destroy() {
+        started = false;
+        onDestroy();
+        schedExecutor.shutdownNow();
+        try {
+            schedExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            LOG.warn("Destroying {} was interrupted.", getClass().getSimpleName(), e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void setExpirationListener(ExpirationListener listener) {
+        expirationListener = listener;
+    }
+}
@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.peer.LwM2mIdentity;
+import org.eclipse.leshan.core.peer.LwM2mPeer;
+import org.eclipse.leshan.server.redis.serialization.BinaryObservationSerDes;
+import org.eclipse.leshan.server.redis.serialization.BinaryRegistrationSerDes;
+import org.eclipse.leshan.server.redis.serialization.LwM2mIdentitySerDes;
+import org.eclipse.leshan.server.redis.serialization.LwM2mPeerSerDes;
+import org.eclipse.leshan.server.redis.serialization.ObservationSerDes;
+import org.eclipse.leshan.server.redis.serialization.RegistrationSerDes;
+import org.eclipse.leshan.server.registration.Registration;
+
+/**
+ * Base class of builders of {@link AbstractRedisRegistrationStore}, with the settings shared by all Redis registration
+ * stores.
+ */
+public abstract class AbstractRedisRegistrationStoreBuilder<SELF extends AbstractRedisRegistrationStoreBuilder<SELF, TStore>, TStore extends AbstractRedisRegistrationStore> {
+
+    protected String prefix;
+    protected String registrationByEndpointPrefix;
+    protected String endpointByRegistrationIdPrefix;
+    protected String endpointBySocketAddressPrefix;
+    protected String endpointByIdentityPrefix;
+    protected String endpointLockPrefix;
+
+    /** Time in seconds between 2 cleaning tasks (used to remove expired registration) */
+    protected long cleanPeriod;
+    protected int cleanLimit;
+    /** extra time for registration lifetime in seconds */
+    protected long gracePeriod;
+
+    protected ScheduledExecutorService schedExecutor;
+    protected RegistrationSerDes registrationSerDes;
+    protected ObservationSerDes observationSerDes;
+    protected LwM2mIdentitySerDes identitySerDes;
+    protected LwM2mPeerSerDes peerSerDes;
+    protected boolean binarySerialization;
+
+    protected AbstractRedisRegistrationStoreBuilder() {
+        this.prefix = "REGSTORE#";
+        this.registrationByEndpointPrefix = "REG#EP#";
+        this.endpointByRegistrationIdPrefix = "EP#REGID#";
+        this.endpointBySocketAddressPrefix = "EP#ADDR#";
+        this.endpointByIdentityPrefix = "EP#IDENTITY#";
+        this.endpointLockPrefix = "LOCK#EP#";
+        this.cleanPeriod = 60;
+        this.cleanLimit = 500;
+        this.gracePeriod = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private SELF self() {
+        return (SELF) this;
+    }
+
+    /**
+     * Set the prefix for all keys and prefixes.
+     * <p>
+     * Default value is {@literal REGSTORE#}.
+     */
+    public SELF setPrefix(String prefix) {
+        this.prefix = prefix;
+        return self();
+    }
+
+    /**
+     * Set the key prefix for registration info lookup by endpoint.
+     * <p>
+     * Default value is {@literal REG#EP#}. Should not be {@code null} or empty. Leshan v1.x used {@literal REG:EP:}.
+     */
+    public SELF setRegistrationByEndpointPrefix(String registrationByEndpointPrefix) {
+        this.registrationByEndpointPrefix = registrationByEndpointPrefix;
+        return self();
+    }
+
+    /**
+     * Set the key prefix for endpoint lookup by registration ID.
+     * <p>
+     * Default value is {@literal EP#REGID#}. Should not be {@code null} or empty. Leshan v1.x used
+     * {@literal EP:REGID:}.
+     */
+    public SELF setEndpointByRegistrationIdPrefix(String endpointByRegistrationIdPrefix) {
+        this.endpointByRegistrationIdPrefix = endpointByRegistrationIdPrefix;
+        return self();
+    }
+
+    /**
+     * Set the key prefix for endpoint lookup by socket address.
+     * <p>
+     * Default value is {@literal EP#ADDR#}. Should not be {@code null} or empty. Leshan v1.x used {@literal EP:ADDR:}.
+     */
+    public SELF setEndpointBySocketAddressPrefix(String endpointBySocketAddressPrefix) {
+        this.endpointBySocketAddressPrefix = endpointBySocketAddressPrefix;
+        return self();
+    }
+
+    /**
+     * Set the key prefix for endpoint lookup by registration identity.
+     * <p>
+     * Default value is {@literal EP#IDENTITY#}. Should not be {@code null} or empty. Leshan v1.x used
+     * {@literal EP:IDENTITY:}.
+     */
+    public SELF setEndpointByIdentityPrefix(String endpointByIdentityPrefix) {
+        this.endpointByIdentityPrefix = endpointByIdentityPrefix;
+        return self();
+    }
+
+    /**
+     * Set the key prefix for endpoint locks lookup.
+     * <p>
+     * Default value is {@literal LOCK#EP#}. Should not be {@code null} or empty. Leshan v1.x used {@literal LOCK:EP:}.
+     */
+    public SELF setEndpointLockPrefix(String endpointLockPrefix) {
+        this.endpointLockPrefix = endpointLockPrefix;
+        return self();
+    }
+
+    /**
+     * Set time between 2 periodic task about cleaning expired registration.
+     * <p>
+     * Default value is {@literal 60 seconds}.
+     */
+    public SELF setCleanPeriod(long cleanPeriod) {
+        this.cleanPeriod = cleanPeriod;
+        return self();
+    }
+
+    /**
+     * Set maximum number of expired registration removed by clean period
+     * <p>
+     * Default value is {@literal 500}.
+     */
+    public SELF setCleanLimit(int cleanLimit) {
+        this.cleanLimit = cleanLimit;
+        return self();
+    }
+
+    /**
+     * Set some extra time added to registration lifetime when calculating if a registration expired.
+     * <p>
+     * Default value is {@literal 0 seconds}.
+     */
+    public SELF setGracePeriod(long gracePeriod) {
+        this.gracePeriod = gracePeriod;
+        return self();
+    }
+
+    /**
+     * Set {@link ScheduledExecutorService} used to launch period task about cleaning expired registration.
+     */
+    public SELF setSchedExecutor(ScheduledExecutorService schedExecutor) {
+        this.schedExecutor = schedExecutor;
+        return self();
+    }
+
+    /**
+     * Set {@link RegistrationSerDes} instance used to serialize/de-serialize {@link Registration} to/from this store.
+     */
+    public SELF setRegistrationSerDes(RegistrationSerDes registrationSerDes) {
+        this.registrationSerDes = registrationSerDes;
+        return self();
+    }
+
+    /**
+     * Set {@link LwM2mIdentitySerDes} instance used to serialize/de-serialize {@link LwM2mIdentity} to/from this store.
+     */
+    public SELF setIdentitySerDes(LwM2mIdentitySerDes identitySerDes) {
+        this.identitySerDes = identitySerDes;
+        return self();
+    }
+
+    /**
+     * Set {@link LwM2mPeerSerDes} instance used to serialize/de-serialize {@link LwM2mPeer} to/from this store.
+     */
+    public SELF setPeerSerDes(LwM2mPeerSerDes peerSerDes) {
+        this.peerSerDes = peerSerDes;
+        return self();
+    }
+
+    /**
+     * Use the compact binary format of {@link BinaryRegistrationSerDes} and {@link BinaryObservationSerDes} instead of
+     * JSON, when {@link RegistrationSerDes} or {@link ObservationSerDes} is not set explicitly.
+     * <p>
+     * Binary format needs less memory in Redis and is faster to deserialize. Registrations and observations already
+     * stored in JSON can still be read, so an existing store can switch to binary format : data are converted on next
+     * write. Stores which still use JSON can not read binary data, so all instances sharing the same Redis should
+     * switch together.
+     * <p>
+     * Default value is {@code false}.
+     */
+    public SELF setBinarySerialization(boolean binarySerialization) {
+        this.binarySerialization = binarySerialization;
+        return self();
+    }
+
+    /**
+     * Set {@link ObservationSerDes} instance used to serialize/de-serialize {@link Observation} to/from this store.
+     */
+    public SELF setObservationSerDes(ObservationSerDes observationSerDes) {
+        this.observationSerDes = observationSerDes;
+        return self();
+    }
+
+    protected SELF generateDefaultValue() {
+        if (this.registrationSerDes == null) {
+            if (peerSerDes == null) {
+                this.peerSerDes = new LwM2mPeerSerDes();
+            }
+            this.registrationSerDes = binarySerialization ? new BinaryRegistrationSerDes(peerSerDes)
+                    : new RegistrationSerDes(peerSerDes);
+        }
+
+        if (this.identitySerDes == null) {
+            this.identitySerDes = new LwM2mIdentitySerDes();
+        }
+
+        if (this.observationSerDes == null) {
+            this.observationSerDes = binarySerialization ? new BinaryObservationSerDes() : new ObservationSerDes();
+        }
+
+        return self();
+    }
+
+    /**
+     * @return name and value of the key prefixes shared by all stores. Stores add their own ones before calling
+     *         {@link #validateKeyPrefixes(List)}.
+     */
+    protected List<String[]> getKeyPrefixes() {
+        List<String[]> prefixes = new ArrayList<>();
+        prefixes.add(new String[] { "registrationByEndpointPrefix", this.registrationByEndpointPrefix });
+        prefixes.add(new String[] { "endpointByRegistrationIdPrefix", this.endpointByRegistrationIdPrefix });
+        prefixes.add(new String[] { "endpointBySocketAddressPrefix", this.endpointBySocketAddressPrefix });
+        prefixes.add(new String[] { "endpointByIdentityPrefix", this.endpointByIdentityPrefix });
+        prefixes.add(new String[] { "endpointLockPrefix", this.endpointLockPrefix });
+        return prefixes;
+    }
+
+    /**
+     * Throws {@link IllegalArgumentException} when any of the given prefixes is not set or is equal to some other.
+     */
+    protected void validateKeyPrefixes(List<String[]> prefixes) throws IllegalArgumentException {
+        for (String[] p : prefixes) {
+            if (p[1] == null || p[1].isEmpty()) {
+                throw new IllegalArgumentException(String.format("%s should not be empty", p[0]));
+            }
+        }
+
+        // Make sure same prefix is not used more than once
+        Set<String> uniquePrefixes = new HashSet<>();
+        for (String[] p : prefixes) {
+            if (!uniquePrefixes.add(p[1])) {
+                throw new IllegalArgumentException(String.format("prefix name %s is taken already", p[1]));
+            }
+        }
+    }
+
+    /**
+     * Add {@link #setPrefix(String)} to the shared key prefixes. Stores add it to their own ones too.
+     */
+    protected void applyPrefix() {
+        if (this.prefix != null) {
+            this.registrationByEndpointPrefix = this.prefix + this.registrationByEndpointPrefix;
+            this.endpointByRegistrationIdPrefix = this.prefix + this.endpointByRegistrationIdPrefix;
+            this.endpointBySocketAddressPrefix = this.prefix + this.endpointBySocketAddressPrefix;
+            this.endpointByIdentityPrefix = this.prefix + this.endpointByIdentityPrefix;
+            this.endpointLockPrefix = this.prefix + this.endpointLockPrefix;
+        }
+    }
+
+    /**
+     * Create the store.
+     * <p>
+     * Throws {@link IllegalArgumentException} when any of prefixes is not set or is equal to some other.
+     */
+    public abstract TStore build() throws IllegalArgumentException;
+}
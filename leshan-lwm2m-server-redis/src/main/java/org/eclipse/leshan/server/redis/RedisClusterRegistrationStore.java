@@ -0,0 +1,841 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.peer.LwM2mIdentity;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.core.util.Validate;
+import org.eclipse.leshan.server.registration.Deregistration;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationStore;
+import org.eclipse.leshan.server.registration.RegistrationUpdate;
+import org.eclipse.leshan.server.registration.UpdatedRegistration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import redis.clients.jedis.ClusterPipeline;
+import redis.clients.jedis.ConnectionPool;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+
+/**
+ * A RegistrationStore which stores registrations and observations in a Redis Cluster.
+ * <p>
+ * All keys about one endpoint (registration, observations and lock) use the endpoint as hash tag (e.g.
+ * <code>REG#EP#{urn:imei:1234}</code>), so they live on the same slot and are modified atomically by single slot Lua
+ * scripts. Observations of an endpoint are stored in one hash.
+ * <p>
+ * Secondary indexes (registration id, socket address, identity and observation id) are looked up without knowing the
+ * endpoint, so they can not share its slot. They are written in a pipeline once the endpoint data are written, stale
+ * indexes are only removed if they still point to the endpoint, and each lookup by secondary index checks that the
+ * registration found still matches the index. The expiration sorted set is sharded (see
+ * {@link Builder#setExpirationShards(int)}) to spread the cleaning load over the cluster.
+ * <p>
+ * {@link #getAllRegistrations()} scans all master nodes of the cluster.
+ */
+public class RedisClusterRegistrationStore extends AbstractRedisRegistrationStore {
+    private static final Logger LOG = LoggerFactory.getLogger(RedisClusterRegistrationStore.class);
+
+    /* *************** Lua scripts **************** */
+
+    // Store a registration and remove observations of the previous one.
+    // KEYS[1] registration key, KEYS[2] observations of the endpoint
+    // ARGV[1] registration
+    // returns {previous registration, removed observations}
+    private static final LuaScript WRITE_REGISTRATION = new LuaScript(String.join("\n", //
+            "local previous = redis.call('GET', KEYS[1])", //
+            "redis.call('SET', KEYS[1], ARGV[1])", //
+            "local removed = {}", //
+            "if previous then", //
+            "  removed = redis.call('HVALS', KEYS[2])", //
+            "  redis.call('DEL', KEYS[2])", //
+            "end", //
+            "return {previous, removed}"));
+
+    // Remove a registration and its observations.
+    // KEYS[1] registration key, KEYS[2] observations of the endpoint
+    // returns removed observations or nil if registration does not exist.
+    private static final LuaScript REMOVE_REGISTRATION = new LuaScript(String.join("\n", //
+            "if redis.call('DEL', KEYS[1]) == 0 then return false end", //
+            "local removed = redis.call('HVALS', KEYS[2])", //
+            "redis.call('DEL', KEYS[2])", //
+            "return removed"));
+
+    // Add an observation.
+    // KEYS[1] observations of the endpoint, ARGV[1] observation id, ARGV[2] observation, ARGV[3] '1' if add if absent
+    // returns {previous observation, all observations}
+    private static final LuaScript ADD_OBSERVATION = new LuaScript(String.join("\n", //
+            "local previous = redis.call('HGET', KEYS[1], ARGV[1])", //
+            "if ARGV[3] == '1' then", //
+            "  redis.call('HSETNX', KEYS[1], ARGV[1], ARGV[2])", //
+            "else", //
+            "  redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])", //
+            "end", //
+            "return {previous, redis.call('HVALS', KEYS[1])}"));
+
+    // Delete a secondary index if it still points to the given endpoint.
+    // KEYS[1] index key, ARGV[1] endpoint
+    private static final LuaScript REMOVE_INDEX = new LuaScript(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0");
+
+    // Redis key prefixes
+    private final String observationsByEndpointPrefix; // (Endpoint => hash of Observation ID => Observation)
+    private final String endpointByObservationIdPrefix; // secondary index key (Observation ID => Endpoint)
+    private final String endpointExpirationPrefix; // sorted sets used for registration expiration (expiration date,
+                                                   // Endpoint)
+    private final int expirationShards;
+
+    private final JedisCluster cluster;
+
+    private final JedisClusterLock lock;
+
+    public RedisClusterRegistrationStore(JedisCluster cluster) {
+        this(new Builder(cluster).generateDefaultValue());
+    }
+
+    public RedisClusterRegistrationStore(Builder builder) {
+        super(builder);
+        this.cluster = builder.cluster;
+        this.observationsByEndpointPrefix = builder.observationsByEndpointPrefix;
+        this.endpointByObservationIdPrefix = builder.endpointByObservationIdPrefix;
+        this.endpointExpirationPrefix = builder.endpointExpirationPrefix;
+        this.expirationShards = builder.expirationShards;
+        this.lock = builder.lock;
+    }
+
+    /* *************** Redis Key utility function **************** */
+
+    /**
+     * Create a key for data of the given endpoint. The endpoint is used as hash tag, so all keys of an endpoint are
+     * stored in the same slot.
+     */
+    private byte[] toEndpointTaggedKey(String prefix, String endpoint) {
+        if (endpoint.indexOf('}') < 0) {
+            return (prefix + "{" + endpoint + "}").getBytes(UTF_8);
+        } else {
+            // endpoint can not be used as hash tag, use its hash code instead but keep the whole endpoint in the key
+            return (prefix + "{" + Integer.toHexString(endpoint.hashCode()) + "}" + endpoint).getBytes(UTF_8);
+        }
+    }
+
+    private byte[] toEndpointKey(String endpoint) {
+        return toEndpointTaggedKey(registrationByEndpointPrefix, endpoint);
+    }
+
+    private byte[] toLockKey(String endpoint) {
+        return toEndpointTaggedKey(endpointLockPrefix, endpoint);
+    }
+
+    private byte[] toObservationsKey(String endpoint) {
+        return toEndpointTaggedKey(observationsByEndpointPrefix, endpoint);
+    }
+
+    private byte[] toExpirationKey(String endpoint) {
+        return toExpirationKey((endpoint.hashCode() & Integer.MAX_VALUE) % expirationShards);
+    }
+
+    private byte[] toExpirationKey(int shard) {
+        return toKey(endpointExpirationPrefix, "{" + shard + "}");
+    }
+
+    private byte[] toObsIdKey(byte[] observationId) {
+        byte[] prefix = endpointByObservationIdPrefix.getBytes(UTF_8);
+        byte[] key = Arrays.copyOf(prefix, prefix.length + observationId.length);
+        System.arraycopy(observationId, 0, key, prefix.length, observationId.length);
+        return key;
+    }
+
+    /* *************** Leshan Registration API **************** */
+
+    @Override
+    public Deregistration addRegistration(Registration registration) {
+        String endpoint = registration.getEndpoint();
+        byte[] lockValue = null;
+        byte[] lockKey = toLockKey(endpoint);
+        try {
+            lockValue = lock.acquire(cluster, lockKey);
+
+            // store registration and remove previous observations on endpoint slot
+            List<?> result = (List<?>) WRITE_REGISTRATION.eval(cluster,
+                    Arrays.asList(toEndpointKey(endpoint), toObservationsKey(endpoint)),
+                    Collections.singletonList(serializeReg(registration)));
+            byte[] old = (byte[]) result.get(0);
+            Collection<Observation> obsRemoved = deserializeObservations(result.get(1));
+
+            // then update secondary indexes and expiration
+            List<byte[]> staleIndexes = new ArrayList<>();
+            Registration oldRegistration = null;
+            if (old != null) {
+                oldRegistration = deserializeReg(old);
+                staleIndexes.addAll(getStaleIndexes(oldRegistration, registration));
+                for (Observation observation : obsRemoved) {
+                    staleIndexes.add(toObsIdKey(toObservationId(observation.getId())));
+                }
+            }
+            writeIndexes(registration, getIndexes(registration), staleIndexes);
+
+            return oldRegistration == null ? null : new Deregistration(oldRegistration, obsRemoved);
+        } finally {
+            lock.release(cluster, lockKey, lockValue);
+        }
+    }
+
+    @Override
+    public UpdatedRegistration updateRegistration(RegistrationUpdate update) {
+        // Fetch the registration ep by registration ID index
+        String endpoint = getEndpoint(toRegIdKey(update.getRegistrationId()));
+        if (endpoint == null) {
+            return null;
+        }
+
+        byte[] lockValue = null;
+        byte[] lockKey = toLockKey(endpoint);
+        try {
+            lockValue = lock.acquire(cluster, lockKey);
+
+            // Fetch the registration
+            Registration r = getRegistrationByEndpoint(endpoint, reg -> reg.getId().equals(update.getRegistrationId()));
+            if (r == null) {
+                return null;
+            }
+
+            Registration updatedRegistration = update.update(r);
+
+            // Update secondary index :
+            // If registration is already associated to this address we don't care as we only want to keep the most
+            // recent binding.
+            cluster.set(toEndpointKey(endpoint), serializeReg(updatedRegistration));
+            writeIndexes(updatedRegistration, getUpdatedIndexes(updatedRegistration),
+                    getStaleIndexes(r, updatedRegistration));
+
+            return new UpdatedRegistration(r, updatedRegistration);
+        } finally {
+            lock.release(cluster, lockKey, lockValue);
+        }
+    }
+
+    @Override
+    public Registration getRegistration(String registrationId) {
+        return getRegistrationByIndex(toRegIdKey(registrationId), r -> r.getId().equals(registrationId));
+    }
+
+    @Override
+    public Registration getRegistrationByEndpoint(String endpoint) {
+        Validate.notNull(endpoint);
+        return getRegistrationByEndpoint(endpoint, r -> true);
+    }
+
+    @Override
+    public Registration getRegistrationByAdress(InetSocketAddress address) {
+        Validate.notNull(address);
+        return getRegistrationByIndex(toRegAddrKey(address), r -> r.getSocketAddress().equals(address));
+    }
+
+    @Override
+    public Registration getRegistrationByIdentity(LwM2mIdentity identity) {
+        Validate.notNull(identity);
+        return getRegistrationByIndex(toRegIdentityKey(identity),
+                r -> r.getClientTransportData().getIdentity().equals(identity));
+    }
+
+    /**
+     * Get a registration from a secondary index.
+     *
+     * @param matcher used to check that the registration found still matches the index, as secondary indexes are not
+     *        updated atomically with the registration.
+     */
+    private Registration getRegistrationByIndex(byte[] indexKey, Predicate<Registration> matcher) {
+        String endpoint = getEndpoint(indexKey);
+        if (endpoint == null) {
+            return null;
+        }
+        return getRegistrationByEndpoint(endpoint, matcher);
+    }
+
+    private Registration getRegistrationByEndpoint(String endpoint, Predicate<Registration> matcher) {
+        byte[] data = cluster.get(toEndpointKey(endpoint));
+        if (data == null) {
+            return null;
+        }
+        Registration registration = deserializeReg(data);
+        return matcher.test(registration) ? registration : null;
+    }
+
+    private String getEndpoint(byte[] indexKey) {
+        byte[] endpoint = cluster.get(indexKey);
+        return endpoint == null ? null : new String(endpoint, UTF_8);
+    }
+
+    @Override
+    public Iterator<Registration> getAllRegistrations() {
+        return new RedisClusterIterator(new ScanParams().match(registrationByEndpointPrefix + "*").count(100));
+    }
+
+    /**
+     * An iterator scanning keys of all master nodes of the cluster, one node after the other.
+     * <p>
+     * A registration stored on a slot which is migrated during the scan could be missed or returned twice.
+     */
+    protected class RedisClusterIterator implements Iterator<Registration> {
+
+        private final ScanParams scanParams;
+        private final Iterator<ConnectionPool> nodes;
+
+        private ConnectionPool node;
+        private String cursor;
+        private List<Registration> scanResult = new ArrayList<>();
+
+        public RedisClusterIterator(ScanParams scanParams) {
+            this.scanParams = scanParams;
+            this.nodes = new ArrayList<>(cluster.getClusterNodes().values()).iterator();
+            // init scan result
+            scanNext();
+        }
+
+        private void scanNext() {
+            while (scanResult.isEmpty()) {
+                if (node == null || "0".equals(cursor)) {
+                    // current node is fully scanned, go to next master node
+                    node = nextMasterNode();
+                    if (node == null) {
+                        return;
+                    }
+                    cursor = "0";
+                }
+                try (Jedis j = new Jedis(node.getResource())) {
+                    ScanResult<byte[]> sr = j.scan(cursor.getBytes(UTF_8), scanParams);
+                    if (sr.getResult() != null && !sr.getResult().isEmpty()) {
+                        // keys of a node could be on several slots, so use a pipeline instead of MGET
+                        Pipeline p = j.pipelined();
+                        List<Response<byte[]>> values = new ArrayList<>(sr.getResult().size());
+                        for (byte[] key : sr.getResult()) {
+                            values.add(p.get(key));
+                        }
+                        p.sync();
+                        for (int i = 0; i < values.size(); i++) {
+                            byte[] value = getOrFollowRedirection(values.get(i), sr.getResult().get(i));
+                            if (value != null) {
+                                scanResult.add(deserializeReg(value));
+                            }
+                        }
+                    }
+                    cursor = sr.getCursor();
+                }
+            }
+        }
+
+        private ConnectionPool nextMasterNode() {
+            while (nodes.hasNext()) {
+                ConnectionPool candidate = nodes.next();
+                try (Jedis j = new Jedis(candidate.getResource())) {
+                    if ("master".equals(j.role().get(0))) {
+                        return candidate;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private byte[] getOrFollowRedirection(Response<byte[]> response, byte[] key) {
+            try {
+                return response.get();
+            } catch (JedisDataException e) {
+                // slot migrated since the scan (MOVED or ASK), let cluster client find the right node
+                return cluster.get(key);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!scanResult.isEmpty()) {
+                return true;
+            }
+            scanNext();
+            return !scanResult.isEmpty();
+        }
+
+        @Override
+        public Registration next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return scanResult.remove(0);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Override
+    public Deregistration removeRegistration(String registrationId) {
+        return removeRegistration(registrationId, false);
+    }
+
+    private Deregistration removeRegistration(String registrationId, boolean removeOnlyIfNotAlive) {
+        // fetch the client ep by registration ID index
+        String endpoint = getEndpoint(toRegIdKey(registrationId));
+        if (endpoint == null) {
+            return null;
+        }
+
+        byte[] lockValue = null;
+        byte[] lockKey = toLockKey(endpoint);
+        try {
+            lockValue = lock.acquire(cluster, lockKey);
+
+            // fetch the client
+            Registration r = getRegistrationByEndpoint(endpoint, reg -> reg.getId().equals(registrationId));
+            if (r == null) {
+                return null;
+            }
+
+            if (!removeOnlyIfNotAlive || !r.isAlive(gracePeriod)) {
+                // remove registration and its observations on endpoint slot
+                Object removed = REMOVE_REGISTRATION.eval(cluster,
+                        Arrays.asList(toEndpointKey(endpoint), toObservationsKey(endpoint)),
+                        Collections.<byte[]> emptyList());
+                if (removed != null) {
+                    Collection<Observation> observations = deserializeObservations(removed);
+
+                    // then remove secondary indexes and expiration
+                    List<byte[]> staleIndexes = new ArrayList<>(getIndexes(r));
+                    for (Observation observation : observations) {
+                        staleIndexes.add(toObsIdKey(toObservationId(observation.getId())));
+                    }
+                    try (ClusterPipeline p = cluster.pipelined()) {
+                        p.zrem(toExpirationKey(endpoint), endpoint.getBytes(UTF_8));
+                        removeIndexes(p, endpoint, staleIndexes);
+                        p.sync();
+                    }
+                    return new Deregistration(r, observations);
+                }
+            }
+            return null;
+        } finally {
+            lock.release(cluster, lockKey, lockValue);
+        }
+    }
+
+    /**
+     * Set the given secondary indexes, remove the stale ones if they still point to this endpoint and update the
+     * expiration of the registration in 1 pipeline.
+     */
+    private void writeIndexes(Registration registration, List<byte[]> indexes, List<byte[]> staleIndexes) {
+        String endpoint = registration.getEndpoint();
+        byte[] endpointValue = endpoint.getBytes(UTF_8);
+        try (ClusterPipeline p = cluster.pipelined()) {
+            for (byte[] index : indexes) {
+                p.set(index, endpointValue);
+            }
+            removeIndexes(p, endpoint, staleIndexes);
+            p.zadd(toExpirationKey(endpoint), registration.getExpirationTimeStamp(gracePeriod), endpointValue);
+            p.sync();
+        }
+    }
+
+    private void removeIndexes(ClusterPipeline p, String endpoint, List<byte[]> staleIndexes) {
+        List<byte[]> args = Collections.singletonList(endpoint.getBytes(UTF_8));
+        for (byte[] index : staleIndexes) {
+            REMOVE_INDEX.eval(p, Collections.singletonList(index), args);
+        }
+    }
+
+    /* *************** Leshan Observation API **************** */
+
+    @Override
+    public Collection<Observation> addObservation(String registrationId, Observation observation, boolean addIfAbsent) {
+        // fetch the client ep by registration ID index
+        String endpoint = getEndpoint(toRegIdKey(registrationId));
+        if (endpoint == null) {
+            throw new IllegalStateException(String.format(
+                    "can not add observation %s there is no registration with id %s", observation, registrationId));
+        }
+
+        List<Observation> removed = new ArrayList<>();
+        byte[] lockValue = null;
+        byte[] lockKey = toLockKey(endpoint);
+        try {
+            lockValue = lock.acquire(cluster, lockKey);
+
+            // observations are stored by endpoint, check registration is still the current one
+            if (getRegistrationByEndpoint(endpoint, r -> r.getId().equals(registrationId)) == null) {
+                throw new IllegalStateException(String.format(
+                        "can not add observation %s there is no registration with id %s", observation, registrationId));
+            }
+
+            // Add and Get previous observation
+            byte[] obsId = toObservationId(observation.getId());
+            byte[] observationsKey = toObservationsKey(endpoint);
+            List<?> result = (List<?>) ADD_OBSERVATION.eval(cluster, Collections.singletonList(observationsKey),
+                    Arrays.asList(obsId, serializeObs(observation), (addIfAbsent ? "1" : "0").getBytes(UTF_8)));
+
+            // log any collisions
+            byte[] previousValue = (byte[]) result.get(0);
+            if (previousValue != null && previousValue.length != 0) {
+                Observation previousObservation = deserializeObs(previousValue);
+                LOG.warn("Token collision ? observation [{}] will be replaced by observation [{}] ",
+                        previousObservation, observation);
+            }
+
+            // cancel existing observations for the same path and registration id.
+            List<byte[]> staleIndexes = new ArrayList<>();
+            for (Observation obs : deserializeObservations(result.get(1))) {
+                if (areTheSamePaths(observation, obs) && !observation.getId().equals(obs.getId())) {
+                    removed.add(obs);
+                    byte[] removedObsId = toObservationId(obs.getId());
+                    cluster.hdel(observationsKey, removedObsId);
+                    staleIndexes.add(toObsIdKey(removedObsId));
+                }
+            }
+
+            // secondary index to get the endpoint by observation id
+            try (ClusterPipeline p = cluster.pipelined()) {
+                p.set(toObsIdKey(obsId), endpoint.getBytes(UTF_8));
+                removeIndexes(p, endpoint, staleIndexes);
+                p.sync();
+            }
+        } finally {
+            lock.release(cluster, lockKey, lockValue);
+        }
+        return removed;
+    }
+
+    @Override
+    public Observation removeObservation(String registrationId, ObservationIdentifier observationId) {
+        // fetch the client ep by registration ID index
+        String endpoint = getEndpoint(toRegIdKey(registrationId));
+        if (endpoint == null) {
+            return null;
+        }
+
+        // remove observation
+        byte[] lockValue = null;
+        byte[] lockKey = toLockKey(endpoint);
+        try {
+            lockValue = lock.acquire(cluster, lockKey);
+
+            byte[] obsId = toObservationId(observationId);
+            Observation observation = getObservation(endpoint, obsId);
+            if (observation != null && registrationId.equals(observation.getRegistrationId())) {
+                cluster.hdel(toObservationsKey(endpoint), obsId);
+                try (ClusterPipeline p = cluster.pipelined()) {
+                    removeIndexes(p, endpoint, Collections.singletonList(toObsIdKey(obsId)));
+                    p.sync();
+                }
+                return observation;
+            }
+            return null;
+        } finally {
+            lock.release(cluster, lockKey, lockValue);
+        }
+    }
+
+    @Override
+    public Observation getObservation(String registrationId, ObservationIdentifier observationId) {
+        String endpoint = getEndpoint(toRegIdKey(registrationId));
+        if (endpoint == null) {
+            return null;
+        }
+        Observation observation = getObservation(endpoint, toObservationId(observationId));
+        if (observation != null && registrationId.equals(observation.getRegistrationId())) {
+            return observation;
+        }
+        return null;
+    }
+
+    @Override
+    public Observation getObservation(ObservationIdentifier observationId) {
+        byte[] obsId = toObservationId(observationId);
+        String endpoint = getEndpoint(toObsIdKey(obsId));
+        if (endpoint == null) {
+            return null;
+        }
+        return getObservation(endpoint, obsId);
+    }
+
+    @Override
+    public Collection<Observation> getObservations(String registrationId) {
+        String endpoint = getEndpoint(toRegIdKey(registrationId));
+        if (endpoint == null) {
+            return Collections.emptyList();
+        }
+        Collection<Observation> result = new ArrayList<>();
+        for (Observation observation : deserializeObservations(cluster.hvals(toObservationsKey(endpoint)))) {
+            if (registrationId.equals(observation.getRegistrationId())) {
+                result.add(observation);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<Observation> removeObservations(String registrationId) {
+        // check registration exists
+        String endpoint = getEndpoint(toRegIdKey(registrationId));
+        if (endpoint == null) {
+            return Collections.emptyList();
+        }
+
+        byte[] lockValue = null;
+        byte[] lockKey = toLockKey(endpoint);
+        try {
+            lockValue = lock.acquire(cluster, lockKey);
+
+            if (getRegistrationByEndpoint(endpoint, r -> r.getId().equals(registrationId)) == null) {
+                return Collections.emptyList();
+            }
+
+            byte[] observationsKey = toObservationsKey(endpoint);
+            Collection<Observation> removed = deserializeObservations(cluster.hvals(observationsKey));
+            cluster.del(observationsKey);
+
+            List<byte[]> staleIndexes = new ArrayList<>();
+            for (Observation observation : removed) {
+                staleIndexes.add(toObsIdKey(toObservationId(observation.getId())));
+            }
+            try (ClusterPipeline p = cluster.pipelined()) {
+                removeIndexes(p, endpoint, staleIndexes);
+                p.sync();
+            }
+            return removed;
+        } finally {
+            lock.release(cluster, lockKey, lockValue);
+        }
+    }
+
+    /* *************** Observation utility functions **************** */
+
+    private Observation getObservation(String endpoint, byte[] obsId) {
+        byte[] obs = cluster.hget(toObservationsKey(endpoint), obsId);
+        if (obs == null) {
+            return null;
+        } else {
+            return deserializeObs(obs);
+        }
+    }
+
+    /* *************** Expiration handling **************** */
+
+    @Override
+    protected Runnable createCleaner() {
+        return new Cleaner();
+    }
+
+    /**
+     * Removes expired registrations, shard after shard, until clean limit is reached. Each run starts from the next
+     * shard, so when the limit is reached, the last shards are not always the ones left for later.
+     */
+    private class Cleaner implements Runnable {
+
+        // only accessed by the scheduler thread
+        private int firstShard = 0;
+
+        @Override
+        public void run() {
+            try {
+                int remaining = cleanLimit;
+                int first = firstShard;
+                firstShard = (firstShard + 1) % expirationShards;
+                for (int i = 0; i < expirationShards && remaining > 0; i++) {
+                    int shard = (first + i) % expirationShards;
+                    byte[] expirationKey = toExpirationKey(shard);
+                    List<byte[]> endpointsExpired = cluster.zrangeByScore(expirationKey, Double.NEGATIVE_INFINITY,
+                            System.currentTimeMillis(), 0, remaining);
+                    remaining -= endpointsExpired.size();
+
+                    for (byte[] endpoint : endpointsExpired) {
+                        clean(expirationKey, new String(endpoint, UTF_8));
+                    }
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Unexpected Exception while registration cleaning", e);
+            }
+        }
+
+        private void clean(byte[] expirationKey, String endpoint) {
+            Registration r = getRegistrationByEndpoint(endpoint);
+            if (r == null) {
+                // registration removed but not its expiration (e.g. crash between the 2 writes)
+                cluster.zrem(expirationKey, endpoint.getBytes(UTF_8));
+            } else if (!r.isAlive(gracePeriod)) {
+                Deregistration dereg = removeRegistration(r.getId(), true);
+                if (dereg != null)
+                    expirationListener.registrationExpired(dereg.getRegistration(), dereg.getObservations());
+            }
+        }
+    }
+
+    /**
+     * Class helping to build and configure a {@link RedisClusterRegistrationStore}.
+     * <p>
+     * Prefixes should not contain <code>{</code> or <code>}</code> as they are used for hash tags.
+     */
+    public static class Builder extends AbstractRedisRegistrationStoreBuilder<Builder, RedisClusterRegistrationStore> {
+
+        private final JedisCluster cluster;
+
+        private String observationsByEndpointPrefix;
+        private String endpointByObservationIdPrefix;
+        private String endpointExpirationPrefix;
+        private int expirationShards;
+
+        private JedisClusterLock lock;
+
+        /**
+         * Set the key prefix for observations lookup by endpoint.
+         * <p>
+         * Default value is {@literal OBS#EP#}. Should not be {@code null} or empty.
+         */
+        public Builder setObservationsByEndpointPrefix(String observationsByEndpointPrefix) {
+            this.observationsByEndpointPrefix = observationsByEndpointPrefix;
+            return this;
+        }
+
+        /**
+         * Set the key prefix for endpoint lookup by observation identifier.
+         * <p>
+         * Default value is {@literal EP#OBSID#}. Should not be {@code null} or empty.
+         */
+        public Builder setEndpointByObservationIdPrefix(String endpointByObservationIdPrefix) {
+            this.endpointByObservationIdPrefix = endpointByObservationIdPrefix;
+            return this;
+        }
+
+        /**
+         * Set the key prefix of expiration sorted sets (expiration date, endpoint).
+         * <p>
+         * Default value is {@literal EXP#EP#}. Should not be {@code null} or empty.
+         */
+        public Builder setEndpointExpirationPrefix(String endpointExpirationPrefix) {
+            this.endpointExpirationPrefix = endpointExpirationPrefix;
+            return this;
+        }
+
+        /**
+         * Set the number of expiration sorted sets. Endpoints are spread over those sets, which are spread over the
+         * cluster nodes.
+         * <p>
+         * Default value is {@literal 16}. Changing it on an existing store means registrations already stored will only
+         * be cleaned once they are updated.
+         */
+        public Builder setExpirationShards(int expirationShards) {
+            this.expirationShards = expirationShards;
+            return this;
+        }
+
+        /**
+         * Set {@link JedisClusterLock} implementation used to handle concurrent access to this store.
+         * <p>
+         * Default implementation used is {@link SingleSlotJedisClusterLock}
+         */
+        public Builder setLock(JedisClusterLock lock) {
+            this.lock = lock;
+            return this;
+        }
+
+        public Builder(JedisCluster cluster) {
+            this.cluster = cluster;
+            this.observationsByEndpointPrefix = "OBS#EP#";
+            this.endpointByObservationIdPrefix = "EP#OBSID#";
+            this.endpointExpirationPrefix = "EXP#EP#";
+            this.expirationShards = 16;
+        }
+
+        @Override
+        protected Builder generateDefaultValue() {
+            if (this.schedExecutor == null) {
+                this.schedExecutor = Executors.newScheduledThreadPool(1, new NamedThreadFactory(
+                        String.format("RedisClusterRegistrationStore Cleaner (%ds)", this.cleanPeriod)));
+            }
+
+            if (this.lock == null) {
+                this.lock = new SingleSlotJedisClusterLock();
+            }
+
+            return super.generateDefaultValue();
+        }
+
+        /**
+         * Create the {@link RedisClusterRegistrationStore}.
+         * <p>
+         * Throws {@link IllegalArgumentException} when any of prefixes is not set, is equal to some other or contains a
+         * hash tag delimiter.
+         */
+        @Override
+        public RedisClusterRegistrationStore build() throws IllegalArgumentException {
+            List<String[]> prefixes = getKeyPrefixes();
+            prefixes.add(new String[] { "observationsByEndpointPrefix", this.observationsByEndpointPrefix });
+            prefixes.add(new String[] { "endpointByObservationIdPrefix", this.endpointByObservationIdPrefix });
+            prefixes.add(new String[] { "endpointExpirationPrefix", this.endpointExpirationPrefix });
+            validateKeyPrefixes(prefixes);
+
+            // Make sure hash tags are not broken
+            for (String[] p : prefixes) {
+                if (containsHashTagDelimiter(p[1]) || containsHashTagDelimiter(this.prefix)) {
+                    throw new IllegalArgumentException(
+                            String.format("prefix %s should not contain '{' or '}'", this.prefix + p[1]));
+                }
+            }
+
+            if (this.expirationShards < 1) {
+                throw new IllegalArgumentException("expirationShards should be greater than 0");
+            }
+
+            applyPrefix();
+
+            generateDefaultValue();
+
+            return new RedisClusterRegistrationStore(this);
+        }
+
+        @Override
+        protected void applyPrefix() {
+            super.applyPrefix();
+            if (this.prefix != null) {
+                this.observationsByEndpointPrefix = this.prefix + this.observationsByEndpointPrefix;
+                this.endpointByObservationIdPrefix = this.prefix + this.endpointByObservationIdPrefix;
+                this.endpointExpirationPrefix = this.prefix + this.endpointExpirationPrefix;
+            }
+        }
+
+        private static boolean containsHashTagDelimiter(String value) {
+            return value != null && (value.indexOf('{') >= 0 || value.indexOf('}') >= 0);
+        }
+    }
+}
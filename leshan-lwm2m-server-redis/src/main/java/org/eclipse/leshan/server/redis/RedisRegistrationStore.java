@@ -27,33 +27,26 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
-import org.eclipse.leshan.core.Destroyable;
-import org.eclipse.leshan.core.Startable;
-import org.eclipse.leshan.core.Stoppable;
-import org.eclipse.leshan.core.observation.CompositeObservation;
 import org.eclipse.leshan.core.observation.Observation;
 import org.eclipse.leshan.core.observation.ObservationIdentifier;
-import org.eclipse.leshan.core.observation.SingleObservation;
 import org.eclipse.leshan.core.peer.LwM2mIdentity;
-import org.eclipse.leshan.core.peer.LwM2mPeer;
 import org.eclipse.leshan.core.util.NamedThreadFactory;
 import org.eclipse.leshan.core.util.Validate;
-import org.eclipse.leshan.server.redis.serialization.LwM2mIdentitySerDes;
-import org.eclipse.leshan.server.redis.serialization.LwM2mPeerSerDes;
-import org.eclipse.leshan.server.redis.serialization.ObservationSerDes;
-import org.eclipse.leshan.server.redis.serialization.RegistrationSerDes;
 import org.eclipse.leshan.server.registration.Deregistration;
-import org.eclipse.leshan.server.registration.ExpirationListener;
 import org.eclipse.leshan.server.registration.Registration;
 import org.eclipse.leshan.server.registration.RegistrationStore;
 import org.eclipse.leshan.server.registration.RegistrationUpdate;
@@ -61,7 +54,10 @@ import org.eclipse.leshan.server.registration.UpdatedRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import redis.clients.jedis.BinaryJedisPubSub;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.Transaction;
 import redis.clients.jedis.params.ScanParams;
 import redis.clients.jedis.resps.ScanResult;
@@ -69,61 +65,232 @@ import redis.clients.jedis.util.Pool;
 
 /**
  * A RegistrationStore which stores registrations and observations in Redis.
+ * <p>
+ * Registration, its secondary indexes and its expiration are written or removed using Lua scripts. Lookups by secondary
+ * index need only one round-trip.
+ * <p>
+ * With the default {@link JedisLock}, updating or removing a registration needs 5 round-trips : read of the
+ * registration ID index, lock acquisition, read of the registration, Lua script and lock release. With optimistic
+ * concurrency (see {@link Builder#setOptimisticConcurrency(boolean)}), it needs 2 round-trips when there is no
+ * concurrent write : the registration is read through the registration ID index by one Lua script, then written or
+ * removed by another one only if it was not modified in the meantime.
+ * <p>
+ * Each write publishes the modified keys on an invalidation channel. When a near cache is configured (see
+ * {@link Builder#setNearCacheSize(int)}), lookups are served from a local cache of registrations which is invalidated
+ * by those messages, so hot lookups do not need any round-trip. The near cache is only used once the store is started
+ * and subscribed to the invalidation channel.
+ * <p>
+ * Concurrent writes on the same endpoint are serialized by a {@link JedisLock} or, when
+ * {@link Builder#setOptimisticConcurrency(boolean)} is used, by optimistic transactions.
  */
-public class RedisRegistrationStore implements RegistrationStore, Startable, Stoppable, Destroyable {
+public class RedisRegistrationStore extends AbstractRedisRegistrationStore {
     private static final Logger LOG = LoggerFactory.getLogger(RedisRegistrationStore.class);
 
+    /* *************** Lua scripts **************** */
+
+    // Publish an invalidation message listing the given keys, each key is prefixed by its length (e.g. 3:abc4:abcd).
+    // Nothing is published if channel is empty.
+    private static final String INVALIDATE_FUNCTIONS = String.join("\n", //
+            "local function keysFrom(first)", //
+            "  local keys = {}", //
+            "  for i = first, #KEYS do keys[#keys + 1] = KEYS[i] end", //
+            "  return keys", //
+            "end", //
+            "local function invalidate(channel, keys)", //
+            "  if channel == '' or #keys == 0 then return end", //
+            "  local message = {}", //
+            "  for i, key in ipairs(keys) do message[i] = string.len(key) .. ':' .. key end", //
+            "  redis.call('PUBLISH', channel, table.concat(message))", //
+            "end");
+
+    // Store a registration and its expiration, set secondary indexes and remove stale ones.
+    // KEYS[1] registration key, KEYS[2] expiration key, KEYS[3..n+2] indexes to set, KEYS[n+3..] indexes to remove
+    // ARGV[1] registration, ARGV[2] endpoint, ARGV[3] expiration timestamp, ARGV[4] n, ARGV[5] invalidation channel
+    private static final String WRITE_FUNCTIONS = String.join("\n", //
+            INVALIDATE_FUNCTIONS, //
+            "local function write()", //
+            "  redis.call('SET', KEYS[1], ARGV[1])", //
+            "  redis.call('ZADD', KEYS[2], ARGV[3], ARGV[2])", //
+            "  local n = tonumber(ARGV[4])", //
+            "  for i = 3, n + 2 do", //
+            "    redis.call('SET', KEYS[i], ARGV[2])", //
+            "  end", //
+            "  for i = n + 3, #KEYS do", //
+            "    if redis.call('GET', KEYS[i]) == ARGV[2] then redis.call('DEL', KEYS[i]) end", //
+            "  end", //
+            "  local invalidated = keysFrom(3)", //
+            "  invalidated[#invalidated + 1] = KEYS[1]", //
+            "  invalidate(ARGV[5], invalidated)", //
+            "end");
+
+    // returns the previous registration
+    private static final LuaScript WRITE_REGISTRATION = new LuaScript(String.join("\n", //
+            WRITE_FUNCTIONS, //
+            "local previous = redis.call('GET', KEYS[1])", //
+            "write()", //
+            "return previous"));
+
+    // Same as WRITE_REGISTRATION but the registration is only written if it was not modified since it was read.
+    // ARGV[6] registration as read
+    // returns the previous registration or nil if the registration was modified.
+    private static final LuaScript COMPARE_AND_WRITE_REGISTRATION = new LuaScript(String.join("\n", //
+            WRITE_FUNCTIONS, //
+            "local previous = redis.call('GET', KEYS[1])", //
+            "if previous ~= ARGV[6] then return false end", //
+            "write()", //
+            "return previous"));
+
+    // Remove indexes if they still point to the given endpoint and all observations of a registration.
+    // KEYS[first..] indexes to remove, KEYS[obsIdsKey] observation ids list of the registration
+    // ARGV[1] endpoint, ARGV[2] observation key prefix, ARGV[3] invalidation channel
+    private static final String REMOVE_FUNCTIONS = String.join("\n", //
+            INVALIDATE_FUNCTIONS, //
+            "local function removeIndexes(first)", //
+            "  for i = first, #KEYS do", //
+            "    if redis.call('GET', KEYS[i]) == ARGV[1] then redis.call('DEL', KEYS[i]) end", //
+            "  end", //
+            "  return keysFrom(first)", //
+            "end", //
+            "local function removeObservations(obsIdsKey)", //
+            "  local removed = {}", //
+            "  for _, obsId in ipairs(redis.call('LRANGE', obsIdsKey, 0, -1)) do", //
+            "    local key = ARGV[2] .. obsId", //
+            "    local obs = redis.call('GET', key)", //
+            "    if obs then", //
+            "      removed[#removed + 1] = obs", //
+            "      redis.call('DEL', key)", //
+            "    end", //
+            "  end", //
+            "  redis.call('DEL', obsIdsKey)", //
+            "  return removed", //
+            "end");
+
+    // KEYS[1] observation ids list, KEYS[2..] indexes to remove
+    // returns removed observations
+    private static final LuaScript REMOVE_INDEXES_AND_OBSERVATIONS = new LuaScript(String.join("\n", //
+            REMOVE_FUNCTIONS, //
+            "invalidate(ARGV[3], removeIndexes(2))", //
+            "return removeObservations(KEYS[1])"));
+
+    // KEYS[1] registration id index, KEYS[2] registration key, KEYS[3] expiration key, KEYS[4] observation ids list,
+    // KEYS[5..] indexes to remove
+    // returns removed observations or nil if registration id index does not exist.
+    private static final LuaScript REMOVE_REGISTRATION = new LuaScript(String.join("\n", //
+            REMOVE_FUNCTIONS, //
+            "if redis.call('DEL', KEYS[1]) == 0 then return false end", //
+            "redis.call('DEL', KEYS[2])", //
+            "redis.call('ZREM', KEYS[3], ARGV[1])", //
+            "local invalidated = removeIndexes(5)", //
+            "invalidated[#invalidated + 1] = KEYS[1]", //
+            "invalidated[#invalidated + 1] = KEYS[2]", //
+            "invalidate(ARGV[3], invalidated)", //
+            "return removeObservations(KEYS[4])"));
+
+    // Same as REMOVE_REGISTRATION but the registration is only removed if it was not modified since it was read.
+    // ARGV[4] registration as read
+    // returns removed observations or nil if the registration was modified.
+    private static final LuaScript COMPARE_AND_REMOVE_REGISTRATION = new LuaScript(String.join("\n", //
+            REMOVE_FUNCTIONS, //
+            "if redis.call('GET', KEYS[2]) ~= ARGV[4] then return false end", //
+            "redis.call('DEL', KEYS[1], KEYS[2])", //
+            "redis.call('ZREM', KEYS[3], ARGV[1])", //
+            "local invalidated = removeIndexes(5)", //
+            "invalidated[#invalidated + 1] = KEYS[1]", //
+            "invalidated[#invalidated + 1] = KEYS[2]", //
+            "invalidate(ARGV[3], invalidated)", //
+            "return removeObservations(KEYS[4])"));
+
+    // Claim expired endpoints : their expiration is pushed back so other store instances do not claim them too.
+    // KEYS[1] expiration key, ARGV[1] now, ARGV[2] maximum number of endpoints, ARGV[3] claim expiration
+    // returns claimed endpoints
+    private static final LuaScript CLAIM_EXPIRED = new LuaScript(String.join("\n", //
+            "local endpoints = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])", //
+            "for _, endpoint in ipairs(endpoints) do redis.call('ZADD', KEYS[1], ARGV[3], endpoint) end", //
+            "return endpoints"));
+
+    // Remove a batch of expired registrations, their indexes and observations. A registration is only removed if its
+    // endpoint is not locked and if it was not modified since it was read.
+    // For each registration, 7 keys : registration id index, registration key, expiration key, observation ids list,
+    // lock key, address index, identity index
+    // ARGV[1] observation key prefix, ARGV[2] invalidation channel, then for each registration : endpoint and
+    // registration as read
+    // returns for each registration removed observations or nil if registration was not removed.
+    private static final LuaScript REMOVE_EXPIRED_REGISTRATIONS = new LuaScript(String.join("\n", //
+            INVALIDATE_FUNCTIONS, //
+            "local removed = {}", //
+            "for i = 0, #KEYS / 7 - 1 do", //
+            "  local k, endpoint = i * 7, ARGV[3 + i * 2]", //
+            "  removed[i + 1] = false", //
+            "  if redis.call('EXISTS', KEYS[k + 5]) == 0 and redis.call('GET', KEYS[k + 2]) == ARGV[4 + i * 2] then", //
+            "    redis.call('DEL', KEYS[k + 1], KEYS[k + 2])", //
+            "    redis.call('ZREM', KEYS[k + 3], endpoint)", //
+            "    for j = k + 6, k + 7 do", //
+            "      if redis.call('GET', KEYS[j]) == endpoint then redis.call('DEL', KEYS[j]) end", //
+            "    end", //
+            "    local observations = {}", //
+            "    for _, obsId in ipairs(redis.call('LRANGE', KEYS[k + 4], 0, -1)) do", //
+            "      local key = ARGV[1] .. obsId", //
+            "      local obs = redis.call('GET', key)", //
+            "      if obs then", //
+            "        observations[#observations + 1] = obs", //
+            "        redis.call('DEL', key)", //
+            "      end", //
+            "    end", //
+            "    redis.call('DEL', KEYS[k + 4])", //
+            "    invalidate(ARGV[2], {KEYS[k + 1], KEYS[k + 2], KEYS[k + 6], KEYS[k + 7]})", //
+            "    removed[i + 1] = observations", //
+            "  end", //
+            "end", //
+            "return removed"));
+
+    // Get a registration from a secondary index.
+    // KEYS[1] index key, ARGV[1] registration key prefix
+    private static final LuaScript GET_BY_INDEX = new LuaScript(String.join("\n", //
+            "local endpoint = redis.call('GET', KEYS[1])", //
+            "if not endpoint then return false end", //
+            "return redis.call('GET', ARGV[1] .. endpoint)"));
+
     // Redis key prefixes
-    private final String registrationByEndpointPrefix; // (Endpoint => Registration)
-    private final String endpointByRegistrationIdPrefix; // secondary index key (Registration ID => Endpoint)
-    private final String endpointBySocketAddressPrefix; // secondary index key (Socket Address => Endpoint)
-    private final String endpointByIdentityPrefix; // secondary index key (Identity => Endpoint)
-    private final String endpointLockPrefix;
     private final byte[] observationByIdPrefix;
     private final String observationIdsByRegistrationIdPrefix; // secondary index (Registration => observation id list)
     private final byte[] endpointExpirationKey; // a sorted set used for registration expiration (expiration date,
                                                 // Endpoint)
+    private final byte[] invalidationChannel; // pub/sub channel used to publish modified keys
 
     private final Pool<Jedis> pool;
 
-    // Listener used to notify about a registration expiration
-    private ExpirationListener expirationListener;
-
-    private final ScheduledExecutorService schedExecutor;
-    private ScheduledFuture<?> cleanerTask;
-    private boolean started = false;
-
-    private final long cleanPeriod; // in seconds
-    private final int cleanLimit; // maximum number to clean in a clean period
-    private final long gracePeriod; // in seconds
+    private final int cleanBatchSize; // number of registrations claimed and cleaned at once
+    private final long cleanClaimTimeout; // in seconds
+    private final int cleanWorkers;
+    private final ExecutorService cleanWorkerExecutor;
 
     private final JedisLock lock;
-    private final RegistrationSerDes registrationSerDes;
-    private final ObservationSerDes observationSerDes;
-    private final LwM2mIdentitySerDes identitySerDes;
+    private final boolean optimisticConcurrency;
+    private final int maxOptimisticAttempts;
+
+    private final RegistrationNearCache nearCache;
+    private InvalidationSubscriber invalidationSubscriber;
 
     public RedisRegistrationStore(Pool<Jedis> p) {
         this(new Builder(p).generateDefaultValue());
     }
 
     public RedisRegistrationStore(Builder builder) {
+        super(builder);
         this.pool = builder.pool;
-        this.registrationByEndpointPrefix = builder.registrationByEndpointPrefix;
-        this.endpointByRegistrationIdPrefix = builder.endpointByRegistrationIdPrefix;
-        this.endpointBySocketAddressPrefix = builder.endpointBySocketAddressPrefix;
-        this.endpointByIdentityPrefix = builder.endpointByIdentityPrefix;
-        this.endpointLockPrefix = builder.endpointLockPrefix;
         this.observationByIdPrefix = builder.observationByIdPrefix.getBytes(UTF_8);
         this.observationIdsByRegistrationIdPrefix = builder.observationIdsByRegistrationIdPrefix;
         this.endpointExpirationKey = builder.endpointExpirationKey.getBytes(UTF_8);
-        this.cleanPeriod = builder.cleanPeriod;
-        this.cleanLimit = builder.cleanLimit;
-        this.gracePeriod = builder.gracePeriod;
-        this.schedExecutor = builder.schedExecutor;
+        this.invalidationChannel = builder.invalidationChannel.getBytes(UTF_8);
+        this.cleanBatchSize = builder.cleanBatchSize;
+        this.cleanClaimTimeout = builder.cleanClaimTimeout;
+        this.cleanWorkers = builder.cleanWorkers;
+        this.cleanWorkerExecutor = builder.cleanWorkers > 1 ? Executors.newFixedThreadPool(builder.cleanWorkers,
+                new NamedThreadFactory("RedisRegistrationStore Cleaner Worker")) : null;
         this.lock = builder.lock;
-        this.registrationSerDes = builder.registrationSerDes;
-        this.observationSerDes = builder.observationSerDes;
-        this.identitySerDes = builder.identitySerDes;
+        this.optimisticConcurrency = builder.optimisticConcurrency;
+        this.maxOptimisticAttempts = builder.maxOptimisticAttempts;
+        this.nearCache = builder.nearCacheSize > 0 ? new RegistrationNearCache(builder.nearCacheSize) : null;
     }
 
     /* *************** Redis Key utility function **************** */
@@ -145,10 +312,6 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         return resultArray;
     }
 
-    private byte[] toKey(String prefix, String registrationID) {
-        return (prefix + registrationID).getBytes();
-    }
-
     private byte[] toLockKey(String endpoint) {
         return toKey(endpointLockPrefix, endpoint);
     }
@@ -162,41 +325,25 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
     @Override
     public Deregistration addRegistration(Registration registration) {
         try (Jedis j = pool.getResource()) {
+            if (optimisticConcurrency) {
+                return addRegistrationOptimistically(j, registration);
+            }
+
             byte[] lockValue = null;
             byte[] lockKey = toLockKey(registration.getEndpoint());
 
             try {
                 lockValue = lock.acquire(j, lockKey);
 
-                // add registration
-                byte[] k = toEndpointKey(registration.getEndpoint());
-                byte[] old = j.getSet(k, serializeReg(registration));
-
-                // add registration: secondary indexes
-                byte[] regidIdx = toRegIdKey(registration.getId());
-                j.set(regidIdx, registration.getEndpoint().getBytes(UTF_8));
-                byte[] addrIdx = toRegAddrKey(registration.getSocketAddress());
-                j.set(addrIdx, registration.getEndpoint().getBytes(UTF_8));
-                byte[] identityIdx = toRegIdentityKey(registration.getClientTransportData().getIdentity());
-                j.set(identityIdx, registration.getEndpoint().getBytes(UTF_8));
-
-                // Add or update expiration
-                addOrUpdateExpiration(j, registration);
+                // add registration, its secondary indexes and its expiration in 1 round-trip.
+                byte[] old = writeRegistration(j, registration, getIndexes(registration),
+                        Collections.<byte[]> emptyList());
 
                 if (old != null) {
                     Registration oldRegistration = deserializeReg(old);
-                    // remove old secondary index
-                    if (!registration.getId().equals(oldRegistration.getId()))
-                        j.del(toRegIdKey(oldRegistration.getId()));
-                    if (!oldRegistration.getSocketAddress().equals(registration.getSocketAddress())) {
-                        removeAddrIndex(j, oldRegistration);
-                    }
-                    if (!oldRegistration.getClientTransportData().getIdentity()
-                            .equals(registration.getClientTransportData().getIdentity())) {
-                        removeIdentityIndex(j, oldRegistration);
-                    }
-                    // remove old observation
-                    Collection<Observation> obsRemoved = unsafeRemoveAllObservations(j, oldRegistration.getId());
+                    // remove old secondary index and old observation
+                    Collection<Observation> obsRemoved = removeIndexesAndObservations(j, oldRegistration,
+                            getStaleIndexes(oldRegistration, registration));
 
                     return new Deregistration(oldRegistration, obsRemoved);
                 }
@@ -208,9 +355,40 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         }
     }
 
+    private Deregistration addRegistrationOptimistically(Jedis j, Registration registration) {
+        byte[] endpointKey = toEndpointKey(registration.getEndpoint());
+        return retryOnConflict(() -> {
+            j.watch(endpointKey);
+            byte[] old = j.get(endpointKey);
+            Registration oldRegistration = old == null ? null : deserializeReg(old);
+
+            Transaction t = j.multi();
+            List<byte[]> keys = writeRegistrationKeys(registration, getIndexes(registration),
+                    Collections.<byte[]> emptyList());
+            WRITE_REGISTRATION.eval(t, keys, writeRegistrationArgs(registration, 3));
+            List<byte[]> staleIndexes = Collections.emptyList();
+            Response<Object> obsRemoved = null;
+            if (oldRegistration != null) {
+                staleIndexes = getStaleIndexes(oldRegistration, registration);
+                obsRemoved = REMOVE_INDEXES_AND_OBSERVATIONS.eval(t,
+                        removeIndexesAndObservationsKeys(oldRegistration, staleIndexes),
+                        removeIndexesAndObservationsArgs(oldRegistration));
+            }
+            exec(t);
+
+            invalidate(keys);
+            invalidate(staleIndexes);
+            return oldRegistration == null ? null
+                    : new Deregistration(oldRegistration, deserializeObservations(obsRemoved.get()));
+        });
+    }
+
     @Override
     public UpdatedRegistration updateRegistration(RegistrationUpdate update) {
         try (Jedis j = pool.getResource()) {
+            if (optimisticConcurrency) {
+                return updateRegistrationOptimistically(j, update);
+            }
 
             // Fetch the registration ep by registration ID index
             byte[] ep = j.get(toRegIdKey(update.getRegistrationId()));
@@ -230,30 +408,18 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
                 }
 
                 Registration r = deserializeReg(data);
+                if (!r.getId().equals(update.getRegistrationId())) {
+                    // endpoint registered again since registration ID index was read
+                    return null;
+                }
 
                 Registration updatedRegistration = update.update(r);
 
-                // Store the new registration
-                j.set(toEndpointKey(updatedRegistration.getEndpoint()), serializeReg(updatedRegistration));
-
-                // Add or update expiration
-                addOrUpdateExpiration(j, updatedRegistration);
-
-                // Update secondary index :
+                // Store the new registration, update secondary indexes and expiration in 1 round-trip.
                 // If registration is already associated to this address we don't care as we only want to keep the most
                 // recent binding.
-                byte[] addrIdx = toRegAddrKey(updatedRegistration.getSocketAddress());
-                j.set(addrIdx, updatedRegistration.getEndpoint().getBytes(UTF_8));
-                if (!r.getSocketAddress().equals(updatedRegistration.getSocketAddress())) {
-                    removeAddrIndex(j, r);
-                }
-                // update secondary index :
-                byte[] identityIdx = toRegIdentityKey(updatedRegistration.getClientTransportData().getIdentity());
-                j.set(identityIdx, updatedRegistration.getEndpoint().getBytes(UTF_8));
-                if (!r.getClientTransportData().getIdentity()
-                        .equals(updatedRegistration.getClientTransportData().getIdentity())) {
-                    removeIdentityIndex(j, r);
-                }
+                writeRegistration(j, updatedRegistration, getUpdatedIndexes(updatedRegistration),
+                        getStaleIndexes(r, updatedRegistration));
 
                 return new UpdatedRegistration(r, updatedRegistration);
 
@@ -263,55 +429,174 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         }
     }
 
+    private UpdatedRegistration updateRegistrationOptimistically(Jedis j, RegistrationUpdate update) {
+        byte[] regIdKey = toRegIdKey(update.getRegistrationId());
+        return retryOnConflict(() -> {
+            // Fetch the registration through the registration ID index in 1 round-trip.
+            byte[] data = getRegistrationDataByIndex(j, regIdKey);
+            if (data == null) {
+                return null;
+            }
+            Registration r = deserializeReg(data);
+            if (!r.getId().equals(update.getRegistrationId())) {
+                // endpoint registered again since registration ID index was read
+                return null;
+            }
+            Registration updatedRegistration = update.update(r);
+
+            // Write it in 1 round-trip if it was not modified since it was read.
+            List<byte[]> indexes = getUpdatedIndexes(updatedRegistration);
+            List<byte[]> keys = writeRegistrationKeys(updatedRegistration, indexes,
+                    getStaleIndexes(r, updatedRegistration));
+            List<byte[]> args = new ArrayList<>(writeRegistrationArgs(updatedRegistration, indexes.size()));
+            args.add(data);
+            if (COMPARE_AND_WRITE_REGISTRATION.eval(j, keys, args) == null) {
+                throw new ConcurrentWriteException();
+            }
+
+            invalidate(keys);
+            return new UpdatedRegistration(r, updatedRegistration);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With optimistic concurrency, all registrations are read in 1 pipelined round-trip and written in another one,
+     * each registration being written only if it was not modified since it was read. Registrations modified
+     * concurrently are then updated one by one. With a {@link JedisLock}, registrations are updated one by one.
+     */
     @Override
-    public Registration getRegistration(String registrationId) {
+    public List<UpdatedRegistration> updateRegistrations(List<RegistrationUpdate> updates) {
+        if (!optimisticConcurrency) {
+            return super.updateRegistrations(updates);
+        }
+
         try (Jedis j = pool.getResource()) {
-            return getRegistration(j, registrationId);
+            // Fetch all registrations through their registration ID index
+            Pipeline p = j.pipelined();
+            List<Response<Object>> reads = new ArrayList<>(updates.size());
+            for (RegistrationUpdate update : updates) {
+                reads.add(GET_BY_INDEX.eval(p, Collections.singletonList(toRegIdKey(update.getRegistrationId())),
+                        Collections.singletonList(registrationByEndpointPrefix.getBytes(UTF_8))));
+            }
+            p.sync();
+
+            // Write registrations which were not modified since they were read
+            p = j.pipelined();
+            List<UpdatedRegistration> result = new ArrayList<>(updates.size());
+            List<Response<Object>> writes = new ArrayList<>(updates.size());
+            List<List<byte[]>> writtenKeys = new ArrayList<>(updates.size());
+            for (int i = 0; i < updates.size(); i++) {
+                RegistrationUpdate update = updates.get(i);
+                byte[] data = (byte[]) reads.get(i).get();
+                Registration r = data == null ? null : deserializeReg(data);
+                if (r == null || !r.getId().equals(update.getRegistrationId())) {
+                    result.add(null);
+                    writes.add(null);
+                    writtenKeys.add(null);
+                    continue;
+                }
+                Registration updatedRegistration = update.update(r);
+                List<byte[]> indexes = getUpdatedIndexes(updatedRegistration);
+                List<byte[]> keys = writeRegistrationKeys(updatedRegistration, indexes,
+                        getStaleIndexes(r, updatedRegistration));
+                List<byte[]> args = new ArrayList<>(writeRegistrationArgs(updatedRegistration, indexes.size()));
+                args.add(data);
+                result.add(new UpdatedRegistration(r, updatedRegistration));
+                writes.add(COMPARE_AND_WRITE_REGISTRATION.eval(p, keys, args));
+                writtenKeys.add(keys);
+            }
+            p.sync();
+
+            for (int i = 0; i < updates.size(); i++) {
+                if (writes.get(i) == null) {
+                    continue;
+                }
+                if (writes.get(i).get() != null) {
+                    invalidate(writtenKeys.get(i));
+                } else {
+                    // modified concurrently
+                    result.set(i, updateRegistrationOptimistically(j, updates.get(i)));
+                }
+            }
+            return result;
         }
     }
 
+    @Override
+    public Registration getRegistration(String registrationId) {
+        return getRegistrationByIndex(toRegIdKey(registrationId), r -> r.getId().equals(registrationId));
+    }
+
     @Override
     public Registration getRegistrationByEndpoint(String endpoint) {
         Validate.notNull(endpoint);
+        long version = 0;
+        if (nearCache != null) {
+            Registration registration = nearCache.getByEndpoint(endpoint);
+            if (registration != null) {
+                return registration;
+            }
+            version = nearCache.version();
+        }
+
+        Registration registration;
         try (Jedis j = pool.getResource()) {
             byte[] data = j.get(toEndpointKey(endpoint));
             if (data == null) {
                 return null;
             }
-            return deserializeReg(data);
+            registration = deserializeReg(data);
+        }
+        if (nearCache != null) {
+            nearCache.put(version, registration, null);
         }
+        return registration;
     }
 
     @Override
     public Registration getRegistrationByAdress(InetSocketAddress address) {
         Validate.notNull(address);
-        try (Jedis j = pool.getResource()) {
-            byte[] ep = j.get(toRegAddrKey(address));
-            if (ep == null) {
-                return null;
-            }
-            byte[] data = j.get(toEndpointKey(ep));
-            if (data == null) {
-                return null;
-            }
-            return deserializeReg(data);
-        }
+        return getRegistrationByIndex(toRegAddrKey(address), r -> r.getSocketAddress().equals(address));
     }
 
     @Override
     public Registration getRegistrationByIdentity(LwM2mIdentity identity) {
         Validate.notNull(identity);
-        try (Jedis j = pool.getResource()) {
-            byte[] ep = j.get(toRegIdentityKey(identity));
-            if (ep == null) {
-                return null;
+        return getRegistrationByIndex(toRegIdentityKey(identity),
+                r -> r.getClientTransportData().getIdentity().equals(identity));
+    }
+
+    /**
+     * Get a registration from a secondary index using the near cache if any.
+     *
+     * @param matcher used to check that a cached registration still matches the index.
+     */
+    private Registration getRegistrationByIndex(byte[] indexKey, Predicate<Registration> matcher) {
+        if (nearCache == null) {
+            try (Jedis j = pool.getResource()) {
+                return getRegistrationByIndex(j, indexKey);
             }
-            byte[] data = j.get(toEndpointKey(ep));
-            if (data == null) {
-                return null;
+        }
+
+        String cacheKey = new String(indexKey, UTF_8);
+        Registration registration = nearCache.getByIndex(cacheKey);
+        if (registration != null) {
+            if (matcher.test(registration)) {
+                return registration;
             }
-            return deserializeReg(data);
+            nearCache.recordMismatch();
+        }
+
+        long version = nearCache.version();
+        try (Jedis j = pool.getResource()) {
+            registration = getRegistrationByIndex(j, indexKey);
+        }
+        if (registration != null) {
+            nearCache.put(version, registration, cacheKey);
         }
+        return registration;
     }
 
     @Override
@@ -385,11 +670,15 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
     @Override
     public Deregistration removeRegistration(String registrationId) {
         try (Jedis j = pool.getResource()) {
-            return removeRegistration(j, registrationId, false);
+            return removeRegistration(j, registrationId);
         }
     }
 
-    private Deregistration removeRegistration(Jedis j, String registrationId, boolean removeOnlyIfNotAlive) {
+    private Deregistration removeRegistration(Jedis j, String registrationId) {
+        if (optimisticConcurrency) {
+            return removeRegistrationOptimistically(j, registrationId);
+        }
+
         // fetch the client ep by registration ID index
         byte[] ep = j.get(toRegIdKey(registrationId));
         if (ep == null) {
@@ -407,17 +696,17 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
                 return null;
             }
             Registration r = deserializeReg(data);
+            if (!r.getId().equals(registrationId)) {
+                // endpoint registered again since registration ID index was read
+                return null;
+            }
 
-            if (!removeOnlyIfNotAlive || !r.isAlive(gracePeriod)) {
-                long nbRemoved = j.del(toRegIdKey(r.getId()));
-                if (nbRemoved > 0) {
-                    j.del(toEndpointKey(r.getEndpoint()));
-                    Collection<Observation> obsRemoved = unsafeRemoveAllObservations(j, r.getId());
-                    removeAddrIndex(j, r);
-                    removeIdentityIndex(j, r);
-                    removeExpiration(j, r);
-                    return new Deregistration(r, obsRemoved);
-                }
+            // remove registration, its indexes, expiration and observations in 1 round-trip.
+            List<byte[]> keys = removeRegistrationKeys(r);
+            Object removed = REMOVE_REGISTRATION.eval(j, keys, removeIndexesAndObservationsArgs(r));
+            invalidate(keys);
+            if (removed != null) {
+                return new Deregistration(r, deserializeObservations(removed));
             }
             return null;
         } finally {
@@ -425,52 +714,105 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         }
     }
 
-    private void removeAddrIndex(Jedis j, Registration r) {
-        removeSecondaryIndex(j, toRegAddrKey(r.getSocketAddress()), r.getEndpoint());
+    private Deregistration removeRegistrationOptimistically(Jedis j, String registrationId) {
+        byte[] regIdKey = toRegIdKey(registrationId);
+        return retryOnConflict(() -> {
+            // fetch the client through the registration ID index in 1 round-trip.
+            byte[] data = getRegistrationDataByIndex(j, regIdKey);
+            if (data == null) {
+                return null;
+            }
+            Registration r = deserializeReg(data);
+            if (!r.getId().equals(registrationId)) {
+                return null;
+            }
+
+            // remove it in 1 round-trip if it was not modified since it was read.
+            List<byte[]> keys = removeRegistrationKeys(r);
+            List<byte[]> args = new ArrayList<>(removeIndexesAndObservationsArgs(r));
+            args.add(data);
+            Object removed = COMPARE_AND_REMOVE_REGISTRATION.eval(j, keys, args);
+            if (removed == null) {
+                throw new ConcurrentWriteException();
+            }
+
+            invalidate(keys);
+            return new Deregistration(r, deserializeObservations(removed));
+        });
     }
 
-    private void removeIdentityIndex(Jedis j, Registration r) {
-        removeSecondaryIndex(j, toRegIdentityKey(r.getClientTransportData().getIdentity()), r.getEndpoint());
+    private List<byte[]> removeRegistrationKeys(Registration r) {
+        return Arrays.asList(toRegIdKey(r.getId()), toEndpointKey(r.getEndpoint()), endpointExpirationKey,
+                toKey(observationIdsByRegistrationIdPrefix, r.getId()), toRegAddrKey(r.getSocketAddress()),
+                toRegIdentityKey(r.getClientTransportData().getIdentity()));
     }
 
-    private void removeSecondaryIndex(Jedis j, byte[] indexKey, String endpointName) {
-        // Watch the key to remove.
-        j.watch(indexKey);
-
-        byte[] epFromAddr = j.get(indexKey);
-        // Delete the key if needed.
-        if (Arrays.equals(epFromAddr, endpointName.getBytes(UTF_8))) {
-            // Try to delete the key
-            Transaction transaction = j.multi();
-            transaction.del(indexKey);
-            transaction.exec();
-            // if transaction failed this is not an issue as the index is probably reused and we don't need to
-            // delete it anymore.
-        } else {
-            // the key must not be deleted.
-            j.unwatch();
-        }
+    /**
+     * Store the registration and its expiration, set the given secondary indexes and remove the stale ones if they
+     * still point to this endpoint.
+     *
+     * @return the previous value of the registration.
+     */
+    private byte[] writeRegistration(Jedis j, Registration registration, List<byte[]> indexes,
+            List<byte[]> staleIndexes) {
+        List<byte[]> keys = writeRegistrationKeys(registration, indexes, staleIndexes);
+        byte[] previous = (byte[]) WRITE_REGISTRATION.eval(j, keys,
+                writeRegistrationArgs(registration, indexes.size()));
+        invalidate(keys);
+        return previous;
+    }
+
+    private List<byte[]> writeRegistrationKeys(Registration registration, List<byte[]> indexes,
+            List<byte[]> staleIndexes) {
+        List<byte[]> keys = new ArrayList<>(2 + indexes.size() + staleIndexes.size());
+        keys.add(toEndpointKey(registration.getEndpoint()));
+        keys.add(endpointExpirationKey);
+        keys.addAll(indexes);
+        keys.addAll(staleIndexes);
+        return keys;
+    }
+
+    private List<byte[]> writeRegistrationArgs(Registration registration, int nbIndexes) {
+        return Arrays.asList(serializeReg(registration), registration.getEndpoint().getBytes(UTF_8),
+                Long.toString(registration.getExpirationTimeStamp(gracePeriod)).getBytes(UTF_8),
+                Integer.toString(nbIndexes).getBytes(UTF_8), invalidationChannel);
     }
 
-    private void addOrUpdateExpiration(Jedis j, Registration registration) {
-        j.zadd(endpointExpirationKey, registration.getExpirationTimeStamp(gracePeriod),
-                registration.getEndpoint().getBytes(UTF_8));
+    /**
+     * Remove the given secondary indexes if they still point to the endpoint of this registration and all observations
+     * of this registration.
+     */
+    private Collection<Observation> removeIndexesAndObservations(Jedis j, Registration registration,
+            List<byte[]> staleIndexes) {
+        Collection<Observation> removed = deserializeObservations(
+                REMOVE_INDEXES_AND_OBSERVATIONS.eval(j, removeIndexesAndObservationsKeys(registration, staleIndexes),
+                        removeIndexesAndObservationsArgs(registration)));
+        invalidate(staleIndexes);
+        return removed;
     }
 
-    private void removeExpiration(Jedis j, Registration registration) {
-        j.zrem(endpointExpirationKey, registration.getEndpoint().getBytes(UTF_8));
+    private List<byte[]> removeIndexesAndObservationsKeys(Registration registration, List<byte[]> staleIndexes) {
+        List<byte[]> keys = new ArrayList<>(1 + staleIndexes.size());
+        keys.add(toKey(observationIdsByRegistrationIdPrefix, registration.getId()));
+        keys.addAll(staleIndexes);
+        return keys;
     }
 
-    private byte[] toRegIdKey(String registrationId) {
-        return toKey(endpointByRegistrationIdPrefix, registrationId);
+    private List<byte[]> removeIndexesAndObservationsArgs(Registration registration) {
+        return Arrays.asList(registration.getEndpoint().getBytes(UTF_8), observationByIdPrefix, invalidationChannel);
     }
 
-    private byte[] toRegAddrKey(InetSocketAddress addr) {
-        return toKey(endpointBySocketAddressPrefix, addr.getAddress().toString() + ":" + addr.getPort());
+    private Registration getRegistrationByIndex(Jedis j, byte[] indexKey) {
+        byte[] data = getRegistrationDataByIndex(j, indexKey);
+        if (data == null) {
+            return null;
+        }
+        return deserializeReg(data);
     }
 
-    private byte[] toRegIdentityKey(LwM2mIdentity identity) {
-        return toKey(endpointByIdentityPrefix, identitySerDes.serialize(identity).toString());
+    private byte[] getRegistrationDataByIndex(Jedis j, byte[] indexKey) {
+        return (byte[]) GET_BY_INDEX.eval(j, Collections.singletonList(indexKey),
+                Collections.singletonList(registrationByEndpointPrefix.getBytes(UTF_8)));
     }
 
     private byte[] toEndpointKey(String endpoint) {
@@ -489,18 +831,6 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         return toKey(observationByIdPrefix, observationIdAsByte);
     }
 
-    private byte[] toObservationId(ObservationIdentifier observationId) {
-        return toKey(observationId.getEndpointUri().toString().getBytes(), "##".getBytes(), observationId.getBytes());
-    }
-
-    private byte[] serializeReg(Registration registration) {
-        return registrationSerDes.bSerialize(registration);
-    }
-
-    private Registration deserializeReg(byte[] data) {
-        return registrationSerDes.deserialize(data);
-    }
-
     /* *************** Leshan Observation API **************** */
 
     @Override
@@ -516,6 +846,10 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
                         "can not add observation %s there is no registration with id %s", observation, registrationId));
             }
 
+            if (optimisticConcurrency) {
+                return addObservationOptimistically(j, ep, registrationId, observation, addIfAbsent);
+            }
+
             byte[] lockValue = null;
             byte[] lockKey = toLockKey(ep);
             try {
@@ -560,14 +894,52 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         return removed;
     }
 
-    private boolean areTheSamePaths(Observation observation, Observation obs) {
-        if (observation instanceof SingleObservation && obs instanceof SingleObservation) {
-            return ((SingleObservation) observation).getPath().equals(((SingleObservation) obs).getPath());
-        }
-        if (observation instanceof CompositeObservation && obs instanceof CompositeObservation) {
-            return ((CompositeObservation) observation).getPaths().equals(((CompositeObservation) obs).getPaths());
-        }
-        return false;
+    private Collection<Observation> addObservationOptimistically(Jedis j, byte[] ep, String registrationId,
+            Observation observation, boolean addIfAbsent) {
+        byte[] endpointKey = toEndpointKey(ep);
+        byte[] obsId = toObservationId(observation.getId());
+        byte[] key = toObservationKey(obsId);
+        byte[] obsIdsKey = toKey(observationIdsByRegistrationIdPrefix, registrationId);
+        byte[] serializeObs = serializeObs(observation);
+        return retryOnConflict(() -> {
+            // observation list is modified by any change of registration observations and registration key by any
+            // new registration or removal of the endpoint
+            j.watch(endpointKey, key, obsIdsKey);
+            byte[] data = j.get(endpointKey);
+            if (data == null || !deserializeReg(data).getId().equals(registrationId)) {
+                // registration removed or endpoint registered again since registration ID index was read
+                j.unwatch();
+                throw new IllegalStateException(String.format(
+                        "can not add observation %s there is no registration with id %s", observation, registrationId));
+            }
+            byte[] previousValue = j.get(key);
+            Collection<Observation> observations = unsafeGetObservations(j, registrationId);
+
+            Transaction t = j.multi();
+            if (!addIfAbsent || previousValue == null || previousValue.length == 0) {
+                t.set(key, serializeObs);
+            }
+            // secondary index to get the list by registrationId
+            t.lpush(obsIdsKey, obsId);
+            // cancel existing observations for the same path and registration id.
+            List<Observation> removed = new ArrayList<>();
+            for (Observation obs : observations) {
+                if (areTheSamePaths(observation, obs) && !observation.getId().equals(obs.getId())) {
+                    removed.add(obs);
+                    byte[] removedObsId = toObservationId(obs.getId());
+                    t.del(toObservationKey(removedObsId));
+                    t.lrem(obsIdsKey, 0, removedObsId);
+                }
+            }
+            exec(t);
+
+            // log any collisions
+            if (previousValue != null && previousValue.length != 0) {
+                LOG.warn("Token collision ? observation [{}] will be replaced by observation [{}] ",
+                        deserializeObs(previousValue), observation);
+            }
+            return removed;
+        });
     }
 
     @Override
@@ -580,6 +952,10 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
                 return null;
             }
 
+            if (optimisticConcurrency) {
+                return removeObservationOptimistically(j, registrationId, observationId);
+            }
+
             // remove observation
             byte[] lockValue = null;
             byte[] lockKey = toLockKey(ep);
@@ -600,6 +976,25 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         }
     }
 
+    private Observation removeObservationOptimistically(Jedis j, String registrationId,
+            ObservationIdentifier observationId) {
+        byte[] obsId = toObservationId(observationId);
+        byte[] key = toObservationKey(obsId);
+        return retryOnConflict(() -> {
+            j.watch(key);
+            Observation observation = unsafeGetObservation(j, observationId);
+            if (observation == null || !registrationId.equals(observation.getRegistrationId())) {
+                return null;
+            }
+
+            Transaction t = j.multi();
+            t.del(key);
+            t.lrem(toKey(observationIdsByRegistrationIdPrefix, registrationId), 0, obsId);
+            exec(t);
+            return observation;
+        });
+    }
+
     @Override
     public Observation getObservation(String registrationId, ObservationIdentifier observationId) {
         try (Jedis j = pool.getResource()) {
@@ -633,6 +1028,11 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
             if (registration == null)
                 return Collections.emptyList();
 
+            if (optimisticConcurrency) {
+                // observations are removed atomically by a Lua script
+                return unsafeRemoveAllObservations(j, registrationId);
+            }
+
             // get endpoint and create lock
             String endpoint = registration.getEndpoint();
             byte[] lockValue = null;
@@ -650,22 +1050,21 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
     /* *************** Observation utility functions **************** */
 
     private Registration getRegistration(Jedis j, String registrationId) {
-        byte[] ep = j.get(toRegIdKey(registrationId));
-        if (ep == null) {
-            return null;
-        }
-        byte[] data = j.get(toEndpointKey(ep));
-        if (data == null) {
-            return null;
-        }
-
-        return deserializeReg(data);
+        return getRegistrationByIndex(j, toRegIdKey(registrationId));
     }
 
     private Collection<Observation> unsafeGetObservations(Jedis j, String registrationId) {
         Collection<Observation> result = new ArrayList<>();
-        for (byte[] obsId : j.lrange(toKey(observationIdsByRegistrationIdPrefix, registrationId), 0, -1)) {
-            byte[] obs = j.get(toObservationKey(obsId));
+        List<byte[]> obsIds = j.lrange(toKey(observationIdsByRegistrationIdPrefix, registrationId), 0, -1);
+        if (obsIds.isEmpty()) {
+            return result;
+        }
+        byte[][] keys = new byte[obsIds.size()][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = toObservationKey(obsIds.get(i));
+        }
+        // fetch all observations in 1 round-trip
+        for (byte[] obs : j.mget(keys)) {
             if (obs != null) {
                 result.add(deserializeObs(obs));
             }
@@ -690,199 +1089,363 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
     }
 
     private Collection<Observation> unsafeRemoveAllObservations(Jedis j, String registrationId) {
-        Collection<Observation> removed = new ArrayList<>();
-        byte[] regIdKey = toKey(observationIdsByRegistrationIdPrefix, registrationId);
+        return deserializeObservations(REMOVE_INDEXES_AND_OBSERVATIONS.eval(j,
+                Collections.singletonList(toKey(observationIdsByRegistrationIdPrefix, registrationId)),
+                Arrays.asList(new byte[0], observationByIdPrefix, invalidationChannel)));
+    }
 
-        // fetch all observations by token
-        for (byte[] obsId : j.lrange(regIdKey, 0, -1)) {
-            byte[] key = toObservationKey(obsId);
-            byte[] obs = j.get(key);
-            if (obs != null) {
-                removed.add(deserializeObs(obs));
+    /* *************** Optimistic concurrency **************** */
+
+    /**
+     * An operation which reads some watched keys and then writes in a transaction (<code>MULTI/EXEC</code>).
+     */
+    private interface OptimisticOperation<T> {
+        T execute() throws ConcurrentWriteException;
+    }
+
+    /**
+     * Raised when a transaction is discarded because a watched key was modified by another client.
+     */
+    private static class ConcurrentWriteException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        public ConcurrentWriteException() {
+            super("Watched key modified", null, false, false);
+        }
+    }
+
+    /**
+     * Execute the operation until its transaction is not discarded by a concurrent write.
+     */
+    private <T> T retryOnConflict(OptimisticOperation<T> operation) {
+        for (int attempt = 1; attempt <= maxOptimisticAttempts; attempt++) {
+            try {
+                return operation.execute();
+            } catch (ConcurrentWriteException e) {
+                LOG.trace("Concurrent write detected, retrying operation (attempt {})", attempt);
             }
-            j.del(key);
         }
-        j.del(regIdKey);
+        throw new IllegalStateException(String.format(
+                "Could not apply operation after %d attempts because of concurrent writes", maxOptimisticAttempts));
+    }
 
-        return removed;
+    private List<Object> exec(Transaction t) throws ConcurrentWriteException {
+        List<Object> result = t.exec();
+        if (result == null) {
+            throw new ConcurrentWriteException();
+        }
+        return result;
     }
 
-    private byte[] serializeObs(Observation obs) {
-        return observationSerDes.serialize(obs);
+    /* *************** Near cache invalidation **************** */
+
+    /**
+     * @return the near cache used by this store or <code>null</code> if there is no near cache.
+     */
+    public RegistrationNearCache getNearCache() {
+        return nearCache;
+    }
+
+    /**
+     * Remove the given keys from the near cache.
+     */
+    private void invalidate(Collection<byte[]> keys) {
+        if (nearCache == null) {
+            return;
+        }
+        for (byte[] key : keys) {
+            if (Arrays.equals(key, endpointExpirationKey)) {
+                continue;
+            }
+            String k = new String(key, UTF_8);
+            if (k.startsWith(registrationByEndpointPrefix)) {
+                nearCache.invalidateEndpoint(k.substring(registrationByEndpointPrefix.length()));
+            } else {
+                nearCache.invalidateIndex(k);
+            }
+        }
+    }
+
+    /**
+     * Decode an invalidation message published by the Lua scripts : a list of keys, each one prefixed by its length and
+     * ':'.
+     */
+    static List<byte[]> decodeInvalidationMessage(byte[] message) {
+        List<byte[]> keys = new ArrayList<>();
+        int i = 0;
+        while (i < message.length) {
+            int length = 0;
+            while (message[i] != ':') {
+                length = length * 10 + (message[i] - '0');
+                i++;
+            }
+            i++;
+            keys.add(Arrays.copyOfRange(message, i, i + length));
+            i += length;
+        }
+        return keys;
     }
 
-    private Observation deserializeObs(byte[] data) {
-        return observationSerDes.deserialize(data);
+    /**
+     * Subscribes to the invalidation channel and activates the near cache while subscribed. Subscription is retried
+     * each second if connection is lost.
+     */
+    private class InvalidationSubscriber extends BinaryJedisPubSub implements Runnable {
+
+        private volatile boolean running = true;
+
+        @Override
+        public void run() {
+            while (running) {
+                try (Jedis j = pool.getResource()) {
+                    j.subscribe(this, invalidationChannel);
+                } catch (RuntimeException e) {
+                    if (running) {
+                        LOG.warn("Subscription to near cache invalidation channel failed, retrying in 1s", e);
+                    }
+                } finally {
+                    nearCache.setActive(false);
+                }
+                if (running) {
+                    try {
+                        Thread.sleep(1000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onSubscribe(byte[] channel, int subscribedChannels) {
+            if (running) {
+                // messages could have been missed before subscription, so cache is cleared on activation.
+                nearCache.setActive(true);
+            } else {
+                unsubscribe();
+            }
+        }
+
+        @Override
+        public void onMessage(byte[] channel, byte[] message) {
+            try {
+                invalidate(decodeInvalidationMessage(message));
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to handle near cache invalidation message, clearing the cache", e);
+                nearCache.clear();
+            }
+        }
+
+        public void shutdown() {
+            running = false;
+            if (isSubscribed()) {
+                unsubscribe();
+            }
+        }
     }
 
     /* *************** Expiration handling **************** */
 
+    @Override
+    protected Runnable createCleaner() {
+        return new Cleaner();
+    }
+
     /**
-     * Start regular cleanup of dead registrations.
+     * Start near cache invalidation if a near cache is used.
      */
     @Override
-    public synchronized void start() {
-        if (!started) {
-            started = true;
-            cleanerTask = schedExecutor.scheduleAtFixedRate(new Cleaner(), cleanPeriod, cleanPeriod, TimeUnit.SECONDS);
+    protected void onStart() {
+        if (nearCache != null) {
+            invalidationSubscriber = new InvalidationSubscriber();
+            new NamedThreadFactory("RedisRegistrationStore Near Cache Invalidation").newThread(invalidationSubscriber)
+                    .start();
         }
     }
 
     /**
-     * Stop the underlying cleanup of the registrations.
+     * Stop the near cache invalidation.
      */
     @Override
-    public synchronized void stop() {
-        if (started) {
-            started = false;
-            if (cleanerTask != null) {
-                cleanerTask.cancel(false);
-                cleanerTask = null;
-            }
+    protected void onStop() {
+        stopInvalidationSubscriber();
+    }
+
+    private void stopInvalidationSubscriber() {
+        if (invalidationSubscriber != null) {
+            invalidationSubscriber.shutdown();
+            invalidationSubscriber = null;
         }
     }
 
     /**
-     * Destroy "cleanup" scheduler.
+     * Stop near cache invalidation and cleaning workers.
      */
     @Override
-    public synchronized void destroy() {
-        started = false;
-        schedExecutor.shutdownNow();
-        try {
-            schedExecutor.awaitTermination(5, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            LOG.warn("Destroying RedisRegistrationStore was interrupted.", e);
-            Thread.currentThread().interrupt();
+    protected void onDestroy() {
+        stopInvalidationSubscriber();
+        if (cleanWorkerExecutor != null) {
+            cleanWorkerExecutor.shutdownNow();
         }
     }
 
+    /**
+     * Removes expired registrations by chunks of {@link Builder#setCleanBatchSize(int)} registrations.
+     * <p>
+     * Each chunk is claimed atomically in the expiration sorted set, so store instances sharing the same Redis (and
+     * workers of the same instance) clean disjoint chunks. A claimed chunk is cleaned in 3 round-trips whatever its
+     * size : registrations are fetched in 1 round-trip and expired ones are removed by 1 Lua script, without acquiring
+     * endpoint locks. Registrations which are modified meanwhile or whose lock key exists (i.e. locked by a
+     * {@link JedisLock} storing lock at lock key, like {@link SingleInstanceJedisLock}) are not removed and will be
+     * checked again on next period.
+     */
     private class Cleaner implements Runnable {
 
         @Override
         public void run() {
+            AtomicInteger remaining = new AtomicInteger(cleanLimit);
+            if (cleanWorkerExecutor == null) {
+                cleanChunks(remaining);
+                return;
+            }
+
+            List<Future<?>> workers = new ArrayList<>(cleanWorkers);
+            for (int i = 0; i < cleanWorkers; i++) {
+                workers.add(cleanWorkerExecutor.submit(() -> cleanChunks(remaining)));
+            }
+            try {
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                LOG.warn("Unexpected Exception while registration cleaning", e.getCause());
+            }
+        }
 
+        private void cleanChunks(AtomicInteger remaining) {
             try (Jedis j = pool.getResource()) {
-                List<byte[]> endpointsExpired = j.zrangeByScore(endpointExpirationKey, Double.NEGATIVE_INFINITY,
-                        System.currentTimeMillis(), 0, cleanLimit);
-
-                for (byte[] endpoint : endpointsExpired) {
-                    byte[] regBytes = j.get(toEndpointKey(endpoint));
-                    if (regBytes != null) {
-                        Registration r = deserializeReg(regBytes);
-                        if (!r.isAlive(gracePeriod)) {
-                            Deregistration dereg = removeRegistration(j, r.getId(), true);
-                            if (dereg != null)
-                                expirationListener.registrationExpired(dereg.getRegistration(),
-                                        dereg.getObservations());
-                        }
+                while (true) {
+                    int budget = remaining.getAndAdd(-cleanBatchSize);
+                    if (budget <= 0) {
+                        return;
+                    }
+                    int chunkSize = Math.min(cleanBatchSize, budget);
+                    List<byte[]> endpoints = claimExpired(j, chunkSize);
+                    if (!endpoints.isEmpty()) {
+                        clean(j, endpoints);
+                    }
+                    if (endpoints.size() < chunkSize) {
+                        // no more expired registration
+                        return;
                     }
                 }
             } catch (RuntimeException e) {
                 LOG.warn("Unexpected Exception while registration cleaning", e);
             }
         }
-    }
 
-    @Override
-    public void setExpirationListener(ExpirationListener listener) {
-        expirationListener = listener;
+        @SuppressWarnings("unchecked")
+        private List<byte[]> claimExpired(Jedis j, int chunkSize) {
+            long now = System.currentTimeMillis();
+            return (List<byte[]>) CLAIM_EXPIRED.eval(j, Collections.singletonList(endpointExpirationKey),
+                    Arrays.asList(Long.toString(now).getBytes(UTF_8), Integer.toString(chunkSize).getBytes(UTF_8),
+                            Long.toString(now + cleanClaimTimeout * 1000).getBytes(UTF_8)));
+        }
+
+        private void clean(Jedis j, List<byte[]> endpoints) {
+            byte[][] endpointKeys = new byte[endpoints.size()][];
+            for (int i = 0; i < endpointKeys.length; i++) {
+                endpointKeys[i] = toEndpointKey(endpoints.get(i));
+            }
+            List<byte[]> values = j.mget(endpointKeys);
+
+            List<byte[]> removedEndpoints = new ArrayList<>();
+            Map<byte[], Double> expirationUpdates = new IdentityHashMap<>();
+            List<Registration> expired = new ArrayList<>();
+            List<byte[]> keys = new ArrayList<>();
+            List<byte[]> args = new ArrayList<>();
+            args.add(observationByIdPrefix);
+            args.add(invalidationChannel);
+            for (int i = 0; i < endpointKeys.length; i++) {
+                byte[] endpoint = endpoints.get(i);
+                byte[] data = values.get(i);
+                if (data == null) {
+                    // registration already removed
+                    removedEndpoints.add(endpoint);
+                    continue;
+                }
+                Registration r = deserializeReg(data);
+                if (r.isAlive(gracePeriod)) {
+                    // registration updated since expiration was read, restore its expiration
+                    expirationUpdates.put(endpoint, (double) r.getExpirationTimeStamp(gracePeriod));
+                    continue;
+                }
+                expired.add(r);
+                keys.add(toRegIdKey(r.getId()));
+                keys.add(endpointKeys[i]);
+                keys.add(endpointExpirationKey);
+                keys.add(toKey(observationIdsByRegistrationIdPrefix, r.getId()));
+                keys.add(toLockKey(endpoint));
+                keys.add(toRegAddrKey(r.getSocketAddress()));
+                keys.add(toRegIdentityKey(r.getClientTransportData().getIdentity()));
+                args.add(endpoint);
+                args.add(data);
+            }
+
+            List<Deregistration> deregistrations = new ArrayList<>();
+            if (!expired.isEmpty()) {
+                List<?> removed = (List<?>) REMOVE_EXPIRED_REGISTRATIONS.eval(j, keys, args);
+                invalidate(keys);
+                for (int i = 0; i < expired.size(); i++) {
+                    Registration r = expired.get(i);
+                    if (removed.get(i) != null) {
+                        deregistrations.add(new Deregistration(r, deserializeObservations(removed.get(i))));
+                    } else {
+                        // registration locked or modified, check it again on next period
+                        expirationUpdates.put(r.getEndpoint().getBytes(UTF_8), (double) System.currentTimeMillis());
+                    }
+                }
+            }
+            if (!removedEndpoints.isEmpty() || !expirationUpdates.isEmpty()) {
+                Pipeline p = j.pipelined();
+                if (!removedEndpoints.isEmpty()) {
+                    p.zrem(endpointExpirationKey, removedEndpoints.toArray(new byte[0][]));
+                }
+                if (!expirationUpdates.isEmpty()) {
+                    p.zadd(endpointExpirationKey, expirationUpdates);
+                }
+                p.sync();
+            }
+
+            for (Deregistration dereg : deregistrations) {
+                expirationListener.registrationExpired(dereg.getRegistration(), dereg.getObservations());
+            }
+        }
     }
 
     /**
      * Class helping to build and configure a {@link RedisRegistrationStore}.
      */
-    public static class Builder {
+    public static class Builder extends AbstractRedisRegistrationStoreBuilder<Builder, RedisRegistrationStore> {
 
         private final Pool<Jedis> pool;
 
-        private String prefix;
-        private String registrationByEndpointPrefix;
-        private String endpointByRegistrationIdPrefix;
-        private String endpointBySocketAddressPrefix;
-        private String endpointByIdentityPrefix;
-        private String endpointLockPrefix;
         private String observationByIdPrefix;
         private String observationIdsByRegistrationIdPrefix;
         private String endpointExpirationKey;
+        private String invalidationChannel;
+        private int nearCacheSize;
 
-        /** Time in seconds between 2 cleaning tasks (used to remove expired registration) */
-        private long cleanPeriod;
-        private int cleanLimit;
-        /** extra time for registration lifetime in seconds */
-        private long gracePeriod;
+        private int cleanBatchSize;
+        private long cleanClaimTimeout;
+        private int cleanWorkers;
 
-        private ScheduledExecutorService schedExecutor;
         private JedisLock lock;
-        private RegistrationSerDes registrationSerDes;
-        private ObservationSerDes observationSerDes;
-        private LwM2mIdentitySerDes identitySerDes;
-        private LwM2mPeerSerDes peerSerDes;
-
-        /**
-         * Set the prefix for all keys and prefixes.
-         * <p>
-         * Default value is {@literal REGSTORE#}.
-         */
-        public Builder setPrefix(String prefix) {
-            this.prefix = prefix;
-            return this;
-        }
-
-        /**
-         * Set the key prefix for registration info lookup by endpoint.
-         * <p>
-         * Default value is {@literal REG#EP#}. Should not be {@code null} or empty. Leshan v1.x used
-         * {@literal REG:EP:}.
-         */
-        public Builder setRegistrationByEndpointPrefix(String registrationByEndpointPrefix) {
-            this.registrationByEndpointPrefix = registrationByEndpointPrefix;
-            return this;
-        }
-
-        /**
-         * Set the key prefix for endpoint lookup by registration ID.
-         * <p>
-         * Default value is {@literal EP#REGID#}. Should not be {@code null} or empty. Leshan v1.x used
-         * {@literal EP:REGID:}.
-         */
-        public Builder setEndpointByRegistrationIdPrefix(String endpointByRegistrationIdPrefix) {
-            this.endpointByRegistrationIdPrefix = endpointByRegistrationIdPrefix;
-            return this;
-        }
-
-        /**
-         * Set the key prefix for endpoint lookup by socket address.
-         * <p>
-         * Default value is {@literal EP#ADDR#}. Should not be {@code null} or empty. Leshan v1.x used
-         * {@literal EP:ADDR:}.
-         */
-        public Builder setEndpointBySocketAddressPrefix(String endpointBySocketAddressPrefix) {
-            this.endpointBySocketAddressPrefix = endpointBySocketAddressPrefix;
-            return this;
-        }
-
-        /**
-         * Set the key prefix for endpoint lookup by registration identity.
-         * <p>
-         * Default value is {@literal EP#IDENTITY#}. Should not be {@code null} or empty. Leshan v1.x used
-         * {@literal EP:IDENTITY:}.
-         */
-        public Builder setEndpointByIdentityPrefix(String endpointByIdentityPrefix) {
-            this.endpointByIdentityPrefix = endpointByIdentityPrefix;
-            return this;
-        }
-
-        /**
-         * Set the key prefix for endpoint locks lookup.
-         * <p>
-         * Default value is {@literal LOCK#EP#}. Should not be {@code null} or empty. Leshan v1.x used
-         * {@literal LOCK:EP:}.
-         */
-        public Builder setEndpointLockPrefix(String endpointLockPrefix) {
-            this.endpointLockPrefix = endpointLockPrefix;
-            return this;
-        }
+        private boolean optimisticConcurrency;
+        private int maxOptimisticAttempts;
 
         /**
          * Set the key prefix for observation lookup by observation identifier.
@@ -918,103 +1481,116 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
         }
 
         /**
-         * Set time between 2 periodic task about cleaning expired registration.
+         * Set the pub/sub channel used to publish keys modified by this store. It is used to invalidate near cache of
+         * all store instances sharing the same Redis.
          * <p>
-         * Default value is {@literal 60 seconds}.
+         * Default value is {@literal REG#INVALIDATION}. Should not be {@code null} or empty.
          */
-        public Builder setCleanPeriod(long cleanPeriod) {
-            this.cleanPeriod = cleanPeriod;
+        public Builder setInvalidationChannel(String invalidationChannel) {
+            this.invalidationChannel = invalidationChannel;
             return this;
         }
 
         /**
-         * Set maximum number of expired registration removed by clean period
+         * Set the maximum number of registrations kept in a local near cache (see {@link RegistrationNearCache}).
          * <p>
-         * Default value is {@literal 500}.
-         */
-        public Builder setCleanLimit(int cleanLimit) {
-            this.cleanLimit = cleanLimit;
-            return this;
-        }
-
-        /**
-         * Set some extra time added to registration lifetime when calculating if a registration expired.
+         * Near cache is invalidated using messages published on the invalidation channel, so all store instances
+         * sharing the same Redis must publish them (this is the case since this version).
          * <p>
-         * Default value is {@literal 0 seconds}.
+         * Default value is {@literal 0}, meaning no near cache.
          */
-        public Builder setGracePeriod(long gracePeriod) {
-            this.gracePeriod = gracePeriod;
+        public Builder setNearCacheSize(int nearCacheSize) {
+            this.nearCacheSize = nearCacheSize;
             return this;
         }
 
         /**
-         * Set {@link ScheduledExecutorService} used to launch period task about cleaning expired registration.
+         * Set the number of expired registrations claimed and removed at once by the cleaning task.
+         * <p>
+         * Default value is {@literal 100}.
          */
-        public Builder setSchedExecutor(ScheduledExecutorService schedExecutor) {
-            this.schedExecutor = schedExecutor;
+        public Builder setCleanBatchSize(int cleanBatchSize) {
+            this.cleanBatchSize = cleanBatchSize;
             return this;
         }
 
         /**
-         * Set {@link JedisLock} implementation used to handle concurrent access to this store.
+         * Set the time during which expired registrations claimed by a cleaning task can not be claimed by another one.
+         * If a store instance stops while cleaning, registrations it claimed will be cleaned by another instance once
+         * this time is elapsed.
          * <p>
-         * Default implementation used is {@link SingleInstanceJedisLock}
+         * Default value is {@literal 60 seconds}.
          */
-        public Builder setLock(JedisLock lock) {
-            this.lock = lock;
+        public Builder setCleanClaimTimeout(long cleanClaimTimeout) {
+            this.cleanClaimTimeout = cleanClaimTimeout;
             return this;
         }
 
         /**
-         * Set {@link RegistrationSerDes} instance used to serialize/de-serialize {@link Registration} to/from this
-         * store.
+         * Set the number of workers cleaning expired registrations in parallel during a clean period. Each worker
+         * claims its own chunks of expired registrations, like other store instances sharing the same Redis do.
+         * <p>
+         * Default value is {@literal 1}, meaning expired registrations are cleaned by the
+         * {@link #setSchedExecutor(ScheduledExecutorService)} thread.
          */
-        public Builder setRegistrationSerDes(RegistrationSerDes registrationSerDes) {
-            this.registrationSerDes = registrationSerDes;
+        public Builder setCleanWorkers(int cleanWorkers) {
+            this.cleanWorkers = cleanWorkers;
             return this;
         }
 
         /**
-         * Set {@link LwM2mIdentitySerDes} instance used to serialize/de-serialize {@link LwM2mIdentity} to/from this
-         * store.
+         * Set {@link JedisLock} implementation used to handle concurrent access to this store.
+         * <p>
+         * Default implementation used is {@link SingleInstanceJedisLock}
          */
-        public Builder setIdentitySerDes(LwM2mIdentitySerDes identitySerDes) {
-            this.identitySerDes = identitySerDes;
+        public Builder setLock(JedisLock lock) {
+            this.lock = lock;
             return this;
         }
 
         /**
-         * Set {@link LwM2mPeerSerDes} instance used to serialize/de-serialize {@link LwM2mPeer} to/from this store.
+         * Use optimistic transactions instead of a lock to handle concurrent access to this store.
+         * <p>
+         * Registration updates and removals then read the registration and write it with a Lua script only if it was
+         * not modified since it was read. Other writes watch the keys they read (<code>WATCH</code>) and write in a
+         * transaction (<code>MULTI/EXEC</code>). In both cases, the operation is retried on concurrent write. This
+         * avoids lock acquisition round-trips and the wait between 2 lock acquisition attempts, which is costly when
+         * the same endpoint is modified concurrently. The {@link JedisLock} is not used.
+         * <p>
+         * All store instances sharing the same Redis should use the same mode.
+         * <p>
+         * Default value is {@code false}.
          */
-        public Builder setPeerSerDes(LwM2mPeerSerDes peerSerDes) {
-            this.peerSerDes = peerSerDes;
+        public Builder setOptimisticConcurrency(boolean optimisticConcurrency) {
+            this.optimisticConcurrency = optimisticConcurrency;
             return this;
         }
 
         /**
-         * Set {@link ObservationSerDes} instance used to serialize/de-serialize {@link Observation} to/from this store.
+         * Set the maximum number of attempts of an operation when optimistic concurrency is used (see
+         * {@link #setOptimisticConcurrency(boolean)}). An {@link IllegalStateException} is raised when it is reached.
+         * <p>
+         * Default value is {@literal 100}.
          */
-        public Builder setObservationSerDes(ObservationSerDes observationSerDes) {
-            this.observationSerDes = observationSerDes;
+        public Builder setMaxOptimisticAttempts(int maxOptimisticAttempts) {
+            this.maxOptimisticAttempts = maxOptimisticAttempts;
             return this;
         }
 
         public Builder(Pool<Jedis> pool) {
             this.pool = pool;
-            this.prefix = "REGSTORE#";
-            this.registrationByEndpointPrefix = "REG#EP#";
-            this.endpointByRegistrationIdPrefix = "EP#REGID#";
-            this.endpointBySocketAddressPrefix = "EP#ADDR#";
-            this.endpointByIdentityPrefix = "EP#IDENTITY#";
-            this.endpointLockPrefix = "LOCK#EP#";
             this.observationByIdPrefix = "OBS#OBSID#";
             this.observationIdsByRegistrationIdPrefix = "OBSIDS#REGID#";
             this.endpointExpirationKey = "EXP#EP";
-            this.cleanPeriod = 60;
-            this.cleanLimit = 500;
-            this.gracePeriod = 0;
+            this.invalidationChannel = "REG#INVALIDATION";
+            this.nearCacheSize = 0;
+            this.maxOptimisticAttempts = 100;
+            this.cleanBatchSize = 100;
+            this.cleanClaimTimeout = 60;
+            this.cleanWorkers = 1;
         }
 
+        @Override
         protected Builder generateDefaultValue() {
             if (this.schedExecutor == null) {
                 this.schedExecutor = Executors.newScheduledThreadPool(1, new NamedThreadFactory(
@@ -1025,22 +1601,7 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
                 this.lock = new SingleInstanceJedisLock();
             }
 
-            if (this.registrationSerDes == null) {
-                if (peerSerDes == null) {
-                    this.peerSerDes = new LwM2mPeerSerDes();
-                }
-                this.registrationSerDes = new RegistrationSerDes(peerSerDes);
-            }
-
-            if (this.identitySerDes == null) {
-                this.identitySerDes = new LwM2mIdentitySerDes();
-            }
-
-            if (this.observationSerDes == null) {
-                this.observationSerDes = new ObservationSerDes();
-            }
-
-            return this;
+            return super.generateDefaultValue();
         }
 
         /**
@@ -1048,66 +1609,51 @@ public class RedisRegistrationStore implements RegistrationStore, Startable, Sto
          * <p>
          * Throws {@link IllegalArgumentException} when any of prefixes is not set or is equal to some other.
          */
+        @Override
         public RedisRegistrationStore build() throws IllegalArgumentException {
-            if (this.registrationByEndpointPrefix == null || this.registrationByEndpointPrefix.isEmpty()) {
-                throw new IllegalArgumentException("registrationByEndpointPrefix should not be empty");
+            List<String[]> prefixes = getKeyPrefixes();
+            prefixes.add(new String[] { "observationByIdPrefix", this.observationByIdPrefix });
+            prefixes.add(
+                    new String[] { "observationIdsByRegistrationIdPrefix", this.observationIdsByRegistrationIdPrefix });
+            prefixes.add(new String[] { "endpointExpirationKey", this.endpointExpirationKey });
+            validateKeyPrefixes(prefixes);
+
+            if (this.invalidationChannel == null || this.invalidationChannel.isEmpty()) {
+                throw new IllegalArgumentException("invalidationChannel should not be empty");
             }
 
-            if (this.endpointByRegistrationIdPrefix == null || this.endpointByRegistrationIdPrefix.isEmpty()) {
-                throw new IllegalArgumentException("endpointByRegistrationIdPrefix should not be empty");
+            if (this.nearCacheSize < 0) {
+                throw new IllegalArgumentException("nearCacheSize should be positive");
             }
 
-            if (this.endpointBySocketAddressPrefix == null || this.endpointBySocketAddressPrefix.isEmpty()) {
-                throw new IllegalArgumentException("endpointBySocketAddressPrefix should not be empty");
+            if (this.cleanBatchSize < 1) {
+                throw new IllegalArgumentException("cleanBatchSize should be greater than 0");
             }
 
-            if (this.endpointByIdentityPrefix == null || this.endpointByIdentityPrefix.isEmpty()) {
-                throw new IllegalArgumentException("endpointByIdentityPrefix should not be empty");
+            if (this.cleanWorkers < 1) {
+                throw new IllegalArgumentException("cleanWorkers should be greater than 0");
             }
 
-            if (this.endpointLockPrefix == null || this.endpointLockPrefix.isEmpty()) {
-                throw new IllegalArgumentException("endpointLockPrefix should not be empty");
+            if (this.maxOptimisticAttempts < 1) {
+                throw new IllegalArgumentException("maxOptimisticAttempts should be greater than 0");
             }
 
-            if (this.observationByIdPrefix == null || this.observationByIdPrefix.isEmpty()) {
-                throw new IllegalArgumentException("observationByIdPrefix should not be empty");
-            }
-
-            if (this.observationIdsByRegistrationIdPrefix == null
-                    || this.observationIdsByRegistrationIdPrefix.isEmpty()) {
-                throw new IllegalArgumentException("observationIdsByRegistrationIdPrefix should not be empty");
-            }
-
-            if (this.endpointExpirationKey == null || this.endpointExpirationKey.isEmpty()) {
-                throw new IllegalArgumentException("endpointExpirationKey should not be empty");
-            }
+            applyPrefix();
 
-            // Make sure same prefix is not used more than once
-            String[] prefixes = new String[] { this.registrationByEndpointPrefix, this.endpointByRegistrationIdPrefix,
-                    this.endpointBySocketAddressPrefix, this.endpointByIdentityPrefix, this.endpointLockPrefix,
-                    this.observationByIdPrefix, this.observationIdsByRegistrationIdPrefix, this.endpointExpirationKey };
-            Set<String> uniquePrefixes = new HashSet<>();
+            generateDefaultValue();
 
-            for (String p : prefixes) {
-                if (!uniquePrefixes.add(p)) {
-                    throw new IllegalArgumentException(String.format("prefix name %s is taken already", p));
-                }
-            }
+            return new RedisRegistrationStore(this);
+        }
 
+        @Override
+        protected void applyPrefix() {
+            super.applyPrefix();
             if (this.prefix != null) {
-                this.registrationByEndpointPrefix = this.prefix + this.registrationByEndpointPrefix;
-                this.endpointByRegistrationIdPrefix = this.prefix + this.endpointByRegistrationIdPrefix;
-                this.endpointBySocketAddressPrefix = this.prefix + this.endpointBySocketAddressPrefix;
-                this.endpointByIdentityPrefix = this.prefix + this.endpointByIdentityPrefix;
-                this.endpointLockPrefix = this.prefix + this.endpointLockPrefix;
                 this.observationByIdPrefix = this.prefix + this.observationByIdPrefix;
                 this.observationIdsByRegistrationIdPrefix = this.prefix + this.observationIdsByRegistrationIdPrefix;
                 this.endpointExpirationKey = this.prefix + this.endpointExpirationKey;
+                this.invalidationChannel = this.prefix + this.invalidationChannel;
             }
-
-            generateDefaultValue();
-
-            return new RedisRegistrationStore(this);
         }
     }
 }
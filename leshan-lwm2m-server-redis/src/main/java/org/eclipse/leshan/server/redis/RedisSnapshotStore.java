@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.eclipse.leshan.core.util.Validate;
+import org.eclipse.leshan.servers.snapshot.SnapshotStore;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * A {@link SnapshotStore} which saves each snapshot in a Redis key, so a server can restore its state after a restart
+ * without any local storage.
+ * <p>
+ * By default, uses {@code SNAPSHOT#} prefix for keys. Servers sharing the same Redis must use different snapshot names
+ * or prefixes.
+ */
+public class RedisSnapshotStore implements SnapshotStore {
+
+    private final Pool<Jedis> pool;
+    private final String prefix;
+
+    public RedisSnapshotStore(Pool<Jedis> pool) {
+        this(pool, "SNAPSHOT#");
+    }
+
+    /**
+     * @param pool the Redis connection pool.
+     * @param prefix the prefix of snapshot keys.
+     */
+    public RedisSnapshotStore(Pool<Jedis> pool, String prefix) {
+        Validate.notNull(pool);
+        Validate.notNull(prefix);
+        this.pool = pool;
+        this.prefix = prefix;
+    }
+
+    @Override
+    public void save(String name, byte[] snapshot) {
+        try (Jedis j = pool.getResource()) {
+            j.set(toKey(name), snapshot);
+        }
+    }
+
+    @Override
+    public byte[] load(String name) {
+        try (Jedis j = pool.getResource()) {
+            return j.get(toKey(name));
+        }
+    }
+
+    @Override
+    public void remove(String name) {
+        try (Jedis j = pool.getResource()) {
+            j.del(toKey(name));
+        }
+    }
+
+    private byte[] toKey(String name) {
+        return (prefix + name).getBytes(UTF_8);
+    }
+}
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.leshan.core.util.ClockCache;
+import org.eclipse.leshan.core.util.Validate;
+import org.eclipse.leshan.server.registration.Registration;
+
+/**
+ * A bounded local cache of {@link Registration} used by {@link RedisRegistrationStore} to avoid a round-trip to Redis
+ * on lookups.
+ * <p>
+ * Registrations are cached by endpoint and secondary indexes (registration id, address or identity) are cached as they
+ * were resolved by Redis. Entries are invalidated by the store each time an invalidation message is received from
+ * Redis. The cache is only used while the store is subscribed to invalidation messages (see {@link #isActive()}).
+ * <p>
+ * Each invalidation gets a new version and leaves a tombstone with this version in place of the entry. A value fetched
+ * from Redis is only cached if its key was not invalidated since the fetch started, so a stale value is never cached
+ * while values of other keys fetched concurrently are. Tombstones are evicted like other entries : once a tombstone was
+ * evicted, values fetched before its invalidation are not cached for keys which are not in cache.
+ * <p>
+ * When the cache is full, entries are evicted using the CLOCK policy (see {@link ClockCache}).
+ */
+public class RegistrationNearCache {
+
+    private final ClockCache<String /* endpoint */, Entry<Registration>> registrations;
+    private final ClockCache<String /* index key */, Entry<String /* endpoint */>> endpointsByIndex;
+
+    // incremented on each invalidation, gives the version of tombstones.
+    private final AtomicLong version = new AtomicLong();
+    // highest version of evicted tombstones or of last clear.
+    private final AtomicLong evictedVersion = new AtomicLong();
+    private volatile boolean active = false;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param maxSize the maximum number of registrations (and of secondary index entries) kept in the cache, tombstones
+     *        included.
+     */
+    public RegistrationNearCache(int maxSize) {
+        Validate.isTrue(maxSize > 0, "maxSize must be strictly positive");
+        this.registrations = new EntryCache<>(maxSize);
+        this.endpointsByIndex = new EntryCache<>(maxSize);
+    }
+
+    /**
+     * @return the version to give to {@link #put(long, Registration, String)} for a value fetched after this call.
+     */
+    long version() {
+        return version.get();
+    }
+
+    Registration getByEndpoint(String endpoint) {
+        if (!active) {
+            return null;
+        }
+        return record(valueOf(registrations.get(endpoint)));
+    }
+
+    Registration getByIndex(String indexKey) {
+        if (!active) {
+            return null;
+        }
+        String endpoint = valueOf(endpointsByIndex.get(indexKey));
+        return record(endpoint == null ? null : valueOf(registrations.get(endpoint)));
+    }
+
+    private static <T> T valueOf(Entry<T> entry) {
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Count a lookup which was a miss because the cached registration does not match the lookup criteria.
+     */
+    void recordMismatch() {
+        hits.decrement();
+        misses.increment();
+    }
+
+    private Registration record(Registration registration) {
+        if (registration == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return registration;
+    }
+
+    /**
+     * Cache a registration fetched from Redis.
+     *
+     * @param version the value of {@link #version()} before the registration was fetched.
+     * @param registration the registration to cache.
+     * @param indexKey the secondary index used to fetch the registration, could be <code>null</code>.
+     */
+    void put(long version, Registration registration, String indexKey) {
+        if (!active) {
+            return;
+        }
+        String endpoint = registration.getEndpoint();
+        putIfNotInvalidated(registrations, endpoint, registration, version);
+        if (indexKey != null) {
+            putIfNotInvalidated(endpointsByIndex, indexKey, endpoint, version);
+        }
+    }
+
+    private <T> void putIfNotInvalidated(ClockCache<String, Entry<T>> cache, String key, T value, long version) {
+        cache.compute(key, (k, current) -> {
+            long lastVersion = current != null ? current.version : evictedVersion.get();
+            if (lastVersion > version) {
+                // invalidated (or replaced by a more recent value) since value was fetched
+                return current;
+            }
+            return new Entry<>(value, version);
+        });
+    }
+
+    private <T> void invalidate(ClockCache<String, Entry<T>> cache, String key) {
+        invalidations.increment();
+        cache.put(key, new Entry<T>(null, version.incrementAndGet()));
+    }
+
+    void invalidateEndpoint(String endpoint) {
+        invalidate(registrations, endpoint);
+    }
+
+    void invalidateIndex(String indexKey) {
+        invalidate(endpointsByIndex, indexKey);
+    }
+
+    /**
+     * Activate or deactivate the cache. Cache is cleared in both cases as invalidation messages could have been missed.
+     */
+    void setActive(boolean active) {
+        this.active = active;
+        clear();
+    }
+
+    /**
+     * @return <code>true</code> if the cache is used, meaning that the store is currently subscribed to invalidation
+     *         messages.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Remove all entries of the cache.
+     */
+    public void clear() {
+        // values fetched before clear must not be cached
+        evictedVersion.accumulateAndGet(version.incrementAndGet(), Math::max);
+        registrations.clear();
+        endpointsByIndex.clear();
+    }
+
+    /**
+     * @return the number of registrations currently in cache, tombstones excluded. This goes through the whole cache.
+     */
+    public int size() {
+        AtomicInteger size = new AtomicInteger();
+        registrations.forEach((endpoint, entry) -> {
+            if (entry.value != null) {
+                size.incrementAndGet();
+            }
+        });
+        return size.get();
+    }
+
+    /**
+     * @return the number of lookups served by the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups which needed a round-trip to Redis.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of invalidated entries (registrations or secondary indexes).
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * A cached value or a tombstone if value is <code>null</code>.
+     */
+    private static class Entry<T> {
+        private final T value;
+        private final long version;
+
+        Entry(T value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
+
+    private class EntryCache<T> extends ClockCache<String, Entry<T>> {
+
+        EntryCache(int maxEntries) {
+            super(maxEntries);
+        }
+
+        @Override
+        protected void onEviction(String key, Entry<T> entry) {
+            if (entry.value == null) {
+                evictedVersion.accumulateAndGet(entry.version, Math::max);
+            }
+        }
+    }
+}
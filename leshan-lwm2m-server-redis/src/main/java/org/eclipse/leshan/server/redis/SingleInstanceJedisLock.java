@@ -16,7 +16,7 @@
 package org.eclipse.leshan.server.redis;
 
 import java.nio.ByteBuffer;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.Random;
 
 import org.eclipse.leshan.core.util.Hex;
@@ -24,7 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import redis.clients.jedis.Jedis;
-import redis.clients.jedis.Transaction;
+import redis.clients.jedis.commands.JedisBinaryCommands;
 import redis.clients.jedis.params.SetParams;
 
 /**
@@ -40,6 +40,13 @@ import redis.clients.jedis.params.SetParams;
 public class SingleInstanceJedisLock implements JedisLock {
     private static final Logger LOG = LoggerFactory.getLogger(SingleInstanceJedisLock.class);
 
+    // KEYS[1] lock key, ARGV[1] lock value
+    private static final LuaScript RELEASE = new LuaScript(String.join("\n", //
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then", //
+            "  return redis.call('DEL', KEYS[1])", //
+            "end", //
+            "return 0"));
+
     private static final int DEFAULT_RANDOM_SIZE = 10;
     private static final int DEFAULT_VALUE_SIZE = DEFAULT_RANDOM_SIZE + Long.SIZE / 8;
 
@@ -82,6 +89,15 @@ public class SingleInstanceJedisLock implements JedisLock {
      */
     @Override
     public byte[] acquire(Jedis j, byte[] lockKey) throws IllegalStateException {
+        return acquireLock(j, lockKey);
+    }
+
+    /**
+     * Acquires a lock using any kind of Redis client (e.g. a Redis connection or a Redis cluster client).
+     *
+     * @see #acquire(Jedis, byte[])
+     */
+    protected byte[] acquireLock(JedisBinaryCommands j, byte[] lockKey) throws IllegalStateException {
         long start = System.currentTimeMillis();
 
         byte[] randomLockValue = generateLockValue(random, System.currentTimeMillis());
@@ -108,32 +124,24 @@ public class SingleInstanceJedisLock implements JedisLock {
      */
     @Override
     public void release(Jedis j, byte[] lockKey, byte[] lockValue) {
+        releaseLock(j, lockKey, lockValue);
+    }
+
+    /**
+     * Releases a lock using any kind of Redis client (e.g. a Redis connection or a Redis cluster client).
+     *
+     * @see #release(Jedis, byte[], byte[])
+     */
+    protected void releaseLock(JedisBinaryCommands j, byte[] lockKey, byte[] lockValue) {
         if (lockValue != null) {
-            // Watch the key to remove.
-            j.watch(lockKey);
-
-            byte[] previousLockValue = j.get(lockKey);
-            // Delete the key if needed.
-            if (Arrays.equals(previousLockValue, lockValue)) {
-                // Try to delete the key
-                Transaction transaction = j.multi();
-                transaction.del(lockKey);
-                boolean succeed = transaction.exec() != null;
-                if (!succeed && LOG.isWarnEnabled()) {
-                    LOG.warn(
-                            "Failed to release lock for key {}/{}, meaning the key probably expired because of acquiring the lock for too long {}ms (expiration at {}ms)",
-                            new String(lockKey), Hex.encodeHexString(lockValue),
-                            System.currentTimeMillis() - extractTime(lockValue), expiration);
-                }
-            } else {
-                // the key must not be deleted.
-                if (LOG.isWarnEnabled()) {
-                    LOG.warn(
-                            "Nothing to release for key {}/{}, meaning the key probably expired because of acquiring the lock for too long {}ms (expiration at {}ms)",
-                            new String(lockKey), Hex.encodeHexString(lockValue),
-                            System.currentTimeMillis() - extractTime(lockValue), expiration);
-                }
-                j.unwatch();
+            // Delete the key only if it still contains our lock value in 1 round-trip.
+            boolean succeed = Long.valueOf(1)
+                    .equals(RELEASE.eval(j, Collections.singletonList(lockKey), Collections.singletonList(lockValue)));
+            if (!succeed && LOG.isWarnEnabled()) {
+                LOG.warn(
+                        "Nothing to release for key {}/{}, meaning the key probably expired because of acquiring the lock for too long {}ms (expiration at {}ms)",
+                        new String(lockKey), Hex.encodeHexString(lockValue),
+                        System.currentTimeMillis() - extractTime(lockValue), expiration);
             }
         } else {
             if (LOG.isWarnEnabled()) {
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis;
+
+import redis.clients.jedis.JedisCluster;
+
+/**
+ * A Redis Lock for a Redis Cluster, where each lock is handled by the master owning the slot of the lock key.
+ * <p>
+ * As a lock key is only stored on one master, the algorithm is the same than {@link SingleInstanceJedisLock}. When lock
+ * key uses the same hash tag than the data it protects (as {@link RedisClusterRegistrationStore} does), lock and data
+ * always live on the same master, even when slots are resharded.
+ */
+public class SingleSlotJedisClusterLock extends SingleInstanceJedisLock implements JedisClusterLock {
+
+    /**
+     * Create a {@link SingleSlotJedisClusterLock} with {@code expiration} of 500ms, {@code maxTime} of 5000L and
+     * {@code iterationTime} of 10ms
+     */
+    public SingleSlotJedisClusterLock() {
+        super();
+    }
+
+    /**
+     * @see SingleInstanceJedisLock#SingleInstanceJedisLock(int, long, long)
+     */
+    public SingleSlotJedisClusterLock(int expiration, long maxTime, long iterationTime) {
+        super(expiration, maxTime, iterationTime);
+    }
+
+    @Override
+    public byte[] acquire(JedisCluster j, byte[] lockKey) {
+        return acquireLock(j, lockKey);
+    }
+
+    @Override
+    public void release(JedisCluster j, byte[] lockKey, byte[] lockValue) {
+        releaseLock(j, lockKey, lockValue);
+    }
+}
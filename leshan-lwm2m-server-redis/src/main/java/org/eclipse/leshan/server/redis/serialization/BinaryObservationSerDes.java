@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis.serialization;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.leshan.core.endpoint.DefaultEndPointUriHandler;
+import org.eclipse.leshan.core.endpoint.EndPointUriHandler;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.CompositeObservation;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.request.ContentFormat;
+
+/**
+ * Functions for serializing and deserializing a {@link Observation} in the compact binary format also used by
+ * {@link BinaryRegistrationSerDes}.
+ * <p>
+ * Observations serialized in JSON by {@link ObservationSerDes} can still be deserialized.
+ */
+public class BinaryObservationSerDes extends ObservationSerDes {
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final int KIND_SINGLE = 0;
+    private static final int KIND_COMPOSITE = 1;
+
+    public BinaryObservationSerDes() {
+        this(new DefaultEndPointUriHandler());
+    }
+
+    public BinaryObservationSerDes(EndPointUriHandler uriHandler) {
+        super(uriHandler);
+    }
+
+    @Override
+    public byte[] serialize(Observation obs) {
+        BinaryWriter w = new BinaryWriter(FORMAT_VERSION);
+        w.writeBytes(obs.getId().getBytes());
+        w.writeString(obs.getId().getEndpointUri().toString());
+        w.writeString(obs.getRegistrationId());
+        w.writeStringMap(obs.getContext());
+        w.writeStringMap(obs.getProtocolData());
+
+        if (obs instanceof SingleObservation) {
+            SingleObservation sobs = (SingleObservation) obs;
+            w.writeByte(KIND_SINGLE);
+            writeContentFormat(w, sobs.getContentFormat());
+            w.writePath(sobs.getPath());
+        } else if (obs instanceof CompositeObservation) {
+            CompositeObservation cobs = (CompositeObservation) obs;
+            w.writeByte(KIND_COMPOSITE);
+            writeContentFormat(w, cobs.getRequestContentFormat());
+            writeContentFormat(w, cobs.getResponseContentFormat());
+            List<LwM2mPath> paths = cobs.getPaths();
+            w.writeVarInt(paths.size());
+            for (LwM2mPath path : paths) {
+                w.writePath(path);
+            }
+        } else {
+            throw new IllegalArgumentException(String.format("Unsupported kind of Observation : %s", obs));
+        }
+        return w.toByteArray();
+    }
+
+    private void writeContentFormat(BinaryWriter w, ContentFormat contentFormat) {
+        // 0 means no content format
+        w.writeVarInt(contentFormat == null ? 0 : contentFormat.getCode() + 1);
+    }
+
+    @Override
+    public Observation deserialize(byte[] data) {
+        if (data.length == 0 || data[0] != FORMAT_VERSION) {
+            // Observation stored in JSON
+            return super.deserialize(data);
+        }
+
+        BinaryReader reader = new BinaryReader(data);
+        reader.readByte(); // format version
+        byte[] token = reader.readBytes();
+        ObservationIdentifier obsId = new ObservationIdentifier(uriHandler.createUri(reader.readString()), token);
+        String regid = reader.readString();
+        Map<String, String> context = reader.readStringMap();
+        Map<String, String> protocolData = reader.readStringMap();
+
+        int kind = reader.readByte();
+        switch (kind) {
+        case KIND_SINGLE:
+            ContentFormat contentFormat = readContentFormat(reader);
+            return new SingleObservation(obsId, regid, reader.readPath(), contentFormat, context, protocolData);
+        case KIND_COMPOSITE:
+            ContentFormat reqContentFormat = readContentFormat(reader);
+            ContentFormat respContentFormat = readContentFormat(reader);
+            int nbPaths = reader.readVarInt();
+            List<LwM2mPath> paths = new ArrayList<>(nbPaths);
+            for (int i = 0; i < nbPaths; i++) {
+                paths.add(reader.readPath());
+            }
+            return new CompositeObservation(obsId, regid, paths, reqContentFormat, respContentFormat, context,
+                    protocolData);
+        default:
+            throw new IllegalArgumentException(String.format("Unsupported kind of Observation : %d", kind));
+        }
+    }
+
+    private ContentFormat readContentFormat(BinaryReader reader) {
+        int code = reader.readVarInt();
+        return code == 0 ? null : ContentFormat.fromCode(code - 1);
+    }
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis.serialization;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.leshan.core.node.LwM2mPath;
+
+/**
+ * Reads the compact binary format written by {@link BinaryWriter}.
+ */
+class BinaryReader {
+
+    private final byte[] data;
+    private int position;
+    private final List<String> strings = new ArrayList<>();
+
+    BinaryReader(byte[] data) {
+        this.data = data;
+    }
+
+    int readByte() {
+        if (position >= data.length) {
+            throw new IllegalArgumentException("Unexpected end of data");
+        }
+        return data[position++] & 0xFF;
+    }
+
+    byte[] readBytes() {
+        int length = readVarInt();
+        if (length < 0 || position + length > data.length) {
+            throw new IllegalArgumentException("Unexpected end of data");
+        }
+        byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid variable length integer");
+    }
+
+    Boolean readBoolean() {
+        int b = readByte();
+        return b == 0 ? null : b == 2;
+    }
+
+    String readString() {
+        int tag = readVarInt();
+        if (tag == BinaryStrings.TAG_NULL) {
+            return null;
+        }
+        if (tag == BinaryStrings.TAG_LITERAL) {
+            String value = new String(readBytes(), UTF_8);
+            strings.add(value);
+            return value;
+        }
+        if (tag < BinaryStrings.FIRST_RECORD_TAG) {
+            return BinaryStrings.getDictionaryString(tag);
+        }
+        int index = tag - BinaryStrings.FIRST_RECORD_TAG;
+        if (index >= strings.size()) {
+            throw new IllegalArgumentException(String.format("Invalid string reference %d", tag));
+        }
+        return strings.get(index);
+    }
+
+    Map<String, String> readStringMap() {
+        int size = readVarInt() - 1;
+        if (size < 0) {
+            return null;
+        }
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(readString(), readString());
+        }
+        return map;
+    }
+
+    InetSocketAddress readSocketAddress() {
+        if (readByte() == 0) {
+            String host = readString();
+            return InetSocketAddress.createUnresolved(host, readVarInt());
+        }
+        try {
+            InetAddress address = InetAddress.getByAddress(readBytes());
+            return new InetSocketAddress(address, readVarInt());
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Invalid IP address", e);
+        }
+    }
+
+    LwM2mPath readPath() {
+        switch (readVarInt()) {
+        case 0:
+            return LwM2mPath.ROOTPATH;
+        case 1:
+            return new LwM2mPath(readVarInt());
+        case 2:
+            return new LwM2mPath(readVarInt(), readVarInt());
+        case 3:
+            return new LwM2mPath(readVarInt(), readVarInt(), readVarInt());
+        case 4:
+            return new LwM2mPath(readVarInt(), readVarInt(), readVarInt(), readVarInt());
+        default:
+            throw new IllegalArgumentException("Invalid path length");
+        }
+    }
+}
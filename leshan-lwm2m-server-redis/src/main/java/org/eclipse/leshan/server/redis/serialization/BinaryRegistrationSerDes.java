@@ -0,0 +1,341 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis.serialization;
+
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.LwM2m.Version;
+import org.eclipse.leshan.core.endpoint.DefaultEndPointUriHandler;
+import org.eclipse.leshan.core.endpoint.EndPointUriHandler;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.link.attributes.Attribute;
+import org.eclipse.leshan.core.link.attributes.AttributeParser;
+import org.eclipse.leshan.core.link.attributes.DefaultAttributeParser;
+import org.eclipse.leshan.core.link.attributes.InvalidAttributeException;
+import org.eclipse.leshan.core.link.lwm2m.MixedLwM2mLink;
+import org.eclipse.leshan.core.link.lwm2m.attributes.MixedLwM2mAttributeSet;
+import org.eclipse.leshan.core.node.InvalidLwM2mPathException;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.peer.LwM2mIdentity;
+import org.eclipse.leshan.core.peer.LwM2mPeer;
+import org.eclipse.leshan.core.peer.PskIdentity;
+import org.eclipse.leshan.core.peer.RpkIdentity;
+import org.eclipse.leshan.core.peer.SocketIdentity;
+import org.eclipse.leshan.core.peer.X509Identity;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.server.registration.Registration;
+
+/**
+ * Functions for serialize and deserialize a {@link Registration} in a compact binary format.
+ * <p>
+ * Compared to JSON, numbers are stored as variable length integers, paths as list of ids and strings which are repeated
+ * (like link attribute names) or common are stored once or as a reference to a static dictionary. Parsed link
+ * attributes are shared between deserialized registrations.
+ * <p>
+ * Data starts with a format version, so registrations serialized in JSON by {@link RegistrationSerDes} can still be
+ * deserialized, which allows to switch an existing store to this format.
+ */
+public class BinaryRegistrationSerDes extends RegistrationSerDes {
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final int PEER_IP = 0;
+
+    private static final int IDENTITY_SOCKET = 0;
+    private static final int IDENTITY_PSK = 1;
+    private static final int IDENTITY_RPK = 2;
+    private static final int IDENTITY_X509 = 3;
+
+    private static final int LINK = 0;
+    private static final int LWM2M_LINK = 1;
+
+    private static final int MAX_CACHED_ATTRIBUTES = 4096;
+    private final Map<String, Attribute> attributes = new ConcurrentHashMap<>();
+
+    public BinaryRegistrationSerDes(LwM2mPeerSerDes peerSerDes) {
+        super(peerSerDes);
+    }
+
+    public BinaryRegistrationSerDes() {
+        this(new DefaultAttributeParser(), new LwM2mPeerSerDes());
+    }
+
+    public BinaryRegistrationSerDes(AttributeParser attributeParser, LwM2mPeerSerDes peerSerDes) {
+        this(attributeParser, peerSerDes, new DefaultEndPointUriHandler());
+    }
+
+    public BinaryRegistrationSerDes(AttributeParser attributeParser, LwM2mPeerSerDes peerSerDes,
+            EndPointUriHandler uriHandler) {
+        super(attributeParser, peerSerDes, uriHandler);
+    }
+
+    @Override
+    public byte[] bSerialize(Registration r) {
+        BinaryWriter w = new BinaryWriter(FORMAT_VERSION);
+        w.writeString(r.getId());
+        w.writeString(r.getEndpoint());
+        writePeer(w, r.getClientTransportData());
+        w.writeString(r.getEndpointUri().toString());
+        w.writeVarLong(r.getRegistrationDate().getTime());
+        w.writeVarLong(r.getLastUpdate().getTime());
+        w.writeVarLong(r.getLifeTimeInSec() == null ? 0 : r.getLifeTimeInSec());
+        w.writeString(r.getSmsNumber());
+        w.writeString(r.getLwM2mVersion().toString());
+        w.writeString(BindingMode.toString(r.getBindingMode()));
+        w.writeBoolean(r.getQueueMode());
+        w.writeString(r.getRootPath());
+
+        String rootPath = r.getRootPath();
+        Link[] links = r.getObjectLinks();
+        w.writeVarInt(links.length);
+        for (Link link : links) {
+            writeLink(w, link, rootPath);
+        }
+
+        w.writeStringMap(r.getAdditionalRegistrationAttributes());
+
+        Set<ContentFormat> supportedContentFormats = r.getSupportedContentFormats();
+        w.writeVarInt(supportedContentFormats.size());
+        for (ContentFormat contentFormat : supportedContentFormats) {
+            w.writeVarInt(contentFormat.getCode());
+        }
+
+        Map<Integer, Version> supportedObjects = r.getSupportedObject();
+        w.writeVarInt(supportedObjects.size());
+        for (Entry<Integer, Version> supportedObject : supportedObjects.entrySet()) {
+            w.writeVarInt(supportedObject.getKey());
+            w.writeString(supportedObject.getValue().toString());
+        }
+
+        Set<LwM2mPath> availableInstances = r.getAvailableInstances();
+        w.writeVarInt(availableInstances.size());
+        for (LwM2mPath instance : availableInstances) {
+            w.writePath(instance);
+        }
+
+        w.writeStringMap(r.getApplicationData());
+        return w.toByteArray();
+    }
+
+    private void writeLink(BinaryWriter w, Link link, String rootPath) {
+        String url = link.getUriReference();
+        LwM2mPath path = null;
+        if (link instanceof MixedLwM2mLink && ((MixedLwM2mLink) link).getRootPath().equals(rootPath)) {
+            path = ((MixedLwM2mLink) link).getPath();
+        } else if (rootPath != null && url.startsWith(rootPath)) {
+            try {
+                path = LwM2mPath.parse(url, rootPath);
+            } catch (InvalidLwM2mPathException | IllegalArgumentException e) {
+                // not a LWM2M path, stored as URL.
+            }
+        }
+        if (path != null) {
+            w.writeByte(LWM2M_LINK);
+            w.writePath(path);
+        } else {
+            w.writeByte(LINK);
+            w.writeString(url);
+        }
+
+        Collection<Attribute> linkAttributes = link.getAttributes().asCollection();
+        w.writeVarInt(linkAttributes.size());
+        for (Attribute attribute : linkAttributes) {
+            w.writeString(attribute.getName());
+            w.writeString(attribute.hasValue() ? attribute.getCoreLinkValue() : null);
+        }
+    }
+
+    private void writePeer(BinaryWriter w, LwM2mPeer peer) {
+        if (peer.getClass() == IpPeer.class) {
+            w.writeByte(PEER_IP);
+            w.writeSocketAddress(((IpPeer) peer).getSocketAddress());
+        } else {
+            throw new IllegalStateException(String.format("Can not serialize %s", peer.getClass().getSimpleName()));
+        }
+        writeIdentity(w, peer.getIdentity());
+    }
+
+    private void writeIdentity(BinaryWriter w, LwM2mIdentity identity) {
+        if (identity.getClass() == SocketIdentity.class) {
+            w.writeByte(IDENTITY_SOCKET);
+            w.writeSocketAddress(((SocketIdentity) identity).getSocketAddress());
+        } else if (identity.getClass() == PskIdentity.class) {
+            w.writeByte(IDENTITY_PSK);
+            w.writeString(((PskIdentity) identity).getPskIdentity());
+        } else if (identity.getClass() == RpkIdentity.class) {
+            w.writeByte(IDENTITY_RPK);
+            w.writeBytes(((RpkIdentity) identity).getPublicKey().getEncoded());
+        } else if (identity.getClass() == X509Identity.class) {
+            w.writeByte(IDENTITY_X509);
+            w.writeString(((X509Identity) identity).getX509CommonName());
+        } else {
+            throw new IllegalStateException(String.format("Can not serialize %s", identity.getClass().getSimpleName()));
+        }
+    }
+
+    @Override
+    public Registration deserialize(byte[] data) {
+        if (data.length == 0 || data[0] != FORMAT_VERSION) {
+            // Registration stored in JSON
+            return super.deserialize(data);
+        }
+
+        BinaryReader reader = new BinaryReader(data);
+        reader.readByte(); // format version
+        String regId = reader.readString();
+        String endpoint = reader.readString();
+        LwM2mPeer peer = readPeer(reader);
+        String endpointUri = reader.readString();
+        Registration.Builder b = new Registration.Builder(regId, endpoint, peer, uriHandler.createUri(endpointUri));
+
+        b.registrationDate(new Date(reader.readVarLong()));
+        b.lastUpdate(new Date(reader.readVarLong()));
+        b.lifeTimeInSec(reader.readVarLong());
+        String sms = reader.readString();
+        if (sms != null) {
+            b.smsNumber(sms);
+        }
+        b.lwM2mVersion(LwM2mVersion.get(reader.readString()));
+        b.bindingMode(BindingMode.parse(reader.readString()));
+        Boolean queueMode = reader.readBoolean();
+        if (queueMode != null) {
+            b.queueMode(queueMode);
+        }
+        String rootPath = reader.readString();
+        b.rootPath(rootPath);
+
+        Link[] links = new Link[reader.readVarInt()];
+        for (int i = 0; i < links.length; i++) {
+            links[i] = readLink(reader, rootPath, regId, endpoint);
+        }
+        b.objectLinks(links);
+
+        b.additionalRegistrationAttributes(reader.readStringMap());
+
+        int nbContentFormats = reader.readVarInt();
+        Set<ContentFormat> supportedContentFormats = new HashSet<>();
+        for (int i = 0; i < nbContentFormats; i++) {
+            supportedContentFormats.add(ContentFormat.fromCode(reader.readVarInt()));
+        }
+        b.supportedContentFormats(supportedContentFormats);
+
+        int nbSupportedObjects = reader.readVarInt();
+        Map<Integer, Version> supportedObjects = new HashMap<>();
+        for (int i = 0; i < nbSupportedObjects; i++) {
+            supportedObjects.put(reader.readVarInt(), new Version(reader.readString()));
+        }
+        b.supportedObjects(supportedObjects);
+
+        int nbAvailableInstances = reader.readVarInt();
+        Set<LwM2mPath> availableInstances = new HashSet<>();
+        for (int i = 0; i < nbAvailableInstances; i++) {
+            availableInstances.add(reader.readPath());
+        }
+        b.availableInstances(availableInstances);
+
+        b.applicationData(reader.readStringMap());
+        return b.build();
+    }
+
+    private Link readLink(BinaryReader reader, String rootPath, String regId, String endpoint) {
+        int type = reader.readByte();
+        LwM2mPath path = null;
+        String url = null;
+        if (type == LWM2M_LINK) {
+            path = reader.readPath();
+        } else {
+            url = reader.readString();
+        }
+
+        int nbAttributes = reader.readVarInt();
+        List<Attribute> linkAttributes = new ArrayList<>(nbAttributes);
+        for (int i = 0; i < nbAttributes; i++) {
+            linkAttributes.add(getAttribute(reader.readString(), reader.readString(), regId, endpoint));
+        }
+
+        if (path != null) {
+            return new MixedLwM2mLink(rootPath, path, new MixedLwM2mAttributeSet(linkAttributes));
+        } else {
+            return new Link(url, linkAttributes);
+        }
+    }
+
+    private Attribute getAttribute(String name, String value, String regId, String endpoint) {
+        String key = value == null ? name : name + '=' + value;
+        Attribute attribute = attributes.get(key);
+        if (attribute == null) {
+            try {
+                attribute = attributeParser.parseCoreLinkValue(name, value);
+            } catch (InvalidAttributeException e) {
+                throw new IllegalStateException(String.format(
+                        "Unable to deserialize attribute value from links of registration %s/%s", regId, endpoint), e);
+            }
+            // attributes are immutable, so they can be shared between registrations
+            if (attributes.size() < MAX_CACHED_ATTRIBUTES) {
+                attributes.put(key, attribute);
+            }
+        }
+        return attribute;
+    }
+
+    private LwM2mPeer readPeer(BinaryReader reader) {
+        int type = reader.readByte();
+        if (type != PEER_IP) {
+            throw new IllegalStateException(String.format("Invalid type of LWM2M Peer : %d is not supported", type));
+        }
+        return new IpPeer(reader.readSocketAddress(), readIdentity(reader));
+    }
+
+    private LwM2mIdentity readIdentity(BinaryReader reader) {
+        int type = reader.readByte();
+        switch (type) {
+        case IDENTITY_SOCKET:
+            return new SocketIdentity(reader.readSocketAddress());
+        case IDENTITY_PSK:
+            return new PskIdentity(reader.readString());
+        case IDENTITY_RPK:
+            try {
+                PublicKey publicKey = KeyFactory.getInstance("EC")
+                        .generatePublic(new X509EncodedKeySpec(reader.readBytes()));
+                return new RpkIdentity(publicKey);
+            } catch (InvalidKeySpecException | NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Invalid security info content", e);
+            }
+        case IDENTITY_X509:
+            return new X509Identity(reader.readString());
+        default:
+            throw new IllegalStateException(
+                    String.format("Invalid type of LWM2M Identity : %d is not supported", type));
+        }
+    }
+}
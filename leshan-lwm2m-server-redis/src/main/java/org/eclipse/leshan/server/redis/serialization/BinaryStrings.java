@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis.serialization;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * String tags of the compact binary format :
+ * <ul>
+ * <li>{@value #TAG_NULL} : <code>null</code> string,</li>
+ * <li>{@value #TAG_LITERAL} : a literal, followed by its UTF-8 bytes. The literal is added to the record string
+ * table,</li>
+ * <li>from {@value #FIRST_DICTIONARY_TAG} : a string of the static dictionary,</li>
+ * <li>from {@link #FIRST_RECORD_TAG} : a string of the record string table.</li>
+ * </ul>
+ * The static dictionary contains strings which are common in registrations (link attribute names, versions, binding
+ * modes...). It is part of the format : strings could only be appended to it, with a new format version.
+ */
+final class BinaryStrings {
+
+    static final int TAG_NULL = 0;
+    static final int TAG_LITERAL = 1;
+    static final int FIRST_DICTIONARY_TAG = 2;
+
+    private static final String[] DICTIONARY = { //
+            // core link format and LWM2M attributes
+            "ver", "lwm2m", "ct", "rt", "if", "title", "anchor", "rel", "rev", "hreflang", "media", "type", "obs", "sz",
+            "dim", "ssid", "uri", "pmin", "pmax", "gt", "lt", "st", "epmin", "epmax", "edge", "con", "hqmax",
+            // common values
+            "oma.lwm2m", "1.0", "1.1", "1.2", "2.0", "/", "U", "UQ", "S", "SQ", "US", "UQS", "N", "T", "UN", "UT",
+            "localhost" };
+
+    static final int FIRST_RECORD_TAG = FIRST_DICTIONARY_TAG + DICTIONARY.length;
+
+    private static final Map<String, Integer> TAGS = new HashMap<>();
+    static {
+        for (int i = 0; i < DICTIONARY.length; i++) {
+            TAGS.put(DICTIONARY[i], FIRST_DICTIONARY_TAG + i);
+        }
+    }
+
+    private BinaryStrings() {
+    }
+
+    static Integer getDictionaryTag(String value) {
+        return TAGS.get(value);
+    }
+
+    static String getDictionaryString(int tag) {
+        return DICTIONARY[tag - FIRST_DICTIONARY_TAG];
+    }
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis.serialization;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.leshan.core.node.LwM2mPath;
+
+/**
+ * Writes the compact binary format used by {@link BinaryRegistrationSerDes} and {@link BinaryObservationSerDes}.
+ * <p>
+ * Integers are written as unsigned LEB128 variable length integers. Strings are written as a tag followed by optional
+ * data (see {@link BinaryStrings}): a string already written in the same record or part of the static dictionary is
+ * written as a single tag.
+ */
+class BinaryWriter {
+
+    private byte[] buffer;
+    private int size;
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    BinaryWriter(int formatVersion) {
+        buffer = new byte[256];
+        writeByte(formatVersion);
+    }
+
+    void writeByte(int b) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) b;
+    }
+
+    void writeBytes(byte[] bytes) {
+        writeVarInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    void writeBoolean(Boolean value) {
+        writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeVarInt(BinaryStrings.TAG_NULL);
+            return;
+        }
+        Integer tag = BinaryStrings.getDictionaryTag(value);
+        if (tag == null) {
+            tag = strings.get(value);
+        }
+        if (tag != null) {
+            writeVarInt(tag);
+            return;
+        }
+        writeVarInt(BinaryStrings.TAG_LITERAL);
+        writeBytes(value.getBytes(UTF_8));
+        strings.put(value, BinaryStrings.FIRST_RECORD_TAG + strings.size());
+    }
+
+    void writeStringMap(Map<String, String> map) {
+        if (map == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(map.size() + 1);
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writeString(entry.getKey());
+            writeString(entry.getValue());
+        }
+    }
+
+    void writeSocketAddress(InetSocketAddress address) {
+        if (address.isUnresolved()) {
+            writeByte(0);
+            writeString(address.getHostString());
+        } else {
+            writeByte(1);
+            writeBytes(address.getAddress().getAddress());
+        }
+        writeVarInt(address.getPort());
+    }
+
+    void writePath(LwM2mPath path) {
+        if (path.isRoot()) {
+            writeVarInt(0);
+        } else if (path.isObject()) {
+            writeVarInt(1);
+            writeVarInt(path.getObjectId());
+        } else if (path.isObjectInstance()) {
+            writeVarInt(2);
+            writeVarInt(path.getObjectId());
+            writeVarInt(path.getObjectInstanceId());
+        } else if (path.isResource()) {
+            writeVarInt(3);
+            writeVarInt(path.getObjectId());
+            writeVarInt(path.getObjectInstanceId());
+            writeVarInt(path.getResourceId());
+        } else {
+            writeVarInt(4);
+            writeVarInt(path.getObjectId());
+            writeVarInt(path.getObjectInstanceId());
+            writeVarInt(path.getResourceId());
+            writeVarInt(path.getResourceInstanceId());
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+        }
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+}
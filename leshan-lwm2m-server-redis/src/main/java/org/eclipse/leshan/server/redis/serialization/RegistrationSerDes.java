@@ -59,9 +59,9 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  */
 public class RegistrationSerDes {
 
-    private final AttributeParser attributeParser;
-    private final LwM2mPeerSerDes peerSerDes;
-    private final EndPointUriHandler uriHandler;
+    protected final AttributeParser attributeParser;
+    protected final LwM2mPeerSerDes peerSerDes;
+    protected final EndPointUriHandler uriHandler;
 
     public RegistrationSerDes(LwM2mPeerSerDes peerSerDes) {
         // Define all supported Attributes
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.server.registration.Registration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RegistrationNearCacheTest {
+
+    private RegistrationNearCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new RegistrationNearCache(10);
+        cache.setActive(true);
+    }
+
+    @Test
+    public void value_fetched_before_its_invalidation_is_not_cached() {
+        long version = cache.version();
+        cache.invalidateEndpoint("ep1");
+        cache.put(version, newRegistration("id1", "ep1"), "index1");
+
+        assertNull(cache.getByEndpoint("ep1"));
+        assertNull(cache.getByIndex("index1"));
+    }
+
+    @Test
+    public void invalidation_of_other_key_does_not_reject_value() {
+        long version = cache.version();
+        cache.invalidateEndpoint("ep2");
+        cache.invalidateIndex("index2");
+        Registration registration = newRegistration("id1", "ep1");
+        cache.put(version, registration, "index1");
+
+        assertSame(registration, cache.getByEndpoint("ep1"));
+        assertSame(registration, cache.getByIndex("index1"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void value_fetched_after_invalidation_replaces_tombstone() {
+        cache.put(cache.version(), newRegistration("id1", "ep1"), null);
+        cache.invalidateEndpoint("ep1");
+        assertNull(cache.getByEndpoint("ep1"));
+        assertEquals(0, cache.size());
+
+        Registration registration = newRegistration("id2", "ep1");
+        cache.put(cache.version(), registration, null);
+        assertSame(registration, cache.getByEndpoint("ep1"));
+    }
+
+    @Test
+    public void value_fetched_before_clear_is_not_cached() {
+        long version = cache.version();
+        cache.clear();
+        cache.put(version, newRegistration("id1", "ep1"), null);
+
+        assertNull(cache.getByEndpoint("ep1"));
+    }
+
+    @Test
+    public void used_registrations_are_kept_when_cache_is_full() {
+        Registration hot = newRegistration("hot", "hot");
+        cache.put(cache.version(), hot, null);
+        for (int i = 0; i < 100; i++) {
+            assertSame(hot, cache.getByEndpoint("hot"));
+            cache.put(cache.version(), newRegistration("id" + i, "ep" + i), null);
+        }
+        assertSame(hot, cache.getByEndpoint("hot"));
+        assertEquals(10, cache.size());
+    }
+
+    private Registration newRegistration(String id, String endpoint) {
+        return new Registration.Builder(id, endpoint,
+                new IpPeer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 5683)),
+                uriHandler.createUri("coap://localhost:5683")).build();
+    }
+}
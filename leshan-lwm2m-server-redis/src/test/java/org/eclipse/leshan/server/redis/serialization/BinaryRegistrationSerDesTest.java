@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.redis.serialization;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.Inet4Address;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.link.LinkParseException;
+import org.eclipse.leshan.core.link.lwm2m.DefaultLwM2mLinkParser;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.CompositeObservation;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.peer.LwM2mPeer;
+import org.eclipse.leshan.core.peer.PskIdentity;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.eclipse.leshan.server.registration.DefaultRegistrationDataExtractor;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationDataExtractor.RegistrationData;
+import org.junit.jupiter.api.Test;
+
+public class BinaryRegistrationSerDesTest {
+
+    static final String OBJECT_LINKS = "</>;rt=\"oma.lwm2m\";ct=\"60 110 112 11542 11543\","
+            + "</1>;ver=1.1,</1/0>,</2>,</2/0>,</2/1>,</2/2>,</3>;ver=1.1,</3/0>,</4>;ver=1.2,</4/0>,</5>,</5/0>,"
+            + "</6>,</6/0>,</7>,</7/0>,</3303>;ver=1.1,</3303/0>,</3303/1>,</3303/2>,</3304>,</3304/0>,</3311>,"
+            + "</3311/0>,</3311/1>,</3311/2>,</3311/3>,</3342>,</3342/0>,</3342/1>,</10249>;ver=2.0,</10249/0>";
+
+    private final BinaryRegistrationSerDes binarySerDes = new BinaryRegistrationSerDes(new LwM2mPeerSerDes());
+    private final RegistrationSerDes jsonSerDes = new RegistrationSerDes(new LwM2mPeerSerDes());
+
+    @Test
+    public void ser_and_des_are_equals() throws LinkParseException {
+        Registration r = newRegistration("registrationId", "endpoint", OBJECT_LINKS);
+
+        byte[] ser = binarySerDes.bSerialize(r);
+        Registration r2 = binarySerDes.deserialize(ser);
+
+        assertEquals(r, r2);
+        assertArrayEquals(r.getObjectLinks(), r2.getObjectLinks());
+        assertEquals(r.getAvailableInstances(), r2.getAvailableInstances());
+        assertEquals(r.getSupportedObject(), r2.getSupportedObject());
+    }
+
+    @Test
+    public void ser_and_des_are_equals_with_psk_identity_and_app_data() throws LinkParseException {
+        Map<String, String> appData = new HashMap<>();
+        appData.put("string", "string test");
+        appData.put("null", null);
+        Map<String, String> additionalAttributes = new HashMap<>();
+        additionalAttributes.put("imei", "12345");
+
+        Registration r = newRegistrationBuilder("registrationId", "endpoint",
+                new IpPeer(new InetSocketAddress(Inet4Address.getLoopbackAddress(), 5684),
+                        new PskIdentity("client_identity")),
+                OBJECT_LINKS).smsNumber("0123456789").queueMode(true).applicationData(appData)
+                        .additionalRegistrationAttributes(additionalAttributes).build();
+
+        Registration r2 = binarySerDes.deserialize(binarySerDes.bSerialize(r));
+
+        assertEquals(r, r2);
+        assertEquals(r.getClientTransportData(), r2.getClientTransportData());
+        assertEquals(appData, r2.getApplicationData());
+        assertEquals(additionalAttributes, r2.getAdditionalRegistrationAttributes());
+    }
+
+    @Test
+    public void registration_stored_in_json_can_be_deserialized() throws LinkParseException {
+        Registration r = newRegistration("registrationId", "endpoint", OBJECT_LINKS);
+
+        byte[] json = jsonSerDes.bSerialize(r);
+        Registration r2 = binarySerDes.deserialize(json);
+
+        assertEquals(jsonSerDes.deserialize(json), r2);
+    }
+
+    @Test
+    public void binary_is_smaller_than_json() throws LinkParseException {
+        Registration r = newRegistration("registrationId", "endpoint", OBJECT_LINKS);
+
+        int jsonSize = jsonSerDes.bSerialize(r).length;
+        int binarySize = binarySerDes.bSerialize(r).length;
+
+        assertTrue(binarySize * 3 < jsonSize,
+                String.format("binary size %d should be 3 times smaller than json size %d", binarySize, jsonSize));
+    }
+
+    @Test
+    public void observations_ser_and_des_are_equals() {
+        BinaryObservationSerDes observationSerDes = new BinaryObservationSerDes();
+        ObservationIdentifier id = new ObservationIdentifier(uriHandler.createUri("coap://localhost:5683"),
+                new byte[] { 1, 2, 3, 4 });
+        Map<String, String> context = new HashMap<>();
+        context.put("key", "value");
+
+        Observation single = new SingleObservation(id, "regId", new LwM2mPath(3303, 0, 5700), ContentFormat.SENML_CBOR,
+                context, new HashMap<>());
+        Observation composite = new CompositeObservation(id, "regId",
+                Arrays.asList(new LwM2mPath(3, 0, 1), new LwM2mPath(3303, 0, 5700, 1)), ContentFormat.SENML_CBOR, null,
+                null, new HashMap<>());
+
+        for (Observation observation : Arrays.asList(single, composite)) {
+            Observation observation2 = observationSerDes.deserialize(observationSerDes.serialize(observation));
+            assertEquals(observation.toString(), observation2.toString());
+            assertEquals(observation.getId(), observation2.getId());
+        }
+
+        // JSON observation can be deserialized
+        Observation fromJson = observationSerDes.deserialize(new ObservationSerDes().serialize(single));
+        assertEquals(single.toString(), fromJson.toString());
+    }
+
+    static Registration newRegistration(String registrationId, String endpoint, String objectLinks)
+            throws LinkParseException {
+        return newRegistrationBuilder(registrationId, endpoint,
+                new IpPeer(new InetSocketAddress(Inet4Address.getLoopbackAddress(), 56830)), objectLinks).build();
+    }
+
+    static Registration.Builder newRegistrationBuilder(String registrationId, String endpoint, LwM2mPeer peer,
+            String objectLinks) throws LinkParseException {
+        Link[] links = new DefaultLwM2mLinkParser().parseCoreLinkFormat(objectLinks.getBytes(StandardCharsets.UTF_8));
+
+        Registration.Builder builder = new Registration.Builder(registrationId, endpoint, peer,
+                uriHandler.createUri("coap://localhost:5683")).objectLinks(links).lifeTimeInSec(86400L)
+                        .lwM2mVersion(LwM2mVersion.V1_1);
+        builder.registrationDate(new Date(1700000000000L));
+        builder.lastUpdate(new Date(1700000001000L));
+
+        RegistrationData data = new DefaultRegistrationDataExtractor().extractDataFromObjectLinks(links,
+                LwM2mVersion.V1_1);
+        builder.rootPath(data.getAlternatePath());
+        builder.supportedContentFormats(data.getSupportedContentFormats());
+        builder.supportedObjects(data.getSupportedObjects());
+        builder.availableInstances(data.getAvailableInstances());
+        return builder;
+    }
+}
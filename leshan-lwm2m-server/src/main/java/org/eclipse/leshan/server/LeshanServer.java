@@ -20,6 +20,7 @@ package org.eclipse.leshan.server;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.leshan.core.Destroyable;
 import org.eclipse.leshan.core.Startable;
@@ -49,15 +50,18 @@ import org.eclipse.leshan.server.endpoint.LwM2mServerEndpoint;
 import org.eclipse.leshan.server.endpoint.LwM2mServerEndpointsProvider;
 import org.eclipse.leshan.server.endpoint.ServerEndpointToolbox;
 import org.eclipse.leshan.server.model.LwM2mModelProvider;
+import org.eclipse.leshan.server.observation.NotificationDispatcher;
 import org.eclipse.leshan.server.observation.ObservationService;
 import org.eclipse.leshan.server.observation.ObservationServiceImpl;
 import org.eclipse.leshan.server.profile.DefaultClientProfileProvider;
 import org.eclipse.leshan.server.queue.ClientAwakeTimeProvider;
+import org.eclipse.leshan.server.queue.DownlinkRequestQueue;
 import org.eclipse.leshan.server.queue.PresenceListener;
 import org.eclipse.leshan.server.queue.PresenceService;
 import org.eclipse.leshan.server.queue.PresenceServiceImpl;
 import org.eclipse.leshan.server.queue.PresenceStateListener;
 import org.eclipse.leshan.server.queue.QueueModeLwM2mRequestSender;
+import org.eclipse.leshan.server.queue.QueuedRequestsDispatcher;
 import org.eclipse.leshan.server.registration.Registration;
 import org.eclipse.leshan.server.registration.RegistrationDataExtractor;
 import org.eclipse.leshan.server.registration.RegistrationHandler;
@@ -67,6 +71,7 @@ import org.eclipse.leshan.server.registration.RegistrationService;
 import org.eclipse.leshan.server.registration.RegistrationServiceImpl;
 import org.eclipse.leshan.server.registration.RegistrationStore;
 import org.eclipse.leshan.server.registration.RegistrationUpdate;
+import org.eclipse.leshan.server.registration.WriteBehindRegistrationUpdater;
 import org.eclipse.leshan.server.request.DefaultDownlinkRequestSender;
 import org.eclipse.leshan.server.request.DefaultUplinkRequestReceiver;
 import org.eclipse.leshan.server.request.DownlinkRequestSender;
@@ -76,6 +81,7 @@ import org.eclipse.leshan.server.security.Authorizer;
 import org.eclipse.leshan.server.send.SendHandler;
 import org.eclipse.leshan.server.send.SendService;
 import org.eclipse.leshan.servers.ServerEndpointNameProvider;
+import org.eclipse.leshan.servers.admission.AdmissionController;
 import org.eclipse.leshan.servers.security.SecurityInfo;
 import org.eclipse.leshan.servers.security.SecurityStore;
 import org.eclipse.leshan.servers.security.ServerSecurityInfo;
@@ -104,6 +110,8 @@ public class LeshanServer {
     private final LwM2mServerEndpointsProvider endpointsProvider;
 
     private final ObservationServiceImpl observationService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final WriteBehindRegistrationUpdater registrationUpdater;
     private final SecurityStore securityStore;
     private final LwM2mModelProvider modelProvider;
     private PresenceServiceImpl presenceService;
@@ -123,23 +131,33 @@ public class LeshanServer {
      * @param decoder decoder used to decode response payload.
      * @param noQueueMode true to disable presenceService.
      * @param awakeTimeProvider to set the client awake time if queue mode is used.
+     * @param downlinkRequestQueue to queue requests sent to sleeping clients if queue mode is used. If
+     *        <code>null</code> sending request to sleeping client raises a {@link ClientSleepingException}.
      * @param registrationIdProvider to provide registrationId using for location-path option values on response of
      *        Register operation.
      * @param registrationDataExtractor to extract registration data from object links
      * @param updateRegistrationOnNotification will activate registration update on observe notification.
+     * @param updateRegistrationOnNotificationFlushPeriod period in ms between 2 writes of deferred registration updates
+     *        on notification, or <code>0</code> to update registration in store on each notification.
+     * @param notificationDispatcher to process notifications outside of transport threads. If <code>null</code>
+     *        notifications are processed synchronously.
      * @param updateRegistrationOnSend will activate registration update on Send Operation.
      * @param linkParser a parser {@link LwM2mLinkParser} used to parse a CoRE Link.
      * @param serverSecurityInfo credentials of the Server.
      * @param endpointNameProvider try to find endpoint name from client identity.
+     * @param admissionController to reject Register requests when server is overloaded. If <code>null</code> all
+     *        requests are handled.
      * @since 1.1
      */
     public LeshanServer(LwM2mServerEndpointsProvider endpointsProvider, RegistrationStore registrationStore,
             SecurityStore securityStore, Authorizer authorizer, LwM2mModelProvider modelProvider, LwM2mEncoder encoder,
             LwM2mDecoder decoder, boolean noQueueMode, ClientAwakeTimeProvider awakeTimeProvider,
-            RegistrationIdProvider registrationIdProvider, RegistrationDataExtractor registrationDataExtractor,
-            boolean updateRegistrationOnNotification, boolean updateRegistrationOnSend, LwM2mLinkParser linkParser,
-            EndPointUriHandler uriHandler, ServerSecurityInfo serverSecurityInfo,
-            ServerEndpointNameProvider endpointNameProvider) {
+            DownlinkRequestQueue downlinkRequestQueue, RegistrationIdProvider registrationIdProvider,
+            RegistrationDataExtractor registrationDataExtractor, boolean updateRegistrationOnNotification,
+            long updateRegistrationOnNotificationFlushPeriod, NotificationDispatcher notificationDispatcher,
+            boolean updateRegistrationOnSend, LwM2mLinkParser linkParser, EndPointUriHandler uriHandler,
+            ServerSecurityInfo serverSecurityInfo, ServerEndpointNameProvider endpointNameProvider,
+            AdmissionController admissionController) {
 
         Validate.notNull(endpointsProvider, "endpointsProvider cannot be null");
         Validate.notNull(registrationStore, "registration store cannot be null");
@@ -155,8 +173,15 @@ public class LeshanServer {
         registrationService = createRegistrationService(registrationStore);
         this.securityStore = securityStore;
         this.modelProvider = modelProvider;
+        this.notificationDispatcher = notificationDispatcher;
+        if (updateRegistrationOnNotification && updateRegistrationOnNotificationFlushPeriod > 0) {
+            this.registrationUpdater = createRegistrationUpdater(registrationStore,
+                    updateRegistrationOnNotificationFlushPeriod);
+        } else {
+            this.registrationUpdater = null;
+        }
         this.observationService = createObservationService(registrationStore, updateRegistrationOnNotification,
-                endpointsProvider, authorizer);
+                registrationUpdater, notificationDispatcher, endpointsProvider, authorizer);
         if (noQueueMode) {
             presenceService = null;
         } else {
@@ -169,13 +194,13 @@ public class LeshanServer {
         ServerEndpointToolbox toolbox = new ServerEndpointToolbox(decoder, encoder, linkParser,
                 new DefaultClientProfileProvider(registrationStore, modelProvider), uriHandler);
         RegistrationHandler registrationHandler = new RegistrationHandler(registrationService, authorizer,
-                registrationIdProvider, registrationDataExtractor, endpointNameProvider);
+                registrationIdProvider, registrationDataExtractor, endpointNameProvider, admissionController);
         UplinkDeviceManagementRequestReceiver requestReceiver = createRequestReceiver(registrationHandler, sendService);
         endpointsProvider.createEndpoints(requestReceiver, observationService, toolbox, serverSecurityInfo, this);
 
         // create request sender
-        requestSender = createRequestSender(endpointsProvider, registrationService, this.modelProvider,
-                presenceService);
+        requestSender = createRequestSender(endpointsProvider, registrationService, this.modelProvider, presenceService,
+                downlinkRequestQueue);
 
     }
 
@@ -184,14 +209,20 @@ public class LeshanServer {
     }
 
     protected ObservationServiceImpl createObservationService(RegistrationStore registrationStore,
-            boolean updateRegistrationOnNotification, LwM2mServerEndpointsProvider endpointsProvider,
+            boolean updateRegistrationOnNotification, WriteBehindRegistrationUpdater registrationUpdater,
+            NotificationDispatcher notificationDispatcher, LwM2mServerEndpointsProvider endpointsProvider,
             Authorizer authorizer) {
 
         ObservationServiceImpl observationService = new ObservationServiceImpl(registrationStore, endpointsProvider,
-                updateRegistrationOnNotification, authorizer);
+                updateRegistrationOnNotification, registrationUpdater, authorizer, notificationDispatcher);
         return observationService;
     }
 
+    protected WriteBehindRegistrationUpdater createRegistrationUpdater(RegistrationStore registrationStore,
+            long flushPeriodInMs) {
+        return new WriteBehindRegistrationUpdater(registrationStore, flushPeriodInMs);
+    }
+
     protected PresenceServiceImpl createPresenceService(RegistrationService registrationService,
             ClientAwakeTimeProvider awakeTimeProvider, boolean updateRegistrationOnNotification) {
         PresenceServiceImpl presenceService = new PresenceServiceImpl(awakeTimeProvider);
@@ -215,7 +246,7 @@ public class LeshanServer {
 
     protected DownlinkRequestSender createRequestSender(LwM2mServerEndpointsProvider endpointsProvider,
             RegistrationServiceImpl registrationService, LwM2mModelProvider modelProvider,
-            PresenceServiceImpl presenceService) {
+            PresenceServiceImpl presenceService, DownlinkRequestQueue downlinkRequestQueue) {
 
         // if no queue mode, create a "simple" sender
         final DownlinkRequestSender requestSender;
@@ -223,7 +254,7 @@ public class LeshanServer {
             requestSender = new DefaultDownlinkRequestSender(endpointsProvider, modelProvider);
         else
             requestSender = new QueueModeLwM2mRequestSender(presenceService,
-                    new DefaultDownlinkRequestSender(endpointsProvider, modelProvider));
+                    new DefaultDownlinkRequestSender(endpointsProvider, modelProvider), downlinkRequestQueue);
 
         // Cancel observations on client unregistering
         registrationService.addListener(new RegistrationListener() {
@@ -248,6 +279,15 @@ public class LeshanServer {
             }
         });
 
+        // Send queued requests when client wakes up, this must be done after ongoing requests cancellation.
+        if (presenceService != null && downlinkRequestQueue != null) {
+            // a notification shows the client is awake even if registration is not updated on notification
+            QueuedRequestsDispatcher dispatcher = new QueuedRequestsDispatcher(
+                    (QueueModeLwM2mRequestSender) requestSender, presenceService);
+            registrationService.addListener(dispatcher);
+            observationService.addListener(dispatcher);
+        }
+
         return requestSender;
     }
 
@@ -266,6 +306,9 @@ public class LeshanServer {
         if (requestSender instanceof Startable) {
             ((Startable) requestSender).start();
         }
+        if (registrationUpdater != null) {
+            registrationUpdater.start();
+        }
 
         // Start server
         endpointsProvider.start();
@@ -285,6 +328,14 @@ public class LeshanServer {
         // Stop server
         endpointsProvider.stop();
 
+        // Process notifications received before stopping, they may update registrations
+        drainNotificationDispatcher();
+
+        // Write deferred registration updates before stopping stores
+        if (registrationUpdater != null) {
+            registrationUpdater.stop();
+        }
+
         // Stop stores
         if (registrationStore instanceof Stoppable) {
             ((Stoppable) registrationStore).stop();
@@ -308,6 +359,17 @@ public class LeshanServer {
         // Destroy server
         endpointsProvider.destroy();
 
+        // Process notifications received before destroying, they may update registrations
+        if (notificationDispatcher != null) {
+            drainNotificationDispatcher();
+            notificationDispatcher.destroy();
+        }
+
+        // Write deferred registration updates before destroying stores
+        if (registrationUpdater != null) {
+            registrationUpdater.destroy();
+        }
+
         // Destroy stores
         if (registrationStore instanceof Destroyable) {
             ((Destroyable) registrationStore).destroy();
@@ -334,6 +396,21 @@ public class LeshanServer {
         LOG.info("LWM2M server destroyed.");
     }
 
+    private void drainNotificationDispatcher() {
+        if (notificationDispatcher == null) {
+            return;
+        }
+        try {
+            if (!notificationDispatcher.drain(5, TimeUnit.SECONDS)) {
+                LOG.warn("Some notifications were not processed before timeout ({} still queued)",
+                        notificationDispatcher.getQueueDepth());
+            }
+        } catch (InterruptedException e) {
+            LOG.warn("Waiting for notification processing was interrupted.", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Get the {@link RegistrationService} to access to registered clients.
      * <p>
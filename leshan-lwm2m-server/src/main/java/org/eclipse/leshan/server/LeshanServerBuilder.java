@@ -30,8 +30,10 @@ import javax.security.auth.login.Configuration;
 
 import org.eclipse.leshan.core.endpoint.DefaultEndPointUriHandler;
 import org.eclipse.leshan.core.endpoint.EndPointUriHandler;
+import org.eclipse.leshan.core.link.lwm2m.CachingLwM2mLinkParser;
 import org.eclipse.leshan.core.link.lwm2m.DefaultLwM2mLinkParser;
 import org.eclipse.leshan.core.link.lwm2m.LwM2mLinkParser;
+import org.eclipse.leshan.core.model.ObjectLoader;
 import org.eclipse.leshan.core.node.LwM2mNode;
 import org.eclipse.leshan.core.node.codec.DefaultLwM2mDecoder;
 import org.eclipse.leshan.core.node.codec.DefaultLwM2mEncoder;
@@ -41,10 +43,15 @@ import org.eclipse.leshan.core.observation.Observation;
 import org.eclipse.leshan.core.request.exception.ClientSleepingException;
 import org.eclipse.leshan.server.endpoint.DefaultCompositeServerEndpointsProvider;
 import org.eclipse.leshan.server.endpoint.LwM2mServerEndpointsProvider;
+import org.eclipse.leshan.server.model.CachingVersionedModelProvider;
 import org.eclipse.leshan.server.model.LwM2mModelProvider;
-import org.eclipse.leshan.server.model.StandardModelProvider;
+import org.eclipse.leshan.server.observation.NotificationDispatcher;
+import org.eclipse.leshan.server.observation.ObservationListener;
 import org.eclipse.leshan.server.queue.ClientAwakeTimeProvider;
+import org.eclipse.leshan.server.queue.DownlinkRequestQueue;
+import org.eclipse.leshan.server.queue.InMemoryDownlinkRequestQueue;
 import org.eclipse.leshan.server.queue.StaticClientAwakeTimeProvider;
+import org.eclipse.leshan.server.registration.CachingRegistrationDataExtractor;
 import org.eclipse.leshan.server.registration.DefaultRegistrationDataExtractor;
 import org.eclipse.leshan.server.registration.InMemoryRegistrationStore;
 import org.eclipse.leshan.server.registration.RandomStringRegistrationIdProvider;
@@ -52,10 +59,13 @@ import org.eclipse.leshan.server.registration.Registration;
 import org.eclipse.leshan.server.registration.RegistrationDataExtractor;
 import org.eclipse.leshan.server.registration.RegistrationIdProvider;
 import org.eclipse.leshan.server.registration.RegistrationStore;
+import org.eclipse.leshan.server.registration.WriteBehindRegistrationUpdater;
 import org.eclipse.leshan.server.security.Authorizer;
 import org.eclipse.leshan.server.security.DefaultAuthorizer;
 import org.eclipse.leshan.servers.DefaultServerEndpointNameProvider;
 import org.eclipse.leshan.servers.ServerEndpointNameProvider;
+import org.eclipse.leshan.servers.admission.AdmissionController;
+import org.eclipse.leshan.servers.admission.TokenBucketAdmissionController;
 import org.eclipse.leshan.servers.security.InMemorySecurityStore;
 import org.eclipse.leshan.servers.security.SecurityInfo;
 import org.eclipse.leshan.servers.security.SecurityStore;
@@ -73,9 +83,11 @@ public class LeshanServerBuilder {
     private LwM2mModelProvider modelProvider;
     private Authorizer authorizer;
     private ClientAwakeTimeProvider awakeTimeProvider;
+    private DownlinkRequestQueue downlinkRequestQueue;
     private RegistrationIdProvider registrationIdProvider;
     private RegistrationDataExtractor registrationDataExtractor;
     private ServerEndpointNameProvider endpointNameProvider;
+    private AdmissionController admissionController;
 
     private LwM2mEncoder encoder;
     private LwM2mDecoder decoder;
@@ -88,6 +100,8 @@ public class LeshanServerBuilder {
 
     private boolean noQueueMode = false;
     private boolean updateRegistrationOnNotification = false;
+    private long updateRegistrationOnNotificationFlushPeriod = 0;
+    private NotificationDispatcher notificationDispatcher;
     private boolean updateRegistrationOnSend = false;
 
     private LwM2mServerEndpointsProvider endpointsProvider;
@@ -135,7 +149,8 @@ public class LeshanServerBuilder {
      * <p>
      * Set your {@link LwM2mModelProvider} implementation.
      * </p>
-     * By default the {@link StandardModelProvider}.
+     * By default a {@link CachingVersionedModelProvider} with all default object models (see
+     * {@link ObjectLoader#loadAllDefault()}).
      */
     public LeshanServerBuilder setObjectModelProvider(LwM2mModelProvider objectModelProvider) {
         this.modelProvider = objectModelProvider;
@@ -207,7 +222,7 @@ public class LeshanServerBuilder {
     /**
      * Set the CoRE Link parser {@link LwM2mLinkParser}
      * <p>
-     * By default the {@link DefaultLwM2mLinkParser} is used.
+     * By default a {@link CachingLwM2mLinkParser} using a {@link DefaultLwM2mLinkParser} is used.
      */
     public void setLinkParser(LwM2mLinkParser linkParser) {
         this.linkParser = linkParser;
@@ -238,6 +253,25 @@ public class LeshanServerBuilder {
         return this;
     }
 
+    /**
+     * Sets a {@link DownlinkRequestQueue} to queue requests sent to sleeping clients using LWM2M Queue Mode.
+     * <p>
+     * Asynchronous requests sent to a sleeping client are queued and sent as soon as the client is awake again
+     * (registration, registration update or notification) instead of raising a {@link ClientSleepingException}. Request
+     * timeout includes the time spent in the queue.
+     * <p>
+     * A notification wakes the client up for queued requests even if
+     * {@link #setUpdateRegistrationOnNotification(boolean)} is not enabled.
+     * <p>
+     * By default no queue is used. An {@link InMemoryDownlinkRequestQueue} is provided.
+     *
+     * @param downlinkRequestQueue the {@link DownlinkRequestQueue} to set.
+     */
+    public LeshanServerBuilder setDownlinkRequestQueue(DownlinkRequestQueue downlinkRequestQueue) {
+        this.downlinkRequestQueue = downlinkRequestQueue;
+        return this;
+    }
+
     /**
      * Sets a new {@link RegistrationIdProvider} object different from the default one (Random string).
      *
@@ -251,7 +285,7 @@ public class LeshanServerBuilder {
      * Sets {@link RegistrationDataExtractor} responsible to extract Registration Data from object links generally
      * received from Register or Update requests.
      * <p>
-     * By default, {@link DefaultRegistrationDataExtractor} is used.
+     * By default, a {@link CachingRegistrationDataExtractor} using a {@link DefaultRegistrationDataExtractor} is used.
      *
      * @param registrationDataExtractor the {@link RegistrationDataExtractor} to set.
      */
@@ -270,6 +304,21 @@ public class LeshanServerBuilder {
         this.endpointNameProvider = endpointNameProvider;
     }
 
+    /**
+     * Sets {@link AdmissionController} which decides if a Register request should be rejected because the server is
+     * overloaded, e.g. when a whole fleet of devices reconnects at once. Rejected requests get a 5.03 Service
+     * Unavailable response with a Max-Age telling when to retry. Update and De-register requests of already registered
+     * devices are never rejected.
+     * <p>
+     * By default, there is no admission control. See {@link TokenBucketAdmissionController}.
+     *
+     * @param admissionController the {@link AdmissionController} to set.
+     */
+    public LeshanServerBuilder setAdmissionController(AdmissionController admissionController) {
+        this.admissionController = admissionController;
+        return this;
+    }
+
     /**
      * Update Registration on notification.
      * <p>
@@ -297,6 +346,39 @@ public class LeshanServerBuilder {
         return this;
     }
 
+    /**
+     * Defer registration update on notification, see {@link #setUpdateRegistrationOnNotification(boolean)}.
+     * <p>
+     * Instead of updating the registration in the {@link RegistrationStore} on each notification, only the last peer
+     * seen is kept in memory and written at the given period using a {@link WriteBehindRegistrationUpdater}. If the
+     * peer address changes, the registration is updated immediately.
+     * <p>
+     * By default (<code>0</code>), the registration is updated on each notification.
+     *
+     * @param flushPeriodInMs period between 2 writes of deferred updates in milliseconds or <code>0</code> to update
+     *        registration on each notification.
+     */
+    public LeshanServerBuilder setUpdateRegistrationOnNotificationFlushPeriod(long flushPeriodInMs) {
+        this.updateRegistrationOnNotificationFlushPeriod = flushPeriodInMs;
+        return this;
+    }
+
+    /**
+     * Sets a {@link NotificationDispatcher} to process notifications outside of the transport threads.
+     * <p>
+     * Registration update on notification and {@link ObservationListener}s are then executed by the dispatcher
+     * executor, in order for a given endpoint, so a slow listener does not block notification reception of other
+     * clients.
+     * <p>
+     * By default no dispatcher is used and notifications are processed synchronously.
+     *
+     * @param notificationDispatcher the {@link NotificationDispatcher} to set.
+     */
+    public LeshanServerBuilder setNotificationDispatcher(NotificationDispatcher notificationDispatcher) {
+        this.notificationDispatcher = notificationDispatcher;
+        return this;
+    }
+
     /**
      * Update Registration on Send Operation.
      * <p>
@@ -368,13 +450,13 @@ public class LeshanServerBuilder {
         if (authorizer == null)
             authorizer = new DefaultAuthorizer(securityStore);
         if (modelProvider == null)
-            modelProvider = new StandardModelProvider();
+            modelProvider = new CachingVersionedModelProvider(ObjectLoader.loadAllDefault());
         if (encoder == null)
             encoder = new DefaultLwM2mEncoder();
         if (decoder == null)
             decoder = new DefaultLwM2mDecoder();
         if (linkParser == null)
-            linkParser = new DefaultLwM2mLinkParser();
+            linkParser = new CachingLwM2mLinkParser(new DefaultLwM2mLinkParser(), 256);
         if (awakeTimeProvider == null) {
             awakeTimeProvider = new StaticClientAwakeTimeProvider();
         }
@@ -382,7 +464,8 @@ public class LeshanServerBuilder {
             registrationIdProvider = new RandomStringRegistrationIdProvider();
 
         if (registrationDataExtractor == null) {
-            registrationDataExtractor = new DefaultRegistrationDataExtractor();
+            registrationDataExtractor = new CachingRegistrationDataExtractor(new DefaultRegistrationDataExtractor(),
+                    256);
         }
         if (endpointNameProvider == null) {
             endpointNameProvider = new DefaultServerEndpointNameProvider();
@@ -395,9 +478,10 @@ public class LeshanServerBuilder {
                 trustedCertificates);
 
         return createServer(endpointsProvider, registrationStore, securityStore, authorizer, modelProvider, encoder,
-                decoder, noQueueMode, awakeTimeProvider, registrationIdProvider, registrationDataExtractor, linkParser,
-                uriHandler, serverSecurityInfo, endpointNameProvider, updateRegistrationOnNotification,
-                updateRegistrationOnSend);
+                decoder, noQueueMode, awakeTimeProvider, downlinkRequestQueue, registrationIdProvider,
+                registrationDataExtractor, linkParser, uriHandler, serverSecurityInfo, endpointNameProvider,
+                updateRegistrationOnNotification, updateRegistrationOnNotificationFlushPeriod, notificationDispatcher,
+                updateRegistrationOnSend, admissionController);
     }
 
     /**
@@ -407,21 +491,23 @@ public class LeshanServerBuilder {
      * able to build an extended <code>LeshanServer</code>.
      *
      * @see LeshanServer#LeshanServer(LwM2mServerEndpointsProvider, RegistrationStore, SecurityStore, Authorizer,
-     *      LwM2mModelProvider, LwM2mEncoder, LwM2mDecoder, boolean, ClientAwakeTimeProvider, RegistrationIdProvider,
-     *      RegistrationDataExtractor, boolean, boolean, LwM2mLinkParser, EndPointUriHandler, ServerSecurityInfo,
-     *      ServerEndpointNameProvider)
+     *      LwM2mModelProvider, LwM2mEncoder, LwM2mDecoder, boolean, ClientAwakeTimeProvider, DownlinkRequestQueue,
+     *      RegistrationIdProvider, RegistrationDataExtractor, boolean, long, NotificationDispatcher, boolean,
+     *      LwM2mLinkParser, EndPointUriHandler, ServerSecurityInfo, ServerEndpointNameProvider, AdmissionController)
      */
     protected LeshanServer createServer(LwM2mServerEndpointsProvider endpointsProvider,
             RegistrationStore registrationStore, SecurityStore securityStore, Authorizer authorizer,
             LwM2mModelProvider modelProvider, LwM2mEncoder encoder, LwM2mDecoder decoder, boolean noQueueMode,
-            ClientAwakeTimeProvider awakeTimeProvider, RegistrationIdProvider registrationIdProvider,
-            RegistrationDataExtractor registrationDataExtractor, LwM2mLinkParser linkParser,
-            EndPointUriHandler uriHandler, ServerSecurityInfo serverSecurityInfo,
+            ClientAwakeTimeProvider awakeTimeProvider, DownlinkRequestQueue downlinkRequestQueue,
+            RegistrationIdProvider registrationIdProvider, RegistrationDataExtractor registrationDataExtractor,
+            LwM2mLinkParser linkParser, EndPointUriHandler uriHandler, ServerSecurityInfo serverSecurityInfo,
             ServerEndpointNameProvider endpointNameProvider, boolean updateRegistrationOnNotification,
-            boolean updateRegistrationOnSend) {
+            long updateRegistrationOnNotificationFlushPeriod, NotificationDispatcher notificationDispatcher,
+            boolean updateRegistrationOnSend, AdmissionController admissionController) {
         return new LeshanServer(endpointsProvider, registrationStore, securityStore, authorizer, modelProvider, encoder,
-                decoder, noQueueMode, awakeTimeProvider, registrationIdProvider, registrationDataExtractor,
-                updateRegistrationOnNotification, updateRegistrationOnSend, linkParser, uriHandler, serverSecurityInfo,
-                endpointNameProvider);
+                decoder, noQueueMode, awakeTimeProvider, downlinkRequestQueue, registrationIdProvider,
+                registrationDataExtractor, updateRegistrationOnNotification,
+                updateRegistrationOnNotificationFlushPeriod, notificationDispatcher, updateRegistrationOnSend,
+                linkParser, uriHandler, serverSecurityInfo, endpointNameProvider, admissionController);
     }
 }
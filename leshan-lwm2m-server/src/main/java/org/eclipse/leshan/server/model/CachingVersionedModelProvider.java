@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.eclipse.leshan.core.LwM2m.Version;
+import org.eclipse.leshan.core.model.LwM2mModel;
+import org.eclipse.leshan.core.model.LwM2mModelRepository;
+import org.eclipse.leshan.core.model.ObjectModel;
+import org.eclipse.leshan.core.model.ResourceModel;
+import org.eclipse.leshan.core.util.Validate;
+import org.eclipse.leshan.server.registration.CachingRegistrationDataExtractor;
+import org.eclipse.leshan.server.registration.Registration;
+
+/**
+ * A {@link LwM2mModelProvider} which supports object versioning like {@link VersionedModelProvider}, but shares one
+ * immutable {@link LwM2mModel} between all registrations supporting the same objects in the same versions.
+ * <p>
+ * Thousands of devices running the same firmware so reuse the same model, and getting it does not allocate anything.
+ * Each model is a flat view resolved once from the repository : looking up an {@link ObjectModel} is a binary search in
+ * an array of object ids.
+ * <p>
+ * Models are indexed by supported objects of registrations. Lookup is cheaper when registrations share the same
+ * supported objects map instance, which is the case with a {@link CachingRegistrationDataExtractor}. The cache keeps
+ * the most recently used models only.
+ */
+public class CachingVersionedModelProvider implements LwM2mModelProvider {
+
+    private final LwM2mModelRepository repository;
+
+    // last models used, indexed by supported objects map instance
+    private final RecentModel[] recentModels;
+    private final int mask;
+
+    // all models, indexed by supported objects content
+    private final Map<Map<Integer, Version>, FlatModel> models;
+
+    public CachingVersionedModelProvider(Collection<ObjectModel> objectModels) {
+        this(new LwM2mModelRepository(objectModels));
+    }
+
+    public CachingVersionedModelProvider(LwM2mModelRepository repository) {
+        this(repository, 256);
+    }
+
+    /**
+     * @param repository the repository containing all object models in all versions.
+     * @param maxModels the maximum number of models kept in cache, must be a power of 2.
+     */
+    public CachingVersionedModelProvider(LwM2mModelRepository repository, final int maxModels) {
+        Validate.notNull(repository);
+        Validate.isTrue(maxModels > 0 && Integer.bitCount(maxModels) == 1, "maxModels must be a power of 2");
+        this.repository = repository;
+        this.recentModels = new RecentModel[maxModels];
+        this.mask = maxModels - 1;
+        this.models = new LinkedHashMap<Map<Integer, Version>, FlatModel>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Map<Integer, Version>, FlatModel> eldest) {
+                return size() > maxModels;
+            }
+        };
+    }
+
+    @Override
+    public LwM2mModel getObjectModel(Registration registration) {
+        Map<Integer, Version> supportedObjects = registration.getSupportedObject();
+
+        // search by map instance (no allocation)
+        int slot = System.identityHashCode(supportedObjects) & mask;
+        RecentModel recent = recentModels[slot];
+        if (recent != null && recent.supportedObjects == supportedObjects) {
+            return recent.model;
+        }
+
+        // search by map content
+        FlatModel model;
+        synchronized (models) {
+            model = models.get(supportedObjects);
+        }
+        if (model == null) {
+            model = createModel(supportedObjects);
+            synchronized (models) {
+                models.put(supportedObjects, model);
+            }
+        }
+        // no lock needed : RecentModel is immutable, so a racing thread sees either the old or the new entry
+        recentModels[slot] = new RecentModel(supportedObjects, model);
+        return model;
+    }
+
+    /**
+     * @return the number of models currently in cache.
+     */
+    public int size() {
+        synchronized (models) {
+            return models.size();
+        }
+    }
+
+    private FlatModel createModel(Map<Integer, Version> supportedObjects) {
+        // sort by object id for binary search
+        TreeMap<Integer, ObjectModel> objectModels = new TreeMap<>();
+        for (Entry<Integer, Version> supportedObject : supportedObjects.entrySet()) {
+            ObjectModel objectModel = repository.getObjectModel(supportedObject.getKey(), supportedObject.getValue());
+            if (objectModel != null)
+                objectModels.put(supportedObject.getKey(), objectModel);
+        }
+        return new FlatModel(objectModels);
+    }
+
+    /**
+     * An immutable {@link LwM2mModel} for a given set of object models.
+     */
+    private static class FlatModel implements LwM2mModel {
+
+        private final int[] objectIds;
+        private final ObjectModel[] objectModels;
+        private final List<ObjectModel> objectModelList;
+
+        /**
+         * @param objectModels object models sorted by object id.
+         */
+        FlatModel(TreeMap<Integer, ObjectModel> objectModels) {
+            this.objectIds = new int[objectModels.size()];
+            this.objectModels = new ObjectModel[objectModels.size()];
+            int i = 0;
+            for (Entry<Integer, ObjectModel> objectModel : objectModels.entrySet()) {
+                this.objectIds[i] = objectModel.getKey();
+                this.objectModels[i] = objectModel.getValue();
+                i++;
+            }
+            this.objectModelList = Collections.unmodifiableList(new ArrayList<>(objectModels.values()));
+        }
+
+        @Override
+        public ResourceModel getResourceModel(int objectId, int resourceId) {
+            ObjectModel objectModel = getObjectModel(objectId);
+            if (objectModel != null)
+                return objectModel.resources.get(resourceId);
+            else
+                return null;
+        }
+
+        @Override
+        public ObjectModel getObjectModel(int objectId) {
+            int index = Arrays.binarySearch(objectIds, objectId);
+            if (index >= 0) {
+                return objectModels[index];
+            }
+            return null;
+        }
+
+        @Override
+        public Collection<ObjectModel> getObjectModels() {
+            return objectModelList;
+        }
+    }
+
+    private static class RecentModel {
+        private final Map<Integer, Version> supportedObjects;
+        private final FlatModel model;
+
+        RecentModel(Map<Integer, Version> supportedObjects, FlatModel model) {
+            this.supportedObjects = supportedObjects;
+            this.model = model;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.observation;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.core.util.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches notification processing to an {@link Executor} so slow {@link ObservationListener}s do not block the
+ * transport threads.
+ * <p>
+ * Tasks of a same endpoint are executed one at a time, in the order they were dispatched. Each endpoint has its own
+ * bounded queue, the {@link OverflowPolicy} defines what happens when it is full.
+ * <p>
+ * Any {@link Executor} can be used, e.g. a virtual thread per task executor on Java 21+.
+ */
+public class NotificationDispatcher implements Destroyable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    /**
+     * Maximum number of tasks executed for one endpoint before giving back the thread to other endpoints.
+     */
+    private static final int MAX_TASKS_PER_RUN = 32;
+
+    /**
+     * What to do when a task is dispatched to an endpoint queue which is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The oldest queued task is dropped.
+         */
+        DROP_OLDEST,
+        /**
+         * The dispatching thread waits until there is room in the queue.
+         */
+        BLOCK,
+        /**
+         * A queued task for the same observation is replaced by the new one, whatever the queue size. Else the oldest
+         * queued task is dropped if queue is full.
+         */
+        COALESCE
+    }
+
+    private final ConcurrentMap<String /* endpoint */, EndpointQueue> queues = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final int maxQueueSize;
+    private final OverflowPolicy overflowPolicy;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    // queued tasks and tasks being executed, also used as monitor to wait until it reaches 0
+    private final AtomicInteger pendingTasks = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private volatile boolean destroyed = false;
+
+    public NotificationDispatcher() {
+        this(100, OverflowPolicy.DROP_OLDEST); // default max queue size per endpoint : 100
+    }
+
+    public NotificationDispatcher(int maxQueueSize, OverflowPolicy overflowPolicy) {
+        this(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                new NamedThreadFactory("Notification Dispatcher")), maxQueueSize, overflowPolicy);
+    }
+
+    /**
+     * @param executor executor used to run notification processing. If it is an {@link ExecutorService} it is shut down
+     *        on {@link #destroy()}.
+     * @param maxQueueSize the maximum number of tasks queued for one endpoint.
+     * @param overflowPolicy what to do when the queue of an endpoint is full.
+     */
+    public NotificationDispatcher(Executor executor, int maxQueueSize, OverflowPolicy overflowPolicy) {
+        Validate.notNull(executor, "executor cannot be null");
+        Validate.isTrue(maxQueueSize > 0, "maxQueueSize must be strictly positive");
+        Validate.notNull(overflowPolicy, "overflowPolicy cannot be null");
+        this.executor = executor;
+        this.maxQueueSize = maxQueueSize;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Queues a task for the given endpoint.
+     *
+     * @param endpoint the endpoint name of the client, tasks of a same endpoint are executed in order.
+     * @param coalescingKey the key used by {@link OverflowPolicy#COALESCE} to identify tasks superseding each other
+     *        (e.g. an observation id) or <code>null</code> if this task can not be coalesced.
+     * @param task the task to execute.
+     */
+    public void dispatch(String endpoint, Object coalescingKey, Runnable task) {
+        Validate.notNull(endpoint, "endpoint cannot be null");
+        Validate.notNull(task, "task cannot be null");
+
+        if (destroyed) {
+            dropped.incrementAndGet();
+            LOG.debug("Notification Dispatcher is destroyed, task for {} dropped", endpoint);
+            return;
+        }
+
+        while (true) {
+            EndpointQueue queue = queues.computeIfAbsent(endpoint, EndpointQueue::new);
+            synchronized (queue) {
+                if (overflowPolicy == OverflowPolicy.BLOCK) {
+                    queue.awaitRoom();
+                }
+                // queue was removed after we get it, try again with a new one.
+                if (queue.removed)
+                    continue;
+                if (!queue.offer(coalescingKey, task) || queue.scheduled)
+                    return;
+                queue.scheduled = true;
+            }
+            schedule(queue);
+            return;
+        }
+    }
+
+    private void schedule(EndpointQueue queue) {
+        try {
+            executor.execute(queue);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Unable to dispatch notifications for {}, queued tasks are dropped", queue.endpoint, e);
+            queue.clear();
+        }
+    }
+
+    /**
+     * @return the number of tasks currently waiting in all endpoint queues.
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return the number of tasks currently waiting in the queue of the given endpoint.
+     */
+    public int getQueueDepth(String endpoint) {
+        EndpointQueue queue = queues.get(endpoint);
+        if (queue == null)
+            return 0;
+        synchronized (queue) {
+            return queue.tasks.size();
+        }
+    }
+
+    /**
+     * @return the number of tasks dropped because a queue was full or because the dispatcher was destroyed.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of queued tasks replaced by a newer one using {@link OverflowPolicy#COALESCE}.
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * Waits until all dispatched tasks are executed or dropped.
+     * <p>
+     * Tasks dispatched while waiting are also waited for, so this should be called once the notification source is
+     * stopped.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the time unit of the timeout argument
+     * @return <code>true</code> if all tasks are done, <code>false</code> if the timeout elapsed before.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean drain(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (pendingTasks) {
+            while (pendingTasks.get() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(pendingTasks, remaining);
+            }
+            return true;
+        }
+    }
+
+    private void tasksDone(int count) {
+        if (count > 0 && pendingTasks.addAndGet(-count) == 0) {
+            synchronized (pendingTasks) {
+                pendingTasks.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Stops accepting new tasks and drops queued ones.
+     * <p>
+     * If the executor is an {@link ExecutorService} it is shut down.
+     */
+    @Override
+    public void destroy() {
+        destroyed = true;
+        for (EndpointQueue queue : queues.values()) {
+            queue.clear();
+        }
+        if (executor instanceof ExecutorService) {
+            ExecutorService executorService = (ExecutorService) executor;
+            executorService.shutdownNow();
+            try {
+                executorService.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                LOG.warn("Destroying Notification Dispatcher was interrupted.", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class Task {
+        private final Object coalescingKey;
+        private Runnable runnable;
+
+        public Task(Object coalescingKey, Runnable runnable) {
+            this.coalescingKey = coalescingKey;
+            this.runnable = runnable;
+        }
+    }
+
+    /**
+     * Queue of one endpoint which is drained by at most one executor thread at a time.
+     * <p>
+     * All fields are guarded by the queue instance lock.
+     */
+    private class EndpointQueue implements Runnable {
+        private final String endpoint;
+        private final Deque<Task> tasks = new ArrayDeque<>();
+        private final Map<Object, Task> coalescableTasks = new HashMap<>();
+        private boolean scheduled = false;
+        private boolean removed = false;
+
+        public EndpointQueue(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        /**
+         * @return true if a new task was added to the queue
+         */
+        private boolean offer(Object coalescingKey, Runnable runnable) {
+            boolean coalesce = overflowPolicy == OverflowPolicy.COALESCE && coalescingKey != null;
+            if (coalesce) {
+                Task queued = coalescableTasks.get(coalescingKey);
+                if (queued != null) {
+                    queued.runnable = runnable;
+                    coalesced.incrementAndGet();
+                    return false;
+                }
+            }
+
+            if (tasks.size() >= maxQueueSize) {
+                if (overflowPolicy == OverflowPolicy.BLOCK) {
+                    // we did not get room (interrupted or destroyed)
+                    dropped.incrementAndGet();
+                    LOG.debug("Queue of {} is full, new task dropped", endpoint);
+                    return false;
+                } else {
+                    poll();
+                    tasksDone(1);
+                    dropped.incrementAndGet();
+                    LOG.debug("Queue of {} is full, oldest task dropped", endpoint);
+                }
+            }
+
+            Task task = new Task(coalescingKey, runnable);
+            tasks.addLast(task);
+            if (coalesce) {
+                coalescableTasks.put(coalescingKey, task);
+            }
+            queueDepth.incrementAndGet();
+            pendingTasks.incrementAndGet();
+            return true;
+        }
+
+        private void awaitRoom() {
+            while (tasks.size() >= maxQueueSize && !removed && !destroyed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private Task poll() {
+            Task task = tasks.pollFirst();
+            if (task != null) {
+                if (task.coalescingKey != null) {
+                    coalescableTasks.remove(task.coalescingKey, task);
+                }
+                queueDepth.decrementAndGet();
+                notifyAll();
+            }
+            return task;
+        }
+
+        private synchronized void clear() {
+            int size = tasks.size();
+            queueDepth.addAndGet(-size);
+            dropped.addAndGet(size);
+            tasks.clear();
+            coalescableTasks.clear();
+            scheduled = false;
+            notifyAll();
+            tasksDone(size);
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_TASKS_PER_RUN; i++) {
+                Runnable runnable;
+                synchronized (this) {
+                    Task task = poll();
+                    if (task == null) {
+                        // nothing more to do, the queue is removed so a new one will be created for next tasks.
+                        scheduled = false;
+                        removed = true;
+                        queues.remove(endpoint, this);
+                        return;
+                    }
+                    runnable = task.runnable;
+                }
+
+                try {
+                    runnable.run();
+                } catch (RuntimeException e) {
+                    LOG.error("Unexpected error while dispatching notification for {}", endpoint, e);
+                } finally {
+                    tasksDone(1);
+                }
+            }
+            // give a chance to other endpoints
+            schedule(this);
+        }
+    }
+}
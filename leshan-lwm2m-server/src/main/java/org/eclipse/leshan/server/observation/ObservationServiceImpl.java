@@ -25,6 +25,7 @@ import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.node.LwM2mPathCache;
 import org.eclipse.leshan.core.observation.CompositeObservation;
 import org.eclipse.leshan.core.observation.Observation;
 import org.eclipse.leshan.core.observation.SingleObservation;
@@ -40,6 +41,7 @@ import org.eclipse.leshan.server.registration.Registration;
 import org.eclipse.leshan.server.registration.RegistrationStore;
 import org.eclipse.leshan.server.registration.RegistrationUpdate;
 import org.eclipse.leshan.server.registration.UpdatedRegistration;
+import org.eclipse.leshan.server.registration.WriteBehindRegistrationUpdater;
 import org.eclipse.leshan.server.security.Authorizer;
 import org.eclipse.leshan.servers.security.Authorization;
 import org.slf4j.Logger;
@@ -58,7 +60,11 @@ public class ObservationServiceImpl implements ObservationService, LwM2mNotifica
     private final RegistrationStore registrationStore;
     private final LwM2mServerEndpointsProvider endpointProvider;
     private final boolean updateRegistrationOnNotification;
+    private final WriteBehindRegistrationUpdater registrationUpdater;
     private final Authorizer authorizer;
+    private final NotificationDispatcher notificationDispatcher;
+    // paths given as String are parsed each time observations are searched
+    private final LwM2mPathCache pathCache = new LwM2mPathCache();
 
     private final List<ObservationListener> listeners = new CopyOnWriteArrayList<>();;
 
@@ -79,10 +85,27 @@ public class ObservationServiceImpl implements ObservationService, LwM2mNotifica
      */
     public ObservationServiceImpl(RegistrationStore store, LwM2mServerEndpointsProvider endpointProvider,
             boolean updateRegistrationOnNotification, Authorizer authorizer) {
+        this(store, endpointProvider, updateRegistrationOnNotification, null, authorizer, null);
+    }
+
+    /**
+     * Creates an instance of {@link ObservationServiceImpl}
+     *
+     * @param updateRegistrationOnNotification will activate registration update on observe notification.
+     * @param registrationUpdater used to defer registration update on observe notification. If <code>null</code>
+     *        registration is updated in the store on each notification.
+     * @param notificationDispatcher used to process notifications and observe errors outside of the transport thread.
+     *        If <code>null</code> they are processed synchronously.
+     */
+    public ObservationServiceImpl(RegistrationStore store, LwM2mServerEndpointsProvider endpointProvider,
+            boolean updateRegistrationOnNotification, WriteBehindRegistrationUpdater registrationUpdater,
+            Authorizer authorizer, NotificationDispatcher notificationDispatcher) {
         this.registrationStore = store;
         this.updateRegistrationOnNotification = updateRegistrationOnNotification;
+        this.registrationUpdater = registrationUpdater;
         this.endpointProvider = endpointProvider;
         this.authorizer = authorizer;
+        this.notificationDispatcher = notificationDispatcher;
     }
 
     @Override
@@ -166,7 +189,7 @@ public class ObservationServiceImpl implements ObservationService, LwM2mNotifica
         // array of String to array of LWM2M path
         List<LwM2mPath> lwPaths = new ArrayList<>(nodePaths.length);
         for (int i = 0; i < nodePaths.length; i++) {
-            lwPaths.add(new LwM2mPath(nodePaths[i]));
+            lwPaths.add(pathCache.get(nodePaths[i]));
         }
 
         // search composite-observation
@@ -186,7 +209,7 @@ public class ObservationServiceImpl implements ObservationService, LwM2mNotifica
             return Collections.emptySet();
 
         Set<Observation> result = new HashSet<>();
-        LwM2mPath lwPath = new LwM2mPath(nodePath);
+        LwM2mPath lwPath = pathCache.get(nodePath);
         for (Observation obs : getObservations(registrationId)) {
             if (obs instanceof SingleObservation) {
                 if (lwPath.equals(((SingleObservation) obs).getPath())) {
@@ -229,54 +252,78 @@ public class ObservationServiceImpl implements ObservationService, LwM2mNotifica
         }
 
         // update registration
-        RegistrationUpdate regUpdate = new RegistrationUpdate(observation.getRegistrationId(), sender, null, null, null,
-                null, null, null, null, null, null, null);
-        UpdatedRegistration updatedRegistration = registrationStore.updateRegistration(regUpdate);
-        if (updatedRegistration == null || updatedRegistration.getUpdatedRegistration() == null) {
+        Registration updatedRegistration;
+        if (registrationUpdater != null) {
+            updatedRegistration = registrationUpdater.update(registration, sender);
+        } else {
+            RegistrationUpdate regUpdate = new RegistrationUpdate(observation.getRegistrationId(), sender, null, null,
+                    null, null, null, null, null, null, null, null);
+            UpdatedRegistration result = registrationStore.updateRegistration(regUpdate);
+            updatedRegistration = result == null ? null : result.getUpdatedRegistration();
+        }
+        if (updatedRegistration == null) {
             String errorMsg = String.format(
                     "Unexpected error: There is no registration with id %s for this observation %s",
                     observation.getRegistrationId(), observation);
             LOG.error(errorMsg);
             throw new IllegalStateException(errorMsg);
         }
-        return updatedRegistration.getUpdatedRegistration();
+        return updatedRegistration;
     }
 
     // ********** NotificationListener interface **********//
     @Override
     public void onNotification(SingleObservation observation, LwM2mPeer sender, ClientProfile profile,
             ObserveResponse response) {
-        try {
-            Registration updatedRegistration = updateRegistrationOnRegistration(observation, sender, profile, response);
-            for (ObservationListener listener : listeners) {
-                listener.onResponse(observation, updatedRegistration, response);
-            }
-        } catch (Exception e) {
-            for (ObservationListener listener : listeners) {
-                listener.onError(observation, profile.getRegistration(), e);
+        dispatch(profile, observation, () -> {
+            try {
+                Registration updatedRegistration = updateRegistrationOnRegistration(observation, sender, profile,
+                        response);
+                for (ObservationListener listener : listeners) {
+                    listener.onResponse(observation, updatedRegistration, response);
+                }
+            } catch (Exception e) {
+                for (ObservationListener listener : listeners) {
+                    listener.onError(observation, profile.getRegistration(), e);
+                }
             }
-        }
+        });
     }
 
     @Override
     public void onNotification(CompositeObservation observation, LwM2mPeer sender, ClientProfile profile,
             ObserveCompositeResponse response) {
-        try {
-            Registration updatedRegistration = updateRegistrationOnRegistration(observation, sender, profile, response);
-            for (ObservationListener listener : listeners) {
-                listener.onResponse(observation, updatedRegistration, response);
-            }
-        } catch (Exception e) {
-            for (ObservationListener listener : listeners) {
-                listener.onError(observation, profile.getRegistration(), e);
+        dispatch(profile, observation, () -> {
+            try {
+                Registration updatedRegistration = updateRegistrationOnRegistration(observation, sender, profile,
+                        response);
+                for (ObservationListener listener : listeners) {
+                    listener.onResponse(observation, updatedRegistration, response);
+                }
+            } catch (Exception e) {
+                for (ObservationListener listener : listeners) {
+                    listener.onError(observation, profile.getRegistration(), e);
+                }
             }
-        }
+        });
     }
 
     @Override
     public void onError(Observation observation, LwM2mPeer sender, ClientProfile profile, Exception error) {
-        for (ObservationListener listener : listeners) {
-            listener.onError(observation, profile.getRegistration(), error);
+        // errors are never coalesced
+        dispatch(profile, null, () -> {
+            for (ObservationListener listener : listeners) {
+                listener.onError(observation, profile.getRegistration(), error);
+            }
+        });
+    }
+
+    private void dispatch(ClientProfile profile, Observation coalescedObservation, Runnable task) {
+        if (notificationDispatcher == null) {
+            task.run();
+        } else {
+            notificationDispatcher.dispatch(profile.getEndpoint(),
+                    coalescedObservation == null ? null : coalescedObservation.getId(), task);
         }
     }
 
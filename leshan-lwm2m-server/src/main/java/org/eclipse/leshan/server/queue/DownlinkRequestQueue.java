@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.queue;
+
+import java.util.List;
+
+import org.eclipse.leshan.core.request.exception.RequestCanceledException;
+import org.eclipse.leshan.core.request.exception.TimeoutException;
+
+/**
+ * A store of requests waiting for sleeping LWM2M clients using Queue Mode to wake up.
+ * <p>
+ * Implementations are in charge of :
+ * <ul>
+ * <li>expiring requests : {@link QueuedRequest#expire()} must be called when a queued request expires. (a
+ * {@link TimeoutException} is raised)</li>
+ * <li>coalescing requests : a request which is a duplicate of a queued one must be merged in it (see
+ * {@link QueuedRequest#isDuplicateOf(QueuedRequest)}) and a request which supersedes a queued one replaces it (see
+ * {@link QueuedRequest#supersedes(QueuedRequest)}), the replaced request is canceled with a
+ * {@link RequestCanceledException}.</li>
+ * </ul>
+ *
+ * @see QueueModeLwM2mRequestSender
+ */
+public interface DownlinkRequestQueue {
+
+    /**
+     * Add a request to the queue of the given endpoint.
+     *
+     * @param endpoint the endpoint name of the targeted client.
+     * @param request the request to queue.
+     * @return <code>false</code> if the request can not be queued because the queue of this endpoint is full.
+     */
+    boolean offer(String endpoint, QueuedRequest<?> request);
+
+    /**
+     * Remove and return all the requests which are not expired from the queue of the given endpoint.
+     *
+     * @param endpoint the endpoint name of the client which is now awake.
+     * @return the requests to send in the order they were queued.
+     */
+    List<QueuedRequest<?>> poll(String endpoint);
+
+    /**
+     * Remove and return all the requests of the queue of the given endpoint, generally because the client is not
+     * registered anymore.
+     *
+     * @param endpoint the endpoint name of the client.
+     * @return the removed requests.
+     */
+    List<QueuedRequest<?>> removeAll(String endpoint);
+}
@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.queue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.Startable;
+import org.eclipse.leshan.core.Stoppable;
+import org.eclipse.leshan.core.request.exception.RequestCanceledException;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.core.util.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in memory {@link DownlinkRequestQueue}.
+ * <p>
+ * Each endpoint has its own bounded queue. Expired requests are removed each time the queue of an endpoint is modified
+ * and by a regular cleaning task started with {@link #start()}.
+ */
+public class InMemoryDownlinkRequestQueue implements DownlinkRequestQueue, Startable, Stoppable, Destroyable {
+    private static final Logger LOG = LoggerFactory.getLogger(InMemoryDownlinkRequestQueue.class);
+
+    private final ConcurrentMap<String /* endpoint */, Deque<QueuedRequest<?>>> queues = new ConcurrentHashMap<>();
+    private final int maxQueueSize;
+
+    private final ScheduledExecutorService schedExecutor;
+    private ScheduledFuture<?> cleanerTask;
+    private boolean started = false;
+    private final long cleanPeriod; // in seconds
+
+    public InMemoryDownlinkRequestQueue() {
+        this(100); // default max queue size per endpoint : 100
+    }
+
+    public InMemoryDownlinkRequestQueue(int maxQueueSize) {
+        this(maxQueueSize, 10); // default clean period : 10s
+    }
+
+    public InMemoryDownlinkRequestQueue(int maxQueueSize, long cleanPeriodInSec) {
+        this(maxQueueSize,
+                Executors.newScheduledThreadPool(1,
+                        new NamedThreadFactory(
+                                String.format("InMemoryDownlinkRequestQueue Cleaner (%ds)", cleanPeriodInSec))),
+                cleanPeriodInSec);
+    }
+
+    /**
+     * @param maxQueueSize the maximum number of requests queued for one endpoint.
+     * @param schedExecutor executor used to regularly remove expired requests.
+     * @param cleanPeriodInSec period between 2 cleanings.
+     */
+    public InMemoryDownlinkRequestQueue(int maxQueueSize, ScheduledExecutorService schedExecutor,
+            long cleanPeriodInSec) {
+        Validate.isTrue(maxQueueSize > 0, "maxQueueSize must be strictly positive");
+        this.maxQueueSize = maxQueueSize;
+        this.schedExecutor = schedExecutor;
+        this.cleanPeriod = cleanPeriodInSec;
+    }
+
+    @Override
+    public boolean offer(String endpoint, QueuedRequest<?> request) {
+        final List<QueuedRequest<?>> expired = new ArrayList<>();
+        final List<QueuedRequest<?>> superseded = new ArrayList<>();
+        final boolean[] accepted = new boolean[1];
+
+        // compute is atomic for a given endpoint
+        queues.compute(endpoint, (ep, queue) -> {
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+            }
+            QueuedRequest<?> duplicated = null;
+            for (Iterator<QueuedRequest<?>> it = queue.iterator(); it.hasNext();) {
+                QueuedRequest<?> queued = it.next();
+                if (queued.isExpired()) {
+                    it.remove();
+                    expired.add(queued);
+                    continue;
+                }
+                addIfNotNull(expired, queued.removeExpired());
+                if (duplicated == null && queued.isDuplicateOf(request)) {
+                    duplicated = queued;
+                } else if (request.supersedes(queued)) {
+                    it.remove();
+                    superseded.add(queued);
+                }
+            }
+
+            if (duplicated != null) {
+                duplicated.merge(request);
+                accepted[0] = true;
+            } else if (queue.size() < maxQueueSize) {
+                queue.addLast(request);
+                accepted[0] = true;
+            }
+            return queue.isEmpty() ? null : queue;
+        });
+
+        // call callbacks outside of compute.
+        expire(expired);
+        for (QueuedRequest<?> queued : superseded) {
+            queued.getErrorCallback().onError(new RequestCanceledException(
+                    "Request %s was replaced by more recent request %s", queued.getRequest(), request.getRequest()));
+        }
+        return accepted[0];
+    }
+
+    @Override
+    public List<QueuedRequest<?>> poll(String endpoint) {
+        Deque<QueuedRequest<?>> queue = queues.remove(endpoint);
+        if (queue == null) {
+            return Collections.emptyList();
+        }
+
+        List<QueuedRequest<?>> expired = new ArrayList<>();
+        List<QueuedRequest<?>> requests = new ArrayList<>(queue.size());
+        for (QueuedRequest<?> queued : queue) {
+            if (queued.isExpired()) {
+                expired.add(queued);
+            } else {
+                requests.add(queued);
+            }
+        }
+        expire(expired);
+        return requests;
+    }
+
+    @Override
+    public List<QueuedRequest<?>> removeAll(String endpoint) {
+        Deque<QueuedRequest<?>> queue = queues.remove(endpoint);
+        if (queue == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(queue);
+    }
+
+    /**
+     * @return the number of requests queued for the given endpoint.
+     */
+    public int size(String endpoint) {
+        final int[] size = new int[1];
+        // use computeIfPresent to read the deque safely.
+        queues.computeIfPresent(endpoint, (ep, queue) -> {
+            size[0] = queue.size();
+            return queue;
+        });
+        return size[0];
+    }
+
+    private void expire(List<QueuedRequest<?>> expired) {
+        for (QueuedRequest<?> queued : expired) {
+            try {
+                queued.expire();
+            } catch (RuntimeException e) {
+                LOG.warn("Unexpected exception while expiring request {}", queued, e);
+            }
+        }
+    }
+
+    private static void addIfNotNull(List<QueuedRequest<?>> requests, QueuedRequest<?> request) {
+        if (request != null) {
+            requests.add(request);
+        }
+    }
+
+    private void removeExpiredRequests() {
+        for (String endpoint : queues.keySet()) {
+            final List<QueuedRequest<?>> expired = new ArrayList<>();
+            queues.computeIfPresent(endpoint, (ep, queue) -> {
+                for (Iterator<QueuedRequest<?>> it = queue.iterator(); it.hasNext();) {
+                    QueuedRequest<?> queued = it.next();
+                    if (queued.isExpired()) {
+                        it.remove();
+                        expired.add(queued);
+                    } else {
+                        // callers of a merged request may expire before the others
+                        addIfNotNull(expired, queued.removeExpired());
+                    }
+                }
+                return queue.isEmpty() ? null : queue;
+            });
+            expire(expired);
+        }
+    }
+
+    /**
+     * Start regular cleanup of expired requests.
+     */
+    @Override
+    public synchronized void start() {
+        if (!started) {
+            started = true;
+            cleanerTask = schedExecutor.scheduleAtFixedRate(() -> {
+                try {
+                    removeExpiredRequests();
+                } catch (Exception e) {
+                    LOG.warn("Unexpected Exception while cleaning expired requests", e);
+                }
+            }, cleanPeriod, cleanPeriod, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stop the underlying cleanup of the requests.
+     */
+    @Override
+    public synchronized void stop() {
+        if (started) {
+            started = false;
+            if (cleanerTask != null) {
+                cleanerTask.cancel(false);
+                cleanerTask = null;
+            }
+        }
+    }
+
+    /**
+     * Destroy "cleanup" scheduler.
+     */
+    @Override
+    public synchronized void destroy() {
+        started = false;
+        schedExecutor.shutdownNow();
+        try {
+            schedExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            LOG.warn("Destroying InMemoryDownlinkRequestQueue was interrupted.", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -16,18 +16,22 @@
  *******************************************************************************/
 package org.eclipse.leshan.server.queue;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 
 import org.eclipse.leshan.core.Destroyable;
 import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.core.util.Validate;
 import org.eclipse.leshan.server.registration.Registration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,18 +40,67 @@ import org.slf4j.LoggerFactory;
  * Tracks the status of each LWM2M client registered with Queue mode binding. Also ensures that the
  * {@link PresenceListener} are notified on state changes only for those LWM2M clients registered using Queue mode
  * binding.
+ * <p>
+ * Awake timers are managed by a hashed timing wheel : a single thread advances the wheel every tick and all clients
+ * which go to sleep during the same tick are notified in one batch. Resetting the timer of an awake client only updates
+ * its deadline, the wheel lazily moves the client to the right slot when its previous deadline is reached. So there is
+ * at most one timer entry by client, whatever the number of calls to {@link #setAwake(Registration)}.
+ * <p>
+ * The drawback is that a client could go to sleep up to one tick after its awake time.
  */
 public final class PresenceServiceImpl implements PresenceService, Destroyable {
     private static final Logger LOG = LoggerFactory.getLogger(PresenceServiceImpl.class);
 
-    private final ConcurrentMap<String /* endpoint */, AtomicReference<ScheduledFuture<?>>> clientPresences = new ConcurrentHashMap<>();
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final ConcurrentMap<String /* endpoint */, ClientPresence> clientPresences = new ConcurrentHashMap<>();
     private final List<PresenceListener> listeners = new CopyOnWriteArrayList<>();
     private final ClientAwakeTimeProvider awakeTimeProvider;
     private final ScheduledExecutorService clientTimersExecutor = Executors
             .newSingleThreadScheduledExecutor(new NamedThreadFactory("Presence Service"));
 
+    private final AtomicInteger awakeClients = new AtomicInteger();
+    private final AtomicInteger sleepingClients = new AtomicInteger();
+
+    // Timing wheel, only accessed by the clientTimersExecutor thread except pendingTimers.
+    private final Queue<ClientPresence> pendingTimers = new ConcurrentLinkedQueue<>();
+    private final ClientPresence[] wheel; // head of the list of each slot
+    private final int mask;
+    private final long tickDuration; // in nanoseconds
+    private final long startTime; // in nanoseconds
+    private final LongSupplier nanoClock;
+    private long currentTick = 0; // next tick to process
+    private volatile boolean ticking = false;
+
     public PresenceServiceImpl(ClientAwakeTimeProvider awakeTimeProvider) {
+        this(awakeTimeProvider, 100, 512); // default : 100ms tick, 512 slots (~51s by wheel round)
+    }
+
+    /**
+     * @param awakeTimeProvider provides the time a client stays awake after its last communication.
+     * @param tickDurationInMs the duration of one tick of the timing wheel. This is the precision of awake timers.
+     * @param ticksPerWheel the number of slots of the timing wheel (rounded up to a power of 2). Awake time greater
+     *        than <code>ticksPerWheel * tickDuration</code> are supported but need several round of the wheel.
+     */
+    public PresenceServiceImpl(ClientAwakeTimeProvider awakeTimeProvider, long tickDurationInMs, int ticksPerWheel) {
+        this(awakeTimeProvider, tickDurationInMs, ticksPerWheel, System::nanoTime);
+    }
+
+    PresenceServiceImpl(ClientAwakeTimeProvider awakeTimeProvider, long tickDurationInMs, int ticksPerWheel,
+            LongSupplier nanoClock) {
+        Validate.isTrue(tickDurationInMs > 0, "tickDuration must be strictly positive");
+        Validate.isTrue(ticksPerWheel > 0 && ticksPerWheel <= 1 << 30, "ticksPerWheel must be in [1, 2^30]");
         this.awakeTimeProvider = awakeTimeProvider;
+        this.tickDuration = TimeUnit.MILLISECONDS.toNanos(tickDurationInMs);
+
+        int wheelSize = 1;
+        while (wheelSize < ticksPerWheel) {
+            wheelSize <<= 1;
+        }
+        this.wheel = new ClientPresence[wheelSize];
+        this.mask = wheelSize - 1;
+        this.nanoClock = nanoClock;
+        this.startTime = nanoClock.getAsLong();
     }
 
     @Override
@@ -62,7 +115,24 @@ public final class PresenceServiceImpl implements PresenceService, Destroyable {
 
     @Override
     public boolean isClientAwake(Registration registration) {
-        return clientPresences.containsKey(registration.getEndpoint());
+        ClientPresence presence = clientPresences.get(registration.getEndpoint());
+        return presence != null && presence.isAwake();
+    }
+
+    /**
+     * @return the number of LWM2M clients using Queue mode which are currently awake.
+     */
+    public int getAwakeClientCount() {
+        return awakeClients.get();
+    }
+
+    /**
+     * @return the number of LWM2M clients using Queue mode which are currently sleeping. Clients are counted from their
+     *         first transition to awake state until presence tracking is stopped (see
+     *         {@link #stopPresenceTracking(Registration)}).
+     */
+    public int getSleepingClientCount() {
+        return sleepingClients.get();
     }
 
     /**
@@ -73,41 +143,47 @@ public final class PresenceServiceImpl implements PresenceService, Destroyable {
      */
     public void setAwake(final Registration reg) {
         if (reg.usesQueueMode()) {
-            boolean stateChanged;
-            final AtomicReference<ScheduledFuture<?>> timerFuture = new AtomicReference<>();
-            // set this device as awake
-            AtomicReference<ScheduledFuture<?>> previous = clientPresences.put(reg.getEndpoint(), timerFuture);
-            if (previous != null) {
-                stateChanged = false;
-                // cancel previous timer
-                if (previous.get() != null) {
-                    previous.get().cancel(false);
-                }
-            } else {
-                stateChanged = true;
-            }
-
             // Every time we set the clientAwakeTime, in case it changes dynamically
             int clientAwakeTime = awakeTimeProvider.getClientAwakeTime(reg);
-            if (clientAwakeTime != 0) {
-                timerFuture.set(clientTimersExecutor.schedule(() -> {
-                    boolean removed = clientPresences.remove(reg.getEndpoint(), timerFuture);
-                    if (removed) {
-                        // success remove means we go in sleeping mode.
-                        for (PresenceListener listener : listeners) {
-                            listener.onSleeping(reg);
+            long deadline = clientAwakeTime != 0
+                    ? nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(clientAwakeTime)
+                    : NO_DEADLINE;
+
+            boolean stateChanged;
+            boolean needScheduling;
+            while (true) {
+                ClientPresence presence = clientPresences.computeIfAbsent(reg.getEndpoint(),
+                        ep -> new ClientPresence());
+                synchronized (presence) {
+                    if (presence.removed) {
+                        // tracking was stopped meanwhile, try again with a new presence.
+                        continue;
+                    }
+                    stateChanged = presence.state != State.AWAKE;
+                    if (stateChanged) {
+                        if (presence.state == State.SLEEPING) {
+                            sleepingClients.decrementAndGet();
                         }
+                        awakeClients.incrementAndGet();
+                        presence.state = State.AWAKE;
+                    }
+                    presence.registration = reg;
+                    presence.deadline = deadline;
+
+                    // The wheel only needs to know about a new deadline if the client is not in the wheel or will be
+                    // reached too late, else the client will be moved lazily when its current slot is reached.
+                    needScheduling = deadline != NO_DEADLINE && !presence.pending
+                            && (presence.wheelDeadline == NO_DEADLINE || deadline - presence.wheelDeadline < 0);
+                    if (needScheduling) {
+                        presence.pending = true;
+                        pendingTimers.add(presence);
                     }
-                }, clientAwakeTime, TimeUnit.MILLISECONDS));
-
-                // There is some rare race conditions (several quick call to setAwake)
-                // where the timerFuture could have been already removed but not cancelled.
-                // So to be sure to not keep useless cleaning task we cancel it if this is not the current timerFuture
-                // anymore.
-                // (This make the code a bit more complex but the is a cost of the non-blocking implementation)
-                if (clientPresences.get(reg.getEndpoint()) != timerFuture) {
-                    timerFuture.get().cancel(false);
                 }
+                break;
+            }
+
+            if (needScheduling && !ticking) {
+                startTicking();
             }
 
             // notify if state changed
@@ -129,13 +205,9 @@ public final class PresenceServiceImpl implements PresenceService, Destroyable {
      */
     public void setSleeping(Registration reg) {
         if (reg.usesQueueMode()) {
-            AtomicReference<ScheduledFuture<?>> timerFuture = clientPresences.remove(reg.getEndpoint());
-            if (timerFuture != null) {
-                if (timerFuture.get() != null) {
-                    // we can not be sure timerFuture is set but this is not a big deal as timer is only able to removed
-                    // itself.
-                    timerFuture.get().cancel(false);
-                }
+            ClientPresence presence = clientPresences.get(reg.getEndpoint());
+            if (presence != null && presence.goToSleep(false, 0)) {
+                // timer entry will be removed lazily from the wheel.
                 for (PresenceListener listener : listeners) {
                     listener.onSleeping(reg);
                 }
@@ -149,7 +221,142 @@ public final class PresenceServiceImpl implements PresenceService, Destroyable {
      * @param reg the client's registration object.
      */
     public void stopPresenceTracking(Registration reg) {
-        clientPresences.remove(reg.getEndpoint());
+        ClientPresence presence = clientPresences.remove(reg.getEndpoint());
+        if (presence != null) {
+            synchronized (presence) {
+                presence.removed = true;
+                if (presence.state == State.AWAKE) {
+                    awakeClients.decrementAndGet();
+                } else if (presence.state == State.SLEEPING) {
+                    sleepingClients.decrementAndGet();
+                }
+                presence.state = null;
+            }
+        }
+    }
+
+    private synchronized void startTicking() {
+        if (!ticking && !clientTimersExecutor.isShutdown()) {
+            ticking = true;
+            long tickDurationInMs = TimeUnit.NANOSECONDS.toMillis(tickDuration);
+            clientTimersExecutor.scheduleAtFixedRate(() -> {
+                try {
+                    tick();
+                } catch (RuntimeException e) {
+                    LOG.warn("Unexpected exception while updating client presences", e);
+                }
+            }, tickDurationInMs, tickDurationInMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void tick() {
+        long now = nanoClock.getAsLong();
+
+        // add new timers to the wheel
+        ClientPresence presence;
+        while ((presence = pendingTimers.poll()) != null) {
+            long deadline;
+            synchronized (presence) {
+                presence.pending = false;
+                deadline = presence.state == State.AWAKE ? presence.deadline : NO_DEADLINE;
+                presence.wheelDeadline = deadline;
+            }
+            unlink(presence);
+            if (deadline != NO_DEADLINE) {
+                link(presence, deadline);
+            }
+        }
+
+        // process all elapsed ticks
+        List<Registration> sleepingRegistrations = new ArrayList<>();
+        while (now - (startTime + (currentTick + 1) * tickDuration) >= 0) {
+            List<ClientPresence> toReschedule = expireSlot(now, sleepingRegistrations);
+            currentTick++;
+            // link after moving to next tick, else an entry one round ahead would be put back in the processed slot
+            // and only be reached one round later.
+            for (ClientPresence rescheduled : toReschedule) {
+                link(rescheduled, rescheduled.wheelDeadline);
+            }
+        }
+
+        // notify all clients which go to sleep during this tick in one batch
+        for (Registration reg : sleepingRegistrations) {
+            for (PresenceListener listener : listeners) {
+                try {
+                    listener.onSleeping(reg);
+                } catch (RuntimeException e) {
+                    LOG.warn("Unexpected exception while notifying {} is sleeping", reg.getEndpoint(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the entries of the slot which must be linked again for a later deadline.
+     */
+    private List<ClientPresence> expireSlot(long now, List<Registration> sleepingRegistrations) {
+        List<ClientPresence> toReschedule = new ArrayList<>();
+        ClientPresence presence = wheel[(int) (currentTick & mask)];
+        while (presence != null) {
+            ClientPresence next = presence.next;
+            if (presence.remainingRounds > 0) {
+                presence.remainingRounds--;
+            } else {
+                unlink(presence);
+                long newDeadline;
+                synchronized (presence) {
+                    if (presence.state != State.AWAKE || presence.deadline == NO_DEADLINE) {
+                        newDeadline = NO_DEADLINE;
+                    } else if (now - presence.deadline >= 0) {
+                        Registration reg = presence.registration;
+                        presence.goToSleep(true, now);
+                        sleepingRegistrations.add(reg);
+                        newDeadline = NO_DEADLINE;
+                    } else {
+                        // client was set awake meanwhile : move it to the slot of its new deadline
+                        newDeadline = presence.deadline;
+                    }
+                    presence.wheelDeadline = newDeadline;
+                }
+                if (newDeadline != NO_DEADLINE) {
+                    toReschedule.add(presence);
+                }
+            }
+            presence = next;
+        }
+        return toReschedule;
+    }
+
+    private void link(ClientPresence presence, long deadline) {
+        long tick = Math.max((deadline - startTime) / tickDuration, currentTick);
+        presence.remainingRounds = (tick - currentTick) / wheel.length;
+        presence.slot = (int) (tick & mask);
+
+        ClientPresence head = wheel[presence.slot];
+        presence.previous = null;
+        presence.next = head;
+        if (head != null) {
+            head.previous = presence;
+        }
+        wheel[presence.slot] = presence;
+        presence.linked = true;
+    }
+
+    private void unlink(ClientPresence presence) {
+        if (!presence.linked) {
+            return;
+        }
+        if (presence.previous != null) {
+            presence.previous.next = presence.next;
+        } else {
+            wheel[presence.slot] = presence.next;
+        }
+        if (presence.next != null) {
+            presence.next.previous = presence.previous;
+        }
+        presence.previous = null;
+        presence.next = null;
+        presence.linked = false;
     }
 
     @Override
@@ -162,4 +369,47 @@ public final class PresenceServiceImpl implements PresenceService, Destroyable {
             Thread.currentThread().interrupt();
         }
     }
+
+    private enum State {
+        AWAKE, SLEEPING
+    }
+
+    /**
+     * Presence state of a client which is also an entry of the timing wheel.
+     */
+    private class ClientPresence {
+        // guarded by this
+        private State state;
+        private Registration registration;
+        private long deadline = NO_DEADLINE; // in nanoseconds
+        private long wheelDeadline = NO_DEADLINE; // deadline used to place this entry in the wheel
+        private boolean pending = false; // true if waiting in pendingTimers
+        private boolean removed = false;
+
+        // only accessed by the wheel thread
+        private ClientPresence previous;
+        private ClientPresence next;
+        private int slot;
+        private long remainingRounds;
+        private boolean linked = false;
+
+        public synchronized boolean isAwake() {
+            return state == State.AWAKE;
+        }
+
+        /**
+         * @param onlyIfExpired if <code>true</code> the client goes to sleep only if its deadline is reached.
+         * @return <code>true</code> if state changed from awake to sleeping.
+         */
+        public synchronized boolean goToSleep(boolean onlyIfExpired, long now) {
+            if (state != State.AWAKE || (onlyIfExpired && now - deadline < 0)) {
+                return false;
+            }
+            state = State.SLEEPING;
+            deadline = NO_DEADLINE;
+            awakeClients.decrementAndGet();
+            sleepingClients.incrementAndGet();
+            return true;
+        }
+    }
 }
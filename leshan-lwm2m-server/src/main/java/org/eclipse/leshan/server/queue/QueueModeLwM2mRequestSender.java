@@ -15,8 +15,12 @@
  *******************************************************************************/
 package org.eclipse.leshan.server.queue;
 
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.Startable;
+import org.eclipse.leshan.core.Stoppable;
 import org.eclipse.leshan.core.request.DownlinkDeviceManagementRequest;
 import org.eclipse.leshan.core.request.exception.ClientSleepingException;
+import org.eclipse.leshan.core.request.exception.RequestCanceledException;
 import org.eclipse.leshan.core.request.exception.TimeoutException;
 import org.eclipse.leshan.core.request.exception.UnconnectedPeerException;
 import org.eclipse.leshan.core.response.ErrorCallback;
@@ -29,11 +33,16 @@ import org.eclipse.leshan.server.request.LowerLayerConfig;
 
 /**
  * A {@link DownlinkRequestSender} which supports LWM2M Queue Mode.
+ * <p>
+ * By default, sending a request to a sleeping client raises a {@link ClientSleepingException}. If a
+ * {@link DownlinkRequestQueue} is provided, asynchronous requests sent to a sleeping client are queued instead and sent
+ * as soon as the client is awake again (see {@link #sendQueuedRequests(Registration)}).
  */
-public class QueueModeLwM2mRequestSender implements DownlinkRequestSender {
+public class QueueModeLwM2mRequestSender implements DownlinkRequestSender, Startable, Stoppable, Destroyable {
 
     protected PresenceServiceImpl presenceService;
     protected DownlinkRequestSender delegatedSender;
+    protected DownlinkRequestQueue requestQueue;
 
     /**
      * @param presenceService the presence service object for setting the client into sleepint state when request
@@ -41,11 +50,24 @@ public class QueueModeLwM2mRequestSender implements DownlinkRequestSender {
      * @param delegatedSender internal sender that it is used for sending the requests, using delegation.
      */
     public QueueModeLwM2mRequestSender(PresenceServiceImpl presenceService, DownlinkRequestSender delegatedSender) {
+        this(presenceService, delegatedSender, null);
+    }
+
+    /**
+     * @param presenceService the presence service object for setting the client into sleepint state when request
+     *        Timeout expires and into awake state when a response arrives.
+     * @param delegatedSender internal sender that it is used for sending the requests, using delegation.
+     * @param requestQueue queue used to store asynchronous requests sent to sleeping clients. If <code>null</code>
+     *        {@link ClientSleepingException} is raised instead.
+     */
+    public QueueModeLwM2mRequestSender(PresenceServiceImpl presenceService, DownlinkRequestSender delegatedSender,
+            DownlinkRequestQueue requestQueue) {
         Validate.notNull(presenceService);
         Validate.notNull(delegatedSender);
 
         this.presenceService = presenceService;
         this.delegatedSender = delegatedSender;
+        this.requestQueue = requestQueue;
     }
 
     /**
@@ -104,9 +126,19 @@ public class QueueModeLwM2mRequestSender implements DownlinkRequestSender {
 
         // If the client uses Q-Mode...
 
-        // If the client is sleeping, warn the user and return
+        // If the client is sleeping, queue the request or warn the user and return
         if (!presenceService.isClientAwake(destination)) {
-            throw new ClientSleepingException("The destination client is sleeping, request cannot be sent.");
+            if (requestQueue == null) {
+                throw new ClientSleepingException("The destination client is sleeping, request cannot be sent.");
+            }
+            if (!requestQueue.offer(destination.getEndpoint(),
+                    new QueuedRequest<>(request, lowerLayerConfig, timeout, responseCallback, errorCallback))) {
+                throw new ClientSleepingException(
+                        "The destination client is sleeping and its request queue is full, request cannot be sent.");
+            }
+            // client could wake up while we queued the request
+            sendQueuedRequests(destination);
+            return;
         }
 
         // Use delegation to send the request, with specific callbacks to perform Queue Mode operation
@@ -136,8 +168,113 @@ public class QueueModeLwM2mRequestSender implements DownlinkRequestSender {
         });
     }
 
+    /**
+     * Send all requests queued for the given client, if it is awake.
+     * <p>
+     * This should be called each time the client shows it is awake. (registration, registration update, notification,
+     * ...)
+     *
+     * @param registration the registration of the client.
+     */
+    public void sendQueuedRequests(Registration registration) {
+        if (requestQueue == null || !registration.usesQueueMode() || !presenceService.isClientAwake(registration)) {
+            return;
+        }
+        // all requests are sent without waiting for response, so they are in flight together.
+        for (QueuedRequest<?> queuedRequest : requestQueue.poll(registration.getEndpoint())) {
+            sendQueuedRequest(registration, queuedRequest);
+        }
+    }
+
+    private <T extends LwM2mResponse> void sendQueuedRequest(Registration registration,
+            QueuedRequest<T> queuedRequest) {
+        // callers of a merged request keep their own timeout
+        QueuedRequest<T> expired = queuedRequest.removeExpired();
+        if (expired != null) {
+            expired.expire();
+        }
+        if (queuedRequest.isExpired()) {
+            return;
+        }
+
+        // request is sent once, with the timeout of the first caller to expire
+        long remainingTime = queuedRequest.getRemainingTimeInMs();
+        ErrorCallback errorCallback = e -> {
+            if (e instanceof TimeoutException) {
+                QueuedRequest<T> timedOut = queuedRequest.removeExpired();
+                if (timedOut != null) {
+                    timedOut.getErrorCallback().onError(e);
+                }
+                if (!queuedRequest.isExpired()) {
+                    // other callers still have time : wait for client to wake up again
+                    requeue(registration, queuedRequest);
+                }
+            } else {
+                queuedRequest.getErrorCallback().onError(e);
+            }
+        };
+        try {
+            send(registration, queuedRequest.getRequest(), queuedRequest.getLowerLayerConfig(), remainingTime,
+                    queuedRequest.getResponseCallback(), errorCallback);
+        } catch (RuntimeException e) {
+            queuedRequest.getErrorCallback().onError(e);
+        }
+    }
+
+    private void requeue(Registration registration, QueuedRequest<?> queuedRequest) {
+        if (!requestQueue.offer(registration.getEndpoint(), queuedRequest)) {
+            queuedRequest.getErrorCallback().onError(new ClientSleepingException(
+                    "The destination client is sleeping and its request queue is full, request cannot be sent."));
+            return;
+        }
+        sendQueuedRequests(registration);
+    }
+
+    /**
+     * Cancel all requests queued for the given client. Their {@link ErrorCallback} receive a
+     * {@link RequestCanceledException}.
+     * <p>
+     * This should be called when the client is not registered anymore.
+     *
+     * @param registration the registration of the client.
+     */
+    public void cancelQueuedRequests(Registration registration) {
+        if (requestQueue == null) {
+            return;
+        }
+        for (QueuedRequest<?> queuedRequest : requestQueue.removeAll(registration.getEndpoint())) {
+            queuedRequest.getErrorCallback()
+                    .onError(new RequestCanceledException(
+                            "Request %s was canceled : client %s is not registered anymore", queuedRequest.getRequest(),
+                            registration.getEndpoint()));
+        }
+    }
+
     @Override
     public void cancelOngoingRequests(Registration registration) {
         delegatedSender.cancelOngoingRequests(registration);
     }
+
+    @Override
+    public void start() {
+        if (requestQueue instanceof Startable) {
+            ((Startable) requestQueue).start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (requestQueue instanceof Stoppable) {
+            ((Stoppable) requestQueue).stop();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (requestQueue instanceof Destroyable) {
+            ((Destroyable) requestQueue).destroy();
+        } else if (requestQueue instanceof Stoppable) {
+            ((Stoppable) requestQueue).stop();
+        }
+    }
 }
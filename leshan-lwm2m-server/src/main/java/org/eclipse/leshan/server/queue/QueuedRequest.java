@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.queue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.request.DownlinkDeviceManagementRequest;
+import org.eclipse.leshan.core.request.ReadRequest;
+import org.eclipse.leshan.core.request.WriteRequest;
+import org.eclipse.leshan.core.request.exception.TimeoutException;
+import org.eclipse.leshan.core.response.ErrorCallback;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.eclipse.leshan.core.response.ResponseCallback;
+import org.eclipse.leshan.core.util.Validate;
+import org.eclipse.leshan.server.request.LowerLayerConfig;
+
+/**
+ * A request waiting in a {@link DownlinkRequestQueue} for a LWM2M client using Queue Mode to wake up.
+ * <p>
+ * The request expires when its timeout is reached : the timeout given when sending the request includes the time spent
+ * in the queue. When duplicate requests are merged (see {@link #merge(QueuedRequest)}), each caller keeps its own
+ * timeout.
+ *
+ * @param <T> The expected type of the response received.
+ */
+public class QueuedRequest<T extends LwM2mResponse> {
+
+    private final DownlinkDeviceManagementRequest<T> request;
+    private final LowerLayerConfig lowerLayerConfig;
+    private final List<Caller<T>> callers = new ArrayList<>(1); // guarded by this
+
+    public QueuedRequest(DownlinkDeviceManagementRequest<T> request, LowerLayerConfig lowerLayerConfig,
+            long timeoutInMs, ResponseCallback<T> responseCallback, ErrorCallback errorCallback) {
+        Validate.notNull(request);
+        Validate.notNull(responseCallback);
+        Validate.notNull(errorCallback);
+        Validate.isTrue(timeoutInMs > 0, "timeout must be strictly positive");
+
+        this.request = request;
+        this.lowerLayerConfig = lowerLayerConfig;
+        this.callers.add(new Caller<>(timeoutInMs, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMs),
+                responseCallback, errorCallback));
+    }
+
+    private QueuedRequest(QueuedRequest<T> origin, List<Caller<T>> callers) {
+        this.request = origin.request;
+        this.lowerLayerConfig = origin.lowerLayerConfig;
+        this.callers.addAll(callers);
+    }
+
+    public DownlinkDeviceManagementRequest<T> getRequest() {
+        return request;
+    }
+
+    public LowerLayerConfig getLowerLayerConfig() {
+        return lowerLayerConfig;
+    }
+
+    /**
+     * @return a callback which forwards the response to all callers of this request.
+     */
+    public ResponseCallback<T> getResponseCallback() {
+        return response -> {
+            for (Caller<T> caller : getCallers()) {
+                caller.responseCallback.onResponse(response);
+            }
+        };
+    }
+
+    /**
+     * @return a callback which forwards the error to all callers of this request.
+     */
+    public ErrorCallback getErrorCallback() {
+        return error -> {
+            for (Caller<T> caller : getCallers()) {
+                caller.errorCallback.onError(error);
+            }
+        };
+    }
+
+    /**
+     * @return the time remaining before the first caller of this request expires in milliseconds, rounded up. (could be
+     *         negative)
+     */
+    public synchronized long getRemainingTimeInMs() {
+        if (callers.isEmpty()) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long remaining = Long.MAX_VALUE;
+        for (Caller<T> caller : callers) {
+            remaining = Math.min(remaining, caller.expirationTime - now);
+        }
+        // round up, so a timeout of this duration never fires before the caller is expired
+        return remaining > 0 ? (remaining + 999_999) / 1_000_000 : TimeUnit.NANOSECONDS.toMillis(remaining);
+    }
+
+    /**
+     * @return <code>true</code> if all callers of this request are expired.
+     */
+    public synchronized boolean isExpired() {
+        long now = System.nanoTime();
+        for (Caller<T> caller : callers) {
+            if (!caller.isExpired(now)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Remove expired callers from this request, when it was merged with requests which expire later.
+     *
+     * @return a request for the removed callers, which should be expired with {@link #expire()}, or <code>null</code>
+     *         if no caller is expired.
+     */
+    public synchronized QueuedRequest<T> removeExpired() {
+        long now = System.nanoTime();
+        List<Caller<T>> expired = new ArrayList<>();
+        for (Iterator<Caller<T>> it = callers.iterator(); it.hasNext();) {
+            Caller<T> caller = it.next();
+            if (caller.isExpired(now)) {
+                it.remove();
+                expired.add(caller);
+            }
+        }
+        return expired.isEmpty() ? null : new QueuedRequest<>(this, expired);
+    }
+
+    /**
+     * Raise a {@link TimeoutException} to the {@link ErrorCallback} of each caller of this request because it expires
+     * before the client wakes up.
+     */
+    public void expire() {
+        for (Caller<T> caller : getCallers()) {
+            caller.errorCallback.onError(new TimeoutException(TimeoutException.Type.RESPONSE_TIMEOUT,
+                    "Request %s timed out : client was sleeping during %dms", request, caller.timeoutInMs));
+        }
+    }
+
+    /**
+     * @return <code>true</code> if this request and the given one are the same read, so only one of them need to be
+     *         sent. (see {@link #merge(QueuedRequest)})
+     */
+    public boolean isDuplicateOf(QueuedRequest<?> other) {
+        if (request instanceof ReadRequest && other.request instanceof ReadRequest) {
+            ReadRequest read = (ReadRequest) request;
+            ReadRequest otherRead = (ReadRequest) other.request;
+            return read.getPath().equals(otherRead.getPath())
+                    && Objects.equals(read.getContentFormat(), otherRead.getContentFormat())
+                    && Objects.equals(lowerLayerConfig, other.lowerLayerConfig);
+        }
+        return false;
+    }
+
+    /**
+     * @return <code>true</code> if this request makes the given one useless, so the older one can be dropped. This is
+     *         the case for Write Replace requests targeting the same path.
+     */
+    public boolean supersedes(QueuedRequest<?> older) {
+        if (request instanceof WriteRequest && older.request instanceof WriteRequest) {
+            WriteRequest write = (WriteRequest) request;
+            WriteRequest olderWrite = (WriteRequest) older.request;
+            return write.isReplaceRequest() && olderWrite.isReplaceRequest()
+                    && write.getPath().equals(olderWrite.getPath());
+        }
+        return false;
+    }
+
+    /**
+     * Merge the given duplicate request in this one : callers of both requests will get the result of this request,
+     * each caller keeping its own timeout.
+     *
+     * @param duplicate a request for which {@link #isDuplicateOf(QueuedRequest)} returns <code>true</code>.
+     */
+    @SuppressWarnings("unchecked")
+    public void merge(QueuedRequest<?> duplicate) {
+        Validate.isTrue(isDuplicateOf(duplicate), "only duplicated request can be merged");
+
+        // duplicate requests are read request so both expect a ReadResponse
+        List<Caller<T>> duplicateCallers = ((QueuedRequest<T>) duplicate).getCallers();
+        synchronized (this) {
+            callers.addAll(duplicateCallers);
+        }
+    }
+
+    private synchronized List<Caller<T>> getCallers() {
+        return new ArrayList<>(callers);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QueuedRequest [request=%s, remainingTime=%dms]", request, getRemainingTimeInMs());
+    }
+
+    private static class Caller<T extends LwM2mResponse> {
+        private final long timeoutInMs;
+        private final long expirationTime; // in nanoseconds
+        private final ResponseCallback<T> responseCallback;
+        private final ErrorCallback errorCallback;
+
+        Caller(long timeoutInMs, long expirationTime, ResponseCallback<T> responseCallback,
+                ErrorCallback errorCallback) {
+            this.timeoutInMs = timeoutInMs;
+            this.expirationTime = expirationTime;
+            this.responseCallback = responseCallback;
+            this.errorCallback = errorCallback;
+        }
+
+        boolean isExpired(long now) {
+            return expirationTime - now <= 0;
+        }
+    }
+}
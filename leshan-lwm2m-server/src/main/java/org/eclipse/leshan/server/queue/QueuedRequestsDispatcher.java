@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.queue;
+
+import java.util.Collection;
+
+import org.eclipse.leshan.core.observation.CompositeObservation;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.response.ObserveCompositeResponse;
+import org.eclipse.leshan.core.response.ObserveResponse;
+import org.eclipse.leshan.server.observation.ObservationListener;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.registration.RegistrationListener;
+import org.eclipse.leshan.server.registration.RegistrationUpdate;
+
+/**
+ * Listener which sends requests queued by a {@link QueueModeLwM2mRequestSender} each time a client shows it is awake
+ * (registration, registration update or notification) and cancels them when the client is not registered anymore.
+ * <p>
+ * It must be added after the {@link PresenceStateListener}, so the client is already considered as awake, and after the
+ * listener which cancels ongoing requests on registration changes, so just sent requests are not canceled.
+ * <p>
+ * {@link PresenceStateListener} only considers a notification as a proof that the client is awake when registration is
+ * updated on notification. If a {@link PresenceServiceImpl} is given, this dispatcher sets the client awake itself on
+ * notification, so queued requests are sent whatever this option is.
+ */
+public class QueuedRequestsDispatcher implements RegistrationListener, ObservationListener {
+
+    private final QueueModeLwM2mRequestSender requestSender;
+    private final PresenceServiceImpl presenceService;
+
+    public QueuedRequestsDispatcher(QueueModeLwM2mRequestSender requestSender) {
+        this(requestSender, null);
+    }
+
+    /**
+     * @param requestSender the sender which queued requests.
+     * @param presenceService used to set the client awake on notification, could be <code>null</code> if
+     *        {@link PresenceStateListener} already does it.
+     */
+    public QueuedRequestsDispatcher(QueueModeLwM2mRequestSender requestSender, PresenceServiceImpl presenceService) {
+        this.requestSender = requestSender;
+        this.presenceService = presenceService;
+    }
+
+    @Override
+    public void registered(Registration registration, Registration previousReg,
+            Collection<Observation> previousObservations) {
+        requestSender.sendQueuedRequests(registration);
+    }
+
+    @Override
+    public void updated(RegistrationUpdate update, Registration updatedReg, Registration previousReg) {
+        requestSender.sendQueuedRequests(updatedReg);
+    }
+
+    @Override
+    public void unregistered(Registration registration, Collection<Observation> observations, boolean expired,
+            Registration newReg) {
+        // if there is a new registration, requests are kept for it.
+        if (newReg == null) {
+            requestSender.cancelQueuedRequests(registration);
+        }
+    }
+
+    @Override
+    public void onResponse(SingleObservation observation, Registration registration, ObserveResponse response) {
+        notificationReceived(registration);
+    }
+
+    @Override
+    public void onResponse(CompositeObservation observation, Registration registration,
+            ObserveCompositeResponse response) {
+        notificationReceived(registration);
+    }
+
+    private void notificationReceived(Registration registration) {
+        if (presenceService != null) {
+            presenceService.setAwake(registration);
+        }
+        requestSender.sendQueuedRequests(registration);
+    }
+
+    @Override
+    public void newObservation(Observation observation, Registration registration) {
+    }
+
+    @Override
+    public void cancelled(Observation observation) {
+    }
+
+    @Override
+    public void onError(Observation observation, Registration registration, Exception error) {
+    }
+}
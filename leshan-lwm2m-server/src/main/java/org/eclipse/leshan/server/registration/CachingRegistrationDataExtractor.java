@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.link.lwm2m.CachingLwM2mLinkParser;
+import org.eclipse.leshan.core.util.ClockCache;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A {@link RegistrationDataExtractor} which caches extracted {@link RegistrationData}, indexed by object links content
+ * and LWM2M version.
+ * <p>
+ * Clients generally send the same object links on each registration update, and devices with the same firmware send the
+ * same ones. So all registrations with identical object links share the same unmodifiable collections (supported
+ * content formats, supported objects and available instances). Used with a {@link CachingLwM2mLinkParser}, the
+ * {@link Link} instances are shared too, which makes lookups cheaper as they are compared by reference first.
+ * <p>
+ * The cache keeps the most recently used object links only (see {@link ClockCache}).
+ */
+public class CachingRegistrationDataExtractor implements RegistrationDataExtractor {
+
+    private final RegistrationDataExtractor extractor;
+    private final ClockCache<Key, RegistrationData> cache;
+
+    public CachingRegistrationDataExtractor() {
+        this(new DefaultRegistrationDataExtractor(), 256);
+    }
+
+    /**
+     * @param extractor the extractor used on cache miss.
+     * @param maxEntries the maximum number of object links kept in cache.
+     */
+    public CachingRegistrationDataExtractor(RegistrationDataExtractor extractor, final int maxEntries) {
+        Validate.notNull(extractor);
+        Validate.isTrue(maxEntries > 0, "maxEntries must be positive");
+        this.extractor = extractor;
+        this.cache = new ClockCache<>(maxEntries);
+    }
+
+    @Override
+    public RegistrationData extractDataFromObjectLinks(Link[] objectLinks, LwM2mVersion lwM2mVersion) {
+        if (objectLinks == null) {
+            return extractor.extractDataFromObjectLinks(objectLinks, lwM2mVersion);
+        }
+
+        Key key = new Key(objectLinks, lwM2mVersion);
+        RegistrationData shared = cache.get(key);
+        if (shared == null) {
+            RegistrationData data = extractor.extractDataFromObjectLinks(objectLinks, lwM2mVersion);
+            if (data == null) {
+                return null;
+            }
+            shared = toUnmodifiable(data);
+            // store a copy of object links as given array could be modified
+            cache.put(new Key(objectLinks.clone(), lwM2mVersion, key.hashCode), shared);
+        }
+        // RegistrationData is mutable, so return a copy sharing the same unmodifiable collections
+        return copy(shared);
+    }
+
+    /**
+     * @return the number of object links currently in cache.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private RegistrationData toUnmodifiable(RegistrationData data) {
+        RegistrationData res = new RegistrationData();
+        res.setAlternatePath(data.getAlternatePath());
+        // use immutable copies that Registration.Builder can keep without copying them again
+        if (data.getSupportedContentFormats() != null) {
+            res.setSupportedContentFormats(ImmutableCollections.copyOf(data.getSupportedContentFormats()));
+        }
+        if (data.getSupportedObjects() != null) {
+            res.setSupportedObjects(ImmutableCollections.copyOf(data.getSupportedObjects()));
+        }
+        if (data.getAvailableInstances() != null) {
+            res.setAvailableInstances(ImmutableCollections.sortedCopyOf(data.getAvailableInstances()));
+        }
+        return res;
+    }
+
+    private RegistrationData copy(RegistrationData data) {
+        RegistrationData res = new RegistrationData();
+        res.setAlternatePath(data.getAlternatePath());
+        res.setSupportedContentFormats(data.getSupportedContentFormats());
+        res.setSupportedObjects(data.getSupportedObjects());
+        res.setAvailableInstances(data.getAvailableInstances());
+        return res;
+    }
+
+    private static class Key {
+        private final Link[] objectLinks;
+        private final LwM2mVersion lwM2mVersion;
+        private final int hashCode;
+
+        Key(Link[] objectLinks, LwM2mVersion lwM2mVersion) {
+            this(objectLinks, lwM2mVersion, 31 * Arrays.hashCode(objectLinks) + Objects.hashCode(lwM2mVersion));
+        }
+
+        Key(Link[] objectLinks, LwM2mVersion lwM2mVersion, int hashCode) {
+            this.objectLinks = objectLinks;
+            this.lwM2mVersion = lwM2mVersion;
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+            Key other = (Key) obj;
+            // links shared by a CachingLwM2mLinkParser are compared by reference first
+            return hashCode == other.hashCode && Objects.equals(lwM2mVersion, other.lwM2mVersion)
+                    && Arrays.equals(objectLinks, other.objectLinks);
+        }
+    }
+}
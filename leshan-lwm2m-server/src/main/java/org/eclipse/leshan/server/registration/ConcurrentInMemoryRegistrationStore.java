@@ -0,0 +1,503 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.Startable;
+import org.eclipse.leshan.core.Stoppable;
+import org.eclipse.leshan.core.observation.CompositeObservation;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.peer.LwM2mIdentity;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.core.util.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An in memory store for registration and observation which is designed for servers handling a large number of devices.
+ * <p>
+ * Unlike {@link InMemoryRegistrationStore} which protects all its data with one global lock, this store uses
+ * {@link ConcurrentHashMap}s and a fixed set of locks striped by endpoint name :
+ * <ul>
+ * <li>All modifications concerning a given endpoint (registration, update, de-registration, observation add/remove) are
+ * done under the lock of this endpoint stripe, so the indexes by endpoint, registration id, address, identity and the
+ * observations of this registration are always modified atomically regarding other modifications of the same
+ * endpoint.</li>
+ * <li>Modifications concerning different endpoints are executed concurrently (unless they share the same stripe).</li>
+ * <li>Lookups never block. Each lookup returns the most recently completed modification of the index it uses.</li>
+ * </ul>
+ */
+public class ConcurrentInMemoryRegistrationStore implements RegistrationStore, Startable, Stoppable, Destroyable {
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrentInMemoryRegistrationStore.class);
+
+    // Data structure
+    private final ConcurrentMap<String /* end-point */, Registration> regsByEp = new ConcurrentHashMap<>();
+    private final ConcurrentMap<InetSocketAddress, Registration> regsByAddr = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String /* reg-id */, Registration> regsByRegId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<LwM2mIdentity, Registration> regsByIdentity = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ObservationIdentifier, Observation> obsByToken = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<ObservationIdentifier>> tokensByRegId = new ConcurrentHashMap<>();
+    private final RegistrationExpirationIndex expirationIndex = new RegistrationExpirationIndex();
+
+    // Locks striped by endpoint
+    private final Lock[] locks;
+    private final int locksMask;
+
+    // Listener use to notify when a registration expires
+    private ExpirationListener expirationListener;
+
+    private final ScheduledExecutorService schedExecutor;
+    private ScheduledFuture<?> cleanerTask;
+    private boolean started = false;
+    private final long cleanPeriod; // in seconds
+
+    public ConcurrentInMemoryRegistrationStore() {
+        this(2); // default clean period : 2s
+    }
+
+    public ConcurrentInMemoryRegistrationStore(long cleanPeriodInSec) {
+        this(Executors.newScheduledThreadPool(1,
+                new NamedThreadFactory(
+                        String.format("ConcurrentInMemoryRegistrationStore Cleaner (%ds)", cleanPeriodInSec))),
+                cleanPeriodInSec);
+    }
+
+    public ConcurrentInMemoryRegistrationStore(ScheduledExecutorService schedExecutor, long cleanPeriodInSec) {
+        this(schedExecutor, cleanPeriodInSec, Runtime.getRuntime().availableProcessors() * 16);
+    }
+
+    /**
+     * @param schedExecutor executor used to regularly clean expired registrations.
+     * @param cleanPeriodInSec period between 2 cleanings.
+     * @param concurrencyLevel the expected number of concurrent modifications, used to size the number of lock stripes.
+     *        (rounded up to the next power of 2)
+     */
+    public ConcurrentInMemoryRegistrationStore(ScheduledExecutorService schedExecutor, long cleanPeriodInSec,
+            int concurrencyLevel) {
+        Validate.isTrue(concurrencyLevel > 0, "concurrencyLevel must be strictly positive");
+        this.schedExecutor = schedExecutor;
+        this.cleanPeriod = cleanPeriodInSec;
+
+        int nbStripes = 1;
+        while (nbStripes < concurrencyLevel) {
+            nbStripes <<= 1;
+        }
+        this.locks = new Lock[nbStripes];
+        for (int i = 0; i < nbStripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.locksMask = nbStripes - 1;
+    }
+
+    /* *************** Leshan Registration API **************** */
+
+    @Override
+    public Deregistration addRegistration(Registration registration) {
+        Lock lock = getLock(registration.getEndpoint());
+        try {
+            lock.lock();
+
+            Registration registrationRemoved = regsByEp.put(registration.getEndpoint(), registration);
+            regsByRegId.put(registration.getId(), registration);
+            regsByIdentity.put(registration.getClientTransportData().getIdentity(), registration);
+            // If a registration is already associated to this address we don't care as we only want to keep the most
+            // recent binding.
+            regsByAddr.put(registration.getSocketAddress(), registration);
+            if (registrationRemoved != null) {
+                expirationIndex.remove(registrationRemoved);
+            }
+            expirationIndex.add(registration);
+            if (registrationRemoved != null) {
+                Collection<Observation> observationsRemoved = unsafeRemoveAllObservations(registrationRemoved.getId());
+                if (!registrationRemoved.getSocketAddress().equals(registration.getSocketAddress())) {
+                    regsByAddr.remove(registrationRemoved.getSocketAddress(), registrationRemoved);
+                }
+                if (!registrationRemoved.getId().equals(registration.getId())) {
+                    regsByRegId.remove(registrationRemoved.getId(), registrationRemoved);
+                }
+                if (!registrationRemoved.getClientTransportData().getIdentity()
+                        .equals(registration.getClientTransportData().getIdentity())) {
+                    regsByIdentity.remove(registrationRemoved.getClientTransportData().getIdentity(),
+                            registrationRemoved);
+                }
+                return new Deregistration(registrationRemoved, observationsRemoved);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return null;
+    }
+
+    @Override
+    public UpdatedRegistration updateRegistration(RegistrationUpdate update) {
+        Lock lock = lockRegistration(update.getRegistrationId());
+        if (lock == null) {
+            return null;
+        }
+        try {
+            Registration registration = regsByRegId.get(update.getRegistrationId());
+            Registration updatedRegistration = update.update(registration);
+            regsByEp.put(updatedRegistration.getEndpoint(), updatedRegistration);
+            // If registration is already associated to this address we don't care as we only want to keep the most
+            // recent binding.
+            regsByAddr.put(updatedRegistration.getSocketAddress(), updatedRegistration);
+            if (!registration.getSocketAddress().equals(updatedRegistration.getSocketAddress())) {
+                regsByAddr.remove(registration.getSocketAddress(), registration);
+            }
+            regsByIdentity.put(updatedRegistration.getClientTransportData().getIdentity(), updatedRegistration);
+            if (!registration.getClientTransportData().getIdentity()
+                    .equals(updatedRegistration.getClientTransportData().getIdentity())) {
+                regsByIdentity.remove(registration.getClientTransportData().getIdentity(), registration);
+            }
+
+            regsByRegId.put(updatedRegistration.getId(), updatedRegistration);
+            expirationIndex.update(registration, updatedRegistration);
+
+            return new UpdatedRegistration(registration, updatedRegistration);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Registration getRegistration(String registrationId) {
+        return regsByRegId.get(registrationId);
+    }
+
+    @Override
+    public Registration getRegistrationByEndpoint(String endpoint) {
+        return regsByEp.get(endpoint);
+    }
+
+    @Override
+    public Registration getRegistrationByAdress(InetSocketAddress address) {
+        return regsByAddr.get(address);
+    }
+
+    @Override
+    public Registration getRegistrationByIdentity(LwM2mIdentity identity) {
+        return regsByIdentity.get(identity);
+    }
+
+    @Override
+    public Iterator<Registration> getAllRegistrations() {
+        // iterator is weakly consistent : it never throws ConcurrentModificationException and we don't need a copy.
+        return Collections.unmodifiableCollection(regsByEp.values()).iterator();
+    }
+
+    @Override
+    public Deregistration removeRegistration(String registrationId) {
+        Lock lock = lockRegistration(registrationId);
+        if (lock == null) {
+            return null;
+        }
+        try {
+            Registration registration = regsByRegId.get(registrationId);
+            Collection<Observation> observationsRemoved = unsafeRemoveAllObservations(registration.getId());
+            regsByEp.remove(registration.getEndpoint(), registration);
+            regsByAddr.remove(registration.getSocketAddress(), registration);
+            regsByRegId.remove(registration.getId(), registration);
+            regsByIdentity.remove(registration.getClientTransportData().getIdentity(), registration);
+            expirationIndex.remove(registration);
+            return new Deregistration(registration, observationsRemoved);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* *************** Leshan Observation API **************** */
+
+    @Override
+    public Collection<Observation> addObservation(String registrationId, Observation observation, boolean addIfAbsent) {
+        List<Observation> removed = new ArrayList<>();
+        Lock lock = lockRegistration(registrationId);
+        if (lock == null) {
+            throw new IllegalStateException(String.format(
+                    "can not add observation %s there is no registration with id %s", observation, registrationId));
+        }
+        try {
+            Observation previousObservation;
+            ObservationIdentifier id = observation.getId();
+
+            if (addIfAbsent) {
+                previousObservation = obsByToken.putIfAbsent(id, observation);
+            } else {
+                previousObservation = obsByToken.put(id, observation);
+            }
+            tokensByRegId.computeIfAbsent(registrationId, k -> ConcurrentHashMap.newKeySet()).add(id);
+
+            // log any collisions
+            if (previousObservation != null) {
+                removed.add(previousObservation);
+                LOG.warn("Token collision ? observation [{}] will be replaced by observation [{}] ",
+                        previousObservation, observation);
+            }
+
+            // cancel existing observations for the same path and registration id.
+            for (Observation obs : getObservations(registrationId)) {
+                if (areTheSamePaths(observation, obs) && !observation.getId().equals(obs.getId())) {
+                    unsafeRemoveObservation(obs.getId());
+                    removed.add(obs);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return removed;
+    }
+
+    private boolean areTheSamePaths(Observation observation, Observation obs) {
+        if (observation instanceof SingleObservation && obs instanceof SingleObservation) {
+            return ((SingleObservation) observation).getPath().equals(((SingleObservation) obs).getPath());
+        }
+        if (observation instanceof CompositeObservation && obs instanceof CompositeObservation) {
+            return ((CompositeObservation) observation).getPaths().equals(((CompositeObservation) obs).getPaths());
+        }
+        return false;
+    }
+
+    @Override
+    public Observation removeObservation(String registrationId, ObservationIdentifier observationId) {
+        Lock lock = lockRegistration(registrationId);
+        if (lock == null) {
+            // observations can not exist without registration
+            return null;
+        }
+        try {
+            Observation observation = obsByToken.get(observationId);
+            if (observation != null && registrationId.equals(observation.getRegistrationId())) {
+                unsafeRemoveObservation(observationId);
+                return observation;
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Observation getObservation(String registrationId, ObservationIdentifier observationId) {
+        Observation observation = obsByToken.get(observationId);
+        if (observation != null && registrationId.equals(observation.getRegistrationId())) {
+            return observation;
+        }
+        return null;
+    }
+
+    @Override
+    public Observation getObservation(ObservationIdentifier observationId) {
+        return obsByToken.get(observationId);
+    }
+
+    @Override
+    public Collection<Observation> getObservations(String registrationId) {
+        Collection<Observation> result = new ArrayList<>();
+        Set<ObservationIdentifier> ids = tokensByRegId.get(registrationId);
+        if (ids != null) {
+            for (ObservationIdentifier id : ids) {
+                Observation obs = obsByToken.get(id);
+                if (obs != null) {
+                    result.add(obs);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<Observation> removeObservations(String registrationId) {
+        Lock lock = lockRegistration(registrationId);
+        if (lock == null) {
+            // observations can not exist without registration
+            return Collections.emptyList();
+        }
+        try {
+            return unsafeRemoveAllObservations(registrationId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* *************** Locking utility functions **************** */
+
+    private Lock getLock(String endpoint) {
+        // spread hash bits like HashMap does, to avoid collision on stripes with poor hashcode.
+        int h = endpoint.hashCode();
+        h ^= (h >>> 16);
+        return locks[h & locksMask];
+    }
+
+    /**
+     * Acquire the lock of the endpoint stripe of the registration with the given id.
+     *
+     * @return the acquired lock or <code>null</code> if there is no registration for this id. (In this case no lock is
+     *         held)
+     */
+    private Lock lockRegistration(String registrationId) {
+        while (true) {
+            Registration registration = regsByRegId.get(registrationId);
+            if (registration == null) {
+                return null;
+            }
+            Lock lock = getLock(registration.getEndpoint());
+            lock.lock();
+            // check registration was not removed or replaced meanwhile
+            Registration current = regsByRegId.get(registrationId);
+            if (current == null) {
+                lock.unlock();
+                return null;
+            } else if (current.getEndpoint().equals(registration.getEndpoint())) {
+                return lock;
+            }
+            // this registration id is now used by another endpoint, try again with the right lock.
+            lock.unlock();
+        }
+    }
+
+    /* *************** Observation utility functions **************** */
+
+    private void unsafeRemoveObservation(ObservationIdentifier observationId) {
+        Observation removed = obsByToken.remove(observationId);
+
+        if (removed != null) {
+            String registrationId = removed.getRegistrationId();
+            Set<ObservationIdentifier> tokens = tokensByRegId.get(registrationId);
+            if (tokens != null) {
+                tokens.remove(observationId);
+                if (tokens.isEmpty()) {
+                    tokensByRegId.remove(registrationId, tokens);
+                }
+            }
+        }
+    }
+
+    private Collection<Observation> unsafeRemoveAllObservations(String registrationId) {
+        Collection<Observation> removed = new ArrayList<>();
+        Set<ObservationIdentifier> ids = tokensByRegId.remove(registrationId);
+        if (ids != null) {
+            for (ObservationIdentifier id : ids) {
+                Observation observationRemoved = obsByToken.remove(id);
+                if (observationRemoved != null) {
+                    removed.add(observationRemoved);
+                }
+            }
+        }
+        return removed;
+    }
+
+    /* *************** Expiration handling **************** */
+
+    @Override
+    public void setExpirationListener(ExpirationListener listener) {
+        this.expirationListener = listener;
+    }
+
+    /**
+     * start the registration store, will start regular cleanup of dead registrations.
+     */
+    @Override
+    public synchronized void start() {
+        if (!started) {
+            started = true;
+            cleanerTask = schedExecutor.scheduleAtFixedRate(new Cleaner(), cleanPeriod, cleanPeriod, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stop the underlying cleanup of the registrations.
+     */
+    @Override
+    public synchronized void stop() {
+        if (started) {
+            started = false;
+            if (cleanerTask != null) {
+                cleanerTask.cancel(false);
+                cleanerTask = null;
+            }
+        }
+    }
+
+    /**
+     * Destroy "cleanup" scheduler.
+     */
+    @Override
+    public synchronized void destroy() {
+        started = false;
+        schedExecutor.shutdownNow();
+        try {
+            schedExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            LOG.warn("Destroying ConcurrentInMemoryRegistrationStore was interrupted.", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class Cleaner implements Runnable {
+
+        @Override
+        public void run() {
+            // only registrations which are due are visited, thanks to the expiration index.
+            for (String registrationId : expirationIndex.pollExpired(System.currentTimeMillis(), Integer.MAX_VALUE)) {
+                // ids are removed from index, so we must not stop on error or they will never be cleaned.
+                try {
+                    Deregistration removedRegistration = removeExpiredRegistration(registrationId);
+                    if (removedRegistration != null) {
+                        expirationListener.registrationExpired(removedRegistration.getRegistration(),
+                                removedRegistration.getObservations());
+                    }
+                } catch (Exception e) {
+                    LOG.warn("Unexpected Exception while registration cleaning", e);
+                }
+            }
+        }
+
+        private Deregistration removeExpiredRegistration(String registrationId) {
+            Lock lock = lockRegistration(registrationId);
+            if (lock == null) {
+                return null;
+            }
+            try {
+                // registration could have been updated since it was indexed, so check it again.
+                if (regsByRegId.get(registrationId).isAlive()) {
+                    return null;
+                }
+                // force de-registration
+                return removeRegistration(registrationId);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
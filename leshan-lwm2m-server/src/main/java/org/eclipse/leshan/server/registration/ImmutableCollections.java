@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Immutable copies of the collections held by a {@link Registration}.
+ * <p>
+ * Unlike a {@link Collections#unmodifiableSet(Set)} view, collections created here own a private copy of their content,
+ * so they can be shared between registrations (e.g. by {@link CachingRegistrationDataExtractor}) and kept as is by
+ * {@link Registration.Builder} without being copied again.
+ */
+final class ImmutableCollections {
+
+    private ImmutableCollections() {
+    }
+
+    /**
+     * @return the given set if it was created by this class, else an immutable copy of it.
+     */
+    static <E> Set<E> copyOf(Set<E> set) {
+        if (set instanceof ImmutableSet) {
+            return set;
+        }
+        return new ImmutableSet<>(Collections.unmodifiableSet(new HashSet<>(set)));
+    }
+
+    /**
+     * @return the given set if it was created by this class, else an immutable copy of it sorted by natural ordering.
+     */
+    static <E> SortedSet<E> sortedCopyOf(Set<E> set) {
+        if (set instanceof ImmutableSortedSet) {
+            return (SortedSet<E>) set;
+        }
+        return new ImmutableSortedSet<>(Collections.unmodifiableSortedSet(new TreeSet<>(set)));
+    }
+
+    /**
+     * @return the given map if it was created by this class, else an immutable copy of it.
+     */
+    static <K, V> Map<K, V> copyOf(Map<K, V> map) {
+        if (map instanceof ImmutableMap) {
+            return map;
+        }
+        return new ImmutableMap<>(Collections.unmodifiableMap(new HashMap<>(map)));
+    }
+
+    private static class ImmutableSet<E> extends AbstractSet<E> {
+        // unmodifiable view of a copy only referenced by this set
+        private final Set<E> content;
+
+        private ImmutableSet(Set<E> content) {
+            this.content = content;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return content.iterator();
+        }
+
+        @Override
+        public int size() {
+            return content.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return content.contains(o);
+        }
+    }
+
+    private static final class ImmutableSortedSet<E> extends ImmutableSet<E> implements SortedSet<E> {
+        private final SortedSet<E> sortedContent;
+
+        private ImmutableSortedSet(SortedSet<E> content) {
+            super(content);
+            this.sortedContent = content;
+        }
+
+        @Override
+        public Comparator<? super E> comparator() {
+            return sortedContent.comparator();
+        }
+
+        @Override
+        public SortedSet<E> subSet(E fromElement, E toElement) {
+            return sortedContent.subSet(fromElement, toElement);
+        }
+
+        @Override
+        public SortedSet<E> headSet(E toElement) {
+            return sortedContent.headSet(toElement);
+        }
+
+        @Override
+        public SortedSet<E> tailSet(E fromElement) {
+            return sortedContent.tailSet(fromElement);
+        }
+
+        @Override
+        public E first() {
+            return sortedContent.first();
+        }
+
+        @Override
+        public E last() {
+            return sortedContent.last();
+        }
+    }
+
+    private static final class ImmutableMap<K, V> extends AbstractMap<K, V> {
+        // unmodifiable view of a copy only referenced by this map
+        private final Map<K, V> content;
+
+        private ImmutableMap(Map<K, V> content) {
+            this.content = content;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return content.entrySet();
+        }
+
+        @Override
+        public V get(Object key) {
+            return content.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return content.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return content.size();
+        }
+    }
+}
@@ -57,6 +57,7 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
     private final Map<LwM2mIdentity, Registration> regsByIdentity = new HashMap<>();
     private final Map<ObservationIdentifier, Observation> obsByToken = new HashMap<>();
     private final Map<String, Set<ObservationIdentifier>> tokensByRegId = new HashMap<>();
+    private final RegistrationExpirationIndex expirationIndex = new RegistrationExpirationIndex();
 
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
@@ -96,6 +97,10 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
             // If a registration is already associated to this address we don't care as we only want to keep the most
             // recent binding.
             regsByAddr.put(registration.getSocketAddress(), registration);
+            if (registrationRemoved != null) {
+                expirationIndex.remove(registrationRemoved);
+            }
+            expirationIndex.add(registration);
             if (registrationRemoved != null) {
                 Collection<Observation> observationsRemoved = unsafeRemoveAllObservations(registrationRemoved.getId());
                 if (!registrationRemoved.getSocketAddress().equals(registration.getSocketAddress())) {
@@ -141,6 +146,7 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
                 }
 
                 regsByRegId.put(updatedRegistration.getId(), updatedRegistration);
+                expirationIndex.update(registration, updatedRegistration);
 
                 return new UpdatedRegistration(registration, updatedRegistration);
             }
@@ -211,6 +217,7 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
                 removeFromMap(regsByAddr, registration.getSocketAddress(), registration);
                 removeFromMap(regsByRegId, registration.getId(), registration);
                 removeFromMap(regsByIdentity, registration.getClientTransportData().getIdentity(), registration);
+                expirationIndex.remove(registration);
                 return new Deregistration(registration, observationsRemoved);
             }
             return null;
@@ -440,25 +447,33 @@ public class InMemoryRegistrationStore implements RegistrationStore, Startable,
 
         @Override
         public void run() {
-            try {
-                Collection<Registration> allRegs = new ArrayList<>();
+            // only registrations which are due are visited, thanks to the expiration index.
+            for (String registrationId : expirationIndex.pollExpired(System.currentTimeMillis(), Integer.MAX_VALUE)) {
+                // ids are removed from index, so we must not stop on error or they will never be cleaned.
                 try {
-                    lock.readLock().lock();
-                    allRegs.addAll(regsByEp.values());
-                } finally {
-                    lock.readLock().unlock();
-                }
-
-                for (Registration reg : allRegs) {
-                    if (!reg.isAlive()) {
-                        // force de-registration
-                        Deregistration removedRegistration = removeRegistration(reg.getId());
+                    Deregistration removedRegistration = removeExpiredRegistration(registrationId);
+                    if (removedRegistration != null) {
                         expirationListener.registrationExpired(removedRegistration.getRegistration(),
                                 removedRegistration.getObservations());
                     }
+                } catch (Exception e) {
+                    LOG.warn("Unexpected Exception while registration cleaning", e);
+                }
+            }
+        }
+
+        private Deregistration removeExpiredRegistration(String registrationId) {
+            try {
+                lock.writeLock().lock();
+                // registration could have been updated since it was indexed, so check it again.
+                Registration registration = regsByRegId.get(registrationId);
+                if (registration == null || registration.isAlive()) {
+                    return null;
                 }
-            } catch (Exception e) {
-                LOG.warn("Unexpected Exception while registration cleaning", e);
+                // force de-registration
+                return removeRegistration(registrationId);
+            } finally {
+                lock.writeLock().unlock();
             }
         }
     }
@@ -29,7 +29,6 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 
 import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
 import org.eclipse.leshan.core.LwM2m.Version;
@@ -553,20 +552,22 @@ public class Registration {
 
             // Make collection immutable
             // We create a new Collection and make it "unmodifiable".
+            // Immutable copies we already own (e.g. from previous registration or shared by
+            // CachingRegistrationDataExtractor) are kept as is.
             if (supportedContentFormats == null || supportedContentFormats.isEmpty()) {
                 supportedContentFormats = Collections.emptySet();
             } else {
-                supportedContentFormats = Collections.unmodifiableSet(new HashSet<>(supportedContentFormats));
+                supportedContentFormats = ImmutableCollections.copyOf(supportedContentFormats);
             }
             if (supportedObjects == null || supportedObjects.isEmpty()) {
                 supportedObjects = Collections.emptyMap();
             } else {
-                supportedObjects = Collections.unmodifiableMap(new HashMap<>(supportedObjects));
+                supportedObjects = ImmutableCollections.copyOf(supportedObjects);
             }
             if (availableInstances == null || availableInstances.isEmpty()) {
                 availableInstances = Collections.emptySet();
             } else {
-                availableInstances = Collections.unmodifiableSet(new TreeSet<>(availableInstances));
+                availableInstances = ImmutableCollections.sortedCopyOf(availableInstances);
             }
             if (additionalRegistrationAttributes == null || additionalRegistrationAttributes.isEmpty()) {
                 additionalRegistrationAttributes = Collections.emptyMap();
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * An index of {@link Registration} sorted by {@link Registration#getExpirationTimeStamp()}.
+ * <p>
+ * This allows a {@link RegistrationStore} to find registrations which are expired without scanning all registrations.
+ * The index must be maintained by the store each time a registration is added, updated or removed.
+ * <p>
+ * This class is thread-safe.
+ */
+public class RegistrationExpirationIndex {
+
+    private static final Comparator<Entry> ENTRY_COMPARATOR = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry e1, Entry e2) {
+            int res = Long.compare(e1.expirationTimestamp, e2.expirationTimestamp);
+            if (res != 0)
+                return res;
+            return e1.registrationId.compareTo(e2.registrationId);
+        }
+    };
+
+    private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>(ENTRY_COMPARATOR);
+
+    /**
+     * Add a registration to the index.
+     */
+    public void add(Registration registration) {
+        entries.add(new Entry(registration.getExpirationTimeStamp(), registration.getId()));
+    }
+
+    /**
+     * Remove a registration from the index.
+     * <p>
+     * The given registration must be the one which was added, as its expiration timestamp is used to find it.
+     */
+    public void remove(Registration registration) {
+        entries.remove(new Entry(registration.getExpirationTimeStamp(), registration.getId()));
+    }
+
+    /**
+     * Replace a registration by its updated version.
+     */
+    public void update(Registration previous, Registration updated) {
+        if (previous.getExpirationTimeStamp() != updated.getExpirationTimeStamp()
+                || !previous.getId().equals(updated.getId())) {
+            remove(previous);
+            add(updated);
+        }
+    }
+
+    /**
+     * Remove from the index and return all registration ids which expired at the given time.
+     *
+     * @param now the current time in milliseconds.
+     * @param limit the maximum number of ids returned.
+     * @return the ids of registration which expired in expiration order.
+     */
+    public List<String> pollExpired(long now, int limit) {
+        List<String> expired = new ArrayList<>();
+        while (expired.size() < limit) {
+            // first() throws an exception if set is empty and pollFirst() would remove a not expired entry.
+            Entry first = entries.ceiling(Entry.MIN);
+            if (first == null || first.expirationTimestamp > now) {
+                break;
+            }
+            // remove could fail if entry was removed meanwhile
+            if (entries.remove(first)) {
+                expired.add(first.registrationId);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * @return the number of registrations indexed.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove all entries of the index.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private static class Entry {
+        private static final Entry MIN = new Entry(Long.MIN_VALUE, "");
+
+        private final long expirationTimestamp;
+        private final String registrationId;
+
+        public Entry(long expirationTimestamp, String registrationId) {
+            this.expirationTimestamp = expirationTimestamp;
+            this.registrationId = registrationId;
+        }
+    }
+}
@@ -32,6 +32,8 @@ import org.eclipse.leshan.core.response.UpdateResponse;
 import org.eclipse.leshan.server.registration.RegistrationDataExtractor.RegistrationData;
 import org.eclipse.leshan.server.security.Authorizer;
 import org.eclipse.leshan.servers.ServerEndpointNameProvider;
+import org.eclipse.leshan.servers.admission.Admission;
+import org.eclipse.leshan.servers.admission.AdmissionController;
 import org.eclipse.leshan.servers.security.Authorization;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,20 +51,42 @@ public class RegistrationHandler {
     private final Authorizer authorizer;
     private final RegistrationDataExtractor dataExtractor;
     private final ServerEndpointNameProvider endpointNameProvider;
+    private final AdmissionController admissionController;
 
     public RegistrationHandler(RegistrationServiceImpl registrationService, Authorizer authorizer,
             RegistrationIdProvider registrationIdProvider, RegistrationDataExtractor dataExtractor,
             ServerEndpointNameProvider endpointNameProvider) {
+        this(registrationService, authorizer, registrationIdProvider, dataExtractor, endpointNameProvider, null);
+    }
+
+    /**
+     * @param admissionController decides if a Register request is handled or rejected because server is overloaded. If
+     *        <code>null</code> all requests are handled. Update and De-register requests are never rejected.
+     */
+    public RegistrationHandler(RegistrationServiceImpl registrationService, Authorizer authorizer,
+            RegistrationIdProvider registrationIdProvider, RegistrationDataExtractor dataExtractor,
+            ServerEndpointNameProvider endpointNameProvider, AdmissionController admissionController) {
         this.registrationService = registrationService;
         this.authorizer = authorizer;
         this.registrationIdProvider = registrationIdProvider;
         this.dataExtractor = dataExtractor;
         this.endpointNameProvider = endpointNameProvider;
+        this.admissionController = admissionController;
     }
 
     public SendableResponse<RegisterResponse> register(LwM2mPeer sender, RegisterRequest registerRequest,
             EndpointUri endpointUsed) {
 
+        // Shed load before doing any work
+        if (admissionController != null) {
+            Admission admission = admissionController.admit(sender, registerRequest);
+            if (admission.isRejected()) {
+                LOG.debug("Register request from {} rejected, retry after {}s", sender, admission.getRetryAfter());
+                return new SendableResponse<>(
+                        RegisterResponse.serviceUnavailable("server overloaded", admission.getRetryAfter()));
+            }
+        }
+
         // Extract Endpoint Name
         String endpointName = registerRequest.getEndpointName();
         if (endpointName == null) {
@@ -16,8 +16,10 @@
 package org.eclipse.leshan.server.registration;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 import org.eclipse.leshan.core.observation.Observation;
 import org.eclipse.leshan.core.observation.ObservationIdentifier;
@@ -47,6 +49,24 @@ public interface RegistrationStore {
      */
     UpdatedRegistration updateRegistration(RegistrationUpdate update);
 
+    /**
+     * Update several existing registrations.
+     * <p>
+     * Default implementation calls {@link #updateRegistration(RegistrationUpdate)} for each update, stores should
+     * override it when they can apply several updates in less round-trips.
+     *
+     * @param updates data to update
+     * @return the previous and updated registrations in the same order than updates, with <code>null</code> for
+     *         registrations which does not exist.
+     */
+    default List<UpdatedRegistration> updateRegistrations(List<RegistrationUpdate> updates) {
+        List<UpdatedRegistration> updated = new ArrayList<>(updates.size());
+        for (RegistrationUpdate update : updates) {
+            updated.add(updateRegistration(update));
+        }
+        return updated;
+    }
+
     /**
      * Get the registration by registration Id.
      *
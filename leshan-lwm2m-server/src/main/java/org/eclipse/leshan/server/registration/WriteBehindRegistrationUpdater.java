@@ -0,0 +1,302 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.Startable;
+import org.eclipse.leshan.core.Stoppable;
+import org.eclipse.leshan.core.peer.LwM2mPeer;
+import org.eclipse.leshan.core.util.NamedThreadFactory;
+import org.eclipse.leshan.core.util.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces registration updates which only refresh the last update time of a registration (e.g. on notification), to
+ * limit the write load on the {@link RegistrationStore}.
+ * <p>
+ * Only the last peer seen for each registration is kept in memory and written to the store at a fixed period, using
+ * {@link RegistrationStore#updateRegistrations(List)} for batches of registrations. If the peer address changed, the
+ * store is updated immediately. Writes of a same registration are serialized by a lock dedicated to this registration,
+ * so store I/O is never done while holding a lock shared with all registrations.
+ * <p>
+ * The store is not read when an update is deferred : registrations removed meanwhile are only detected when pending
+ * updates are written, and their updates are then dropped. When the updater is not started, updates are written
+ * immediately.
+ * <p>
+ * As the store is updated later, the flush period should be small compared to registrations lifetime, else
+ * registrations could expire in the store before pending updates are written.
+ */
+public class WriteBehindRegistrationUpdater implements Startable, Stoppable, Destroyable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WriteBehindRegistrationUpdater.class);
+
+    private final RegistrationStore store;
+    private final ConcurrentMap<String /* registration id */, PendingUpdate> pendingUpdates = new ConcurrentHashMap<>();
+
+    /**
+     * Maximum number of updates written in one call to {@link RegistrationStore#updateRegistrations(List)}.
+     */
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private final ScheduledExecutorService schedExecutor;
+    private ScheduledFuture<?> flushTask;
+    private volatile boolean started = false;
+    // only one flush at a time, as a flush holds the lock of several registrations
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final long flushPeriod; // in ms
+
+    private final AtomicLong deferredCount = new AtomicLong();
+    private final AtomicLong writeCount = new AtomicLong();
+
+    public WriteBehindRegistrationUpdater(RegistrationStore store, long flushPeriodInMs) {
+        this(store,
+                Executors.newScheduledThreadPool(1,
+                        new NamedThreadFactory(
+                                String.format("WriteBehindRegistrationUpdater Flusher (%dms)", flushPeriodInMs))),
+                flushPeriodInMs);
+    }
+
+    /**
+     * @param store the store to update.
+     * @param schedExecutor executor used to regularly write pending updates to the store.
+     * @param flushPeriodInMs period between 2 writes of pending updates.
+     */
+    public WriteBehindRegistrationUpdater(RegistrationStore store, ScheduledExecutorService schedExecutor,
+            long flushPeriodInMs) {
+        Validate.notNull(store, "store cannot be null");
+        Validate.isTrue(flushPeriodInMs > 0, "flushPeriodInMs must be strictly positive");
+        this.store = store;
+        this.schedExecutor = schedExecutor;
+        this.flushPeriod = flushPeriodInMs;
+    }
+
+    /**
+     * Updates the last update time and the peer of the given registration.
+     * <p>
+     * If the peer did not change and the updater is started, the update is deferred and the returned registration is
+     * only an in memory copy with a new last update time.
+     *
+     * @param registration the current registration.
+     * @param sender the peer which just sent a message for this registration.
+     * @return the updated registration or <code>null</code> if the update was written immediately and the registration
+     *         does not exist anymore in the store.
+     */
+    public Registration update(Registration registration, LwM2mPeer sender) {
+        String registrationId = registration.getId();
+        PendingUpdate pendingUpdate = lock(registrationId);
+        try {
+            if (!started || !sender.equals(registration.getClientTransportData())) {
+                // updater is stopped or peer changed, write it now and discard pending update with previous peer.
+                pendingUpdate.sender = null;
+                return write(registrationId, sender);
+            }
+
+            pendingUpdate.sender = sender;
+            deferredCount.incrementAndGet();
+            return new Registration.Builder(registration).lastUpdate(new Date()).build();
+        } finally {
+            unlock(registrationId, pendingUpdate);
+        }
+    }
+
+    /**
+     * Writes all pending updates to the store.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<String> registrationIds = new ArrayList<>();
+            List<PendingUpdate> lockedUpdates = new ArrayList<>();
+            List<RegistrationUpdate> updates = new ArrayList<>();
+            for (String registrationId : new ArrayList<>(pendingUpdates.keySet())) {
+                PendingUpdate pendingUpdate = pendingUpdates.get(registrationId);
+                if (pendingUpdate == null) {
+                    continue;
+                }
+                // keep the lock until the batch is written, so a concurrent peer change is written after it.
+                pendingUpdate.lock.lock();
+                if (pendingUpdate.sender == null) {
+                    unlock(registrationId, pendingUpdate);
+                    continue;
+                }
+                registrationIds.add(registrationId);
+                lockedUpdates.add(pendingUpdate);
+                updates.add(newUpdate(registrationId, pendingUpdate.sender));
+                pendingUpdate.sender = null;
+
+                if (updates.size() == MAX_BATCH_SIZE) {
+                    write(registrationIds, lockedUpdates, updates);
+                }
+            }
+            if (!updates.isEmpty()) {
+                write(registrationIds, lockedUpdates, updates);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes a batch of updates then releases the locks of their registrations and clears the given lists.
+     */
+    private void write(List<String> registrationIds, List<PendingUpdate> lockedUpdates,
+            List<RegistrationUpdate> updates) {
+        try {
+            writeCount.addAndGet(updates.size());
+            store.updateRegistrations(updates);
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to update registrations {}", registrationIds, e);
+        } finally {
+            for (int i = 0; i < registrationIds.size(); i++) {
+                unlock(registrationIds.get(i), lockedUpdates.get(i));
+            }
+            registrationIds.clear();
+            lockedUpdates.clear();
+            updates.clear();
+        }
+    }
+
+    /**
+     * Acquires the lock of the given registration, creating its {@link PendingUpdate} if needed.
+     */
+    private PendingUpdate lock(String registrationId) {
+        while (true) {
+            PendingUpdate pendingUpdate = pendingUpdates.computeIfAbsent(registrationId, id -> new PendingUpdate());
+            pendingUpdate.lock.lock();
+            if (!pendingUpdate.discarded) {
+                return pendingUpdate;
+            }
+            // removed from the map by a concurrent unlock, try again with a new one
+            pendingUpdate.lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the lock of the given registration, removing its {@link PendingUpdate} if there is nothing left to
+     * write.
+     */
+    private void unlock(String registrationId, PendingUpdate pendingUpdate) {
+        try {
+            if (pendingUpdate.sender == null && !pendingUpdate.discarded) {
+                pendingUpdate.discarded = true;
+                pendingUpdates.remove(registrationId, pendingUpdate);
+            }
+        } finally {
+            pendingUpdate.lock.unlock();
+        }
+    }
+
+    private Registration write(String registrationId, LwM2mPeer sender) {
+        writeCount.incrementAndGet();
+        UpdatedRegistration updatedRegistration = store.updateRegistration(newUpdate(registrationId, sender));
+        if (updatedRegistration == null) {
+            return null;
+        }
+        return updatedRegistration.getUpdatedRegistration();
+    }
+
+    private RegistrationUpdate newUpdate(String registrationId, LwM2mPeer sender) {
+        return new RegistrationUpdate(registrationId, sender, null, null, null, null, null, null, null, null, null,
+                null);
+    }
+
+    /**
+     * @return the number of registrations with a pending update.
+     */
+    public int getPendingCount() {
+        return pendingUpdates.size();
+    }
+
+    /**
+     * @return the number of updates which were deferred.
+     */
+    public long getDeferredCount() {
+        return deferredCount.get();
+    }
+
+    /**
+     * @return the number of updates written to the store.
+     */
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    /**
+     * Start regular writes of pending updates.
+     */
+    @Override
+    public synchronized void start() {
+        if (!started) {
+            started = true;
+            flushTask = schedExecutor.scheduleAtFixedRate(this::flush, flushPeriod, flushPeriod, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stop regular writes and write pending updates. Next updates are written immediately until the updater is started
+     * again.
+     */
+    @Override
+    public synchronized void stop() {
+        if (started) {
+            started = false;
+            if (flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Write pending updates and destroy the scheduler. Next updates are written immediately.
+     */
+    @Override
+    public synchronized void destroy() {
+        started = false;
+        schedExecutor.shutdownNow();
+        try {
+            schedExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            LOG.warn("Destroying WriteBehindRegistrationUpdater was interrupted.", e);
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Last peer seen for a registration, not yet written to the store. All fields are guarded by {@link #lock}.
+     */
+    private static class PendingUpdate {
+        private final ReentrantLock lock = new ReentrantLock();
+        private LwM2mPeer sender;
+        /** <code>true</code> once removed from {@link WriteBehindRegistrationUpdater#pendingUpdates}. */
+        private boolean discarded;
+    }
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.leshan.core.LwM2m.Version;
+import org.eclipse.leshan.core.endpoint.EndpointUri;
+import org.eclipse.leshan.core.model.LwM2mModel;
+import org.eclipse.leshan.core.model.LwM2mModelRepository;
+import org.eclipse.leshan.core.model.ObjectLoader;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.server.registration.Registration;
+import org.junit.jupiter.api.Test;
+
+public class CachingVersionedModelProviderTest {
+
+    private final LwM2mModelRepository repository = new LwM2mModelRepository(ObjectLoader.loadAllDefault());
+    private final CachingVersionedModelProvider provider = new CachingVersionedModelProvider(repository);
+
+    @Test
+    public void get_same_models_than_versioned_model_provider() {
+        Registration registration = givenRegistration(supportedObjects("1.1", "1.2"));
+
+        LwM2mModel expected = new VersionedModelProvider(repository).getObjectModel(registration);
+        LwM2mModel model = provider.getObjectModel(registration);
+
+        for (int objectId : new int[] { 1, 3, 5, 3303, 6, 42, -1 }) {
+            assertSame(expected.getObjectModel(objectId), model.getObjectModel(objectId));
+        }
+        assertSame(expected.getResourceModel(3, 0), model.getResourceModel(3, 0));
+        assertNull(model.getResourceModel(42, 0));
+        assertEquals(new ArrayList<>(expected.getObjectModels()).size(), model.getObjectModels().size());
+        assertEquals("1.2", model.getObjectModel(3).version);
+    }
+
+    @Test
+    public void share_model_between_registrations_with_same_supported_objects() {
+        // same map instance
+        Map<Integer, Version> supportedObjects = supportedObjects("1.1", "1.2");
+        LwM2mModel model = provider.getObjectModel(givenRegistration(supportedObjects));
+        assertSame(model, provider.getObjectModel(givenRegistration(supportedObjects)));
+
+        // equal map
+        assertSame(model, provider.getObjectModel(givenRegistration(supportedObjects("1.1", "1.2"))));
+
+        // different versions
+        LwM2mModel otherModel = provider.getObjectModel(givenRegistration(supportedObjects("1.1", "1.1")));
+        assertNotSame(model, otherModel);
+        assertEquals("1.1", otherModel.getObjectModel(3).version);
+        assertEquals(2, provider.size());
+    }
+
+    @Test
+    public void keep_most_recently_used_models() {
+        CachingVersionedModelProvider smallProvider = new CachingVersionedModelProvider(repository, 2);
+        List<LwM2mModel> models = new ArrayList<>();
+        for (String version : new String[] { "1.0", "1.1", "1.2" }) {
+            models.add(smallProvider.getObjectModel(givenRegistration(supportedObjects("1.1", version))));
+        }
+        assertEquals(2, smallProvider.size());
+        assertSame(models.get(2), smallProvider.getObjectModel(givenRegistration(supportedObjects("1.1", "1.2"))));
+    }
+
+    private Map<Integer, Version> supportedObjects(String serverVersion, String deviceVersion) {
+        Map<Integer, Version> supportedObjects = new HashMap<>();
+        supportedObjects.put(1, new Version(serverVersion));
+        supportedObjects.put(3, new Version(deviceVersion));
+        supportedObjects.put(5, Version.V1_0);
+        supportedObjects.put(3303, new Version("1.1"));
+        supportedObjects.put(42, Version.V1_0);
+        return supportedObjects;
+    }
+
+    private Registration givenRegistration(Map<Integer, Version> supportedObjects) {
+        return new Registration.Builder("id", "endpoint", new IpPeer(new InetSocketAddress(5683)),
+                new EndpointUri("coap", "localhost", 5683)).supportedObjects(supportedObjects).build();
+    }
+}
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.observation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.server.observation.NotificationDispatcher.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+
+public class NotificationDispatcherTest {
+
+    private final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void tasks_of_an_endpoint_are_executed_in_order() {
+        ManualExecutor executor = new ManualExecutor();
+        NotificationDispatcher dispatcher = new NotificationDispatcher(executor, 10, OverflowPolicy.DROP_OLDEST);
+
+        dispatcher.dispatch("ep1", "obs1", record("1"));
+        dispatcher.dispatch("ep1", "obs1", record("2"));
+        dispatcher.dispatch("ep2", "obs2", record("3"));
+        dispatcher.dispatch("ep1", "obs1", record("4"));
+
+        // one drain task by endpoint
+        assertEquals(2, executor.size());
+        assertEquals(4, dispatcher.getQueueDepth());
+        assertEquals(3, dispatcher.getQueueDepth("ep1"));
+
+        executor.runAll();
+        assertEquals(Arrays.asList("1", "2", "4", "3"), executed);
+        assertEquals(0, dispatcher.getQueueDepth());
+        assertEquals(0, dispatcher.getDroppedCount());
+
+        // queue is scheduled again for new tasks
+        dispatcher.dispatch("ep1", "obs1", record("5"));
+        executor.runAll();
+        assertEquals(Arrays.asList("1", "2", "4", "3", "5"), executed);
+    }
+
+    @Test
+    public void drop_oldest_task_when_queue_is_full() {
+        ManualExecutor executor = new ManualExecutor();
+        NotificationDispatcher dispatcher = new NotificationDispatcher(executor, 2, OverflowPolicy.DROP_OLDEST);
+
+        dispatcher.dispatch("ep1", "obs1", record("1"));
+        dispatcher.dispatch("ep1", "obs1", record("2"));
+        dispatcher.dispatch("ep1", "obs1", record("3"));
+
+        assertEquals(2, dispatcher.getQueueDepth("ep1"));
+        assertEquals(1, dispatcher.getDroppedCount());
+
+        executor.runAll();
+        assertEquals(Arrays.asList("2", "3"), executed);
+    }
+
+    @Test
+    public void coalesce_latest_task_by_observation() {
+        ManualExecutor executor = new ManualExecutor();
+        NotificationDispatcher dispatcher = new NotificationDispatcher(executor, 2, OverflowPolicy.COALESCE);
+
+        dispatcher.dispatch("ep1", "obs1", record("1"));
+        dispatcher.dispatch("ep1", "obs2", record("2"));
+        dispatcher.dispatch("ep1", "obs1", record("3"));
+        dispatcher.dispatch("ep1", null, record("error"));
+
+        assertEquals(2, dispatcher.getQueueDepth("ep1"));
+        assertEquals(1, dispatcher.getCoalescedCount());
+        // queue full of not coalescable task : oldest is dropped
+        assertEquals(1, dispatcher.getDroppedCount());
+
+        executor.runAll();
+        assertEquals(Arrays.asList("2", "error"), executed);
+    }
+
+    @Test
+    public void block_until_there_is_room_in_queue() throws InterruptedException {
+        ManualExecutor executor = new ManualExecutor();
+        NotificationDispatcher dispatcher = new NotificationDispatcher(executor, 1, OverflowPolicy.BLOCK);
+        dispatcher.dispatch("ep1", "obs1", record("1"));
+
+        CountDownLatch dispatched = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            dispatcher.dispatch("ep1", "obs1", record("2"));
+            dispatched.countDown();
+        });
+        producer.start();
+        assertFalse(dispatched.await(200, TimeUnit.MILLISECONDS));
+
+        executor.runAll();
+        assertTrue(dispatched.await(1, TimeUnit.SECONDS));
+        executor.runAll();
+
+        assertEquals(Arrays.asList("1", "2"), executed);
+        assertEquals(0, dispatcher.getDroppedCount());
+    }
+
+    @Test
+    public void slow_endpoint_does_not_block_others() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        NotificationDispatcher dispatcher = new NotificationDispatcher(executor, 10, OverflowPolicy.DROP_OLDEST);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch fastDone = new CountDownLatch(1);
+            dispatcher.dispatch("slow", null, () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            dispatcher.dispatch("fast", null, fastDone::countDown);
+
+            assertTrue(fastDone.await(1, TimeUnit.SECONDS));
+            release.countDown();
+        } finally {
+            dispatcher.destroy();
+        }
+        assertTrue(executor.isShutdown());
+    }
+
+    @Test
+    public void drain_waits_for_queued_and_running_tasks() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        NotificationDispatcher dispatcher = new NotificationDispatcher(executor, 10, OverflowPolicy.DROP_OLDEST);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            dispatcher.dispatch("ep1", null, () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            dispatcher.dispatch("ep1", null, record("1"));
+            dispatcher.dispatch("ep2", null, record("2"));
+
+            assertFalse(dispatcher.drain(100, TimeUnit.MILLISECONDS));
+            release.countDown();
+            assertTrue(dispatcher.drain(1, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("1", "2"), executed);
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    private Runnable record(String value) {
+        return () -> executed.add(value);
+    }
+
+    private static class ManualExecutor implements Executor {
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public synchronized void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        public synchronized int size() {
+            return tasks.size();
+        }
+
+        public void runAll() {
+            Runnable task;
+            while ((task = poll()) != null) {
+                task.run();
+            }
+        }
+
+        private synchronized Runnable poll() {
+            return tasks.poll();
+        }
+    }
+}
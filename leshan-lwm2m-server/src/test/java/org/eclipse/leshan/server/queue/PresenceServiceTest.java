@@ -16,6 +16,7 @@
 package org.eclipse.leshan.server.queue;
 
 import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -24,10 +25,15 @@ import java.net.Inet4Address;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.EnumSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.leshan.core.peer.IpPeer;
 import org.eclipse.leshan.core.request.BindingMode;
 import org.eclipse.leshan.server.registration.Registration;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -39,6 +45,11 @@ public class PresenceServiceTest {
     private final ClientAwakeTimeProvider awakeTimeProvider = new StaticClientAwakeTimeProvider();
     private final PresenceServiceImpl presenceService = new PresenceServiceImpl(awakeTimeProvider);
 
+    @AfterEach
+    public void tearDown() {
+        presenceService.destroy();
+    }
+
     @Test
     public void testSetOnlineForNonQueueMode() throws Exception {
         Registration registration = givenASimpleClient();
@@ -66,6 +77,124 @@ public class PresenceServiceTest {
         assertFalse(presenceService.isClientAwake(queueModeRegistration));
     }
 
+    @Test
+    public void client_goes_to_sleep_when_awake_time_expires() throws Exception {
+        PresenceServiceImpl presenceService = new PresenceServiceImpl(new StaticClientAwakeTimeProvider(200), 10, 8);
+        try {
+            CountDownLatch sleeping = new CountDownLatch(2);
+            presenceService.addListener(new PresenceListener() {
+                @Override
+                public void onAwake(Registration registration) {
+                }
+
+                @Override
+                public void onSleeping(Registration registration) {
+                    sleeping.countDown();
+                }
+            });
+
+            // awake time is longer than one round of the wheel
+            Registration first = givenAQueueModeClient("first");
+            Registration second = givenAQueueModeClient("second");
+            presenceService.setAwake(first);
+            presenceService.setAwake(second);
+            assertEquals(2, presenceService.getAwakeClientCount());
+            assertEquals(0, presenceService.getSleepingClientCount());
+
+            assertTrue(sleeping.await(2, TimeUnit.SECONDS));
+            assertFalse(presenceService.isClientAwake(first));
+            assertFalse(presenceService.isClientAwake(second));
+            assertEquals(0, presenceService.getAwakeClientCount());
+            assertEquals(2, presenceService.getSleepingClientCount());
+
+            // stop tracking
+            presenceService.stopPresenceTracking(first);
+            assertEquals(1, presenceService.getSleepingClientCount());
+        } finally {
+            presenceService.destroy();
+        }
+    }
+
+    @Test
+    public void setAwake_resets_awake_timer() throws Exception {
+        PresenceServiceImpl presenceService = new PresenceServiceImpl(new StaticClientAwakeTimeProvider(300), 10, 64);
+        try {
+            CountDownLatch sleeping = new CountDownLatch(1);
+            presenceService.addListener(new PresenceListener() {
+                @Override
+                public void onAwake(Registration registration) {
+                }
+
+                @Override
+                public void onSleeping(Registration registration) {
+                    sleeping.countDown();
+                }
+            });
+
+            Registration reg = givenAQueueModeClient("client");
+            long start = System.nanoTime();
+            presenceService.setAwake(reg);
+            Thread.sleep(200);
+            presenceService.setAwake(reg);
+
+            assertTrue(sleeping.await(2, TimeUnit.SECONDS));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 500);
+            assertEquals(0, presenceService.getAwakeClientCount());
+            assertEquals(1, presenceService.getSleepingClientCount());
+
+            // wake up again
+            presenceService.setAwake(reg);
+            assertTrue(presenceService.isClientAwake(reg));
+            assertEquals(1, presenceService.getAwakeClientCount());
+            assertEquals(0, presenceService.getSleepingClientCount());
+        } finally {
+            presenceService.destroy();
+        }
+    }
+
+    @Test
+    public void client_rescheduled_exactly_one_round_later_goes_to_sleep_on_time() {
+        // manual clock and ticks, with 1h ticks so scheduled ticks never run during the test
+        long hour = TimeUnit.HOURS.toNanos(1);
+        AtomicLong clock = new AtomicLong();
+        AtomicInteger awakeTime = new AtomicInteger();
+        PresenceServiceImpl presenceService = new PresenceServiceImpl(reg -> awakeTime.get(),
+                TimeUnit.HOURS.toMillis(1), 4, clock::get);
+        try {
+            Registration reg = givenAQueueModeClient("client");
+
+            // deadline at 2.5h : slot of tick 2
+            awakeTime.set((int) TimeUnit.MINUTES.toMillis(150));
+            presenceService.setAwake(reg);
+            presenceService.tick();
+
+            // at 1h, deadline is moved to 6.5h : tick 6, exactly one round after tick 2
+            clock.set(hour);
+            awakeTime.set((int) TimeUnit.MINUTES.toMillis(330));
+            presenceService.setAwake(reg);
+            presenceService.tick();
+
+            // tick 2 is processed, client is moved to tick 6
+            clock.set(3 * hour);
+            presenceService.tick();
+            assertTrue(presenceService.isClientAwake(reg));
+
+            // client must go to sleep when tick 6 is processed, not one round later
+            clock.set(7 * hour);
+            presenceService.tick();
+            assertFalse(presenceService.isClientAwake(reg));
+        } finally {
+            presenceService.destroy();
+        }
+    }
+
+    private Registration givenAQueueModeClient(String endpoint) {
+        return new Registration.Builder(endpoint + "ID", endpoint,
+                new IpPeer(new InetSocketAddress(Inet4Address.getLoopbackAddress(), 12354)),
+                uriHandler.createUri("coap://localhost:5683")).bindingMode(EnumSet.of(BindingMode.U, BindingMode.Q))
+                        .build();
+    }
+
     private Registration givenASimpleClient() throws UnknownHostException {
         Registration.Builder builder = new Registration.Builder("ID", "urn:client",
                 new IpPeer(new InetSocketAddress(Inet4Address.getLoopbackAddress(), 12354)),
@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.queue;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.Inet4Address;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.eclipse.leshan.core.node.LwM2mSingleResource;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.eclipse.leshan.core.request.DownlinkDeviceManagementRequest;
+import org.eclipse.leshan.core.request.ReadRequest;
+import org.eclipse.leshan.core.request.WriteRequest;
+import org.eclipse.leshan.core.request.exception.ClientSleepingException;
+import org.eclipse.leshan.core.request.exception.RequestCanceledException;
+import org.eclipse.leshan.core.request.exception.TimeoutException;
+import org.eclipse.leshan.core.response.ErrorCallback;
+import org.eclipse.leshan.core.response.LwM2mResponse;
+import org.eclipse.leshan.core.response.ObserveResponse;
+import org.eclipse.leshan.core.response.ReadResponse;
+import org.eclipse.leshan.core.response.ResponseCallback;
+import org.eclipse.leshan.core.response.WriteResponse;
+import org.eclipse.leshan.server.registration.Registration;
+import org.eclipse.leshan.server.request.DownlinkRequestSender;
+import org.eclipse.leshan.server.request.LowerLayerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class QueueModeLwM2mRequestSenderTest {
+
+    private PresenceServiceImpl presenceService;
+    private RecordingSender delegatedSender;
+    private InMemoryDownlinkRequestQueue queue;
+    private QueueModeLwM2mRequestSender sender;
+    private Registration registration;
+
+    private final List<LwM2mResponse> responses = new ArrayList<>();
+    private final List<Exception> errors = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        presenceService = new PresenceServiceImpl(new StaticClientAwakeTimeProvider());
+        delegatedSender = new RecordingSender();
+        queue = new InMemoryDownlinkRequestQueue(2);
+        sender = new QueueModeLwM2mRequestSender(presenceService, delegatedSender, queue);
+        registration = new Registration.Builder("ID", "urn:client",
+                new IpPeer(new InetSocketAddress(Inet4Address.getLoopbackAddress(), 12354)),
+                uriHandler.createUri("coap://localhost:5683")).bindingMode(EnumSet.of(BindingMode.U, BindingMode.Q))
+                        .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        queue.destroy();
+        presenceService.destroy();
+    }
+
+    @Test
+    public void request_to_sleeping_client_is_sent_when_client_wakes_up() {
+        givenSleepingClient();
+
+        sender.send(registration, new ReadRequest(3, 0, 1), null, 60000, this::onResponse, this::onError);
+        assertTrue(delegatedSender.sent.isEmpty());
+        assertEquals(1, queue.size(registration.getEndpoint()));
+
+        presenceService.setAwake(registration);
+        sender.sendQueuedRequests(registration);
+
+        assertEquals(1, delegatedSender.sent.size());
+        assertEquals(0, queue.size(registration.getEndpoint()));
+        assertEquals(1, responses.size());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void request_to_sleeping_client_is_sent_on_notification() {
+        givenSleepingClient();
+        QueuedRequestsDispatcher dispatcher = new QueuedRequestsDispatcher(sender, presenceService);
+
+        sender.send(registration, new ReadRequest(3, 0, 1), null, 60000, this::onResponse, this::onError);
+        assertEquals(1, queue.size(registration.getEndpoint()));
+
+        // registration is not updated on notification, so only the dispatcher sets the client awake
+        dispatcher.onResponse((SingleObservation) null, registration,
+                ObserveResponse.success(LwM2mSingleResource.newStringResource(1, "value")));
+
+        assertEquals(1, delegatedSender.sent.size());
+        assertEquals(0, queue.size(registration.getEndpoint()));
+        assertEquals(1, responses.size());
+    }
+
+    @Test
+    public void duplicate_reads_are_sent_once() {
+        givenSleepingClient();
+
+        sender.send(registration, new ReadRequest(3, 0, 1), null, 60000, this::onResponse, this::onError);
+        sender.send(registration, new ReadRequest(3, 0, 1), null, 60000, this::onResponse, this::onError);
+        assertEquals(1, queue.size(registration.getEndpoint()));
+
+        presenceService.setAwake(registration);
+        sender.sendQueuedRequests(registration);
+
+        assertEquals(1, delegatedSender.sent.size());
+        assertEquals(2, responses.size());
+    }
+
+    @Test
+    public void merged_read_keeps_timeout_of_each_caller() throws InterruptedException {
+        givenSleepingClient();
+        List<Exception> firstErrors = new ArrayList<>();
+        List<LwM2mResponse> firstResponses = new ArrayList<>();
+
+        sender.send(registration, new ReadRequest(3, 0, 1), null, 20, firstResponses::add, firstErrors::add);
+        sender.send(registration, new ReadRequest(3, 0, 1), null, 60000, this::onResponse, this::onError);
+        assertEquals(1, queue.size(registration.getEndpoint()));
+        Thread.sleep(40);
+
+        presenceService.setAwake(registration);
+        sender.sendQueuedRequests(registration);
+
+        // first caller expired at its own deadline, second one gets the response
+        assertEquals(1, firstErrors.size());
+        assertInstanceOf(TimeoutException.class, firstErrors.get(0));
+        assertTrue(firstResponses.isEmpty());
+        assertEquals(1, delegatedSender.sent.size());
+        assertEquals(1, responses.size());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void merged_read_is_sent_with_first_deadline_then_queued_again_for_others() throws InterruptedException {
+        givenSleepingClient();
+        List<Exception> firstErrors = new ArrayList<>();
+
+        sender.send(registration, new ReadRequest(3, 0, 1), null, 100, this::onResponse, firstErrors::add);
+        sender.send(registration, new ReadRequest(3, 0, 1), null, 60000, this::onResponse, this::onError);
+
+        delegatedSender.respond = false;
+        presenceService.setAwake(registration);
+        sender.sendQueuedRequests(registration);
+        assertEquals(1, delegatedSender.sent.size());
+        assertTrue(delegatedSender.timeouts.get(0) <= 100);
+
+        // first caller timeout fires : only first caller fails, request is queued again for the second one
+        Thread.sleep(120);
+        delegatedSender.errorCallbacks.get(0)
+                .onError(new TimeoutException(TimeoutException.Type.RESPONSE_TIMEOUT, "timeout"));
+        assertEquals(1, firstErrors.size());
+        assertTrue(errors.isEmpty());
+        assertEquals(1, queue.size(registration.getEndpoint()));
+
+        delegatedSender.respond = true;
+        presenceService.setAwake(registration);
+        sender.sendQueuedRequests(registration);
+        assertEquals(2, delegatedSender.sent.size());
+        assertEquals(1, responses.size());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void write_replaces_previous_write_on_same_path() {
+        givenSleepingClient();
+
+        sender.send(registration, new WriteRequest(3, 0, 14, "+01"), null, 60000, this::onResponse, this::onError);
+        sender.send(registration, new WriteRequest(3, 0, 14, "+02"), null, 60000, this::onResponse, this::onError);
+
+        assertEquals(1, queue.size(registration.getEndpoint()));
+        assertEquals(1, errors.size());
+        assertInstanceOf(RequestCanceledException.class, errors.get(0));
+    }
+
+    @Test
+    public void request_is_rejected_when_queue_is_full() {
+        givenSleepingClient();
+
+        sender.send(registration, new ReadRequest(3, 0, 1), null, 60000, this::onResponse, this::onError);
+        sender.send(registration, new ReadRequest(3, 0, 2), null, 60000, this::onResponse, this::onError);
+
+        assertThrows(ClientSleepingException.class, () -> sender.send(registration, new ReadRequest(3, 0, 3), null,
+                60000, this::onResponse, this::onError));
+    }
+
+    @Test
+    public void expired_request_is_not_sent() throws InterruptedException {
+        givenSleepingClient();
+
+        sender.send(registration, new ReadRequest(3, 0, 1), null, 1, this::onResponse, this::onError);
+        Thread.sleep(10);
+
+        presenceService.setAwake(registration);
+        sender.sendQueuedRequests(registration);
+
+        assertTrue(delegatedSender.sent.isEmpty());
+        assertEquals(1, errors.size());
+        assertInstanceOf(TimeoutException.class, errors.get(0));
+    }
+
+    @Test
+    public void queued_requests_are_canceled_on_deregistration() {
+        givenSleepingClient();
+
+        sender.send(registration, new ReadRequest(3, 0, 1), null, 60000, this::onResponse, this::onError);
+        sender.cancelQueuedRequests(registration);
+
+        assertEquals(0, queue.size(registration.getEndpoint()));
+        assertEquals(1, errors.size());
+        assertInstanceOf(RequestCanceledException.class, errors.get(0));
+    }
+
+    private void givenSleepingClient() {
+        presenceService.setAwake(registration);
+        presenceService.setSleeping(registration);
+    }
+
+    private void onResponse(LwM2mResponse response) {
+        responses.add(response);
+    }
+
+    private void onError(Exception e) {
+        errors.add(e);
+    }
+
+    private static class RecordingSender implements DownlinkRequestSender {
+        private final List<DownlinkDeviceManagementRequest<?>> sent = new ArrayList<>();
+        private final List<Long> timeouts = new ArrayList<>();
+        private final List<ErrorCallback> errorCallbacks = new ArrayList<>();
+        private boolean respond = true;
+
+        @Override
+        public <T extends LwM2mResponse> T send(Registration destination, DownlinkDeviceManagementRequest<T> request,
+                LowerLayerConfig lowerLayerConfig, long timeoutInMs) throws InterruptedException {
+            throw new UnsupportedOperationException();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T extends LwM2mResponse> void send(Registration destination, DownlinkDeviceManagementRequest<T> request,
+                LowerLayerConfig lowerLayerConfig, long timeoutInMs, ResponseCallback<T> responseCallback,
+                ErrorCallback errorCallback) {
+            sent.add(request);
+            timeouts.add(timeoutInMs);
+            errorCallbacks.add(errorCallback);
+            if (!respond) {
+                return;
+            }
+            if (request instanceof ReadRequest) {
+                responseCallback.onResponse((T) ReadResponse.success(1, "value"));
+            } else {
+                responseCallback.onResponse((T) WriteResponse.success());
+            }
+        }
+
+        @Override
+        public void cancelOngoingRequests(Registration registration) {
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
+import org.eclipse.leshan.core.endpoint.EndpointUri;
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.link.LinkParseException;
+import org.eclipse.leshan.core.link.lwm2m.CachingLwM2mLinkParser;
+import org.eclipse.leshan.core.link.lwm2m.DefaultLwM2mLinkParser;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.server.registration.RegistrationDataExtractor.RegistrationData;
+import org.junit.jupiter.api.Test;
+
+public class CachingRegistrationDataExtractorTest {
+
+    private static final String OBJECT_LINKS = "</>;rt=\"oma.lwm2m\";ct=11543,</1>;ver=1.1,</1/0>,</3>;ver=1.1,</3/0>,</3303/0>,</3303/1>";
+
+    private final CachingRegistrationDataExtractor extractor = new CachingRegistrationDataExtractor();
+
+    @Test
+    public void share_registration_data_for_same_object_links() throws LinkParseException {
+        // parse same payload twice with a caching parser
+        CachingLwM2mLinkParser parser = new CachingLwM2mLinkParser(new DefaultLwM2mLinkParser(), 16);
+        Link[] links1 = parser.parseCoreLinkFormat(OBJECT_LINKS.getBytes(StandardCharsets.UTF_8));
+        Link[] links2 = parser.parseCoreLinkFormat(OBJECT_LINKS.getBytes(StandardCharsets.UTF_8));
+        // each parse gets its own array of shared links
+        assertNotSame(links1, links2);
+        assertSame(links1[0], links2[0]);
+
+        RegistrationData data1 = extractor.extractDataFromObjectLinks(links1, LwM2mVersion.V1_1);
+        RegistrationData data2 = extractor.extractDataFromObjectLinks(links2, LwM2mVersion.V1_1);
+
+        // check data are the same than default extractor
+        RegistrationData expected = new DefaultRegistrationDataExtractor().extractDataFromObjectLinks(links1,
+                LwM2mVersion.V1_1);
+        assertEquals(expected.getAlternatePath(), data1.getAlternatePath());
+        assertEquals(expected.getSupportedContentFormats(), data1.getSupportedContentFormats());
+        assertEquals(expected.getSupportedObjects(), data1.getSupportedObjects());
+        assertEquals(expected.getAvailableInstances(), data1.getAvailableInstances());
+
+        // check collections are shared but not RegistrationData
+        assertNotSame(data1, data2);
+        assertSame(data1.getSupportedContentFormats(), data2.getSupportedContentFormats());
+        assertSame(data1.getSupportedObjects(), data2.getSupportedObjects());
+        assertSame(data1.getAvailableInstances(), data2.getAvailableInstances());
+        assertThrows(UnsupportedOperationException.class, () -> data1.getSupportedObjects().clear());
+        assertEquals(1, extractor.size());
+    }
+
+    @Test
+    public void share_registration_data_for_equal_object_links() throws LinkParseException {
+        DefaultLwM2mLinkParser parser = new DefaultLwM2mLinkParser();
+        Link[] links1 = parser.parseCoreLinkFormat(OBJECT_LINKS.getBytes(StandardCharsets.UTF_8));
+        Link[] links2 = parser.parseCoreLinkFormat(OBJECT_LINKS.getBytes(StandardCharsets.UTF_8));
+
+        RegistrationData data1 = extractor.extractDataFromObjectLinks(links1, LwM2mVersion.V1_1);
+        RegistrationData data2 = extractor.extractDataFromObjectLinks(links2, LwM2mVersion.V1_1);
+        assertSame(data1.getAvailableInstances(), data2.getAvailableInstances());
+
+        // LWM2M version is part of the key (mandatory content format depends on it)
+        RegistrationData data3 = extractor.extractDataFromObjectLinks(links1, LwM2mVersion.V1_0);
+        assertNotSame(data1.getSupportedContentFormats(), data3.getSupportedContentFormats());
+        assertEquals(2, extractor.size());
+    }
+
+    @Test
+    public void do_not_cache_unsupported_version() throws LinkParseException {
+        Link[] links = new DefaultLwM2mLinkParser().parseCoreLinkFormat(OBJECT_LINKS.getBytes(StandardCharsets.UTF_8));
+
+        assertNull(extractor.extractDataFromObjectLinks(links, LwM2mVersion.get("2.0")));
+        assertEquals(0, extractor.size());
+    }
+
+    @Test
+    public void registration_keeps_shared_collections() throws LinkParseException {
+        Link[] links = new DefaultLwM2mLinkParser().parseCoreLinkFormat(OBJECT_LINKS.getBytes(StandardCharsets.UTF_8));
+        RegistrationData data = extractor.extractDataFromObjectLinks(links, LwM2mVersion.V1_1);
+
+        Registration registration = new Registration.Builder("id", "endpoint", new IpPeer(new InetSocketAddress(5683)),
+                new EndpointUri("coap", "localhost", 5683)) //
+                        .objectLinks(links) //
+                        .supportedContentFormats(data.getSupportedContentFormats()) //
+                        .supportedObjects(data.getSupportedObjects()) //
+                        .availableInstances(data.getAvailableInstances()) //
+                        .build();
+
+        assertSame(data.getSupportedContentFormats(), registration.getSupportedContentFormats());
+        assertSame(data.getSupportedObjects(), registration.getSupportedObject());
+        assertSame(data.getAvailableInstances(), registration.getAvailableInstances());
+    }
+}
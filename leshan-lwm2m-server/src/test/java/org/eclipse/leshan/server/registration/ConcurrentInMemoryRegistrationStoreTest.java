@@ -0,0 +1,328 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.node.LwM2mPath;
+import org.eclipse.leshan.core.observation.Observation;
+import org.eclipse.leshan.core.observation.ObservationIdentifier;
+import org.eclipse.leshan.core.observation.SingleObservation;
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.BindingMode;
+import org.eclipse.leshan.core.request.ContentFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ConcurrentInMemoryRegistrationStoreTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrentInMemoryRegistrationStoreTest.class);
+
+    private final String ep = "urn:endpoint";
+    private final int port = 23452;
+    private final Long lifetime = 10000L;
+    private final String sms = "0171-32423545";
+    private final EnumSet<BindingMode> binding = EnumSet.of(BindingMode.U, BindingMode.Q, BindingMode.S);
+    private final Link[] objectLinks = new Link[] { new Link("/3") };
+    private final String registrationId = "4711";
+
+    ConcurrentInMemoryRegistrationStore store;
+    InetAddress address;
+    Registration registration;
+
+    @BeforeEach
+    public void setUp() throws UnknownHostException {
+        address = InetAddress.getLocalHost();
+        store = new ConcurrentInMemoryRegistrationStore();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.destroy();
+    }
+
+    @Test
+    public void update_registration_keeps_properties_unchanged() {
+        givenASimpleRegistration(lifetime);
+        store.addRegistration(registration);
+
+        RegistrationUpdate update = new RegistrationUpdate(registrationId,
+                new IpPeer(new InetSocketAddress(address, port)), null, null, null, null, null, null, null, null, null,
+                null);
+        UpdatedRegistration updatedRegistration = store.updateRegistration(update);
+        assertEquals(lifetime, updatedRegistration.getUpdatedRegistration().getLifeTimeInSec());
+        assertSame(binding, updatedRegistration.getUpdatedRegistration().getBindingMode());
+        assertEquals(sms, updatedRegistration.getUpdatedRegistration().getSmsNumber());
+
+        assertEquals(registration, updatedRegistration.getPreviousRegistration());
+
+        Registration reg = store.getRegistrationByEndpoint(ep);
+        assertEquals(lifetime, reg.getLifeTimeInSec());
+        assertSame(binding, reg.getBindingMode());
+        assertEquals(sms, reg.getSmsNumber());
+    }
+
+    @Test
+    public void update_registration_to_extend_time_to_live() {
+        givenASimpleRegistration(0L);
+        store.addRegistration(registration);
+        assertFalse(registration.isAlive());
+
+        RegistrationUpdate update = new RegistrationUpdate(registrationId,
+                new IpPeer(new InetSocketAddress(address, port)), lifetime, null, null, null, null, null, null, null,
+                null, null);
+        UpdatedRegistration updatedRegistration = store.updateRegistration(update);
+        assertTrue(updatedRegistration.getUpdatedRegistration().isAlive());
+
+        Registration reg = store.getRegistrationByEndpoint(ep);
+        assertTrue(reg.isAlive());
+    }
+
+    @Test
+    public void new_registration_replaces_previous_one_and_its_observations() {
+        givenASimpleRegistration(lifetime);
+        store.addRegistration(registration);
+        store.addObservation(registrationId, newObservation(registrationId, 1, "/3/0/1"), false);
+
+        Registration newRegistration = newRegistration("new-id", ep, port + 1);
+        Deregistration deregistration = store.addRegistration(newRegistration);
+
+        assertEquals(registration, deregistration.getRegistration());
+        assertEquals(1, deregistration.getObservations().size());
+        assertNull(store.getRegistration(registrationId));
+        assertNull(store.getRegistrationByAdress(new InetSocketAddress(address, port)));
+        assertEquals(newRegistration, store.getRegistrationByEndpoint(ep));
+        assertEquals(newRegistration, store.getRegistrationByAdress(new InetSocketAddress(address, port + 1)));
+        assertTrue(store.getObservations(registrationId).isEmpty());
+    }
+
+    @Test
+    public void add_observation_on_same_path_replaces_previous_one() {
+        givenASimpleRegistration(lifetime);
+        store.addRegistration(registration);
+        Observation first = newObservation(registrationId, 1, "/3/0/1");
+        Observation second = newObservation(registrationId, 2, "/3/0/1");
+
+        store.addObservation(registrationId, first, false);
+        Collection<Observation> removed = store.addObservation(registrationId, second, false);
+
+        assertEquals(Collections.singletonList(first), removed);
+        assertEquals(Collections.singletonList(second), new ArrayList<>(store.getObservations(registrationId)));
+        assertNull(store.getObservation(first.getId()));
+    }
+
+    @Test
+    public void remove_registration_removes_all_indexes() {
+        givenASimpleRegistration(lifetime);
+        store.addRegistration(registration);
+        store.addObservation(registrationId, newObservation(registrationId, 1, "/3/0/1"), false);
+
+        Deregistration deregistration = store.removeRegistration(registrationId);
+
+        assertEquals(1, deregistration.getObservations().size());
+        assertNull(store.getRegistration(registrationId));
+        assertNull(store.getRegistrationByEndpoint(ep));
+        assertNull(store.getRegistrationByAdress(registration.getSocketAddress()));
+        assertNull(store.getRegistrationByIdentity(registration.getClientTransportData().getIdentity()));
+        assertTrue(store.getObservations(registrationId).isEmpty());
+        assertFalse(store.getAllRegistrations().hasNext());
+    }
+
+    @Test
+    public void concurrent_modifications_keep_indexes_consistent() throws Exception {
+        int nbThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        // less endpoints than operations, so threads contend on the same endpoints
+        final int nbEndpoints = 64;
+        final int nbOperations = 20000;
+
+        final CyclicBarrier barrier = new CyclicBarrier(nbThreads);
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (int t = 0; t < nbThreads; t++) {
+                final int threadId = t;
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        Random random = new Random(threadId);
+                        barrier.await();
+                        for (int i = 0; i < nbOperations; i++) {
+                            String endpoint = "ep" + random.nextInt(nbEndpoints);
+                            int action = random.nextInt(5);
+                            Registration reg = store.getRegistrationByEndpoint(endpoint);
+                            if (reg == null || action == 0) {
+                                // addresses are shared between endpoints to simulate NAT
+                                store.addRegistration(newRegistration(threadId + "-" + i, endpoint,
+                                        10000 + random.nextInt(nbEndpoints * 2)));
+                            } else if (action == 1) {
+                                store.updateRegistration(new RegistrationUpdate(reg.getId(),
+                                        new IpPeer(new InetSocketAddress(address,
+                                                10000 + random.nextInt(nbEndpoints * 2))),
+                                        lifetime, null, null, null, null, null, null, null, null, null));
+                            } else if (action == 2) {
+                                try {
+                                    store.addObservation(reg.getId(), newObservation(reg.getId(),
+                                            threadId * nbOperations + i, "/3/0/" + random.nextInt(4)), false);
+                                } catch (IllegalStateException e) {
+                                    // registration was removed meanwhile
+                                }
+                            } else if (action == 3) {
+                                store.removeObservations(reg.getId());
+                            } else {
+                                store.removeRegistration(reg.getId());
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // check all indexes are consistent
+        int nbRegistrations = 0;
+        for (Iterator<Registration> it = store.getAllRegistrations(); it.hasNext();) {
+            Registration reg = it.next();
+            nbRegistrations++;
+            assertEquals(reg, store.getRegistration(reg.getId()));
+            // address and identity can be shared by several endpoints (NAT), only the most recent binding is kept
+            // but those indexes must never point to a registration which is not stored anymore.
+            Registration byIdentity = store.getRegistrationByIdentity(reg.getClientTransportData().getIdentity());
+            if (byIdentity != null) {
+                assertEquals(reg.getClientTransportData().getIdentity(),
+                        byIdentity.getClientTransportData().getIdentity());
+                assertEquals(byIdentity, store.getRegistrationByEndpoint(byIdentity.getEndpoint()));
+            }
+            Registration byAddress = store.getRegistrationByAdress(reg.getSocketAddress());
+            if (byAddress != null) {
+                assertEquals(reg.getSocketAddress(), byAddress.getSocketAddress());
+                assertEquals(byAddress, store.getRegistrationByEndpoint(byAddress.getEndpoint()));
+            }
+            for (Observation observation : store.getObservations(reg.getId())) {
+                assertEquals(reg.getId(), observation.getRegistrationId());
+            }
+        }
+        assertTrue(nbRegistrations <= nbEndpoints);
+    }
+
+    @Test
+    public void throughput_with_increasing_number_of_threads() throws Exception {
+        // This test only reports numbers, asserting on them would make the build depends on the hardware.
+        int nbCores = Runtime.getRuntime().availableProcessors();
+        for (int nbThreads = 1; nbThreads <= nbCores; nbThreads *= 2) {
+            InMemoryRegistrationStore globalLockStore = new InMemoryRegistrationStore();
+            ConcurrentInMemoryRegistrationStore concurrentStore = new ConcurrentInMemoryRegistrationStore();
+            try {
+                LOG.info(
+                        "{} thread(s) : InMemoryRegistrationStore {} op/s, ConcurrentInMemoryRegistrationStore {} op/s",
+                        nbThreads, measureThroughput(globalLockStore, nbThreads),
+                        measureThroughput(concurrentStore, nbThreads));
+            } finally {
+                globalLockStore.destroy();
+                concurrentStore.destroy();
+            }
+        }
+    }
+
+    private long measureThroughput(final RegistrationStore store, int nbThreads) throws Exception {
+        final int nbOperations = 20000;
+        final CyclicBarrier barrier = new CyclicBarrier(nbThreads + 1);
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (int t = 0; t < nbThreads; t++) {
+                final int threadId = t;
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        barrier.await();
+                        for (int i = 0; i < nbOperations; i++) {
+                            String id = threadId + "-" + i;
+                            store.addRegistration(newRegistration(id, "ep" + id, 10000 + (i % 50000)));
+                            store.updateRegistration(new RegistrationUpdate(id,
+                                    new IpPeer(new InetSocketAddress(address, 10000 + (i % 50000))), lifetime, null,
+                                    null, null, null, null, null, null, null, null));
+                            store.addObservation(id, newObservation(id, i, "/3/0/1"), false);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            barrier.await();
+            long start = System.nanoTime();
+            for (Future<Void> result : results) {
+                result.get(1, TimeUnit.MINUTES);
+            }
+            long duration = System.nanoTime() - start;
+            return TimeUnit.SECONDS.toNanos(1) * 3 * nbOperations * nbThreads / Math.max(duration, 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void givenASimpleRegistration(Long lifetime) {
+
+        Registration.Builder builder = new Registration.Builder(registrationId, ep,
+                new IpPeer(new InetSocketAddress(address, port)), uriHandler.createUri("coap://localhost:5683"));
+
+        registration = builder.lifeTimeInSec(lifetime).smsNumber(sms).bindingMode(binding).objectLinks(objectLinks)
+                .build();
+    }
+
+    private Registration newRegistration(String id, String endpoint, int port) {
+        return new Registration.Builder(id, endpoint, new IpPeer(new InetSocketAddress(address, port)),
+                uriHandler.createUri("coap://localhost:5683")).lifeTimeInSec(lifetime).bindingMode(binding)
+                        .objectLinks(objectLinks).build();
+    }
+
+    private Observation newObservation(String registrationId, int token, String path) {
+        return new SingleObservation(
+                new ObservationIdentifier(uriHandler.createUri("coap://localhost:5683"),
+                        ByteBuffer.allocate(4).putInt(token).array()),
+                registrationId, new LwM2mPath(path), ContentFormat.TLV, null, null);
+    }
+}
@@ -20,15 +20,21 @@ package org.eclipse.leshan.server.registration;
 import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.util.Collection;
 import java.util.EnumSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.leshan.core.link.Link;
+import org.eclipse.leshan.core.observation.Observation;
 import org.eclipse.leshan.core.peer.IpPeer;
 import org.eclipse.leshan.core.request.BindingMode;
 import org.junit.jupiter.api.BeforeEach;
@@ -98,6 +104,31 @@ public class InMemoryRegistrationStoreTest {
         assertTrue(reg.isAlive());
     }
 
+    @Test
+    public void expired_registration_is_cleaned_and_listener_notified() throws InterruptedException {
+        final CountDownLatch expired = new CountDownLatch(1);
+        final AtomicReference<Registration> expiredRegistration = new AtomicReference<>();
+        InMemoryRegistrationStore cleanedStore = new InMemoryRegistrationStore(1);
+        cleanedStore.setExpirationListener(new ExpirationListener() {
+            @Override
+            public void registrationExpired(Registration registration, Collection<Observation> observations) {
+                expiredRegistration.set(registration);
+                expired.countDown();
+            }
+        });
+        try {
+            givenASimpleRegistration(0L);
+            cleanedStore.addRegistration(registration);
+            cleanedStore.start();
+
+            assertTrue(expired.await(5, TimeUnit.SECONDS));
+            assertEquals(registration, expiredRegistration.get());
+            assertNull(cleanedStore.getRegistrationByEndpoint(ep));
+        } finally {
+            cleanedStore.destroy();
+        }
+    }
+
     private void givenASimpleRegistration(Long lifetime) {
 
         Registration.Builder builder = new Registration.Builder(registrationId, ep,
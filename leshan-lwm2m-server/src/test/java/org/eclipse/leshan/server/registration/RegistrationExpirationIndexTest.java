@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.junit.jupiter.api.Test;
+
+public class RegistrationExpirationIndexTest {
+
+    private final RegistrationExpirationIndex index = new RegistrationExpirationIndex();
+
+    @Test
+    public void poll_only_expired_registrations_in_expiration_order() {
+        index.add(givenRegistration("not-expired", 1_000_000, 10));
+        index.add(givenRegistration("expired-last", 500, 100));
+        index.add(givenRegistration("expired-first", 0, 100));
+
+        assertEquals(Arrays.asList("expired-first", "expired-last"), index.pollExpired(700_000, Integer.MAX_VALUE));
+        assertEquals(1, index.size());
+        assertTrue(index.pollExpired(700_000, Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void poll_respects_limit() {
+        index.add(givenRegistration("reg1", 0, 1));
+        index.add(givenRegistration("reg2", 0, 2));
+        index.add(givenRegistration("reg3", 0, 3));
+
+        assertEquals(Arrays.asList("reg1", "reg2"), index.pollExpired(10_000, 2));
+        assertEquals(Arrays.asList("reg3"), index.pollExpired(10_000, 2));
+    }
+
+    @Test
+    public void updated_registration_is_reindexed() {
+        Registration registration = givenRegistration("reg", 0, 10);
+        index.add(registration);
+        Registration updated = givenRegistration("reg", 5000, 10);
+        index.update(registration, updated);
+
+        assertTrue(index.pollExpired(10_000, Integer.MAX_VALUE).isEmpty());
+        assertEquals(Arrays.asList("reg"), index.pollExpired(15_000, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void removed_registration_is_not_polled() {
+        Registration registration = givenRegistration("reg", 0, 10);
+        index.add(registration);
+        index.remove(registration);
+
+        assertEquals(0, index.size());
+        assertTrue(index.pollExpired(Long.MAX_VALUE, Integer.MAX_VALUE).isEmpty());
+    }
+
+    private Registration givenRegistration(String id, long lastUpdate, long lifetime) {
+        return new Registration.Builder(id, "ep-" + id, new IpPeer(new InetSocketAddress(5683)),
+                uriHandler.createUri("coap://localhost:5683")).lastUpdate(new Date(lastUpdate)).lifeTimeInSec(lifetime)
+                        .build();
+    }
+}
@@ -16,6 +16,7 @@
 package org.eclipse.leshan.server.registration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.net.InetSocketAddress;
@@ -39,6 +40,7 @@ import org.eclipse.leshan.core.response.RegisterResponse;
 import org.eclipse.leshan.core.response.SendableResponse;
 import org.eclipse.leshan.server.security.Authorizer;
 import org.eclipse.leshan.servers.DefaultServerEndpointNameProvider;
+import org.eclipse.leshan.servers.admission.TokenBucketAdmissionController;
 import org.eclipse.leshan.servers.security.Authorization;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -131,6 +133,36 @@ public class RegistrationHandlerTest {
         assertNull(registration);
     }
 
+    @Test
+    public void test_register_rejected_when_overloaded() {
+        // Prepare handler accepting only 1 register request
+        authorizer.willReturn(Authorization.approved());
+        TokenBucketAdmissionController admissionController = new TokenBucketAdmissionController(0.001, 1);
+        registrationHandler = new RegistrationHandler(new RegistrationServiceImpl(registrationStore), authorizer,
+                new RandomStringRegistrationIdProvider(), new DefaultRegistrationDataExtractor(),
+                new DefaultServerEndpointNameProvider(), admissionController);
+
+        // handle REGISTER requests
+        SendableResponse<RegisterResponse> accepted = registrationHandler.register(givenIdentity(),
+                givenRegisterRequestWithEndpoint("myEndpoint"), givenServerEndpointUri());
+        SendableResponse<RegisterResponse> rejected = registrationHandler.register(givenIdentity(),
+                givenRegisterRequestWithEndpoint("otherEndpoint"), givenServerEndpointUri());
+
+        // check result
+        assertEquals(ResponseCode.CREATED, accepted.getResponse().getCode());
+        assertEquals(ResponseCode.SERVICE_UNAVAILABLE, rejected.getResponse().getCode());
+        assertNotNull(rejected.getResponse().getMaxAge());
+        assertNull(registrationStore.getRegistrationByEndpoint("otherEndpoint"));
+        assertEquals(1, admissionController.getAcceptedCount());
+        assertEquals(1, admissionController.getRejectedCount());
+
+        // UPDATE request of registered device is not limited
+        Registration registration = registrationStore.getRegistrationByEndpoint("myEndpoint");
+        assertEquals(ResponseCode.CHANGED, registrationHandler
+                .update(givenIdentity(), givenUpdateRequestWithID(registration.getId()), givenServerEndpointUri())
+                .getResponse().getCode());
+    }
+
     private IpPeer givenIdentity() {
         return new IpPeer(new InetSocketAddress(0));
     }
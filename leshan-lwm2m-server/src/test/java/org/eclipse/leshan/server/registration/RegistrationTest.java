@@ -19,13 +19,20 @@ package org.eclipse.leshan.server.registration;
 import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.InetSocketAddress;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.eclipse.leshan.core.LwM2m.LwM2mVersion;
 import org.eclipse.leshan.core.LwM2m.Version;
@@ -273,6 +280,42 @@ public class RegistrationTest {
         assertTrue(availableInstances.containsAll(Arrays.asList(new LwM2mPath(1, 0), new LwM2mPath(3, 0))));
     }
 
+    @Test
+    public void unmodifiable_view_is_copied() {
+        Set<ContentFormat> contentFormats = new HashSet<>(Arrays.asList(ContentFormat.TLV));
+        Map<Integer, Version> supportedObjects = new HashMap<>();
+        supportedObjects.put(3, new Version("1.1"));
+        Set<LwM2mPath> availableInstances = new HashSet<>(Arrays.asList(new LwM2mPath(3, 0)));
+
+        Registration reg = new Registration.Builder("id", "endpoint",
+                new IpPeer(InetSocketAddress.createUnresolved("localhost", 0)),
+                uriHandler.createUri("coap://localhost:5683")) //
+                        .supportedContentFormats(Collections.unmodifiableSet(contentFormats)) //
+                        .supportedObjects(Collections.unmodifiableMap(supportedObjects)) //
+                        .availableInstances(Collections.unmodifiableSortedSet(new TreeSet<>(availableInstances))) //
+                        .build();
+
+        // modifying the collections behind the views must not change the registration
+        contentFormats.add(ContentFormat.JSON);
+        supportedObjects.put(4, new Version("1.0"));
+        assertEquals(1, reg.getSupportedContentFormats().size());
+        assertEquals(1, reg.getSupportedObject().size());
+        assertThrows(UnsupportedOperationException.class, () -> reg.getSupportedContentFormats().clear());
+        assertThrows(UnsupportedOperationException.class, () -> reg.getSupportedObject().clear());
+        assertThrows(UnsupportedOperationException.class, () -> reg.getAvailableInstances().clear());
+    }
+
+    @Test
+    public void collections_are_shared_with_previous_registration() throws LinkParseException {
+        Registration reg = given_a_registration_with_object_link_like("</1/0>,</3/0>");
+
+        Registration updated = new Registration.Builder(reg).lastUpdate(new Date()).build();
+
+        assertSame(reg.getSupportedContentFormats(), updated.getSupportedContentFormats());
+        assertSame(reg.getSupportedObject(), updated.getSupportedObject());
+        assertSame(reg.getAvailableInstances(), updated.getAvailableInstances());
+    }
+
     private Registration given_a_registration_with_object_link_like(String objectLinks) throws LinkParseException {
         return given_a_registration_with_object_link_like(objectLinks, LwM2mVersion.V1_0);
     }
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.server.registration;
+
+import static org.eclipse.leshan.core.util.TestToolBox.uriHandler;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.Inet4Address;
+import java.net.InetSocketAddress;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class WriteBehindRegistrationUpdaterTest {
+
+    private static final IpPeer PEER = new IpPeer(new InetSocketAddress(Inet4Address.getLoopbackAddress(), 12354));
+
+    private BatchCountingStore store;
+    private WriteBehindRegistrationUpdater updater;
+    private Registration registration;
+
+    @BeforeEach
+    public void setUp() {
+        store = new BatchCountingStore();
+        // long period : flush is triggered manually
+        updater = new WriteBehindRegistrationUpdater(store, 60_000);
+        updater.start();
+        registration = new Registration.Builder("ID", "urn:client", PEER, uriHandler.createUri("coap://localhost:5683"))
+                .lastUpdate(new Date(0)).build();
+        store.addRegistration(registration);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        updater.destroy();
+        store.destroy();
+    }
+
+    @Test
+    public void updates_with_same_peer_are_coalesced() {
+        for (int i = 0; i < 10; i++) {
+            Registration updated = updater.update(registration, PEER);
+            assertTrue(updated.getLastUpdate().getTime() > 0);
+        }
+
+        // store is not updated yet
+        assertEquals(0, store.getRegistration("ID").getLastUpdate().getTime());
+        assertEquals(1, updater.getPendingCount());
+        assertEquals(10, updater.getDeferredCount());
+
+        updater.flush();
+        assertTrue(store.getRegistration("ID").getLastUpdate().getTime() > 0);
+        assertEquals(0, updater.getPendingCount());
+        assertEquals(1, updater.getWriteCount());
+    }
+
+    @Test
+    public void peer_change_is_written_immediately() {
+        updater.update(registration, PEER);
+
+        IpPeer newPeer = new IpPeer(new InetSocketAddress(Inet4Address.getLoopbackAddress(), 12355));
+        Registration updated = updater.update(registration, newPeer);
+
+        assertEquals(newPeer, updated.getClientTransportData());
+        assertEquals(newPeer, store.getRegistration("ID").getClientTransportData());
+        // pending update with old peer is discarded
+        assertEquals(0, updater.getPendingCount());
+        updater.flush();
+        assertEquals(newPeer, store.getRegistration("ID").getClientTransportData());
+    }
+
+    @Test
+    public void peer_change_of_removed_registration_returns_null() {
+        store.removeRegistration("ID");
+
+        IpPeer newPeer = new IpPeer(new InetSocketAddress(Inet4Address.getLoopbackAddress(), 12355));
+        assertNull(updater.update(registration, newPeer));
+    }
+
+    @Test
+    public void deferred_update_of_removed_registration_is_dropped_on_flush() {
+        updater.update(registration, PEER);
+        store.removeRegistration("ID");
+
+        // store is not read when update is deferred
+        updater.update(registration, PEER);
+        assertEquals(1, updater.getPendingCount());
+
+        updater.flush();
+        assertEquals(0, updater.getPendingCount());
+        assertNull(store.getRegistration("ID"));
+    }
+
+    @Test
+    public void pending_updates_are_written_in_one_batch() {
+        Registration other = new Registration.Builder("ID2", "urn:client2", PEER,
+                uriHandler.createUri("coap://localhost:5683")).lastUpdate(new Date(0)).build();
+        store.addRegistration(other);
+
+        updater.update(registration, PEER);
+        updater.update(other, PEER);
+        updater.flush();
+
+        assertEquals(1, store.batchCount);
+        assertTrue(store.getRegistration("ID").getLastUpdate().getTime() > 0);
+        assertTrue(store.getRegistration("ID2").getLastUpdate().getTime() > 0);
+        assertEquals(2, updater.getWriteCount());
+    }
+
+    @Test
+    public void pending_updates_are_written_on_stop() {
+        updater.update(registration, PEER);
+        updater.stop();
+
+        assertTrue(store.getRegistration("ID").getLastUpdate().getTime() > 0);
+    }
+
+    @Test
+    public void updates_are_written_immediately_once_stopped() {
+        updater.stop();
+
+        Registration updated = updater.update(registration, PEER);
+
+        assertEquals(0, updater.getPendingCount());
+        assertEquals(updated.getLastUpdate(), store.getRegistration("ID").getLastUpdate());
+        assertTrue(updated.getLastUpdate().getTime() > 0);
+    }
+
+    private static class BatchCountingStore extends InMemoryRegistrationStore {
+        private int batchCount;
+
+        @Override
+        public List<UpdatedRegistration> updateRegistrations(List<RegistrationUpdate> updates) {
+            batchCount++;
+            return super.updateRegistrations(updates);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.servers.admission;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * {@link Admission} decided by an {@link AdmissionController}.
+ */
+public class Admission {
+
+    private static final Admission ACCEPTED = new Admission(true, 0);
+
+    private final boolean accepted;
+    private final long retryAfter;
+
+    protected Admission(boolean accepted, long retryAfter) {
+        this.accepted = accepted;
+        this.retryAfter = retryAfter;
+    }
+
+    public static Admission accepted() {
+        return ACCEPTED;
+    }
+
+    /**
+     * @param retryAfter the number of seconds after which the client should retry.
+     */
+    public static Admission rejected(long retryAfter) {
+        Validate.isTrue(retryAfter >= 0, "retryAfter must be positive or 0");
+        return new Admission(false, retryAfter);
+    }
+
+    public boolean isAccepted() {
+        return accepted;
+    }
+
+    public boolean isRejected() {
+        return !accepted;
+    }
+
+    /**
+     * @return the number of seconds after which a rejected client should retry.
+     */
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Admission [accepted=%s, retryAfter=%s]", accepted, retryAfter);
+    }
+}
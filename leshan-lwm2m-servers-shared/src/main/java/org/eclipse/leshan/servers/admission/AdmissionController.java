@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.servers.admission;
+
+import org.eclipse.leshan.core.peer.LwM2mPeer;
+import org.eclipse.leshan.core.request.BootstrapRequest;
+import org.eclipse.leshan.core.request.RegisterRequest;
+import org.eclipse.leshan.core.request.UplinkRequest;
+
+/**
+ * Decides if a request starting new work on the server should be handled or rejected because the server is overloaded.
+ * <p>
+ * It is called for {@link RegisterRequest} and {@link BootstrapRequest} only, before any other processing : requests of
+ * already registered devices (update, de-register, send, ...) are never rejected. Rejected requests are answered with a
+ * 5.03 Service Unavailable response carrying the {@link Admission#getRetryAfter()} hint as Max-Age.
+ * <p>
+ * Implementations must be thread-safe and cheap, as they are called from transport threads.
+ *
+ * @see TokenBucketAdmissionController
+ */
+public interface AdmissionController {
+
+    /**
+     * @param client the peer which sent the request.
+     * @param request the received request.
+     * @return {@link Admission#accepted()} if the request can be handled or {@link Admission#rejected(long)} if it
+     *         should be rejected.
+     */
+    Admission admit(LwM2mPeer client, UplinkRequest<?> request);
+}
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.servers.admission;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.peer.LwM2mPeer;
+import org.eclipse.leshan.core.request.UplinkRequest;
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * An {@link AdmissionController} based on token buckets.
+ * <p>
+ * A global bucket limits the rate of requests accepted by the server : it is refilled with <code>rate</code> tokens per
+ * second, up to <code>burst</code> tokens, and each accepted request takes one token. Optionally, a bucket by source
+ * address prefix (e.g. /24 for IPv4 or /56 for IPv6) prevents a single network from using the whole global rate. A
+ * request is accepted only if all its buckets have a token.
+ * <p>
+ * Rejected clients are asked to retry after the time needed to get a token, randomly stretched up to twice this time so
+ * they do not all come back at once.
+ * <p>
+ * Accepted and rejected requests are counted, see {@link #getAcceptedCount()} and {@link #getRejectedCount()}.
+ */
+public class TokenBucketAdmissionController implements AdmissionController {
+
+    private final double rate;
+    private final int burst;
+    private final double prefixRate;
+    private final int prefixBurst;
+    private final int ipv4PrefixLength;
+    private final int ipv6PrefixLength;
+
+    private TokenBucket globalBucket;
+    private final Map<ByteBuffer, TokenBucket> prefixBuckets;
+
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * Create an admission controller with a global limit only.
+     *
+     * @param rate the number of requests accepted by second.
+     * @param burst the number of requests which can be accepted at once after an idle period.
+     */
+    public TokenBucketAdmissionController(double rate, int burst) {
+        this(rate, burst, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Create an admission controller with a global limit and a limit by source address prefix.
+     *
+     * @param rate the number of requests accepted by second.
+     * @param burst the number of requests which can be accepted at once after an idle period.
+     * @param prefixRate the number of requests accepted by second for a given prefix or <code>0</code> to disable limit
+     *        by prefix.
+     * @param prefixBurst the number of requests which can be accepted at once for a given prefix.
+     * @param ipv4PrefixLength the number of bits of IPv4 addresses identifying a prefix.
+     * @param ipv6PrefixLength the number of bits of IPv6 addresses identifying a prefix.
+     * @param maxPrefixes the maximum number of prefix buckets kept in memory. Least recently used are removed first.
+     */
+    public TokenBucketAdmissionController(double rate, int burst, double prefixRate, int prefixBurst,
+            int ipv4PrefixLength, int ipv6PrefixLength, final int maxPrefixes) {
+        Validate.isTrue(rate > 0, "rate must be positive");
+        Validate.isTrue(burst > 0, "burst must be positive");
+        Validate.isTrue(prefixRate >= 0, "prefixRate must be positive or 0");
+        this.rate = rate;
+        this.burst = burst;
+        this.prefixRate = prefixRate;
+        this.prefixBurst = prefixBurst;
+        this.ipv4PrefixLength = ipv4PrefixLength;
+        this.ipv6PrefixLength = ipv6PrefixLength;
+
+        if (prefixRate > 0) {
+            Validate.isTrue(prefixBurst > 0, "prefixBurst must be positive");
+            Validate.isTrue(ipv4PrefixLength >= 0 && ipv4PrefixLength <= 32, "ipv4PrefixLength must be in [0,32]");
+            Validate.isTrue(ipv6PrefixLength >= 0 && ipv6PrefixLength <= 128, "ipv6PrefixLength must be in [0,128]");
+            Validate.isTrue(maxPrefixes > 0, "maxPrefixes must be positive");
+            prefixBuckets = new LinkedHashMap<ByteBuffer, TokenBucket>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ByteBuffer, TokenBucket> eldest) {
+                    return size() > maxPrefixes;
+                }
+            };
+        } else {
+            prefixBuckets = null;
+        }
+    }
+
+    @Override
+    public Admission admit(LwM2mPeer client, UplinkRequest<?> request) {
+        ByteBuffer prefix = prefixBuckets != null ? getPrefix(client) : null;
+
+        long waitTime;
+        synchronized (this) {
+            // read under lock so buckets always see increasing times
+            long now = nanoTime();
+            if (globalBucket == null) {
+                globalBucket = new TokenBucket(rate, burst, now);
+            }
+            TokenBucket prefixBucket = null;
+            if (prefix != null) {
+                prefixBucket = prefixBuckets.get(prefix);
+                if (prefixBucket == null) {
+                    prefixBucket = new TokenBucket(prefixRate, prefixBurst, now);
+                    prefixBuckets.put(prefix, prefixBucket);
+                }
+            }
+
+            waitTime = globalBucket.refill(now);
+            if (prefixBucket != null) {
+                waitTime = Math.max(waitTime, prefixBucket.refill(now));
+            }
+            if (waitTime == 0) {
+                globalBucket.take();
+                if (prefixBucket != null) {
+                    prefixBucket.take();
+                }
+            }
+        }
+
+        if (waitTime == 0) {
+            acceptedCount.incrementAndGet();
+            return Admission.accepted();
+        } else {
+            rejectedCount.incrementAndGet();
+            return Admission.rejected(getRetryAfter(waitTime));
+        }
+    }
+
+    /**
+     * @param waitTime the time in nanoseconds before a token is available.
+     * @return the number of seconds after which a rejected client should retry.
+     */
+    protected long getRetryAfter(long waitTime) {
+        long seconds = Math.max(1, (waitTime + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return seconds + ThreadLocalRandom.current().nextLong(seconds + 1);
+    }
+
+    /**
+     * @return the source address prefix of the client or <code>null</code> if it does not have an IP address.
+     */
+    protected ByteBuffer getPrefix(LwM2mPeer client) {
+        if (!(client instanceof IpPeer))
+            return null;
+        InetSocketAddress socketAddress = ((IpPeer) client).getSocketAddress();
+        InetAddress address = socketAddress.getAddress();
+        if (address == null)
+            return null;
+
+        byte[] bytes = address.getAddress();
+        int prefixLength = bytes.length == 4 ? ipv4PrefixLength : ipv6PrefixLength;
+        for (int i = 0; i < bytes.length; i++) {
+            int bits = prefixLength - i * 8;
+            if (bits <= 0) {
+                bytes[i] = 0;
+            } else if (bits < 8) {
+                bytes[i] &= (byte) (0xFF << (8 - bits));
+            }
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * @return the number of accepted requests.
+     */
+    public long getAcceptedCount() {
+        return acceptedCount.get();
+    }
+
+    /**
+     * @return the number of rejected requests.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * @return the number of prefix buckets currently in memory.
+     */
+    public int getPrefixCount() {
+        if (prefixBuckets == null)
+            return 0;
+        synchronized (this) {
+            return prefixBuckets.size();
+        }
+    }
+
+    private static class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double rate, int burst, long now) {
+            this.tokensPerNano = rate / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = burst;
+            this.tokens = burst;
+            this.lastRefill = now;
+        }
+
+        /**
+         * @return the time in nanoseconds before a token is available, or <code>0</code> if there is one now.
+         */
+        long refill(long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+                lastRefill = now;
+            }
+            if (tokens >= 1)
+                return 0;
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+        }
+
+        void take() {
+            tokens -= 1;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.servers.snapshot;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.leshan.core.util.Validate;
+
+/**
+ * A {@link SnapshotStore} which saves each snapshot in a file of a local directory.
+ * <p>
+ * Characters of the snapshot name which are not letters, digits, <code>.</code> or <code>-</code> are replaced by
+ * <code>_</code> to get the file name. A snapshot is first written to a temporary file, then moved, so a crash while
+ * saving never leaves a truncated snapshot.
+ */
+public class FileSnapshotStore implements SnapshotStore {
+
+    private final Path directory;
+
+    /**
+     * @param directory the directory containing snapshots, created on first save if it does not exist.
+     */
+    public FileSnapshotStore(String directory) {
+        Validate.notEmpty(directory);
+        this.directory = Paths.get(directory);
+    }
+
+    @Override
+    public void save(String name, byte[] snapshot) throws IOException {
+        Files.createDirectories(directory);
+        Path file = toPath(name);
+        Path tmpFile = directory.resolve(file.getFileName() + ".tmp");
+        Files.write(tmpFile, snapshot);
+        try {
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public byte[] load(String name) throws IOException {
+        try {
+            return Files.readAllBytes(toPath(name));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void remove(String name) throws IOException {
+        Files.deleteIfExists(toPath(name));
+    }
+
+    protected Path toPath(String name) {
+        return directory.resolve(name.replaceAll("[^A-Za-z0-9.\\-]", "_") + ".snapshot");
+    }
+}
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.servers.snapshot;
+
+import java.io.IOException;
+
+/**
+ * Stores opaque snapshots of server state, so it can be restored after a restart.
+ * <p>
+ * Snapshots are identified by a name, e.g. one by endpoint. Saving a snapshot replaces the previous one with the same
+ * name. Implementations do not interpret the content : protection of sensitive data is up to the caller.
+ *
+ * @see FileSnapshotStore
+ */
+public interface SnapshotStore {
+
+    /**
+     * Save a snapshot, replacing the previous one with the same name.
+     *
+     * @param name the name of the snapshot.
+     * @param snapshot the content of the snapshot.
+     * @throws IOException if the snapshot could not be saved.
+     */
+    void save(String name, byte[] snapshot) throws IOException;
+
+    /**
+     * @param name the name of the snapshot.
+     * @return the content of the snapshot or <code>null</code> if there is none.
+     * @throws IOException if the snapshot could not be read.
+     */
+    byte[] load(String name) throws IOException;
+
+    /**
+     * Remove a snapshot, does nothing if there is none.
+     *
+     * @param name the name of the snapshot.
+     * @throws IOException if the snapshot could not be removed.
+     */
+    void remove(String name) throws IOException;
+}
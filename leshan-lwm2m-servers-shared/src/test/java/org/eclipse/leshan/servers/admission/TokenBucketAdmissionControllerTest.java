@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.servers.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.leshan.core.peer.IpPeer;
+import org.eclipse.leshan.core.request.BootstrapRequest;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketAdmissionControllerTest {
+
+    private final BootstrapRequest request = new BootstrapRequest("endpoint");
+
+    @Test
+    public void accept_burst_then_rate() {
+        TestAdmissionController controller = new TestAdmissionController(2, 3, 0, 0, 0, 0, 0);
+
+        // burst is accepted at once
+        for (int i = 0; i < 3; i++) {
+            assertTrue(controller.admit(peer("10.0.0.1"), request).isAccepted());
+        }
+        Admission rejected = controller.admit(peer("10.0.0.1"), request);
+        assertTrue(rejected.isRejected());
+        // 0.5s to get a token, rounded to 1s and stretched up to 2s
+        assertTrue(rejected.getRetryAfter() >= 1 && rejected.getRetryAfter() <= 2);
+
+        // then 2 requests by second
+        controller.advance(1000);
+        assertTrue(controller.admit(peer("10.0.0.1"), request).isAccepted());
+        assertTrue(controller.admit(peer("10.0.0.1"), request).isAccepted());
+        assertTrue(controller.admit(peer("10.0.0.1"), request).isRejected());
+
+        assertEquals(5, controller.getAcceptedCount());
+        assertEquals(2, controller.getRejectedCount());
+    }
+
+    @Test
+    public void limit_by_prefix() {
+        TestAdmissionController controller = new TestAdmissionController(100, 100, 1, 2, 24, 56, 16);
+
+        // same /24 shares its bucket
+        assertTrue(controller.admit(peer("10.0.0.1"), request).isAccepted());
+        assertTrue(controller.admit(peer("10.0.0.2"), request).isAccepted());
+        assertTrue(controller.admit(peer("10.0.0.3"), request).isRejected());
+
+        // other prefixes are not impacted
+        assertTrue(controller.admit(peer("10.0.1.1"), request).isAccepted());
+        assertTrue(controller.admit(peer("2001:db8:0:100::1"), request).isAccepted());
+        assertTrue(controller.admit(peer("2001:db8:0:1ff::1"), request).isAccepted());
+        assertTrue(controller.admit(peer("2001:db8:0:1ff::2"), request).isRejected());
+        assertEquals(3, controller.getPrefixCount());
+    }
+
+    @Test
+    public void rejected_by_prefix_does_not_consume_global_token() {
+        TestAdmissionController controller = new TestAdmissionController(1, 2, 1, 1, 32, 128, 16);
+
+        assertTrue(controller.admit(peer("10.0.0.1"), request).isAccepted());
+        assertTrue(controller.admit(peer("10.0.0.1"), request).isRejected());
+        assertTrue(controller.admit(peer("10.0.0.2"), request).isAccepted());
+        assertFalse(controller.admit(peer("10.0.0.3"), request).isAccepted());
+    }
+
+    @Test
+    public void keep_most_recently_used_prefixes() {
+        TestAdmissionController controller = new TestAdmissionController(100, 100, 1, 1, 32, 128, 2);
+
+        controller.admit(peer("10.0.0.1"), request);
+        controller.admit(peer("10.0.0.2"), request);
+        controller.admit(peer("10.0.0.3"), request);
+        assertEquals(2, controller.getPrefixCount());
+    }
+
+    @Test
+    public void earlier_time_does_not_remove_tokens() {
+        TestAdmissionController controller = new TestAdmissionController(1, 2, 0, 0, 0, 0, 0);
+        assertTrue(controller.admit(peer("10.0.0.1"), request).isAccepted());
+        // bucket is full again, one token is taken
+        controller.advance(5000);
+        assertTrue(controller.admit(peer("10.0.0.1"), request).isAccepted());
+
+        // a time read before the previous one must not be taken as a negative elapsed time
+        controller.advance(-500);
+        assertTrue(controller.admit(peer("10.0.0.1"), request).isAccepted());
+        assertTrue(controller.admit(peer("10.0.0.1"), request).isRejected());
+    }
+
+    private IpPeer peer(String address) {
+        return new IpPeer(new InetSocketAddress(address, 5683));
+    }
+
+    private static class TestAdmissionController extends TokenBucketAdmissionController {
+        private long now = 0;
+
+        public TestAdmissionController(double rate, int burst, double prefixRate, int prefixBurst, int ipv4PrefixLength,
+                int ipv6PrefixLength, int maxPrefixes) {
+            super(rate, burst, prefixRate, prefixBurst, ipv4PrefixLength, ipv6PrefixLength, maxPrefixes);
+        }
+
+        public void advance(long millis) {
+            now += TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+
+        @Override
+        protected long nanoTime() {
+            return now;
+        }
+    }
+}
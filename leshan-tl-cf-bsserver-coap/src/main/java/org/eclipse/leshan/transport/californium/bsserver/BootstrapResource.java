@@ -115,6 +115,9 @@ public class BootstrapResource extends LwM2mCoapResource {
         if (response.isSuccess()) {
             exchange.respond(toCoapResponseCode(response.getCode()));
         } else {
+            if (response.getMaxAge() != null) {
+                exchange.setMaxAge(response.getMaxAge());
+            }
             exchange.respond(toCoapResponseCode(response.getCode()), response.getErrorMessage());
         }
         sendableResponse.sent();
@@ -27,9 +27,13 @@ import org.eclipse.leshan.bsserver.BootstrapSession;
 import org.eclipse.leshan.bsserver.BootstrapSessionListener;
 import org.eclipse.leshan.bsserver.BootstrapSessionManager;
 import org.eclipse.leshan.bsserver.DefaultBootstrapHandler;
+import org.eclipse.leshan.bsserver.InMemoryBootstrapSessionRegistry;
 import org.eclipse.leshan.bsserver.LeshanBootstrapServer;
 import org.eclipse.leshan.bsserver.LeshanBootstrapServerBuilder;
 import org.eclipse.leshan.bsserver.request.BootstrapDownlinkRequestSender;
+import org.eclipse.leshan.core.Destroyable;
+import org.eclipse.leshan.core.Startable;
+import org.eclipse.leshan.core.Stoppable;
 import org.eclipse.leshan.core.endpoint.EndpointUri;
 import org.eclipse.leshan.core.endpoint.Protocol;
 import org.eclipse.leshan.core.peer.IpPeer;
@@ -119,6 +123,74 @@ public class LeshanBootstrapServerTest {
         assertEquals(numberOfThreadbefore, Thread.activeCount(), "All news created threads must be destroyed");
     }
 
+    @Test
+    public void stores_life_cycle_is_managed_by_server() {
+        LifeCycleConfigStore configStore = new LifeCycleConfigStore();
+        LifeCycleSessionRegistry sessionRegistry = new LifeCycleSessionRegistry();
+
+        LeshanBootstrapServerBuilder builder = new LeshanBootstrapServerBuilder();
+        builder.setConfigStore(configStore);
+        builder.setSessionRegistry(sessionRegistry);
+        builder.setEndpointsProviders(new CaliforniumBootstrapServerEndpointsProvider());
+        LeshanBootstrapServer server = builder.build();
+
+        server.start();
+        assertEquals("started", configStore.state);
+        assertEquals("started", sessionRegistry.state);
+
+        server.stop();
+        assertEquals("stopped", configStore.state);
+        assertEquals("stopped", sessionRegistry.state);
+
+        server.destroy();
+        assertEquals("destroyed", configStore.state);
+        assertEquals("destroyed", sessionRegistry.state);
+    }
+
+    private static class LifeCycleConfigStore implements BootstrapConfigStore, Startable, Stoppable, Destroyable {
+        private String state;
+
+        @Override
+        public BootstrapConfig get(BootstrapSession session) {
+            return null;
+        }
+
+        @Override
+        public void start() {
+            state = "started";
+        }
+
+        @Override
+        public void stop() {
+            state = "stopped";
+        }
+
+        @Override
+        public void destroy() {
+            state = "destroyed";
+        }
+    }
+
+    private static class LifeCycleSessionRegistry extends InMemoryBootstrapSessionRegistry
+            implements Startable, Stoppable, Destroyable {
+        private String state;
+
+        @Override
+        public void start() {
+            state = "started";
+        }
+
+        @Override
+        public void stop() {
+            state = "stopped";
+        }
+
+        @Override
+        public void destroy() {
+            state = "destroyed";
+        }
+    }
+
     private void forceThreadsCreation(EndpointUri endpointURI) {
         SendableResponse<BootstrapResponse> bootstrap = bsHandler.bootstrap(new IpPeer(new InetSocketAddress(5683)),
                 new BootstrapRequest("test"), endpointURI);
@@ -55,7 +55,7 @@ public class LwM2mResponseBuilder<T extends LwM2mResponse> implements UplinkRequ
         if (coapResponse.isError()) {
             // handle error response:
             lwM2mresponse = new RegisterResponse(toLwM2mResponseCode(coapResponse.getCode()), null,
-                    coapResponse.getPayloadString());
+                    coapResponse.getPayloadString(), getMaxAge(), null);
         } else if (coapResponse.getCode() == org.eclipse.californium.core.coap.CoAP.ResponseCode.CREATED) {
             // handle success response:
             lwM2mresponse = RegisterResponse.success(coapResponse.getOptions().getLocationString());
@@ -115,7 +115,7 @@ public class LwM2mResponseBuilder<T extends LwM2mResponse> implements UplinkRequ
         if (coapResponse.isError()) {
             // handle error response:
             lwM2mresponse = new BootstrapResponse(toLwM2mResponseCode(coapResponse.getCode()),
-                    coapResponse.getPayloadString());
+                    coapResponse.getPayloadString(), getMaxAge(), null);
         } else if (coapResponse.getCode() == org.eclipse.californium.core.coap.CoAP.ResponseCode.CHANGED) {
             // handle success response:
             lwM2mresponse = BootstrapResponse.success();
@@ -125,6 +125,10 @@ public class LwM2mResponseBuilder<T extends LwM2mResponse> implements UplinkRequ
         }
     }
 
+    private Long getMaxAge() {
+        return coapResponse.getOptions().hasMaxAge() ? coapResponse.getOptions().getMaxAge() : null;
+    }
+
     @SuppressWarnings("unchecked")
     public T getResponse() {
         return (T) lwM2mresponse;
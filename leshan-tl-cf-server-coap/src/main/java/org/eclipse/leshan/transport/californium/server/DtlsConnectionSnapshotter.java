@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.transport.californium.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.eclipse.californium.elements.util.ClockUtil;
+import org.eclipse.californium.scandium.DTLSConnector;
+import org.eclipse.leshan.core.util.Validate;
+import org.eclipse.leshan.servers.snapshot.SnapshotStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Saves the DTLS connections of a stopped {@link DTLSConnector} in a {@link SnapshotStore} and restores them before the
+ * connector is started again, so clients can go on using their DTLS session after a server restart without a new
+ * handshake.
+ * <p>
+ * Snapshots contain session keys, so they are encrypted and authenticated with AES-GCM using the given key : a snapshot
+ * which was modified or which was not created with the same key is ignored. Snapshots older than <code>maxAge</code>
+ * are ignored too, as well as connections without traffic for longer than <code>maxAge</code>.
+ * <p>
+ * A snapshot is removed once loaded, as restored connections are then modified by the running connector.
+ *
+ * @see PersistentDTLSConnector
+ */
+public class DtlsConnectionSnapshotter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DtlsConnectionSnapshotter.class);
+
+    private static final byte[] MAGIC = { 'L', 'D', 'T', 'S' };
+    private static final byte VERSION = 1;
+    // magic, version, wall clock and realtime nanos at save time
+    private static final int HEADER_LENGTH = MAGIC.length + 1 + 2 * Long.BYTES;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private final SnapshotStore store;
+    private final SecretKey key;
+    private final long maxAge;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * @param store the store where snapshots are saved.
+     * @param key the AES key used to encrypt and authenticate snapshots.
+     * @param maxAge the maximum age in seconds of a snapshot and the maximum time without traffic for a connection to
+     *        be saved.
+     */
+    public DtlsConnectionSnapshotter(SnapshotStore store, SecretKey key, long maxAge) {
+        Validate.notNull(store);
+        Validate.notNull(key);
+        Validate.isTrue("AES".equals(key.getAlgorithm()), "key must be an AES key");
+        Validate.isTrue(maxAge > 0, "maxAge must be positive");
+        this.store = store;
+        this.key = key;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Save connections of a stopped connector.
+     *
+     * @param connector the connector, which must not be running.
+     * @param name the name of the snapshot.
+     * @return the number of saved connections.
+     * @throws IOException if connections could not be saved.
+     */
+    public int save(DTLSConnector connector, String name) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int count = connector.save(out, maxAge);
+        store.save(name, seal(out.toByteArray(), currentTimeMillis(), ClockUtil.nanoRealtime()));
+        LOG.info("{} DTLS connections saved in snapshot {}", count, name);
+        return count;
+    }
+
+    /**
+     * Restore connections of a connector before it is started. Invalid or too old snapshots are ignored.
+     *
+     * @param connector the connector, which must not be running.
+     * @param name the name of the snapshot.
+     * @return the number of restored connections.
+     */
+    public int load(DTLSConnector connector, String name) {
+        byte[] snapshot;
+        try {
+            snapshot = store.load(name);
+            if (snapshot == null) {
+                return 0;
+            }
+            store.remove(name);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to read DTLS connections snapshot {}", name, e);
+            return 0;
+        }
+
+        byte[] content = unseal(snapshot, name);
+        if (content == null) {
+            return 0;
+        }
+        // connections timestamps are nano realtime values, which must be shifted to the clock of this process
+        ByteBuffer header = ByteBuffer.wrap(snapshot, MAGIC.length + 1, 2 * Long.BYTES);
+        long savedMillis = header.getLong();
+        long savedNanos = header.getLong();
+        long delta = (ClockUtil.nanoRealtime() - savedNanos)
+                - Math.max(0, TimeUnit.MILLISECONDS.toNanos(currentTimeMillis() - savedMillis));
+        int count;
+        try {
+            count = connector.load(new ByteArrayInputStream(content), delta);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to restore DTLS connections from snapshot {}", name, e);
+            return 0;
+        }
+        LOG.info("{} DTLS connections restored from snapshot {}", count, name);
+        return count;
+    }
+
+    protected byte[] seal(byte[] content, long timestamp, long nanoRealtime) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).put(MAGIC).put(VERSION).putLong(timestamp)
+                .putLong(nanoRealtime);
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            cipher.updateAAD(header.array());
+            byte[] encrypted = cipher.doFinal(content);
+            return ByteBuffer.allocate(HEADER_LENGTH + IV_LENGTH + encrypted.length).put(header.array()).put(iv)
+                    .put(encrypted).array();
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Unable to encrypt DTLS connections snapshot", e);
+        }
+    }
+
+    /**
+     * @return the decrypted content of the snapshot or <code>null</code> if it is not valid or too old.
+     */
+    protected byte[] unseal(byte[] snapshot, String name) {
+        if (snapshot.length < HEADER_LENGTH + IV_LENGTH
+                || !Arrays.equals(MAGIC, Arrays.copyOfRange(snapshot, 0, MAGIC.length))
+                || snapshot[MAGIC.length] != VERSION) {
+            LOG.warn("Invalid DTLS connections snapshot {} ignored", name);
+            return null;
+        }
+        long age = currentTimeMillis() - ByteBuffer.wrap(snapshot, MAGIC.length + 1, Long.BYTES).getLong();
+        if (age < 0 || age > TimeUnit.SECONDS.toMillis(maxAge)) {
+            LOG.warn("DTLS connections snapshot {} ignored as it was saved {}s ago", name,
+                    TimeUnit.MILLISECONDS.toSeconds(age));
+            return null;
+        }
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key,
+                    new GCMParameterSpec(TAG_LENGTH_BITS, snapshot, HEADER_LENGTH, IV_LENGTH));
+            cipher.updateAAD(snapshot, 0, HEADER_LENGTH);
+            return cipher.doFinal(snapshot, HEADER_LENGTH + IV_LENGTH, snapshot.length - HEADER_LENGTH - IV_LENGTH);
+        } catch (GeneralSecurityException e) {
+            LOG.warn("DTLS connections snapshot {} ignored as it could not be authenticated", name, e);
+            return null;
+        }
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.transport.californium.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import org.eclipse.californium.scandium.DTLSConnector;
+import org.eclipse.californium.scandium.config.DtlsConnectorConfig;
+import org.eclipse.leshan.core.util.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DTLSConnector} which saves its connections with a {@link DtlsConnectionSnapshotter} when it is stopped and
+ * restores them each time it is started.
+ * <p>
+ * Saving connections removes them from the connector, so they are restored from the snapshot when the same instance is
+ * started again as well as when a new connector replaces this one, e.g. after a restart of the server process.
+ */
+public class PersistentDTLSConnector extends DTLSConnector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PersistentDTLSConnector.class);
+
+    private final DtlsConnectionSnapshotter snapshotter;
+    private final String snapshotName;
+
+    /**
+     * @param configuration the DTLS configuration of the connector.
+     * @param snapshotter used to save and restore connections.
+     * @param snapshotName the name of the snapshot, which must be the same for connector replacing this one.
+     */
+    public PersistentDTLSConnector(DtlsConnectorConfig configuration, DtlsConnectionSnapshotter snapshotter,
+            String snapshotName) {
+        super(configuration);
+        Validate.notNull(snapshotter);
+        Validate.notEmpty(snapshotName);
+        this.snapshotter = snapshotter;
+        this.snapshotName = snapshotName;
+    }
+
+    @Override
+    protected synchronized void start(InetSocketAddress bindAddress) throws IOException {
+        if (!isRunning()) {
+            snapshotter.load(this, snapshotName);
+        }
+        super.start(bindAddress);
+    }
+
+    @Override
+    public synchronized void stop() {
+        boolean wasRunning = isRunning();
+        super.stop();
+        if (wasRunning) {
+            try {
+                snapshotter.save(this, snapshotName);
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Unable to save DTLS connections in snapshot {}", snapshotName, e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        // connections must be saved before destroy() clears them
+        stop();
+        super.destroy();
+    }
+}
@@ -58,7 +58,9 @@ import org.eclipse.leshan.transport.californium.Lwm2mEndpointContextMatcher;
 import org.eclipse.leshan.transport.californium.identity.DefaultCoapsIdentityHandler;
 import org.eclipse.leshan.transport.californium.identity.IdentityHandler;
 import org.eclipse.leshan.transport.californium.server.ConnectionCleaner;
+import org.eclipse.leshan.transport.californium.server.DtlsConnectionSnapshotter;
 import org.eclipse.leshan.transport.californium.server.LwM2mPskStore;
+import org.eclipse.leshan.transport.californium.server.PersistentDTLSConnector;
 import org.eclipse.leshan.transport.californium.server.endpoint.CaliforniumServerEndpointFactory;
 import org.eclipse.leshan.transport.californium.server.observation.LwM2mObservationStore;
 import org.eclipse.leshan.transport.californium.server.observation.ObservationSerDes;
@@ -97,6 +99,7 @@ public class CoapsServerEndpointFactory implements CaliforniumServerEndpointFact
     protected final Consumer<DtlsConnectorConfig.Builder> dtlsConnectorConfigInitializer;
     protected final Consumer<CoapEndpoint.Builder> coapEndpointConfigInitializer;
     protected final EndPointUriHandler uriHandler;
+    protected final DtlsConnectionSnapshotter connectionSnapshotter;
 
     public CoapsServerEndpointFactory(EndpointUri uri) {
         this(uri, null, null, null, null, new DefaultEndPointUriHandler());
@@ -105,6 +108,19 @@ public class CoapsServerEndpointFactory implements CaliforniumServerEndpointFact
     public CoapsServerEndpointFactory(EndpointUri uri, String loggingTagPrefix, Configuration configuration,
             Consumer<DtlsConnectorConfig.Builder> dtlsConnectorConfigInitializer,
             Consumer<Builder> coapEndpointConfigInitializer, EndPointUriHandler uriHandler) {
+        this(uri, loggingTagPrefix, configuration, dtlsConnectorConfigInitializer, coapEndpointConfigInitializer,
+                uriHandler, null);
+    }
+
+    /**
+     * @param connectionSnapshotter if not <code>null</code>, DTLS connections are saved when endpoint is stopped and
+     *        restored when it is started, so clients can resume their session after a server restart without new
+     *        handshake.
+     */
+    public CoapsServerEndpointFactory(EndpointUri uri, String loggingTagPrefix, Configuration configuration,
+            Consumer<DtlsConnectorConfig.Builder> dtlsConnectorConfigInitializer,
+            Consumer<Builder> coapEndpointConfigInitializer, EndPointUriHandler uriHandler,
+            DtlsConnectionSnapshotter connectionSnapshotter) {
         this.uriHandler = uriHandler;
         uriHandler.validateURI(uri);
 
@@ -113,6 +129,7 @@ public class CoapsServerEndpointFactory implements CaliforniumServerEndpointFact
         this.configuration = configuration;
         this.dtlsConnectorConfigInitializer = dtlsConnectorConfigInitializer;
         this.coapEndpointConfigInitializer = coapEndpointConfigInitializer;
+        this.connectionSnapshotter = connectionSnapshotter;
     }
 
     @Override
@@ -306,6 +323,9 @@ public class CoapsServerEndpointFactory implements CaliforniumServerEndpointFact
      * @return the {@link Connector} used for unsecured {@link CoapEndpoint}
      */
     protected Connector createConnector(DtlsConnectorConfig dtlsConfig) {
+        if (connectionSnapshotter != null) {
+            return new PersistentDTLSConnector(dtlsConfig, connectionSnapshotter, "dtls-" + endpointUri.toString());
+        }
         return new DTLSConnector(dtlsConfig);
     }
 
@@ -24,12 +24,14 @@ import org.eclipse.californium.scandium.config.DtlsConnectorConfig;
 import org.eclipse.leshan.core.endpoint.DefaultEndPointUriHandler;
 import org.eclipse.leshan.core.endpoint.EndPointUriHandler;
 import org.eclipse.leshan.core.endpoint.Protocol;
+import org.eclipse.leshan.transport.californium.server.DtlsConnectionSnapshotter;
 import org.eclipse.leshan.transport.californium.server.endpoint.AbstractEndpointFactoryBuilder;
 
 public class CoapsServerEndpointFactoryBuilder
         extends AbstractEndpointFactoryBuilder<CoapsServerEndpointFactoryBuilder, CoapsServerEndpointFactory> {
 
     protected Consumer<DtlsConnectorConfig.Builder> dtlsConnectorConfigInitializer;
+    protected DtlsConnectionSnapshotter connectionSnapshotter;
 
     public CoapsServerEndpointFactoryBuilder() {
         this(new DefaultEndPointUriHandler());
@@ -61,9 +63,21 @@ public class CoapsServerEndpointFactoryBuilder
         return this;
     }
 
+    /**
+     * Save DTLS connections when endpoint is stopped and restore them when it is started again, to avoid a new
+     * handshake for each client after a server restart.
+     * <p>
+     * Snapshots are named after the endpoint URI, so a server replacing this one must use the same URI and the port
+     * must not be <code>0</code>.
+     */
+    public CoapsServerEndpointFactoryBuilder setConnectionSnapshotter(DtlsConnectionSnapshotter connectionSnapshotter) {
+        this.connectionSnapshotter = connectionSnapshotter;
+        return this;
+    }
+
     @Override
     public CoapsServerEndpointFactory build() {
         return new CoapsServerEndpointFactory(uri, loggingTagPrefix, configuration, dtlsConnectorConfigInitializer,
-                coapEndpointConfigInitializer, getUriHandler());
+                coapEndpointConfigInitializer, getUriHandler(), connectionSnapshotter);
     }
 }
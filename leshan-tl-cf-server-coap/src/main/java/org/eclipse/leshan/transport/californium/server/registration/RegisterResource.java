@@ -223,6 +223,9 @@ public class RegisterResource extends LwM2mCoapResource {
             exchange.setLocationPath(RESOURCE_NAME + "/" + response.getRegistrationID());
             exchange.respond(ResponseCode.CREATED);
         } else {
+            if (response.getMaxAge() != null) {
+                exchange.setMaxAge(response.getMaxAge());
+            }
             exchange.respond(toCoapResponseCode(response.getCode()), response.getErrorMessage());
         }
         sendableResponse.sent();
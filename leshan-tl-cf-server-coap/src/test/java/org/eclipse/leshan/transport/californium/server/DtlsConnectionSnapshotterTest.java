@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Sierra Wireless and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * and Eclipse Distribution License v1.0 which accompany this distribution.
+ *
+ * The Eclipse Public License is available at
+ *    http://www.eclipse.org/legal/epl-v20.html
+ * and the Eclipse Distribution License is available at
+ *    http://www.eclipse.org/org/documents/edl-v10.html.
+ *
+ * Contributors:
+ *     Sierra Wireless - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.leshan.transport.californium.server;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.eclipse.californium.elements.RawData;
+import org.eclipse.californium.elements.config.Configuration;
+import org.eclipse.californium.elements.config.SystemConfig;
+import org.eclipse.californium.elements.config.UdpConfig;
+import org.eclipse.californium.scandium.DTLSConnector;
+import org.eclipse.californium.scandium.config.DtlsConfig;
+import org.eclipse.californium.scandium.config.DtlsConnectorConfig;
+import org.eclipse.californium.scandium.dtls.Handshaker;
+import org.eclipse.californium.scandium.dtls.SessionAdapter;
+import org.eclipse.californium.scandium.dtls.pskstore.SinglePskStore;
+import org.eclipse.leshan.servers.snapshot.SnapshotStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class DtlsConnectionSnapshotterTest {
+
+    private static final byte[] PSK = "secret".getBytes(StandardCharsets.UTF_8);
+
+    private final Configuration configuration = new Configuration(SystemConfig.DEFINITIONS, UdpConfig.DEFINITIONS,
+            DtlsConfig.DEFINITIONS);
+    private final InMemorySnapshotStore store = new InMemorySnapshotStore();
+    private final SecretKey key = new SecretKeySpec(new byte[16], "AES");
+    private final AtomicInteger handshakes = new AtomicInteger();
+    private final LinkedBlockingQueue<RawData> received = new LinkedBlockingQueue<>();
+    private DTLSConnector server;
+    private DTLSConnector client;
+
+    @AfterEach
+    public void destroy() {
+        if (server != null)
+            server.destroy();
+        if (client != null)
+            client.destroy();
+    }
+
+    @Test
+    public void resume_connection_after_connector_replacement() throws Exception {
+        DtlsConnectionSnapshotter snapshotter = new DtlsConnectionSnapshotter(store, key, 60);
+        server = createServer(new InetSocketAddress("127.0.0.1", 0), snapshotter);
+        server.start();
+        InetSocketAddress serverAddress = server.getAddress();
+        client = createClient();
+        client.start();
+
+        sendToServer(serverAddress, "hello");
+        assertEquals(1, handshakes.get());
+
+        // replace server connector, like a restart of the server would do
+        server.destroy();
+        assertTrue(store.snapshots.containsKey("test"));
+        server = createServer(serverAddress, snapshotter);
+        server.start();
+        assertTrue(store.snapshots.isEmpty(), "snapshot must be used only once");
+
+        sendToServer(serverAddress, "hello again");
+        assertEquals(1, handshakes.get());
+    }
+
+    @Test
+    public void resume_connection_after_connector_restart() throws Exception {
+        DtlsConnectionSnapshotter snapshotter = new DtlsConnectionSnapshotter(store, key, 60);
+        // a fixed port is needed as the connector binds again to its configured address when restarted
+        InetSocketAddress serverAddress;
+        try (DatagramSocket socket = new DatagramSocket(new InetSocketAddress("127.0.0.1", 0))) {
+            serverAddress = (InetSocketAddress) socket.getLocalSocketAddress();
+        }
+        server = createServer(serverAddress, snapshotter);
+        server.start();
+        client = createClient();
+        client.start();
+
+        sendToServer(serverAddress, "hello");
+        server.stop();
+        assertTrue(store.snapshots.containsKey("test"));
+
+        // saved connections are removed from the connector, so they must be restored by the same instance too
+        server.start();
+        assertTrue(store.snapshots.isEmpty(), "snapshot must be used only once");
+
+        sendToServer(serverAddress, "hello again");
+        assertEquals(1, handshakes.get());
+    }
+
+    @Test
+    public void ignore_modified_snapshot() throws Exception {
+        DtlsConnectionSnapshotter snapshotter = new DtlsConnectionSnapshotter(store, key, 60);
+        byte[] snapshot = snapshotter.seal(new byte[] { 1, 2, 3 }, snapshotter.currentTimeMillis(), 0);
+        assertArrayEquals(new byte[] { 1, 2, 3 }, snapshotter.unseal(snapshot, "test"));
+
+        snapshot[snapshot.length - 1] ^= 1;
+        assertNull(snapshotter.unseal(snapshot, "test"));
+    }
+
+    @Test
+    public void ignore_snapshot_of_other_key() throws Exception {
+        DtlsConnectionSnapshotter snapshotter = new DtlsConnectionSnapshotter(store, key, 60);
+        DtlsConnectionSnapshotter other = new DtlsConnectionSnapshotter(store, new SecretKeySpec(new byte[32], "AES"),
+                60);
+        assertNull(other.unseal(snapshotter.seal(new byte[] { 1, 2, 3 }, snapshotter.currentTimeMillis(), 0), "test"));
+    }
+
+    @Test
+    public void ignore_too_old_snapshot() throws Exception {
+        DtlsConnectionSnapshotter snapshotter = new DtlsConnectionSnapshotter(store, key, 60);
+        long saved = snapshotter.currentTimeMillis() - TimeUnit.SECONDS.toMillis(61);
+        assertNull(snapshotter.unseal(snapshotter.seal(new byte[] { 1, 2, 3 }, saved, 0), "test"));
+    }
+
+    private void sendToServer(InetSocketAddress serverAddress, String message) throws InterruptedException {
+        client.send(RawData.outbound(message.getBytes(StandardCharsets.UTF_8),
+                new AddressEndpointContext(serverAddress), null, false));
+        RawData data = received.poll(5, TimeUnit.SECONDS);
+        assertArrayEquals(message.getBytes(StandardCharsets.UTF_8), data != null ? data.getBytes() : null);
+    }
+
+    private DTLSConnector createServer(InetSocketAddress address, DtlsConnectionSnapshotter snapshotter) {
+        DtlsConnectorConfig config = new DtlsConnectorConfig.Builder(configuration) //
+                .setAddress(address) //
+                .setPskStore(new SinglePskStore("client", PSK)) //
+                .setSessionListener(new SessionAdapter() {
+                    @Override
+                    public void handshakeStarted(Handshaker handshaker) {
+                        handshakes.incrementAndGet();
+                    }
+                }).build();
+        DTLSConnector connector = new PersistentDTLSConnector(config, snapshotter, "test");
+        connector.setRawDataReceiver(received::add);
+        return connector;
+    }
+
+    private DTLSConnector createClient() {
+        DtlsConnectorConfig config = new DtlsConnectorConfig.Builder(configuration) //
+                .setAddress(new InetSocketAddress("127.0.0.1", 0)) //
+                .setPskStore(new SinglePskStore("client", PSK)) //
+                .build();
+        DTLSConnector connector = new DTLSConnector(config);
+        connector.setRawDataReceiver(data -> {
+        });
+        return connector;
+    }
+
+    private static class InMemorySnapshotStore implements SnapshotStore {
+        private final Map<String, byte[]> snapshots = new HashMap<>();
+
+        @Override
+        public void save(String name, byte[] snapshot) {
+            snapshots.put(name, snapshot);
+        }
+
+        @Override
+        public byte[] load(String name) {
+            return snapshots.get(name);
+        }
+
+        @Override
+        public void remove(String name) {
+            snapshots.remove(name);
+        }
+    }
+}
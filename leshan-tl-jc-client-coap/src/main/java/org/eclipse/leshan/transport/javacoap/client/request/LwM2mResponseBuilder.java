@@ -56,7 +56,7 @@ public class LwM2mResponseBuilder<T extends LwM2mResponse> implements UplinkRequ
         if (coapResponse.getCode().getHttpCode() >= 400) {
             // handle error response:
             lwM2mresponse = new RegisterResponse(toLwM2mResponseCode(coapResponse.getCode()), null,
-                    coapResponse.getPayloadString());
+                    coapResponse.getPayloadString(), coapResponse.options().getMaxAge(), null);
         } else if (coapResponse.getCode() == Code.C201_CREATED) {
             // handle success response:
             lwM2mresponse = RegisterResponse.success(coapResponse.options().getLocationPath());
@@ -118,7 +118,7 @@ public class LwM2mResponseBuilder<T extends LwM2mResponse> implements UplinkRequ
         if (coapResponse.getCode().getHttpCode() >= 400) {
             // // handle error response:
             lwM2mresponse = new BootstrapResponse(toLwM2mResponseCode(coapResponse.getCode()),
-                    coapResponse.getPayloadString());
+                    coapResponse.getPayloadString(), coapResponse.options().getMaxAge(), null);
         } else if (coapResponse.getCode() == Code.C204_CHANGED) {
             // // handle success response:
             lwM2mresponse = BootstrapResponse.success();
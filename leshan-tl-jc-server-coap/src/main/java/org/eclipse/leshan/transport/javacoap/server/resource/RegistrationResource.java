@@ -173,6 +173,11 @@ public class RegistrationResource extends LwM2mCoapResource {
             CoapResponse coapResponse = CoapResponse.of(Code.C201_CREATED);
             coapResponse.options().setLocationPath(RESOURCE_NAME + "/" + response.getRegistrationID());
             return completedFuture(coapResponse);
+        } else if (response.getMaxAge() != null) {
+            return errorMessage(response.getCode(), response.getErrorMessage()).thenApply(coapResponse -> {
+                coapResponse.options().setMaxAge(response.getMaxAge());
+                return coapResponse;
+            });
         } else {
             return errorMessage(response.getCode(), response.getErrorMessage());
         }